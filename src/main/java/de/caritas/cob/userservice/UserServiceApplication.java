@@ -6,6 +6,7 @@ import de.caritas.cob.userservice.config.CsrfSecurityProperties;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import org.keycloak.KeycloakSecurityContext;
@@ -41,6 +42,32 @@ public class UserServiceApplication {
   private int THREAD_QUEUE_CAPACITY;
   @Value("${thread.executor.threadNamePrefix}")
   private String THREAD_NAME_PREFIX;
+  @Value("${thread.executor.rocketchat.corePoolSize}")
+  private int ROCKET_CHAT_THREAD_CORE_POOL_SIZE;
+  @Value("${thread.executor.rocketchat.maxPoolSize}")
+  private int ROCKET_CHAT_THREAD_MAX_POOL_SIZE;
+  @Value("${thread.executor.rocketchat.queueCapacity}")
+  private int ROCKET_CHAT_THREAD_QUEUE_CAPACITY;
+  @Value("${thread.executor.rocketchat.threadNamePrefix}")
+  private String ROCKET_CHAT_THREAD_NAME_PREFIX;
+  @Value("${thread.executor.keycloakadmin.poolSize}")
+  private int KEYCLOAK_ADMIN_THREAD_POOL_SIZE;
+  @Value("${thread.executor.keycloakadmin.threadNamePrefix}")
+  private String KEYCLOAK_ADMIN_THREAD_NAME_PREFIX;
+  @Value("${thread.executor.adminjob.poolSize}")
+  private int ADMIN_JOB_THREAD_POOL_SIZE;
+  @Value("${thread.executor.adminjob.queueCapacity}")
+  private int ADMIN_JOB_THREAD_QUEUE_CAPACITY;
+  @Value("${thread.executor.adminjob.threadNamePrefix}")
+  private String ADMIN_JOB_THREAD_NAME_PREFIX;
+  @Value("${thread.executor.violationreport.poolSize}")
+  private int VIOLATION_REPORT_THREAD_POOL_SIZE;
+  @Value("${thread.executor.violationreport.threadNamePrefix}")
+  private String VIOLATION_REPORT_THREAD_NAME_PREFIX;
+  @Value("${thread.executor.deleteworkflow.poolSize}")
+  private int DELETE_WORKFLOW_THREAD_POOL_SIZE;
+  @Value("${thread.executor.deleteworkflow.threadNamePrefix}")
+  private String DELETE_WORKFLOW_THREAD_NAME_PREFIX;
 
   private final String claimNameUserId = "userId";
   private final String claimNameUsername = "username";
@@ -151,4 +178,95 @@ public class UserServiceApplication {
     return executor;
   }
 
+  /**
+   * Bounded executor for concurrent requests to Rocket.Chat. If the pool and the queue are
+   * exhausted the calling thread executes the request itself, so requests degrade to sequential
+   * execution instead of being rejected.
+   *
+   * @return the Rocket.Chat {@link Executor}
+   */
+  @Bean
+  public Executor rocketChatExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(ROCKET_CHAT_THREAD_CORE_POOL_SIZE);
+    executor.setMaxPoolSize(ROCKET_CHAT_THREAD_MAX_POOL_SIZE);
+    executor.setQueueCapacity(ROCKET_CHAT_THREAD_QUEUE_CAPACITY);
+    executor.setThreadNamePrefix(ROCKET_CHAT_THREAD_NAME_PREFIX);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Executor for concurrent requests to the keycloak admin api. The pool is bounded by the
+   * connection pool of the shared keycloak admin client, the caller runs requests itself when the
+   * pool is busy.
+   *
+   * @return the keycloak admin {@link Executor}
+   */
+  @Bean
+  public Executor keycloakAdminExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(KEYCLOAK_ADMIN_THREAD_POOL_SIZE);
+    executor.setMaxPoolSize(KEYCLOAK_ADMIN_THREAD_POOL_SIZE);
+    executor.setQueueCapacity(0);
+    executor.setThreadNamePrefix(KEYCLOAK_ADMIN_THREAD_NAME_PREFIX);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Executor for asynchronous admin jobs. The pool is kept small because each job fans out its
+   * Rocket.Chat requests to the Rocket.Chat executor itself.
+   *
+   * @return the admin job {@link Executor}
+   */
+  @Bean
+  public Executor adminJobExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(ADMIN_JOB_THREAD_POOL_SIZE);
+    executor.setMaxPoolSize(ADMIN_JOB_THREAD_POOL_SIZE);
+    executor.setQueueCapacity(ADMIN_JOB_THREAD_QUEUE_CAPACITY);
+    executor.setThreadNamePrefix(ADMIN_JOB_THREAD_NAME_PREFIX);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Executor to run the rules of a violation report concurrently. Rules are submitted by the
+   * generator running in an admin job, so the caller runs rules itself when the pool is busy.
+   *
+   * @return the violation report {@link Executor}
+   */
+  @Bean
+  public Executor violationReportExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(VIOLATION_REPORT_THREAD_POOL_SIZE);
+    executor.setMaxPoolSize(VIOLATION_REPORT_THREAD_POOL_SIZE);
+    executor.setQueueCapacity(0);
+    executor.setThreadNamePrefix(VIOLATION_REPORT_THREAD_NAME_PREFIX);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Executor to delete the users of a deletion workflow chunk concurrently. The caller deletes
+   * users itself when the pool is busy.
+   *
+   * @return the deletion workflow {@link Executor}
+   */
+  @Bean
+  public Executor deletionWorkflowExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(DELETE_WORKFLOW_THREAD_POOL_SIZE);
+    executor.setMaxPoolSize(DELETE_WORKFLOW_THREAD_POOL_SIZE);
+    executor.setQueueCapacity(0);
+    executor.setThreadNamePrefix(DELETE_WORKFLOW_THREAD_NAME_PREFIX);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+    return executor;
+  }
+
 }
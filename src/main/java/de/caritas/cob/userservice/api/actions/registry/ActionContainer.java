@@ -4,6 +4,7 @@ import de.caritas.cob.userservice.api.actions.ActionCommand;
 import java.util.LinkedHashSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
@@ -40,7 +41,20 @@ public class ActionContainer<T> {
    * @param executionTarget the execution target
    */
   public void executeActions(T executionTarget) {
-    actionsToExecute.forEach(sessionActionCommand -> sessionActionCommand.execute(executionTarget));
+    executeActions(executionTarget, (actionCommand, execution) -> execution.run());
+  }
+
+  /**
+   * Executes the collected {@link ActionCommand}s in order on given execution target, each of them
+   * is passed to the given action runner, which has to run the provided execution.
+   *
+   * @param executionTarget the execution target
+   * @param actionRunner    the runner performing the execution of each {@link ActionCommand}
+   */
+  public void executeActions(T executionTarget,
+      BiConsumer<ActionCommand<T>, Runnable> actionRunner) {
+    actionsToExecute.forEach(sessionActionCommand -> actionRunner
+        .accept(sessionActionCommand, () -> sessionActionCommand.execute(executionTarget)));
   }
 
 }
@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.actions.session;
 
+import static de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderInterceptor.runWithHeaders;
 import static de.caritas.cob.userservice.messageservice.generated.web.model.MessageType.FINISHED_CONVERSATION;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -8,12 +9,12 @@ import de.caritas.cob.userservice.api.actions.ActionCommand;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.service.KeycloakService;
 import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
-import de.caritas.cob.userservice.messageservice.generated.ApiClient;
 import de.caritas.cob.userservice.messageservice.generated.web.MessageControllerApi;
 import de.caritas.cob.userservice.messageservice.generated.web.model.AliasOnlyMessageDTO;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
 /**
@@ -41,17 +42,16 @@ public class PostConversationFinishedAliasMessageActionCommand implements Action
   @Override
   public void execute(Session actionTarget) {
     if (nonNull(actionTarget) && isNotBlank(actionTarget.getGroupId())) {
-      addDefaultHeaders(messageControllerApi.getApiClient());
-      this.messageControllerApi.saveAliasOnlyMessage(actionTarget.getGroupId(),
-          new AliasOnlyMessageDTO().messageType(FINISHED_CONVERSATION));
+      runWithHeaders(obtainTechnicalUserHeaders(),
+          () -> this.messageControllerApi.saveAliasOnlyMessage(actionTarget.getGroupId(),
+              new AliasOnlyMessageDTO().messageType(FINISHED_CONVERSATION)));
     }
   }
 
-  private void addDefaultHeaders(ApiClient apiClient) {
+  private HttpHeaders obtainTechnicalUserHeaders() {
     var keycloakLoginResponseDTO = this.keycloakService
         .loginUser(this.keycloakTechnicalUsername, this.keycloakTechnicalPassword);
-    var headers = this.securityHeaderSupplier
+    return this.securityHeaderSupplier
         .getKeycloakAndCsrfHttpHeaders(keycloakLoginResponseDTO.getAccessToken());
-    headers.forEach((key, value) -> apiClient.addDefaultHeader(key, value.iterator().next()));
   }
 }
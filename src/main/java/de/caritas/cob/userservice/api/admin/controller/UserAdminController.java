@@ -2,9 +2,11 @@ package de.caritas.cob.userservice.api.admin.controller;
 
 import de.caritas.cob.userservice.api.admin.facade.ConsultantAdminFacade;
 import de.caritas.cob.userservice.api.admin.facade.UserAdminFacade;
+import de.caritas.cob.userservice.api.admin.facade.ViolationReportFacade;
 import de.caritas.cob.userservice.api.admin.hallink.RootDTOBuilder;
-import de.caritas.cob.userservice.api.admin.report.service.ViolationReportGenerator;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobService;
 import de.caritas.cob.userservice.api.admin.service.session.SessionAdminService;
+import de.caritas.cob.userservice.api.model.AdminJobDTO;
 import de.caritas.cob.userservice.api.model.AgencyTypeDTO;
 import de.caritas.cob.userservice.api.model.ConsultantAdminResponseDTO;
 import de.caritas.cob.userservice.api.model.ConsultantAgencyAdminResultDTO;
@@ -19,12 +21,13 @@ import de.caritas.cob.userservice.api.model.UpdateAdminConsultantDTO;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
 import de.caritas.cob.userservice.generated.api.admin.controller.UseradminApi;
 import io.swagger.annotations.Api;
-import java.util.List;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
@@ -37,10 +40,13 @@ import org.springframework.web.bind.annotation.RestController;
 @Api(tags = "admin-user-controller")
 public class UserAdminController implements UseradminApi {
 
+  private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
   private final @NonNull SessionAdminService sessionAdminService;
-  private final @NonNull ViolationReportGenerator violationReportGenerator;
+  private final @NonNull ViolationReportFacade violationReportFacade;
   private final @NonNull ConsultantAdminFacade consultantAdminFacade;
   private final @NonNull UserAdminFacade userAdminFacade;
+  private final @NonNull AdminJobService adminJobService;
 
   /**
    * Creates the root hal based navigation entity.
@@ -82,14 +88,29 @@ public class UserAdminController implements UseradminApi {
   }
 
   /**
-   * GET /useradmin/report : Returns an generated report containing data integration violations.
-   * [Authorization: Role: user-admin].
+   * GET /useradmin/report : Starts the generation of a report containing data integration
+   * violations. [Authorization: Role: user-admin].
+   *
+   * @return the {@link AdminJobDTO} of the job generating the report
+   */
+  @Override
+  public ResponseEntity<AdminJobDTO> generateViolationReport() {
+    return new ResponseEntity<>(this.violationReportFacade.generateViolationReport(),
+        HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * GET /useradmin/report/{jobId} : Streams the report generated by the given admin job as
+   * newline delimited json. [Authorization: Role: user-admin].
    *
-   * @return generated {@link ViolationDTO} list
+   * @param jobId admin job id (required)
+   * @return the report file containing one {@link ViolationDTO} per line
    */
   @Override
-  public ResponseEntity<List<ViolationDTO>> generateViolationReport() {
-    return ResponseEntity.ok(this.violationReportGenerator.generateReport());
+  public ResponseEntity<Resource> getViolationReport(@PathVariable String jobId) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+        .body(this.violationReportFacade.findViolationReport(jobId));
   }
 
   /**
@@ -97,12 +118,26 @@ public class UserAdminController implements UseradminApi {
    *
    * @param consultantId              Consultant Id (required)
    * @param createConsultantAgencyDTO (required)
+   * @return the {@link AdminJobDTO} of the job creating the relation
    */
   @Override
-  public ResponseEntity<Void> createConsultantAgency(@PathVariable String consultantId,
+  public ResponseEntity<AdminJobDTO> createConsultantAgency(@PathVariable String consultantId,
       @Valid CreateConsultantAgencyDTO createConsultantAgencyDTO) {
-    this.consultantAdminFacade.createNewConsultantAgency(consultantId, createConsultantAgencyDTO);
-    return new ResponseEntity<>(HttpStatus.CREATED);
+    AdminJobDTO adminJobDTO = this.consultantAdminFacade
+        .createNewConsultantAgency(consultantId, createConsultantAgencyDTO);
+    return new ResponseEntity<>(adminJobDTO, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Entry point to get the current state of an asynchronous admin job [Authorization: Role:
+   * user-admin].
+   *
+   * @param jobId admin job id (required)
+   * @return {@link AdminJobDTO}
+   */
+  @Override
+  public ResponseEntity<AdminJobDTO> getAdminJob(@PathVariable String jobId) {
+    return ResponseEntity.ok(this.adminJobService.findAdminJob(jobId));
   }
 
   /**
@@ -193,11 +228,13 @@ public class UserAdminController implements UseradminApi {
    *
    * @param agencyId      the id of the changed agency
    * @param agencyTypeDTO contains the target type
+   * @return the {@link AdminJobDTO} of the job performing the change
    */
   @Override
-  public ResponseEntity<Void> changeAgencyType(Long agencyId, @Valid AgencyTypeDTO agencyTypeDTO) {
-    this.consultantAdminFacade.changeAgencyType(agencyId, agencyTypeDTO);
-    return new ResponseEntity<>(HttpStatus.OK);
+  public ResponseEntity<AdminJobDTO> changeAgencyType(Long agencyId,
+      @Valid AgencyTypeDTO agencyTypeDTO) {
+    return new ResponseEntity<>(this.consultantAdminFacade.changeAgencyType(agencyId,
+        agencyTypeDTO), HttpStatus.ACCEPTED);
   }
 
   /**
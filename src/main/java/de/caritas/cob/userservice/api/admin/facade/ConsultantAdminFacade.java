@@ -1,12 +1,13 @@
 package de.caritas.cob.userservice.api.admin.facade;
 
-import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.DEFAULT_AGENCY;
-import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.TEAM_AGENCY;
-
+import de.caritas.cob.userservice.api.admin.service.agency.ChangeAgencyTypeJobHandler;
 import de.caritas.cob.userservice.api.admin.service.agency.ConsultantAgencyAdminService;
 import de.caritas.cob.userservice.api.admin.service.consultant.ConsultantAdminFilterService;
 import de.caritas.cob.userservice.api.admin.service.consultant.ConsultantAdminService;
 import de.caritas.cob.userservice.api.admin.service.consultant.create.agencyrelation.ConsultantAgencyRelationCreatorService;
+import de.caritas.cob.userservice.api.admin.service.consultant.create.agencyrelation.CreateConsultantAgencyJobHandler;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobService;
+import de.caritas.cob.userservice.api.model.AdminJobDTO;
 import de.caritas.cob.userservice.api.model.AgencyTypeDTO;
 import de.caritas.cob.userservice.api.model.ConsultantAdminResponseDTO;
 import de.caritas.cob.userservice.api.model.ConsultantAgencyAdminResultDTO;
@@ -17,6 +18,7 @@ import de.caritas.cob.userservice.api.model.CreateConsultantAgencyDTO;
 import de.caritas.cob.userservice.api.model.CreateConsultantDTO;
 import de.caritas.cob.userservice.api.model.UpdateAdminConsultantDTO;
 import de.caritas.cob.userservice.api.model.UpdateConsultantDTO;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgency;
 import lombok.NonNull;
@@ -34,6 +36,7 @@ public class ConsultantAdminFacade {
   private final @NonNull ConsultantAdminFilterService consultantAdminFilterService;
   private final @NonNull ConsultantAgencyAdminService consultantAgencyAdminService;
   private final @NonNull ConsultantAgencyRelationCreatorService consultantAgencyRelationCreatorService;
+  private final @NonNull AdminJobService adminJobService;
 
   /**
    * Finds a consultant by given consultant id.
@@ -100,11 +103,14 @@ public class ConsultantAdminFacade {
    *
    * @param consultantId              the consultant to use
    * @param createConsultantAgencyDTO the agencyId and role {@link ConsultantAgencyAdminResultDTO}
+   * @return the {@link AdminJobDTO} of the job creating the relation asynchronously
    */
-  public void createNewConsultantAgency(String consultantId,
+  public AdminJobDTO createNewConsultantAgency(String consultantId,
       CreateConsultantAgencyDTO createConsultantAgencyDTO) {
     this.consultantAgencyRelationCreatorService
-        .createNewConsultantAgency(consultantId, createConsultantAgencyDTO);
+        .verifyNewConsultantAgency(consultantId, createConsultantAgencyDTO);
+    return this.adminJobService.submit(AdminJobType.CREATE_CONSULTANT_AGENCY,
+        new CreateConsultantAgencyJobHandler.Payload(consultantId, createConsultantAgencyDTO));
   }
 
   /**
@@ -112,14 +118,11 @@ public class ConsultantAdminFacade {
    *
    * @param agencyId      the id of the changed agency
    * @param agencyTypeDTO the request object containing the target type
+   * @return the {@link AdminJobDTO} of the job performing the change asynchronously
    */
-  public void changeAgencyType(Long agencyId, AgencyTypeDTO agencyTypeDTO) {
-    if (TEAM_AGENCY.equals(agencyTypeDTO.getAgencyType())) {
-      this.consultantAgencyAdminService.markAllAssignedConsultantsAsTeamConsultant(agencyId);
-    }
-    if (DEFAULT_AGENCY.equals(agencyTypeDTO.getAgencyType())) {
-      this.consultantAgencyAdminService.removeConsultantsFromTeamSessionsByAgencyId(agencyId);
-    }
+  public AdminJobDTO changeAgencyType(Long agencyId, AgencyTypeDTO agencyTypeDTO) {
+    return this.adminJobService.submit(AdminJobType.CHANGE_AGENCY_TYPE,
+        new ChangeAgencyTypeJobHandler.Payload(agencyId, agencyTypeDTO));
   }
 
   /**
@@ -0,0 +1,48 @@
+package de.caritas.cob.userservice.api.admin.facade;
+
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobService;
+import de.caritas.cob.userservice.api.exception.httpresponses.NotFoundException;
+import de.caritas.cob.userservice.api.model.AdminJobDTO;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Facade to generate violation reports asynchronously and to provide their results.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViolationReportFacade {
+
+  private final @NonNull AdminJobService adminJobService;
+
+  /**
+   * Queues the generation of a new violation report.
+   *
+   * @return the {@link AdminJobDTO} of the job generating the report
+   */
+  public AdminJobDTO generateViolationReport() {
+    return this.adminJobService.submit(AdminJobType.GENERATE_VIOLATION_REPORT, null);
+  }
+
+  /**
+   * Returns the report file generated by a finished report job, containing one violation json
+   * object per line. The file is streamed and never loaded into memory.
+   *
+   * @param jobId the id of the report job
+   * @return the report file as {@link Resource}
+   */
+  public Resource findViolationReport(String jobId) {
+    var reportFile = new FileSystemResource(this.adminJobService
+        .findAdminJobResult(jobId, AdminJobType.GENERATE_VIOLATION_REPORT));
+    if (!reportFile.exists()) {
+      throw new NotFoundException(
+          String.format("Report file of job %s does not exist", jobId));
+    }
+    return reportFile;
+  }
+
+}
@@ -1,7 +1,7 @@
 package de.caritas.cob.userservice.api.admin.report.model;
 
 import de.caritas.cob.userservice.api.model.ViolationDTO;
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Representation of an rule used to generate violation reports.
@@ -9,10 +9,11 @@ import java.util.List;
 public interface ViolationReportRule {
 
   /**
-   * Generates violations on implemented condition.
+   * Generates violations on implemented condition. Each violation is passed to the given consumer
+   * as soon as it is found, so the violations of a rule are never collected in memory.
    *
-   * @return a list of found {@link ViolationDTO}
+   * @param violationConsumer the consumer of each found {@link ViolationDTO}
    */
-  List<ViolationDTO> generateViolations();
+  void generateViolations(Consumer<ViolationDTO> violationConsumer);
 
 }
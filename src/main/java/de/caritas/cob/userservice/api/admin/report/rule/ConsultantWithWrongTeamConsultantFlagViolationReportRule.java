@@ -10,6 +10,7 @@ import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgency;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgencyRepository;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import lombok.NonNull;
@@ -31,10 +32,10 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRule extends
    * Generates all violations for {@link Consultant} containing flag is_team_consultant with
    * assigned agencies which are all not team agencies.
    *
-   * @return the generated violations
+   * @param violationConsumer the consumer of each generated violation
    */
   @Override
-  public List<ViolationDTO> generateViolations() {
+  public void generateViolations(Consumer<ViolationDTO> violationConsumer) {
 
     List<ConsultantAgency> allConsultantAgencies = StreamSupport
         .stream(consultantAgencyRepository.findAll().spliterator(), false)
@@ -47,11 +48,11 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRule extends
     ConsultantAgencyAnalyzer consultantAgencyAnalyzer =
         new ConsultantAgencyAnalyzer(allConsultantAgencies, allAgencies);
 
-    return StreamSupport.stream(consultantRepository.findAll().spliterator(), false)
+    StreamSupport.stream(consultantRepository.findAll().spliterator(), false)
         .filter(Consultant::isTeamConsultant)
         .filter(consultantAgencyAnalyzer::hasNoTeamAgencyAssigned)
         .map(this::fromConsultant)
-        .collect(Collectors.toList());
+        .forEach(violationConsumer);
   }
 
   private ViolationDTO fromConsultant(Consultant consultant) {
@@ -9,6 +9,7 @@ import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgen
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgencyRepository;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -27,15 +28,15 @@ public class InvalidAgencyForConsultantViolationReportRule extends
   /**
    * Generates all violations for {@link Consultant} containing a reference to a deleted agency.
    *
-   * @return the generated violations
+   * @param violationConsumer the consumer of each generated violation
    */
   @Override
-  public List<ViolationDTO> generateViolations() {
-    return retrieveAllDeletedAgencies().stream()
+  public void generateViolations(Consumer<ViolationDTO> violationConsumer) {
+    retrieveAllDeletedAgencies().stream()
         .map(consultantAgencyRepository::findByAgencyIdAndDeleteDateIsNull)
         .flatMap(Collection::stream)
         .map(this::fromConsultantAgency)
-        .collect(Collectors.toList());
+        .forEach(violationConsumer);
   }
 
   private List<Long> retrieveAllDeletedAgencies() {
@@ -7,8 +7,7 @@ import de.caritas.cob.userservice.api.admin.report.model.ViolationReportRule;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.StreamSupport;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -26,14 +25,14 @@ public class MissingAgencyForConsultantViolationReportRule implements ViolationR
   /**
    * Generates all violations for {@link Consultant} without agency assignments.
    *
-   * @return the generated violations
+   * @param violationConsumer the consumer of each generated violation
    */
   @Override
-  public List<ViolationDTO> generateViolations() {
-    return StreamSupport.stream(this.consultantRepository.findAll().spliterator(), false)
+  public void generateViolations(Consumer<ViolationDTO> violationConsumer) {
+    StreamSupport.stream(this.consultantRepository.findAll().spliterator(), false)
         .filter(consultant -> isEmpty(consultant.getConsultantAgencies()))
         .map(this::fromConsultant)
-        .collect(Collectors.toList());
+        .forEach(violationConsumer);
   }
 
   private ViolationDTO fromConsultant(Consultant consultant) {
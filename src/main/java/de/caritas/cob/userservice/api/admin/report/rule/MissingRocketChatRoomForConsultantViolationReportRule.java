@@ -4,20 +4,19 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import de.caritas.cob.userservice.api.admin.report.builder.ViolationByConsultantBuilder;
 import de.caritas.cob.userservice.api.admin.report.model.ViolationReportRule;
+import de.caritas.cob.userservice.api.admin.report.service.RocketChatUserRoomsProvider;
+import de.caritas.cob.userservice.api.admin.report.service.RocketChatUserRoomsProvider.UserRooms;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
-import de.caritas.cob.userservice.api.model.rocketchat.user.UserInfoResponseDTO;
-import de.caritas.cob.userservice.api.model.rocketchat.user.UserRoomDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
-import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.repository.session.SessionRepository;
 import de.caritas.cob.userservice.api.repository.session.SessionStatus;
-import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -31,41 +30,38 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class MissingRocketChatRoomForConsultantViolationReportRule implements ViolationReportRule {
 
-  private final @NonNull ConsultantRepository consultantRepository;
   private final @NonNull SessionRepository sessionRepository;
-  private final @NonNull RocketChatService rocketChatService;
+  private final @NonNull RocketChatUserRoomsProvider rocketChatUserRoomsProvider;
 
   /**
    * Generates all violations for {@link Consultant} without required rocket chat room assignment.
+   * The rooms of each consultant are retrieved only once for all of their sessions.
    *
-   * @return the generated violations
+   * @param violationConsumer the consumer of each generated violation
    */
   @Override
-  @Transactional
-  public List<ViolationDTO> generateViolations() {
-    return StreamSupport.stream(this.consultantRepository.findAll().spliterator(), false)
-        .map(consultant -> this.sessionRepository
-            .findByConsultantAndStatus(consultant, SessionStatus.IN_PROGRESS))
-        .flatMap(Collection::stream)
-        .map(this::fromMissingSession)
+  @Transactional(readOnly = true)
+  public void generateViolations(Consumer<ViolationDTO> violationConsumer) {
+    List<Session> sessions =
+        this.sessionRepository.findWithConsultantByStatus(SessionStatus.IN_PROGRESS);
+    Map<String, UserRooms> roomsByRocketChatId = this.rocketChatUserRoomsProvider
+        .findRoomsOfUsers(sessions.stream()
+            .map(session -> session.getConsultant().getRocketChatId())
+            .collect(Collectors.toSet()));
+    sessions.stream()
+        .map(session -> fromMissingSession(session,
+            roomsByRocketChatId.get(session.getConsultant().getRocketChatId())))
         .filter(Objects::nonNull)
-        .collect(Collectors.toList());
+        .forEach(violationConsumer);
   }
 
-  private ViolationDTO fromMissingSession(Session session) {
-    UserInfoResponseDTO userInfoWithRooms;
-    try {
-      userInfoWithRooms = this.rocketChatService
-          .getUserInfo(session.getConsultant().getRocketChatId());
-    } catch (Exception e) {
+  private ViolationDTO fromMissingSession(Session session, UserRooms userRooms) {
+    if (userRooms.isFailed()) {
       return ViolationByConsultantBuilder.getInstance(session.getConsultant())
-          .withReason(e.getCause().getMessage())
+          .withReason(userRooms.getFailureMessage())
           .build();
     }
-    List<UserRoomDTO> rooms = userInfoWithRooms.getUser().getRooms();
-    List<String> rocketChatRoomsOfUser = rooms.stream()
-        .map(UserRoomDTO::getRoomId)
-        .collect(Collectors.toList());
+    Collection<String> rocketChatRoomsOfUser = userRooms.getRoomIds();
 
     String violationMessage = buildPossibleViolationMessage(session, rocketChatRoomsOfUser);
     if (isNotBlank(violationMessage)) {
@@ -77,7 +73,7 @@ public class MissingRocketChatRoomForConsultantViolationReportRule implements Vi
   }
 
   private String buildPossibleViolationMessage(Session session,
-      List<String> rocketChatRoomsOfUser) {
+      Collection<String> rocketChatRoomsOfUser) {
     String violationMessage = "";
 
     if (isGroupMissing(session.getGroupId(), rocketChatRoomsOfUser)) {
@@ -93,11 +89,12 @@ public class MissingRocketChatRoomForConsultantViolationReportRule implements Vi
     return violationMessage;
   }
 
-  private boolean isGroupMissing(String groupId, List<String> rocketChatRooms) {
+  private boolean isGroupMissing(String groupId, Collection<String> rocketChatRooms) {
     return isNotBlank(groupId) && !rocketChatRooms.contains(groupId);
   }
 
-  private boolean areBothRoomsMissing(Session session, List<String> rocketChatRoomsOfUser) {
+  private boolean areBothRoomsMissing(Session session,
+      Collection<String> rocketChatRoomsOfUser) {
     return isGroupMissing(session.getGroupId(), rocketChatRoomsOfUser) && isGroupMissing(
         session.getFeedbackGroupId(), rocketChatRoomsOfUser);
   }
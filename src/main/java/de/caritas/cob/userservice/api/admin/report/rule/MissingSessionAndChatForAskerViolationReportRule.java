@@ -1,16 +1,12 @@
 package de.caritas.cob.userservice.api.admin.report.rule;
 
 import static de.caritas.cob.userservice.api.model.ViolationDTO.ViolationTypeEnum.ASKER;
-import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 
 import de.caritas.cob.userservice.api.admin.report.model.ViolationReportRule;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
 import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.repository.user.UserRepository;
-import de.caritas.cob.userservice.api.repository.useragency.UserAgencyRepository;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -23,28 +19,22 @@ import org.springframework.stereotype.Component;
 public class MissingSessionAndChatForAskerViolationReportRule implements ViolationReportRule {
 
   private final @NonNull UserRepository userRepository;
-  private final @NonNull UserAgencyRepository userAgencyRepository;
 
   /**
    * Generates all violations for {@link User} without session or chat assignment.
    *
-   * @return the generated violations
+   * @param violationConsumer the consumer of each generated violation
    */
   @Override
-  public List<ViolationDTO> generateViolations() {
-    return StreamSupport.stream(this.userRepository.findAll().spliterator(), false)
-        .filter(this::withoutSessionAndChat)
-        .map(this::fromUser)
-        .collect(Collectors.toList());
+  public void generateViolations(Consumer<ViolationDTO> violationConsumer) {
+    this.userRepository.findUserIdsWithoutSessionAndUserAgency().stream()
+        .map(this::fromUserId)
+        .forEach(violationConsumer);
   }
 
-  private boolean withoutSessionAndChat(User user) {
-    return isEmpty(user.getSessions()) && isEmpty(this.userAgencyRepository.findByUser(user));
-  }
-
-  private ViolationDTO fromUser(User user) {
+  private ViolationDTO fromUserId(String userId) {
     return new ViolationDTO()
-        .identifier(user.getUserId())
+        .identifier(userId)
         .violationType(ASKER)
         .reason("Use has neither chat nor session relation");
   }
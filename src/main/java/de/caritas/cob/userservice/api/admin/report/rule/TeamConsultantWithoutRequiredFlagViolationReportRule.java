@@ -11,6 +11,7 @@ import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgen
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgencyRepository;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -30,16 +31,16 @@ public class TeamConsultantWithoutRequiredFlagViolationReportRule extends
    * Generates all violations for {@link Consultant} containing a team agency and no
    * is_team_consultant flag.
    *
-   * @return the generated violations
+   * @param violationConsumer the consumer of each generated violation
    */
   @Override
-  public List<ViolationDTO> generateViolations() {
-    return retrieveAllTeamAgencies().stream()
+  public void generateViolations(Consumer<ViolationDTO> violationConsumer) {
+    retrieveAllTeamAgencies().stream()
         .map(consultantAgencyRepository::findByAgencyIdAndDeleteDateIsNull)
         .flatMap(Collection::stream)
         .filter(consultantAgency -> !consultantAgency.getConsultant().isTeamConsultant())
         .map(this::fromConsultantAgency)
-        .collect(Collectors.toList());
+        .forEach(violationConsumer);
   }
 
   private List<Long> retrieveAllTeamAgencies() {
@@ -0,0 +1,149 @@
+package de.caritas.cob.userservice.api.admin.report.service;
+
+import static java.util.Objects.isNull;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.model.rocketchat.user.UserRoomDTO;
+import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Provides the Rocket.Chat rooms of users for violation reports. Each user is requested only once
+ * per call and the requests are performed concurrently in batches of the configured concurrency.
+ * If a Rocket.Chat subscription export is configured, the rooms are read from the export instead
+ * and no request to Rocket.Chat is performed.
+ */
+@Service
+public class RocketChatUserRoomsProvider {
+
+  private final RocketChatService rocketChatService;
+  private final ObjectMapper objectMapper;
+  private final Executor rocketChatExecutor;
+
+  @Value("${violation.report.rocketchat.concurrency}")
+  private int concurrency;
+
+  @Value("${violation.report.rocketchat.subscriptionExport:}")
+  private String subscriptionExport;
+
+  public RocketChatUserRoomsProvider(@NonNull RocketChatService rocketChatService,
+      @NonNull ObjectMapper objectMapper,
+      @NonNull @Qualifier("rocketChatExecutor") Executor rocketChatExecutor) {
+    this.rocketChatService = rocketChatService;
+    this.objectMapper = objectMapper;
+    this.rocketChatExecutor = rocketChatExecutor;
+  }
+
+  /**
+   * Retrieves the rooms of all given Rocket.Chat users.
+   *
+   * @param rcUserIds the Rocket.Chat user ids
+   * @return the {@link UserRooms} by Rocket.Chat user id
+   */
+  public Map<String, UserRooms> findRoomsOfUsers(Collection<String> rcUserIds) {
+    Set<String> distinctUserIds = new HashSet<>(rcUserIds);
+    if (isBlank(this.subscriptionExport)) {
+      return requestRoomsOfUsers(new ArrayList<>(distinctUserIds));
+    }
+    return readRoomsOfUsersFromExport(distinctUserIds);
+  }
+
+  private Map<String, UserRooms> requestRoomsOfUsers(List<String> rcUserIds) {
+    Map<String, UserRooms> roomsByUserId = new HashMap<>();
+    for (List<String> batch : ListUtils.partition(rcUserIds, Math.max(1, this.concurrency))) {
+      Map<String, CompletableFuture<UserRooms>> requests = batch.stream()
+          .collect(Collectors.toMap(rcUserId -> rcUserId, rcUserId -> CompletableFuture
+              .supplyAsync(() -> requestRoomsOfUser(rcUserId), this.rocketChatExecutor)));
+      requests.forEach((rcUserId, request) -> roomsByUserId.put(rcUserId, request.join()));
+    }
+    return roomsByUserId;
+  }
+
+  private UserRooms requestRoomsOfUser(String rcUserId) {
+    try {
+      Set<String> roomIds = this.rocketChatService.getUserInfo(rcUserId).getUser().getRooms()
+          .stream()
+          .map(UserRoomDTO::getRoomId)
+          .collect(Collectors.toSet());
+      return UserRooms.of(roomIds);
+    } catch (Exception e) {
+      return UserRooms.failed(isNull(e.getCause()) ? e.getMessage() : e.getCause().getMessage());
+    }
+  }
+
+  private Map<String, UserRooms> readRoomsOfUsersFromExport(Set<String> rcUserIds) {
+    Map<String, Set<String>> roomIdsByUserId = new HashMap<>();
+    rcUserIds.forEach(rcUserId -> roomIdsByUserId.put(rcUserId, new HashSet<>()));
+    try (Stream<String> subscriptions = Files
+        .lines(Paths.get(this.subscriptionExport), StandardCharsets.UTF_8)) {
+      subscriptions
+          .filter(line -> !isBlank(line))
+          .map(this::readSubscription)
+          .filter(subscription -> roomIdsByUserId.containsKey(subscription.path("u")
+              .path("_id").asText()))
+          .forEach(subscription -> roomIdsByUserId.get(subscription.path("u").path("_id")
+              .asText()).add(subscription.path("rid").asText()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return roomIdsByUserId.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> UserRooms.of(entry.getValue())));
+  }
+
+  private JsonNode readSubscription(String line) {
+    try {
+      return this.objectMapper.readTree(line);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * The rooms of one Rocket.Chat user or the reason why they could not be retrieved.
+   */
+  @Getter
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class UserRooms {
+
+    private final Set<String> roomIds;
+    private final String failureMessage;
+
+    public static UserRooms of(Set<String> roomIds) {
+      return new UserRooms(roomIds, null);
+    }
+
+    public static UserRooms failed(String failureMessage) {
+      return new UserRooms(null, failureMessage);
+    }
+
+    public boolean isFailed() {
+      return isNull(this.roomIds);
+    }
+  }
+
+}
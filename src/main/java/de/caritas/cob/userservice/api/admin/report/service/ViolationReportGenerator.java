@@ -1,70 +1,192 @@
 package de.caritas.cob.userservice.api.admin.report.service;
 
+import static de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderInterceptor.callWithHeaders;
 import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
 import static java.time.format.DateTimeFormatter.ofPattern;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.caritas.cob.userservice.agencyadminserivce.generated.web.model.AgencyAdminResponseDTO;
 import de.caritas.cob.userservice.api.admin.report.model.ViolationReportRule;
 import de.caritas.cob.userservice.api.admin.report.registry.ViolationRuleRegistry;
 import de.caritas.cob.userservice.api.admin.service.agency.AgencyAdminService;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
-import io.swagger.util.Json;
+import de.caritas.cob.userservice.api.service.KeycloakService;
+import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.time.format.DateTimeFormatter;
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.annotation.PostConstruct;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
 /**
- * Generator for all {@link ViolationReportRule} beans.
+ * Generator for all {@link ViolationReportRule} beans. The rules are executed concurrently and
+ * each violation is written as newline delimited json into the report file as soon as a rule has
+ * found it, so neither the report nor the violations of a rule are held in memory. The report is
+ * generated in an admin job without request context, so the agency service is called with the
+ * technical user. The report can be requested on any instance, so it is stored in a directory
+ * shared by all instances.
  */
 @Service
-@RequiredArgsConstructor
 public class ViolationReportGenerator {
 
-  private static final String VIOLATION_REPORT_BASE_PATH = "report/violation_report_";
-  private static final DateTimeFormatter DATE_TIME_FORMAT = ofPattern("yyyy-MM-dd--hh-mm");
+  private static final String VIOLATION_REPORT_FILE_PREFIX = "violation_report_";
+  private static final String VIOLATION_REPORT_FILE_SUFFIX = ".ndjson";
+  private static final DateTimeFormatter DATE_TIME_FORMAT = ofPattern("yyyy-MM-dd--HH-mm");
 
-  private final @NonNull ViolationRuleRegistry violationRuleRegistry;
-  private final @NonNull AgencyAdminService agencyAdminService;
+  private final ViolationRuleRegistry violationRuleRegistry;
+  private final AgencyAdminService agencyAdminService;
+  private final EntityManagerSessionRunner entityManagerSessionRunner;
+  private final ObjectMapper objectMapper;
+  private final Executor violationReportExecutor;
+  private final KeycloakService keycloakService;
+  private final SecurityHeaderSupplier securityHeaderSupplier;
+
+  @Value("${violation.report.path}")
+  private String violationReportPath;
+
+  @Value("${keycloakService.technical.username}")
+  private String keycloakTechnicalUsername;
+
+  @Value("${keycloakService.technical.password}")
+  private String keycloakTechnicalPassword;
+
+  public ViolationReportGenerator(@NonNull ViolationRuleRegistry violationRuleRegistry,
+      @NonNull AgencyAdminService agencyAdminService,
+      @NonNull EntityManagerSessionRunner entityManagerSessionRunner,
+      @NonNull ObjectMapper objectMapper,
+      @NonNull @Qualifier("violationReportExecutor") Executor violationReportExecutor,
+      @NonNull KeycloakService keycloakService,
+      @NonNull SecurityHeaderSupplier securityHeaderSupplier) {
+    this.violationRuleRegistry = violationRuleRegistry;
+    this.agencyAdminService = agencyAdminService;
+    this.entityManagerSessionRunner = entityManagerSessionRunner;
+    this.objectMapper = objectMapper;
+    this.violationReportExecutor = violationReportExecutor;
+    this.keycloakService = keycloakService;
+    this.securityHeaderSupplier = securityHeaderSupplier;
+  }
 
   /**
-   * Generates a list of all located known violations.
+   * Validates on startup that the configured report directory is an absolute and writable path,
+   * which is expected to be a volume shared by all instances.
+   */
+  @PostConstruct
+  public void validateViolationReportPath() {
+    if (isBlank(this.violationReportPath) || !Paths.get(this.violationReportPath).isAbsolute()) {
+      throw new IllegalStateException(String.format(
+          "violation.report.path must be an absolute path of a shared volume, but was '%s'",
+          this.violationReportPath));
+    }
+    Path reportDirectory = createReportDirectory();
+    if (!Files.isWritable(reportDirectory)) {
+      throw new IllegalStateException(
+          String.format("Violation report directory %s is not writable", reportDirectory));
+    }
+  }
+
+  /**
+   * Generates a report file containing all located known violations, one json object per line.
    *
-   * @return all found {@link ViolationDTO} objects
+   * @param progress the {@link AdminJobProgress} to report each finished rule to
+   * @return the {@link Path} of the generated report file
    */
-  @SneakyThrows
-  public List<ViolationDTO> generateReport() {
-    List<AgencyAdminResponseDTO> allAgencies = this.agencyAdminService.retrieveAllAgencies();
-    List<ViolationDTO> violations = this.violationRuleRegistry.getViolationReportRules(allAgencies)
-        .stream()
-        .map(ViolationReportRule::generateViolations)
-        .flatMap(Collection::parallelStream)
-        .collect(Collectors.toList());
-
-    String violationJson = Json.pretty().writeValueAsString(violations);
-    Files.write(buildFilePath(), violationJson.getBytes(StandardCharsets.UTF_8),
-        StandardOpenOption.CREATE);
-
-    return violations;
+  public Path generateReport(AdminJobProgress progress) {
+    List<AgencyAdminResponseDTO> allAgencies = callWithHeaders(obtainTechnicalUserHeaders(),
+        this.agencyAdminService::retrieveAllAgencies);
+    List<ViolationReportRule> violationReportRules =
+        this.violationRuleRegistry.getViolationReportRules(allAgencies);
+    progress.start(violationReportRules.size());
+
+    Path reportFile = buildFilePath();
+    try (JsonGenerator jsonGenerator = this.objectMapper.getFactory()
+        .createGenerator(Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8))) {
+      jsonGenerator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+      CompletableFuture.allOf(violationReportRules.stream()
+          .map(rule -> CompletableFuture
+              .runAsync(() -> this.entityManagerSessionRunner
+                  .runInSession(() -> rule.generateViolations(
+                      violation -> writeViolation(jsonGenerator, violation))),
+                  this.violationReportExecutor)
+              .thenRun(() -> flush(jsonGenerator))
+              .thenRun(progress::itemProcessed))
+          .toArray(CompletableFuture[]::new))
+          .join();
+    } catch (IOException e) {
+      deleteIncompleteReport(reportFile);
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      deleteIncompleteReport(reportFile);
+      throw e;
+    }
+    return reportFile;
+  }
+
+  private HttpHeaders obtainTechnicalUserHeaders() {
+    var keycloakLoginResponseDTO = this.keycloakService
+        .loginUser(this.keycloakTechnicalUsername, this.keycloakTechnicalPassword);
+    return this.securityHeaderSupplier
+        .getKeycloakAndCsrfHttpHeaders(keycloakLoginResponseDTO.getAccessToken());
+  }
+
+  private void deleteIncompleteReport(Path reportFile) {
+    try {
+      Files.deleteIfExists(reportFile);
+    } catch (IOException e) {
+      LogService.logWarn(e);
+    }
+  }
+
+  private void writeViolation(JsonGenerator jsonGenerator, ViolationDTO violation) {
+    synchronized (jsonGenerator) {
+      try {
+        jsonGenerator.writeObject(violation);
+        jsonGenerator.writeRaw('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private void flush(JsonGenerator jsonGenerator) {
+    synchronized (jsonGenerator) {
+      try {
+        jsonGenerator.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private Path buildFilePath() {
+    return createReportDirectory().resolve(VIOLATION_REPORT_FILE_PREFIX
+        + nowInUtc().format(DATE_TIME_FORMAT) + "_" + UUID.randomUUID()
+        + VIOLATION_REPORT_FILE_SUFFIX);
   }
 
-  private Path buildFilePath() throws IOException {
-    String path =
-        VIOLATION_REPORT_BASE_PATH + nowInUtc().format(DATE_TIME_FORMAT) + ".json";
-    if (!Paths.get(path).getParent().toFile().exists()) {
-      Files.createDirectory(Paths.get(path).getParent());
+  private Path createReportDirectory() {
+    try {
+      return Files.createDirectories(Paths.get(this.violationReportPath));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    return Paths.get(path);
   }
 
 }
@@ -0,0 +1,30 @@
+package de.caritas.cob.userservice.api.admin.report.service;
+
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobHandler;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link AdminJobHandler} generating the violation report, the path of the report file is the
+ * result of the job.
+ */
+@Component
+@RequiredArgsConstructor
+public class ViolationReportJobHandler implements AdminJobHandler {
+
+  private final @NonNull ViolationReportGenerator violationReportGenerator;
+
+  @Override
+  public AdminJobType getType() {
+    return AdminJobType.GENERATE_VIOLATION_REPORT;
+  }
+
+  @Override
+  public String execute(String payload, AdminJobProgress progress) {
+    return this.violationReportGenerator.generateReport(progress).toAbsolutePath().toString();
+  }
+
+}
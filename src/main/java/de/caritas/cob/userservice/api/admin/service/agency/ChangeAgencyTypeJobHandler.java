@@ -0,0 +1,64 @@
+package de.caritas.cob.userservice.api.admin.service.agency;
+
+import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.DEFAULT_AGENCY;
+import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.TEAM_AGENCY;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobHandler;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.model.AgencyTypeDTO;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link AdminJobHandler} changing the consultant flag is_team_consultant and assignments for
+ * agency type changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeAgencyTypeJobHandler implements AdminJobHandler {
+
+  private final @NonNull ConsultantAgencyAdminService consultantAgencyAdminService;
+  private final @NonNull ObjectMapper objectMapper;
+
+  @Override
+  public AdminJobType getType() {
+    return AdminJobType.CHANGE_AGENCY_TYPE;
+  }
+
+  @Override
+  @SneakyThrows
+  public String execute(String payload, AdminJobProgress progress) {
+    var jobPayload = this.objectMapper.readValue(payload, Payload.class);
+    var agencyId = jobPayload.getAgencyId();
+    var agencyType = jobPayload.getAgencyTypeDTO().getAgencyType();
+    progress.start(1);
+    if (TEAM_AGENCY.equals(agencyType)) {
+      this.consultantAgencyAdminService.markAllAssignedConsultantsAsTeamConsultant(agencyId);
+    }
+    if (DEFAULT_AGENCY.equals(agencyType)) {
+      this.consultantAgencyAdminService.removeConsultantsFromTeamSessionsByAgencyId(agencyId);
+    }
+    progress.itemProcessed();
+    return null;
+  }
+
+  /**
+   * Payload of a {@link AdminJobType#CHANGE_AGENCY_TYPE} job.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Payload {
+
+    private Long agencyId;
+    private AgencyTypeDTO agencyTypeDTO;
+  }
+
+}
@@ -4,6 +4,7 @@ import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowIn
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
 import de.caritas.cob.userservice.api.admin.service.rocketchat.RocketChatAddToGroupOperationService;
 import de.caritas.cob.userservice.api.exception.httpresponses.BadRequestException;
 import de.caritas.cob.userservice.api.facade.RocketChatFacade;
@@ -24,25 +25,49 @@ import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientService;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * Creator class to generate new {@link ConsultantAgency} instances.
  */
 @Service
-@RequiredArgsConstructor
 public class ConsultantAgencyRelationCreatorService {
 
-  private final @NonNull ConsultantAgencyService consultantAgencyService;
-  private final @NonNull ConsultantRepository consultantRepository;
-  private final @NonNull AgencyService agencyService;
-  private final @NonNull KeycloakAdminClientService keycloakAdminClientService;
-  private final @NonNull RocketChatFacade rocketChatFacade;
-  private final @NonNull SessionRepository sessionRepository;
-  private final @NonNull ConsultingTypeManager consultingTypeManager;
+  private final ConsultantAgencyService consultantAgencyService;
+  private final ConsultantRepository consultantRepository;
+  private final AgencyService agencyService;
+  private final KeycloakAdminClientService keycloakAdminClientService;
+  private final RocketChatFacade rocketChatFacade;
+  private final SessionRepository sessionRepository;
+  private final ConsultingTypeManager consultingTypeManager;
+  private final Executor rocketChatExecutor;
+
+  @Value("${rocket.chat.group.operation.concurrency}")
+  private int groupOperationConcurrency;
+
+  public ConsultantAgencyRelationCreatorService(
+      @NonNull ConsultantAgencyService consultantAgencyService,
+      @NonNull ConsultantRepository consultantRepository,
+      @NonNull AgencyService agencyService,
+      @NonNull KeycloakAdminClientService keycloakAdminClientService,
+      @NonNull RocketChatFacade rocketChatFacade,
+      @NonNull SessionRepository sessionRepository,
+      @NonNull ConsultingTypeManager consultingTypeManager,
+      @NonNull @Qualifier("rocketChatExecutor") Executor rocketChatExecutor) {
+    this.consultantAgencyService = consultantAgencyService;
+    this.consultantRepository = consultantRepository;
+    this.agencyService = agencyService;
+    this.keycloakAdminClientService = keycloakAdminClientService;
+    this.rocketChatFacade = rocketChatFacade;
+    this.sessionRepository = sessionRepository;
+    this.consultingTypeManager = consultingTypeManager;
+    this.rocketChatExecutor = rocketChatExecutor;
+  }
 
   /**
    * Creates a new {@link ConsultantAgency} based on the {@link ImportRecord} and agency ids.
@@ -73,10 +98,45 @@ public class ConsultantAgencyRelationCreatorService {
     createNewConsultantAgency(adapter, LogService::logInfo);
   }
 
+  /**
+   * Validates the creation of a new {@link ConsultantAgency} without changing any data, so invalid
+   * requests can be rejected before the creation is performed asynchronously.
+   *
+   * @param consultantId              the consultant to use
+   * @param createConsultantAgencyDTO the agencyId and role
+   */
+  public void verifyNewConsultantAgency(String consultantId,
+      CreateConsultantAgencyDTO createConsultantAgencyDTO) {
+    ConsultantAgencyCreationInput adapter = new CreateConsultantAgencyDTOInputAdapter(
+        consultantId, createConsultantAgencyDTO);
+    verifyConsultantAgencyCreation(adapter, retrieveConsultant(consultantId));
+  }
+
+  /**
+   * Creates a new {@link ConsultantAgency} which has already been validated by {@link
+   * #verifyNewConsultantAgency(String, CreateConsultantAgencyDTO)} and reports the progress of
+   * the Rocket.Chat group operations. Can be repeated, an already existing relation is kept.
+   *
+   * @param consultantId              the consultant to use
+   * @param createConsultantAgencyDTO the agencyId and role
+   * @param progress                  the {@link AdminJobProgress} to report to
+   */
+  public void createVerifiedConsultantAgency(String consultantId,
+      CreateConsultantAgencyDTO createConsultantAgencyDTO, AdminJobProgress progress) {
+    var consultant = retrieveConsultant(consultantId);
+    var agency = retrieveAgency(createConsultantAgencyDTO.getAgencyId());
+    createConsultantAgency(consultant, agency, LogService::logInfo, progress);
+  }
+
   private void createNewConsultantAgency(ConsultantAgencyCreationInput input,
       Consumer<String> logMethod) {
     var consultant = this.retrieveConsultant(input.getConsultantId());
+    var agency = verifyConsultantAgencyCreation(input, consultant);
+    createConsultantAgency(consultant, agency, logMethod, AdminJobProgress.NONE);
+  }
 
+  private AgencyDTO verifyConsultantAgencyCreation(ConsultantAgencyCreationInput input,
+      Consultant consultant) {
     this.checkConsultantHasRole(input);
 
     AgencyDTO agency = retrieveAgency(input.getAgencyId());
@@ -84,15 +144,22 @@ public class ConsultantAgencyRelationCreatorService {
     if (consultingTypeManager.isConsultantBoundedToAgency(agency.getConsultingType())) {
       this.verifyAllAssignedAgenciesHaveSameConsultingType(agency.getConsultingType(), consultant);
     }
+    return agency;
+  }
 
-    this.addConsultantToSessions(consultant, agency, logMethod);
+  private void createConsultantAgency(Consultant consultant, AgencyDTO agency,
+      Consumer<String> logMethod, AdminJobProgress progress) {
+    this.addConsultantToSessions(consultant, agency, logMethod, progress);
 
     if (isTeamAgencyButNotTeamConsultant(agency, consultant)) {
       consultant.setTeamConsultant(true);
       consultantRepository.save(consultant);
     }
 
-    consultantAgencyService.saveConsultantAgency(buildConsultantAgency(consultant, agency.getId()));
+    if (!consultantAgencyService.isConsultantInAgency(consultant.getId(), agency.getId())) {
+      consultantAgencyService
+          .saveConsultantAgency(buildConsultantAgency(consultant, agency.getId()));
+    }
   }
 
   private Consultant retrieveConsultant(String consultantId) {
@@ -135,12 +202,14 @@ public class ConsultantAgencyRelationCreatorService {
   }
 
   private void addConsultantToSessions(Consultant consultant, AgencyDTO agency,
-      Consumer<String> logMethod) {
+      Consumer<String> logMethod, AdminJobProgress progress) {
     List<Session> relevantSessions = collectRelevantSessionsToAddConsultant(agency);
     RocketChatAddToGroupOperationService
         .getInstance(this.rocketChatFacade, this.keycloakAdminClientService, logMethod, consultingTypeManager)
         .onSessions(relevantSessions)
         .withConsultant(consultant)
+        .withProgress(progress)
+        .inParallel(this.rocketChatExecutor, this.groupOperationConcurrency)
         .addToGroupsOrRollbackOnFailure();
   }
 
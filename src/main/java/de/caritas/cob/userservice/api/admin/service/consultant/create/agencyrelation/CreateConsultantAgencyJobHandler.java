@@ -0,0 +1,53 @@
+package de.caritas.cob.userservice.api.admin.service.consultant.create.agencyrelation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobHandler;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.model.CreateConsultantAgencyDTO;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link AdminJobHandler} creating a verified consultant agency relation and adding the consultant
+ * to all relevant Rocket.Chat groups of the agency.
+ */
+@Component
+@RequiredArgsConstructor
+public class CreateConsultantAgencyJobHandler implements AdminJobHandler {
+
+  private final @NonNull ConsultantAgencyRelationCreatorService consultantAgencyRelationCreatorService;
+  private final @NonNull ObjectMapper objectMapper;
+
+  @Override
+  public AdminJobType getType() {
+    return AdminJobType.CREATE_CONSULTANT_AGENCY;
+  }
+
+  @Override
+  @SneakyThrows
+  public String execute(String payload, AdminJobProgress progress) {
+    var jobPayload = this.objectMapper.readValue(payload, Payload.class);
+    this.consultantAgencyRelationCreatorService.createVerifiedConsultantAgency(
+        jobPayload.getConsultantId(), jobPayload.getCreateConsultantAgencyDTO(), progress);
+    return null;
+  }
+
+  /**
+   * Payload of a {@link AdminJobType#CREATE_CONSULTANT_AGENCY} job.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Payload {
+
+    private String consultantId;
+    private CreateConsultantAgencyDTO createConsultantAgencyDTO;
+  }
+
+}
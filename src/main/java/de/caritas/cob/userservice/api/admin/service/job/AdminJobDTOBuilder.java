@@ -0,0 +1,79 @@
+package de.caritas.cob.userservice.api.admin.service.job;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import de.caritas.cob.userservice.api.admin.hallink.HalLinkBuilder;
+import de.caritas.cob.userservice.api.model.AdminJobDTO;
+import de.caritas.cob.userservice.api.model.AdminJobDTO.StatusEnum;
+import de.caritas.cob.userservice.api.model.AdminJobDTO.TypeEnum;
+import de.caritas.cob.userservice.api.model.AdminJobLinks;
+import de.caritas.cob.userservice.api.model.HalLink;
+import de.caritas.cob.userservice.api.model.HalLink.MethodEnum;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJob;
+import de.caritas.cob.userservice.generated.api.admin.controller.UseradminApi;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builder class to generate a {@link AdminJobDTO} containing available hal links.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class AdminJobDTOBuilder implements HalLinkBuilder {
+
+  private final AdminJob adminJob;
+
+  /**
+   * Creates an {@link AdminJobDTOBuilder} instance.
+   *
+   * @param adminJob the job to build the dto for
+   * @return a instance of {@link AdminJobDTOBuilder}
+   */
+  static AdminJobDTOBuilder getInstance(AdminJob adminJob) {
+    return new AdminJobDTOBuilder(adminJob);
+  }
+
+  /**
+   * Generates the {@link AdminJobDTO} with the current state of the job.
+   *
+   * @return the generated {@link AdminJobDTO}
+   */
+  AdminJobDTO buildAdminJobDTO() {
+    return new AdminJobDTO()
+        .id(this.adminJob.getId())
+        .type(TypeEnum.fromValue(this.adminJob.getType().name()))
+        .status(StatusEnum.fromValue(this.adminJob.getStatus().name()))
+        .totalItems(this.adminJob.getTotalItems())
+        .processedItems(this.adminJob.getProcessedItems())
+        .failedItems(this.adminJob.getFailedItems())
+        .createDate(toDateString(this.adminJob.getCreateDate()))
+        .startDate(toDateString(this.adminJob.getStartDate()))
+        .finishDate(toDateString(this.adminJob.getFinishDate()))
+        .durationMillis(calculateDurationMillis())
+        .errorMessage(this.adminJob.getErrorMessage())
+        .links(new AdminJobLinks().self(buildSelfLink()));
+  }
+
+  private Long calculateDurationMillis() {
+    if (isNull(this.adminJob.getStartDate())) {
+      return null;
+    }
+    var endDate = nonNull(this.adminJob.getFinishDate()) ? this.adminJob.getFinishDate()
+        : nowInUtc();
+    return Duration.between(this.adminJob.getStartDate(), endDate).toMillis();
+  }
+
+  private String toDateString(LocalDateTime dateTime) {
+    return isNull(dateTime) ? null : String.valueOf(dateTime);
+  }
+
+  private HalLink buildSelfLink() {
+    return buildHalLink(methodOn(UseradminApi.class).getAdminJob(this.adminJob.getId()),
+        MethodEnum.GET);
+  }
+
+}
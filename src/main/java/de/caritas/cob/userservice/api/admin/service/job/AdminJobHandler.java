@@ -0,0 +1,27 @@
+package de.caritas.cob.userservice.api.admin.service.job;
+
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+
+/**
+ * Performs the operation of one {@link AdminJobType}. Jobs can be executed again after an instance
+ * of the service has been stopped while running them, so the operation must be repeatable.
+ */
+public interface AdminJobHandler {
+
+  /**
+   * Returns the {@link AdminJobType} handled by this handler.
+   *
+   * @return the {@link AdminJobType}
+   */
+  AdminJobType getType();
+
+  /**
+   * Performs the operation of the job.
+   *
+   * @param payload  the payload the job has been submitted with
+   * @param progress the {@link AdminJobProgress} to report to
+   * @return the result of the job to be persisted, may be null
+   */
+  String execute(String payload, AdminJobProgress progress);
+
+}
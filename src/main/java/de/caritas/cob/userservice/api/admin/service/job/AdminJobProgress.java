@@ -0,0 +1,45 @@
+package de.caritas.cob.userservice.api.admin.service.job;
+
+/**
+ * Receives the progress of a long running admin operation processing a list of items.
+ */
+public interface AdminJobProgress {
+
+  /**
+   * Progress which ignores all updates, used for synchronous operations without a job.
+   */
+  AdminJobProgress NONE = new AdminJobProgress() {
+    @Override
+    public void start(int totalItems) {
+      // progress is not tracked
+    }
+
+    @Override
+    public void itemProcessed() {
+      // progress is not tracked
+    }
+
+    @Override
+    public void itemFailed() {
+      // progress is not tracked
+    }
+  };
+
+  /**
+   * Marks the start of the processing.
+   *
+   * @param totalItems the amount of items to be processed
+   */
+  void start(int totalItems);
+
+  /**
+   * Marks one item as successfully processed.
+   */
+  void itemProcessed();
+
+  /**
+   * Marks one item as failed.
+   */
+  void itemFailed();
+
+}
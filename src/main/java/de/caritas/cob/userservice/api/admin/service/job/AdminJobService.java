@@ -0,0 +1,309 @@
+package de.caritas.cob.userservice.api.admin.service.job;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+import static java.util.Objects.isNull;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.exception.httpresponses.ConflictException;
+import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
+import de.caritas.cob.userservice.api.exception.httpresponses.NotFoundException;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.model.AdminJobDTO;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJob;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobRepository;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobStatus;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+import de.caritas.cob.userservice.api.service.LogService;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service to run long running admin operations asynchronously. Jobs are persisted, so their state
+ * can be requested from every instance of the service and jobs of a stopped instance are queued
+ * again and continued by another one.
+ */
+@Service
+public class AdminJobService {
+
+  private final AdminJobRepository adminJobRepository;
+  private final Map<AdminJobType, AdminJobHandler> adminJobHandlers;
+  private final ObjectMapper objectMapper;
+  private final EntityManagerSessionRunner entityManagerSessionRunner;
+  private final Executor adminJobExecutor;
+  private final String workerId = resolveWorkerId();
+  private final Set<String> dispatchedJobIds = ConcurrentHashMap.newKeySet();
+  private final Map<String, PersistentAdminJobProgress> runningJobs = new ConcurrentHashMap<>();
+
+  @Value("${admin.job.retentionHours}")
+  private long retentionHours;
+
+  @Value("${admin.job.progress.flushIntervalMillis}")
+  private long progressFlushIntervalMillis;
+
+  @Value("${admin.job.staleMinutes}")
+  private long staleMinutes;
+
+  @Value("${admin.job.maxAttempts}")
+  private int maxAttempts;
+
+  public AdminJobService(@NonNull AdminJobRepository adminJobRepository,
+      @NonNull List<AdminJobHandler> adminJobHandlers,
+      @NonNull ObjectMapper objectMapper,
+      @NonNull EntityManagerSessionRunner entityManagerSessionRunner,
+      @NonNull @Qualifier("adminJobExecutor") Executor adminJobExecutor) {
+    this.adminJobRepository = adminJobRepository;
+    this.adminJobHandlers = adminJobHandlers.stream()
+        .collect(Collectors.toMap(AdminJobHandler::getType, Function.identity()));
+    this.objectMapper = objectMapper;
+    this.entityManagerSessionRunner = entityManagerSessionRunner;
+    this.adminJobExecutor = adminJobExecutor;
+  }
+
+  private static String resolveWorkerId() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      return UUID.randomUUID().toString();
+    }
+  }
+
+  /**
+   * Persists a new admin job and queues it for execution.
+   *
+   * @param type    the {@link AdminJobType}
+   * @param payload the payload passed to the {@link AdminJobHandler} of the type, may be null
+   * @return the {@link AdminJobDTO} of the queued job
+   */
+  public AdminJobDTO submit(AdminJobType type, Object payload) {
+    var adminJob = AdminJob.builder()
+        .id(UUID.randomUUID().toString())
+        .type(type)
+        .status(AdminJobStatus.QUEUED)
+        .payload(toPayloadJson(payload))
+        .createDate(nowInUtc())
+        .build();
+    adminJob = this.adminJobRepository.save(adminJob);
+    dispatch(adminJob.getId());
+    return AdminJobDTOBuilder.getInstance(adminJob).buildAdminJobDTO();
+  }
+
+  private String toPayloadJson(Object payload) {
+    if (isNull(payload)) {
+      return null;
+    }
+    try {
+      return this.objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new InternalServerErrorException("Payload of admin job could not be serialized", e,
+          LogService::logInternalServerError);
+    }
+  }
+
+  private void dispatch(String jobId) {
+    if (!this.dispatchedJobIds.add(jobId)) {
+      return;
+    }
+    try {
+      this.adminJobExecutor.execute(() -> runIfClaimed(jobId));
+    } catch (RejectedExecutionException e) {
+      this.dispatchedJobIds.remove(jobId);
+      LogService.logWarn(String.format(
+          "Admin job %s could not be queued on this instance and stays queued: %s", jobId,
+          e.getMessage()));
+    }
+  }
+
+  private void runIfClaimed(String jobId) {
+    try {
+      claim(jobId).ifPresent(this::run);
+    } finally {
+      this.dispatchedJobIds.remove(jobId);
+    }
+  }
+
+  private Optional<AdminJob> claim(String jobId) {
+    try {
+      return this.adminJobRepository.findById(jobId)
+          .filter(adminJob -> adminJob.getStatus() == AdminJobStatus.QUEUED)
+          .map(adminJob -> {
+            adminJob.setStatus(AdminJobStatus.RUNNING);
+            adminJob.setWorker(this.workerId);
+            adminJob.setAttempts(adminJob.getAttempts() + 1);
+            adminJob.setStartDate(nowInUtc());
+            adminJob.setHeartbeatDate(nowInUtc());
+            adminJob.setTotalItems(0);
+            adminJob.setProcessedItems(0);
+            adminJob.setFailedItems(0);
+            adminJob.setErrorMessage(null);
+            return this.adminJobRepository.save(adminJob);
+          });
+    } catch (OptimisticLockingFailureException e) {
+      // the job has been claimed by another instance in the meantime
+      return Optional.empty();
+    }
+  }
+
+  private void run(AdminJob adminJob) {
+    var progress = new PersistentAdminJobProgress(adminJob.getId(), this.adminJobRepository,
+        this.progressFlushIntervalMillis);
+    this.runningJobs.put(adminJob.getId(), progress);
+    try {
+      var result = this.entityManagerSessionRunner.callInSession(
+          () -> resolveHandler(adminJob.getType()).execute(adminJob.getPayload(), progress));
+      progress.finish(result);
+      LogService.logInfo(String.format("Admin job %s (%s) finished", adminJob.getId(),
+          adminJob.getType()));
+    } catch (Exception e) {
+      LogService.logInternalServerError(
+          String.format("Admin job %s (%s) failed", adminJob.getId(), adminJob.getType()), e);
+      failJob(progress, e);
+    } finally {
+      this.runningJobs.remove(adminJob.getId());
+    }
+  }
+
+  private AdminJobHandler resolveHandler(AdminJobType type) {
+    var adminJobHandler = this.adminJobHandlers.get(type);
+    if (isNull(adminJobHandler)) {
+      throw new IllegalStateException(String.format("No handler for admin job type %s", type));
+    }
+    return adminJobHandler;
+  }
+
+  private void failJob(PersistentAdminJobProgress progress, Exception exception) {
+    try {
+      progress.fail(exception.getMessage());
+    } catch (Exception e) {
+      LogService.logInternalServerError("Failed admin job could not be marked as failed", e);
+    }
+  }
+
+  /**
+   * Writes the heartbeats of all jobs running on this instance.
+   */
+  public void sendHeartbeats() {
+    this.runningJobs.values().forEach(PersistentAdminJobProgress::flush);
+  }
+
+  /**
+   * Queues running jobs again whose heartbeat has not been written for the configured time, e.g.
+   * because the instance running them has been stopped. Jobs which reached the maximum amount of
+   * attempts are marked as failed instead.
+   */
+  public void requeueStaleJobs() {
+    var staleDate = nowInUtc().minusMinutes(this.staleMinutes);
+    this.adminJobRepository.findByStatusAndHeartbeatDateBefore(AdminJobStatus.RUNNING, staleDate)
+        .forEach(this::requeueStaleJob);
+  }
+
+  private void requeueStaleJob(AdminJob adminJob) {
+    if (adminJob.getAttempts() >= this.maxAttempts) {
+      adminJob.setStatus(AdminJobStatus.FAILED);
+      adminJob.setFinishDate(nowInUtc());
+      adminJob.setErrorMessage(String.format(
+          "Admin job has been aborted after %d attempts, last worker %s stopped responding",
+          adminJob.getAttempts(), adminJob.getWorker()));
+    } else {
+      adminJob.setStatus(AdminJobStatus.QUEUED);
+      adminJob.setWorker(null);
+    }
+    try {
+      this.adminJobRepository.save(adminJob);
+      LogService.logWarn(String.format("Stale admin job %s of worker %s changed to %s",
+          adminJob.getId(), adminJob.getWorker(), adminJob.getStatus()));
+    } catch (OptimisticLockingFailureException e) {
+      // the job has been updated by its worker in the meantime and is not stale
+    }
+  }
+
+  /**
+   * Dispatches queued jobs to the executor of this instance.
+   */
+  public void dispatchQueuedJobs() {
+    this.adminJobRepository.findTop20ByStatusOrderByCreateDateAsc(AdminJobStatus.QUEUED)
+        .forEach(adminJob -> dispatch(adminJob.getId()));
+  }
+
+  /**
+   * Deletes finished and failed jobs after the configured retention time, including the report
+   * files of violation report jobs.
+   */
+  public void removeExpiredJobs() {
+    var expirationDate = nowInUtc().minusHours(this.retentionHours);
+    var expiredJobs = this.adminJobRepository.findByFinishDateBefore(expirationDate);
+    expiredJobs.stream()
+        .filter(adminJob -> adminJob.getType() == AdminJobType.GENERATE_VIOLATION_REPORT)
+        .map(AdminJob::getResult)
+        .filter(Objects::nonNull)
+        .forEach(this::deleteReportFile);
+    this.adminJobRepository.deleteAll(expiredJobs);
+  }
+
+  private void deleteReportFile(String reportPath) {
+    try {
+      Files.deleteIfExists(Path.of(reportPath));
+    } catch (IOException | InvalidPathException e) {
+      LogService.logWarn(String.format(
+          "Report file %s of expired admin job could not be deleted: %s", reportPath,
+          e.getMessage()));
+    }
+  }
+
+  /**
+   * Returns the current state of the admin job with the given id.
+   *
+   * @param jobId the id of the job
+   * @return the {@link AdminJobDTO}
+   */
+  public AdminJobDTO findAdminJob(String jobId) {
+    return AdminJobDTOBuilder.getInstance(retrieveAdminJob(jobId)).buildAdminJobDTO();
+  }
+
+  /**
+   * Returns the result of a finished admin job.
+   *
+   * @param jobId the id of the job
+   * @param type  the expected {@link AdminJobType} of the job
+   * @return the result of the job
+   */
+  public String findAdminJobResult(String jobId, AdminJobType type) {
+    var adminJob = retrieveAdminJob(jobId);
+    if (adminJob.getType() != type) {
+      throw new NotFoundException(String.format("Admin job with id %s is no %s job", jobId, type));
+    }
+    if (adminJob.getStatus() != AdminJobStatus.FINISHED) {
+      throw new ConflictException(
+          String.format("Admin job with id %s is %s", jobId, adminJob.getStatus()),
+          LogService::logWarn);
+    }
+    return adminJob.getResult();
+  }
+
+  private AdminJob retrieveAdminJob(String jobId) {
+    return this.adminJobRepository.findById(jobId)
+        .orElseThrow(() -> new NotFoundException(
+            String.format("Admin job with id %s does not exist", jobId)));
+  }
+
+}
@@ -0,0 +1,105 @@
+package de.caritas.cob.userservice.api.admin.service.job;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobRepository;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobStatus;
+import de.caritas.cob.userservice.api.service.LogService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * {@link AdminJobProgress} of a job running on this instance. The counters are updated
+ * concurrently in memory and written to the database at most once per flush interval, each write
+ * also serves as heartbeat of the job. Writes are performed as update statements, so heartbeats of
+ * the scheduler thread do not conflict with the entity state of the worker thread.
+ */
+class PersistentAdminJobProgress implements AdminJobProgress {
+
+  private static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+  private final String jobId;
+  private final AdminJobRepository adminJobRepository;
+  private final long flushIntervalMillis;
+  private final AtomicInteger totalItems = new AtomicInteger();
+  private final AtomicInteger processedItems = new AtomicInteger();
+  private final AtomicInteger failedItems = new AtomicInteger();
+  private volatile long lastFlushMillis = System.currentTimeMillis();
+
+  PersistentAdminJobProgress(String jobId, AdminJobRepository adminJobRepository,
+      long flushIntervalMillis) {
+    this.jobId = jobId;
+    this.adminJobRepository = adminJobRepository;
+    this.flushIntervalMillis = flushIntervalMillis;
+  }
+
+  @Override
+  public void start(int totalItems) {
+    this.totalItems.addAndGet(totalItems);
+    flush();
+  }
+
+  @Override
+  public void itemProcessed() {
+    this.processedItems.incrementAndGet();
+    flushIfDue();
+  }
+
+  @Override
+  public void itemFailed() {
+    this.failedItems.incrementAndGet();
+    flushIfDue();
+  }
+
+  private void flushIfDue() {
+    if (System.currentTimeMillis() - this.lastFlushMillis >= this.flushIntervalMillis) {
+      flush();
+    }
+  }
+
+  /**
+   * Writes the current counters and the heartbeat of the job. A failing write must not fail the
+   * processed item, so it is only logged.
+   */
+  synchronized void flush() {
+    try {
+      this.adminJobRepository.updateProgress(this.jobId, this.totalItems.get(),
+          this.processedItems.get(), this.failedItems.get(), nowInUtc(), AdminJobStatus.RUNNING);
+    } catch (Exception e) {
+      LogService.logWarn(
+          String.format("Progress of admin job %s could not be written: %s", this.jobId,
+              e.getMessage()));
+    }
+    this.lastFlushMillis = System.currentTimeMillis();
+  }
+
+  /**
+   * Marks the job as finished.
+   *
+   * @param result the result of the job
+   */
+  synchronized void finish(String result) {
+    complete(AdminJobStatus.FINISHED, result, null);
+  }
+
+  /**
+   * Marks the job as failed.
+   *
+   * @param errorMessage the error message
+   */
+  synchronized void fail(String errorMessage) {
+    complete(AdminJobStatus.FAILED, null,
+        StringUtils.abbreviate(errorMessage, MAX_ERROR_MESSAGE_LENGTH));
+  }
+
+  private void complete(AdminJobStatus status, String result, String errorMessage) {
+    var updatedJobs = this.adminJobRepository.completeJob(this.jobId, status, result,
+        errorMessage, this.totalItems.get(), this.processedItems.get(), this.failedItems.get(),
+        nowInUtc(), AdminJobStatus.RUNNING);
+    if (updatedJobs == 0) {
+      LogService.logWarn(String.format(
+          "Admin job %s has been taken over by another worker, result is discarded", this.jobId));
+    }
+  }
+
+}
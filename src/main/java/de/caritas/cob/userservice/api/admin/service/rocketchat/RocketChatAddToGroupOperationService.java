@@ -1,5 +1,8 @@
 package de.caritas.cob.userservice.api.admin.service.rocketchat;
 
+import static java.util.Objects.isNull;
+
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
 import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
 import de.caritas.cob.userservice.api.facade.RocketChatFacade;
 import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeManager;
@@ -7,16 +10,31 @@ import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.service.LogService;
 import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientService;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.tuple.Pair;
 
 /**
  * Provider for group operations with Rocket.Chat.
  */
 public class RocketChatAddToGroupOperationService extends RocketChatGroupOperation {
 
+  private static final int MAX_ROLLBACK_ROUNDS = 3;
+
   private List<Session> sessions;
   private Consultant consultant;
+  private AdminJobProgress progress = AdminJobProgress.NONE;
+  private Executor executor = Runnable::run;
+  private int concurrency = 1;
   private final ConsultingTypeManager consultingTypeManager;
 
   private RocketChatAddToGroupOperationService(RocketChatFacade rocketChatFacade,
@@ -63,17 +81,79 @@ public class RocketChatAddToGroupOperationService extends RocketChatGroupOperati
   }
 
   /**
-   * Adds the user to configured groups.
+   * Sets the {@link AdminJobProgress} to report the per session progress to.
+   *
+   * @param progress the {@link AdminJobProgress}
+   * @return the {@link RocketChatAddToGroupOperationService} instance
+   */
+  public RocketChatAddToGroupOperationService withProgress(AdminJobProgress progress) {
+    this.progress = progress;
+    return this;
+  }
+
+  /**
+   * Processes the sessions concurrently in batches of the given size on the given {@link
+   * Executor}.
+   *
+   * @param executor    the {@link Executor} to perform the Rocket.Chat requests
+   * @param concurrency the amount of sessions processed concurrently
+   * @return the {@link RocketChatAddToGroupOperationService} instance
+   */
+  public RocketChatAddToGroupOperationService inParallel(Executor executor, int concurrency) {
+    this.executor = executor;
+    this.concurrency = Math.max(1, concurrency);
+    return this;
+  }
+
+  /**
+   * Adds the user to configured groups. The sessions are processed in batches of the configured
+   * concurrency. If the consultant could not be added to one session, no further batch is started
+   * and the consultant is removed again from all sessions touched so far.
    */
   public void addToGroupsOrRollbackOnFailure() {
-    this.sessions.forEach(this::addToSpecificSessionOrRollbackOnFailure);
+    this.progress.start(this.sessions.size());
+    Queue<Session> touchedSessions = new ConcurrentLinkedQueue<>();
+    for (List<Session> batch : ListUtils.partition(this.sessions, this.concurrency)) {
+      var failure = runBatch(batch, session -> addToSpecificSession(session, touchedSessions));
+      if (failure.isPresent()) {
+        rollback(new ArrayList<>(touchedSessions));
+        throw failure.get();
+      }
+    }
+  }
+
+  private Optional<InternalServerErrorException> runBatch(List<Session> batch,
+      Consumer<Session> operation) {
+    List<CompletableFuture<Void>> operations = batch.stream()
+        .map(session -> CompletableFuture.runAsync(() -> operation.accept(session), this.executor))
+        .collect(Collectors.toList());
+    InternalServerErrorException firstFailure = null;
+    for (CompletableFuture<Void> sessionOperation : operations) {
+      try {
+        sessionOperation.join();
+      } catch (CompletionException e) {
+        if (isNull(firstFailure)) {
+          firstFailure = toInternalServerErrorException(e.getCause());
+        }
+      }
+    }
+    return Optional.ofNullable(firstFailure);
   }
 
-  private void addToSpecificSessionOrRollbackOnFailure(Session session) {
+  private InternalServerErrorException toInternalServerErrorException(Throwable cause) {
+    if (cause instanceof InternalServerErrorException) {
+      return (InternalServerErrorException) cause;
+    }
+    return new InternalServerErrorException(cause.getMessage(), LogService::logRocketChatError);
+  }
+
+  private void addToSpecificSession(Session session, Queue<Session> touchedSessions) {
+    touchedSessions.add(session);
     try {
       addConsultantToGroupOfSession(session, this.consultant, this.consultingTypeManager);
+      this.progress.itemProcessed();
     } catch (Exception e) {
-      rollback();
+      this.progress.itemFailed();
       throw new InternalServerErrorException(
           String.format(
               "ERROR: Consultant could not be added to rc group %s: Technical user could not be"
@@ -83,18 +163,34 @@ public class RocketChatAddToGroupOperationService extends RocketChatGroupOperati
     }
   }
 
-  private void rollback() {
-    this.sessions.forEach(this::removeUserFromSession);
+  /**
+   * Removes the consultant from all given sessions. A failing session does not stop the
+   * compensation of the remaining ones, failed sessions are retried in further rounds.
+   */
+  private void rollback(List<Session> touchedSessions) {
+    List<Session> remainingSessions = touchedSessions;
+    Queue<Pair<Session, Exception>> failures = new ConcurrentLinkedQueue<>();
+    for (int round = 0; round < MAX_ROLLBACK_ROUNDS && !remainingSessions.isEmpty(); round++) {
+      failures.clear();
+      for (List<Session> batch : ListUtils.partition(remainingSessions, this.concurrency)) {
+        runBatch(batch, session -> removeUserFromSession(session, failures));
+      }
+      remainingSessions = failures.stream().map(Pair::getLeft).collect(Collectors.toList());
+    }
+    if (!failures.isEmpty()) {
+      var failure = failures.peek();
+      throw new InternalServerErrorException(
+          String.format("ERROR: Failed to rollback %s of group %s:",
+              resolveTypeOfSession(failure.getLeft()), failure.getLeft().getGroupId()),
+          failure.getRight(), LogService::logRocketChatError);
+    }
   }
 
-  private void removeUserFromSession(Session session) {
+  private void removeUserFromSession(Session session, Queue<Pair<Session, Exception>> failures) {
     try {
       removeConsultantsFromSessionGroups(session, List.of(this.consultant));
     } catch (Exception e) {
-      throw new InternalServerErrorException(
-          String.format("ERROR: Failed to rollback %s of group %s:",
-              resolveTypeOfSession(session), session.getGroupId()), e,
-          LogService::logRocketChatError);
+      failures.add(Pair.of(session, e));
     }
   }
 
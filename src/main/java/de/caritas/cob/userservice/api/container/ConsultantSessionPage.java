@@ -0,0 +1,15 @@
+package de.caritas.cob.userservice.api.container;
+
+import de.caritas.cob.userservice.api.model.ConsultantSessionResponseDTO;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ConsultantSessionPage {
+
+  private final List<ConsultantSessionResponseDTO> sessions;
+  private final long total;
+
+}
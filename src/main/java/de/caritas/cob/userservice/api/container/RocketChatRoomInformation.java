@@ -2,6 +2,7 @@ package de.caritas.cob.userservice.api.container;
 
 import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsLastMessageDTO;
 import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsUpdateDTO;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import lombok.Builder;
@@ -15,5 +16,7 @@ public class RocketChatRoomInformation {
   private final List<RoomsUpdateDTO> roomsForUpdate;
   private final List<String> userRooms;
   private final Map<String, RoomsLastMessageDTO> lastMessagesRoom;
+  private final Map<String, Date> roomChangeDates;
+  private final Date messageStatesSynchronizedAt;
 
 }
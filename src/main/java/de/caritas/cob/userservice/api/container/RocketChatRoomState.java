@@ -0,0 +1,26 @@
+package de.caritas.cob.userservice.api.container;
+
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsUpdateDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsUpdateDTO;
+import java.util.Date;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Snapshot of the Rocket.Chat subscriptions and rooms of a user, including the dates of the latest
+ * known changes which are used to request only the delta on the next synchronization. The
+ * messageStatesSynchronizedAt date marks up to which room change the persisted session message
+ * states have been updated.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class RocketChatRoomState {
+
+  private final Map<String, SubscriptionsUpdateDTO> subscriptionsByRoomId;
+  private final Date subscriptionsUpdatedAt;
+  private final Map<String, RoomsUpdateDTO> roomsById;
+  private final Date roomsUpdatedAt;
+  private final Date messageStatesSynchronizedAt;
+
+}
@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.deleteworkflow.action;
 
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType;
 import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -10,7 +11,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public abstract class DeleteKeycloakUserAction {
+public abstract class DeleteKeycloakUserAction implements DeletionTargetAction {
 
   protected static final String ERROR_REASON = "Unable to delete keycloak user account";
 
@@ -20,4 +21,9 @@ public abstract class DeleteKeycloakUserAction {
     this.keycloakAdminClientService.deleteUser(userId);
   }
 
+  @Override
+  public DeletionTargetType getDeletionTargetType() {
+    return DeletionTargetType.KEYCLOAK;
+  }
+
 }
@@ -5,6 +5,7 @@ import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowIn
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionSourceType;
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType;
 import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
 import de.caritas.cob.userservice.api.exception.rocketchat.RocketChatDeleteUserException;
 import de.caritas.cob.userservice.api.service.LogService;
@@ -19,7 +20,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public abstract class DeleteRocketChatUserAction {
+public abstract class DeleteRocketChatUserAction implements DeletionTargetAction {
 
   private static final String ERROR_REASON = "Unable to delete Rocket.Chat user account";
 
@@ -31,6 +32,11 @@ public abstract class DeleteRocketChatUserAction {
     }
   }
 
+  @Override
+  public DeletionTargetType getDeletionTargetType() {
+    return ROCKET_CHAT;
+  }
+
   protected void appendErrorsForSourceType(List<DeletionWorkflowError> workflowErrors,
       DeletionSourceType deletionSourceType, String rcUserId, Exception e) {
     LogService.logDeleteWorkflowError(e);
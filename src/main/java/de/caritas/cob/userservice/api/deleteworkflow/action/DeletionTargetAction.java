@@ -0,0 +1,18 @@
+package de.caritas.cob.userservice.api.deleteworkflow.action;
+
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType;
+
+/**
+ * Deletion action performing its deletions mainly in one external target system, used to limit
+ * the concurrent requests to this system.
+ */
+public interface DeletionTargetAction {
+
+  /**
+   * Returns the target system of the deletion.
+   *
+   * @return the {@link DeletionTargetType}
+   */
+  DeletionTargetType getDeletionTargetType();
+
+}
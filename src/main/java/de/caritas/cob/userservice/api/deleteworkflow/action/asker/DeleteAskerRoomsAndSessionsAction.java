@@ -7,7 +7,9 @@ import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowIn
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import de.caritas.cob.userservice.api.actions.ActionCommand;
+import de.caritas.cob.userservice.api.deleteworkflow.action.DeletionTargetAction;
 import de.caritas.cob.userservice.api.deleteworkflow.model.AskerDeletionWorkflowDTO;
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType;
 import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
 import de.caritas.cob.userservice.api.exception.rocketchat.RocketChatDeleteGroupException;
 import de.caritas.cob.userservice.api.repository.monitoring.MonitoringRepository;
@@ -27,7 +29,8 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class DeleteAskerRoomsAndSessionsAction implements ActionCommand<AskerDeletionWorkflowDTO> {
+public class DeleteAskerRoomsAndSessionsAction implements ActionCommand<AskerDeletionWorkflowDTO>,
+    DeletionTargetAction {
 
   private final @NonNull SessionRepository sessionRepository;
   private final @NonNull SessionDataRepository sessionDataRepository;
@@ -48,6 +51,11 @@ public class DeleteAskerRoomsAndSessionsAction implements ActionCommand<AskerDel
             session -> performSessionDeletion(session, actionTarget.getDeletionWorkflowErrors()));
   }
 
+  @Override
+  public DeletionTargetType getDeletionTargetType() {
+    return ROCKET_CHAT;
+  }
+
 
   private void performSessionDeletion(Session session, List<DeletionWorkflowError> workflowErrors) {
 
@@ -9,7 +9,9 @@ import static java.util.Collections.singletonList;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 
 import de.caritas.cob.userservice.api.actions.ActionCommand;
+import de.caritas.cob.userservice.api.deleteworkflow.action.DeletionTargetAction;
 import de.caritas.cob.userservice.api.deleteworkflow.model.ConsultantDeletionWorkflowDTO;
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType;
 import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
 import de.caritas.cob.userservice.api.exception.rocketchat.RocketChatDeleteGroupException;
 import de.caritas.cob.userservice.api.repository.chat.Chat;
@@ -29,7 +31,8 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class DeleteChatAction implements ActionCommand<ConsultantDeletionWorkflowDTO> {
+public class DeleteChatAction implements ActionCommand<ConsultantDeletionWorkflowDTO>,
+    DeletionTargetAction {
 
   private final @NonNull ChatRepository chatRepository;
   private final @NonNull RocketChatService rocketChatService;
@@ -54,6 +57,11 @@ public class DeleteChatAction implements ActionCommand<ConsultantDeletionWorkflo
     actionTarget.getDeletionWorkflowErrors().addAll(workflowErrors);
   }
 
+  @Override
+  public DeletionTargetType getDeletionTargetType() {
+    return ROCKET_CHAT;
+  }
+
   private List<DeletionWorkflowError> deleteRocketChatRoom(String rcGroupId) {
     try {
       this.rocketChatService.deleteGroupAsTechnicalUser(rcGroupId);
@@ -0,0 +1,115 @@
+package de.caritas.cob.userservice.api.deleteworkflow.service;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.repository.deletionworkflow.DeletionWorkflowCheckpoint;
+import de.caritas.cob.userservice.api.repository.deletionworkflow.DeletionWorkflowCheckpointRepository;
+import de.caritas.cob.userservice.api.service.LogService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Processor to run deletion workflows in chunks of a fixed size. The chunks are loaded by keyset
+ * paging behind the key of the last processed entry and each chunk is processed with its own
+ * persistence context. The key of the last processed entry is stored as checkpoint after each
+ * chunk, so an interrupted run continues behind it on the next run.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChunkedDeletionProcessor {
+
+  static final String FIRST_KEY = "";
+
+  private final @NonNull DeletionWorkflowCheckpointRepository checkpointRepository;
+  private final @NonNull EntityManagerSessionRunner entityManagerSessionRunner;
+
+  @Value("${user.deleteworkflow.chunkSize}")
+  private int chunkSize;
+
+  /**
+   * Deletes all entries provided by the chunk loader chunk by chunk.
+   *
+   * @param workflow      the name of the workflow used for its checkpoint
+   * @param chunkLoader   loads the entries ordered by key behind the given key, limited by the
+   *                      given {@link Pageable}
+   * @param keyExtractor  extracts the key of an entry
+   * @param chunkDeletion deletes the entries of one chunk
+   * @param <T>           the type of the entries
+   * @return all {@link DeletionWorkflowError} of this run
+   */
+  public <T> List<DeletionWorkflowError> deleteInChunks(String workflow,
+      BiFunction<String, Pageable, List<T>> chunkLoader, Function<T, String> keyExtractor,
+      Function<List<T>, List<DeletionWorkflowError>> chunkDeletion) {
+    List<DeletionWorkflowError> workflowErrors = new ArrayList<>();
+    Pageable chunk = PageRequest.of(0, Math.max(1, this.chunkSize));
+    String lastKey = loadCheckpoint(workflow);
+    boolean lastChunk = false;
+
+    while (!lastChunk) {
+      String afterKey = lastKey;
+      ChunkResult chunkResult = this.entityManagerSessionRunner.callInSession(() -> {
+        List<T> entries = chunkLoader.apply(afterKey, chunk);
+        if (entries.isEmpty()) {
+          return new ChunkResult(null, true);
+        }
+        workflowErrors.addAll(chunkDeletion.apply(entries));
+        return new ChunkResult(keyExtractor.apply(entries.get(entries.size() - 1)),
+            entries.size() < chunk.getPageSize());
+      });
+      lastChunk = chunkResult.lastChunk;
+      if (!lastChunk) {
+        lastKey = chunkResult.lastKey;
+        saveCheckpoint(workflow, lastKey);
+      }
+    }
+
+    removeCheckpoint(workflow);
+    return workflowErrors;
+  }
+
+  private String loadCheckpoint(String workflow) {
+    return this.checkpointRepository.findById(workflow)
+        .map(checkpoint -> {
+          LogService.logInfo(String.format("Resuming deletion workflow %s behind key %s",
+              workflow, checkpoint.getLastKey()));
+          return checkpoint.getLastKey();
+        })
+        .orElse(FIRST_KEY);
+  }
+
+  private void saveCheckpoint(String workflow, String lastKey) {
+    this.checkpointRepository.save(DeletionWorkflowCheckpoint.builder()
+        .workflow(workflow)
+        .lastKey(lastKey)
+        .updateDate(nowInUtc())
+        .build());
+  }
+
+  private void removeCheckpoint(String workflow) {
+    if (this.checkpointRepository.existsById(workflow)) {
+      this.checkpointRepository.deleteById(workflow);
+    }
+  }
+
+  private static class ChunkResult {
+
+    private final String lastKey;
+    private final boolean lastChunk;
+
+    private ChunkResult(String lastKey, boolean lastChunk) {
+      this.lastKey = lastKey;
+      this.lastChunk = lastChunk;
+    }
+  }
+
+}
@@ -1,5 +1,10 @@
 package de.caritas.cob.userservice.api.deleteworkflow.service;
 
+import static de.caritas.cob.userservice.api.deleteworkflow.model.DeletionSourceType.ASKER;
+import static de.caritas.cob.userservice.api.deleteworkflow.model.DeletionSourceType.CONSULTANT;
+import static de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType.DATABASE;
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+import static java.util.Collections.singletonList;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 
 import de.caritas.cob.userservice.api.actions.registry.ActionsRegistry;
@@ -16,33 +21,63 @@ import de.caritas.cob.userservice.api.deleteworkflow.action.consultant.DeleteKey
 import de.caritas.cob.userservice.api.deleteworkflow.action.consultant.DeleteRocketChatConsultantAction;
 import de.caritas.cob.userservice.api.deleteworkflow.model.AskerDeletionWorkflowDTO;
 import de.caritas.cob.userservice.api.deleteworkflow.model.ConsultantDeletionWorkflowDTO;
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionSourceType;
 import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
 import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.repository.user.UserRepository;
+import de.caritas.cob.userservice.api.service.LogService;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 /**
  * Service to trigger deletion of user accounts.
  */
 @Service
-@RequiredArgsConstructor
 public class DeleteUserAccountService {
 
-  private final @NonNull UserRepository userRepository;
-  private final @NonNull ConsultantRepository consultantRepository;
-  private final @NonNull ActionsRegistry actionsRegistry;
-  private final @NonNull WorkflowErrorMailService workflowErrorMailService;
+  private static final String ASKER_DELETION_WORKFLOW = "ASKER_ACCOUNT_DELETION";
+  private static final String CONSULTANT_DELETION_WORKFLOW = "CONSULTANT_ACCOUNT_DELETION";
+
+  private final UserRepository userRepository;
+  private final ConsultantRepository consultantRepository;
+  private final ActionsRegistry actionsRegistry;
+  private final WorkflowErrorMailService workflowErrorMailService;
+  private final ChunkedDeletionProcessor chunkedDeletionProcessor;
+  private final DeletionTargetLimiter deletionTargetLimiter;
+  private final EntityManagerSessionRunner entityManagerSessionRunner;
+  private final Executor deletionWorkflowExecutor;
+
+  public DeleteUserAccountService(@NonNull UserRepository userRepository,
+      @NonNull ConsultantRepository consultantRepository,
+      @NonNull ActionsRegistry actionsRegistry,
+      @NonNull WorkflowErrorMailService workflowErrorMailService,
+      @NonNull ChunkedDeletionProcessor chunkedDeletionProcessor,
+      @NonNull DeletionTargetLimiter deletionTargetLimiter,
+      @NonNull EntityManagerSessionRunner entityManagerSessionRunner,
+      @NonNull @Qualifier("deletionWorkflowExecutor") Executor deletionWorkflowExecutor) {
+    this.userRepository = userRepository;
+    this.consultantRepository = consultantRepository;
+    this.actionsRegistry = actionsRegistry;
+    this.workflowErrorMailService = workflowErrorMailService;
+    this.chunkedDeletionProcessor = chunkedDeletionProcessor;
+    this.deletionTargetLimiter = deletionTargetLimiter;
+    this.entityManagerSessionRunner = entityManagerSessionRunner;
+    this.deletionWorkflowExecutor = deletionWorkflowExecutor;
+  }
 
   /**
-   * Deletes all user accounts marked as deleted in database.
+   * Deletes all user accounts marked as deleted in database chunk by chunk.
    */
   public void deleteUserAccounts() {
     var workflowErrors = deleteAskersAndCollectPossibleErrors();
@@ -54,10 +89,20 @@ public class DeleteUserAccountService {
   }
 
   private List<DeletionWorkflowError> deleteAskersAndCollectPossibleErrors() {
-    return this.userRepository.findAllByDeleteDateNotNull().stream()
-        .map(this::performUserDeletion)
-        .flatMap(Collection::stream)
-        .collect(Collectors.toList());
+    return this.chunkedDeletionProcessor.deleteInChunks(ASKER_DELETION_WORKFLOW,
+        this.userRepository::findByDeleteDateNotNullAndUserIdGreaterThanOrderByUserIdAsc,
+        User::getUserId, this::performUserDeletions);
+  }
+
+  /**
+   * Deletes the given users concurrently and collects the errors of all deletions. The actions of
+   * one user are performed in order, a failing user does not affect the deletion of the others.
+   *
+   * @param users the users to delete
+   * @return all {@link DeletionWorkflowError} of the deletions
+   */
+  List<DeletionWorkflowError> performUserDeletions(Collection<User> users) {
+    return performInParallel(users, this::performUserDeletion, ASKER, User::getUserId);
   }
 
   List<DeletionWorkflowError> performUserDeletion(User user) {
@@ -71,16 +116,20 @@ public class DeleteUserAccountService {
         .addActionToExecute(DeleteRocketChatAskerAction.class)
         .addActionToExecute(DeleteAnonymousRegistryIdAction.class)
         .addActionToExecute(DeleteDatabaseAskerAction.class)
-        .executeActions(deletionWorkflowDTO);
+        .executeActions(deletionWorkflowDTO, this.deletionTargetLimiter::runLimited);
 
     return deletionWorkflowDTO.getDeletionWorkflowErrors();
   }
 
   private List<DeletionWorkflowError> deleteConsultantsAndCollectPossibleErrors() {
-    return this.consultantRepository.findAllByDeleteDateNotNull().stream()
-        .map(this::performConsultantDeletion)
-        .flatMap(Collection::stream)
-        .collect(Collectors.toList());
+    return this.chunkedDeletionProcessor.deleteInChunks(CONSULTANT_DELETION_WORKFLOW,
+        this.consultantRepository::findByDeleteDateNotNullAndIdGreaterThanOrderByIdAsc,
+        Consultant::getId, this::performConsultantDeletions);
+  }
+
+  private List<DeletionWorkflowError> performConsultantDeletions(List<Consultant> consultants) {
+    return performInParallel(consultants, this::performConsultantDeletion, CONSULTANT,
+        Consultant::getId);
   }
 
   private List<DeletionWorkflowError> performConsultantDeletion(Consultant consultant) {
@@ -94,9 +143,39 @@ public class DeleteUserAccountService {
         .addActionToExecute(DeleteChatAction.class)
         .addActionToExecute(DeleteRocketChatConsultantAction.class)
         .addActionToExecute(DeleteDatabaseConsultantAction.class)
-        .executeActions(deletionWorkflowDTO);
+        .executeActions(deletionWorkflowDTO, this.deletionTargetLimiter::runLimited);
 
     return deletionWorkflowDTO.getDeletionWorkflowErrors();
   }
 
+  private <T> List<DeletionWorkflowError> performInParallel(Collection<T> targets,
+      Function<T, List<DeletionWorkflowError>> deletion, DeletionSourceType sourceType,
+      Function<T, String> identifier) {
+    List<CompletableFuture<List<DeletionWorkflowError>>> deletions = targets.stream()
+        .map(target -> CompletableFuture
+            .supplyAsync(() -> this.entityManagerSessionRunner
+                .callInSession(() -> deletion.apply(target)), this.deletionWorkflowExecutor)
+            .exceptionally(e -> buildUnexpectedError(sourceType, identifier.apply(target), e)))
+        .collect(Collectors.toList());
+    return deletions.stream()
+        .map(CompletableFuture::join)
+        .flatMap(Collection::stream)
+        .collect(Collectors.toList());
+  }
+
+  private List<DeletionWorkflowError> buildUnexpectedError(DeletionSourceType sourceType,
+      String identifier, Throwable throwable) {
+    LogService.logDeleteWorkflowError(
+        throwable instanceof Exception ? (Exception) throwable : new Exception(throwable));
+    return singletonList(
+        DeletionWorkflowError.builder()
+            .deletionSourceType(sourceType)
+            .deletionTargetType(DATABASE)
+            .identifier(identifier)
+            .reason("Deletion workflow aborted unexpectedly")
+            .timestamp(nowInUtc())
+            .build()
+    );
+  }
+
 }
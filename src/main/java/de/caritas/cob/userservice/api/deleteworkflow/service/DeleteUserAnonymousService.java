@@ -1,23 +1,18 @@
 package de.caritas.cob.userservice.api.deleteworkflow.service;
 
+import static java.util.Collections.emptyList;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 
 import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
-import de.caritas.cob.userservice.api.repository.session.Session;
-import de.caritas.cob.userservice.api.repository.session.SessionRepository;
 import de.caritas.cob.userservice.api.repository.session.SessionStatus;
 import de.caritas.cob.userservice.api.repository.user.User;
+import de.caritas.cob.userservice.api.repository.user.UserRepository;
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import javax.transaction.Transactional;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 /**
@@ -27,16 +22,18 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class DeleteUserAnonymousService {
 
-  private final @NonNull SessionRepository sessionRepository;
+  private static final String ANONYMOUS_DELETION_WORKFLOW = "ANONYMOUS_USER_DELETION";
+
+  private final @NonNull UserRepository userRepository;
   private final @NonNull DeleteUserAccountService deleteUserAccountService;
   private final @NonNull WorkflowErrorMailService workflowErrorMailService;
+  private final @NonNull ChunkedDeletionProcessor chunkedDeletionProcessor;
   @Value("${user.anonymous.deleteworkflow.periodMinutes}")
   private int deletionPeriodMinutes;
 
   /**
-   * Deletes all anonymous users with special constraints.
+   * Deletes all anonymous users with special constraints chunk by chunk.
    */
-  @Transactional
   public void deleteInactiveAnonymousUsers() {
     List<DeletionWorkflowError> workflowErrors = deleteAnonymousUsersWithOverdueSessions();
 
@@ -46,40 +43,19 @@ public class DeleteUserAnonymousService {
   }
 
   private List<DeletionWorkflowError> deleteAnonymousUsersWithOverdueSessions() {
-    List<Session> doneSessions = this.sessionRepository.findByStatus(SessionStatus.DONE);
     LocalDateTime deletionTime = LocalDateTime.now().minusMinutes(deletionPeriodMinutes);
 
-    Set<User> usersWithoutOpenSessions = doneSessions.stream()
-        .filter(sessionUsersHavingAllSessionsDoneAndOverdue(deletionTime))
-        .map(Session::getUser)
-        .collect(Collectors.toSet());
-
-    return usersWithoutOpenSessions.stream()
-        .map(deleteUserAccountService::performUserDeletion)
-        .flatMap(Collection::stream)
-        .collect(Collectors.toList());
-  }
-
-  private Predicate<Session> sessionUsersHavingAllSessionsDoneAndOverdue(
-      LocalDateTime deletionTime) {
-    return session -> {
-      Set<Session> userSessions = session.getUser().getSessions();
-      return CollectionUtils.isEmpty(userSessions)
-          || (allSessionsAreDone(userSessions)
-            && allSessionsAreBeforeDeletionTime(deletionTime, userSessions));
-    };
-  }
-
-  private boolean allSessionsAreDone(Set<Session> sessions) {
-    return sessions.stream()
-        .map(Session::getStatus)
-        .allMatch(SessionStatus.DONE::equals);
+    return this.chunkedDeletionProcessor.deleteInChunks(ANONYMOUS_DELETION_WORKFLOW,
+        (lastUserId, chunk) -> findUsersWithOnlyOverdueDoneSessions(lastUserId, deletionTime,
+            chunk),
+        User::getUserId, this.deleteUserAccountService::performUserDeletions);
   }
 
-  private boolean allSessionsAreBeforeDeletionTime(LocalDateTime deletionTime,
-      Set<Session> sessions) {
-    return sessions.stream()
-        .map(Session::getUpdateDate)
-        .allMatch(updateDate -> updateDate.isBefore(deletionTime));
+  private List<User> findUsersWithOnlyOverdueDoneSessions(String lastUserId,
+      LocalDateTime deletionTime, Pageable chunk) {
+    List<String> userIds = this.userRepository.findUserIdsWithAllSessionsInStatusUpdatedBefore(
+        lastUserId, SessionStatus.DONE, deletionTime, chunk);
+    return userIds.isEmpty() ? emptyList()
+        : this.userRepository.findByUserIdInOrderByUserIdAsc(userIds);
   }
 }
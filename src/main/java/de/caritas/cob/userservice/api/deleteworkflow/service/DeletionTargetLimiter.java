@@ -0,0 +1,58 @@
+package de.caritas.cob.userservice.api.deleteworkflow.service;
+
+import static java.util.Objects.isNull;
+
+import de.caritas.cob.userservice.api.deleteworkflow.action.DeletionTargetAction;
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the deletion actions running concurrently against the same external target system, so
+ * users deleted in parallel do not flood Keycloak or Rocket.Chat with requests.
+ */
+@Component
+public class DeletionTargetLimiter {
+
+  private final Map<DeletionTargetType, Semaphore> permitsByTargetType =
+      new EnumMap<>(DeletionTargetType.class);
+
+  public DeletionTargetLimiter(
+      @Value("${user.deleteworkflow.keycloak.concurrency}") int keycloakConcurrency,
+      @Value("${user.deleteworkflow.rocketchat.concurrency}") int rocketChatConcurrency) {
+    this.permitsByTargetType.put(DeletionTargetType.KEYCLOAK, buildPermits(keycloakConcurrency));
+    this.permitsByTargetType
+        .put(DeletionTargetType.ROCKET_CHAT, buildPermits(rocketChatConcurrency));
+  }
+
+  private static Semaphore buildPermits(int concurrency) {
+    return new Semaphore(Math.max(1, concurrency), true);
+  }
+
+  /**
+   * Runs the execution of the given action, waiting for a free permit of its target system if the
+   * action is a {@link DeletionTargetAction} with a limited target system.
+   *
+   * @param action    the action to run
+   * @param execution the execution of the action
+   */
+  public void runLimited(Object action, Runnable execution) {
+    Semaphore permits = action instanceof DeletionTargetAction
+        ? this.permitsByTargetType.get(((DeletionTargetAction) action).getDeletionTargetType())
+        : null;
+    if (isNull(permits)) {
+      execution.run();
+      return;
+    }
+    permits.acquireUninterruptibly();
+    try {
+      execution.run();
+    } finally {
+      permits.release();
+    }
+  }
+
+}
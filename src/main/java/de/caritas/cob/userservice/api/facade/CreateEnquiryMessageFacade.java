@@ -42,7 +42,9 @@ import java.util.Optional;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 
 /*
  * Facade for capsuling the steps for saving the enquiry message.
@@ -53,7 +55,6 @@ public class CreateEnquiryMessageFacade {
 
   private final @NonNull SessionService sessionService;
   private final @NonNull RocketChatService rocketChatService;
-  private final @NonNull EmailNotificationFacade emailNotificationFacade;
   private final @NonNull MessageServiceProvider messageServiceProvider;
   private final @NonNull ConsultantAgencyService consultantAgencyService;
   private final @NonNull MonitoringService monitoringService;
@@ -113,8 +114,6 @@ public class CreateEnquiryMessageFacade {
 
       updateSession(session, rcGroupId, rcFeedbackGroupId, createEnquiryExceptionInformation);
 
-      emailNotificationFacade.sendNewEnquiryEmailNotification(session);
-
     } catch (CreateEnquiryException exception) {
       doRollback(exception.getExceptionInformation(), rocketChatCredentials);
       throw new InternalServerErrorException(exception.getMessage(), exception,
@@ -344,8 +343,9 @@ public class CreateEnquiryMessageFacade {
       session.setFeedbackGroupId(rcFeedbackGroupId);
       session.setStatus(SessionStatus.NEW);
       session.setEnquiryMessageDate(nowInUtc());
-      sessionService.saveSession(session);
-    } catch (InternalServerErrorException exception) {
+      sessionService.saveEnquirySession(session);
+    } catch (InternalServerErrorException | DataAccessException
+        | TransactionException exception) {
       throw new CreateEnquiryException(String
           .format("Could not update session %s with groupId %s and feedbackGroupId %s",
               session.getId(), rcGroupId, rcFeedbackGroupId),
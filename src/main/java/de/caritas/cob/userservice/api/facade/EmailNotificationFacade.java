@@ -1,7 +1,9 @@
 package de.caritas.cob.userservice.api.facade;
 
-import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
 
+import de.caritas.cob.userservice.api.authorization.UserRole;
 import de.caritas.cob.userservice.api.exception.httpresponses.BadRequestException;
 import de.caritas.cob.userservice.api.exception.httpresponses.ForbiddenException;
 import de.caritas.cob.userservice.api.exception.httpresponses.NotFoundException;
@@ -10,32 +12,41 @@ import de.caritas.cob.userservice.api.helper.UserHelper;
 import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeManager;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgencyRepository;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationType;
 import de.caritas.cob.userservice.api.repository.session.Session;
+import de.caritas.cob.userservice.api.repository.session.SessionParticipants;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
 import de.caritas.cob.userservice.api.service.ConsultantAgencyService;
 import de.caritas.cob.userservice.api.service.ConsultantService;
 import de.caritas.cob.userservice.api.service.LogService;
 import de.caritas.cob.userservice.api.service.emailsupplier.AssignEnquiryEmailSupplier;
-import de.caritas.cob.userservice.api.service.emailsupplier.EmailSupplier;
 import de.caritas.cob.userservice.api.service.emailsupplier.NewEnquiryEmailSupplier;
 import de.caritas.cob.userservice.api.service.emailsupplier.NewFeedbackEmailSupplier;
 import de.caritas.cob.userservice.api.service.emailsupplier.NewMessageEmailSupplier;
-import de.caritas.cob.userservice.api.service.helper.MailService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationOutboxDrainer;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationOutboxService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationPayload;
 import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.service.session.SessionParticipantsResolver;
 import de.caritas.cob.userservice.api.service.session.SessionService;
+import de.caritas.cob.userservice.config.NotificationDigestProperties;
 import de.caritas.cob.userservice.mailservice.generated.web.model.MailDTO;
-import de.caritas.cob.userservice.mailservice.generated.web.model.MailsDTO;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Facade for capsuling the mail notification via the MailService
+ * Facade for capsuling the mail notification via the MailService. Notifications are written to the
+ * outbox, the mails are generated and sent by the {@link NotificationOutboxDrainer}. The new enquiry
+ * notification is written within the transaction of the enquiry by
+ * {@link SessionService#saveEnquirySession(Session)}. New message and feedback notifications are
+ * triggered by Rocket.Chat messages and assign notifications after the Rocket.Chat group updates,
+ * so there is no local transaction to join and they are written after the triggering change.
  */
 @Service
 @RequiredArgsConstructor
@@ -51,7 +62,7 @@ public class EmailNotificationFacade {
   private String rocketChatSystemUserId;
 
   private final @NonNull ConsultantAgencyRepository consultantAgencyRepository;
-  private final @NonNull MailService mailService;
+  private final @NonNull NotificationOutboxService notificationOutboxService;
   private final @NonNull AgencyService agencyService;
   private final @NonNull SessionService sessionService;
   private final @NonNull ConsultantAgencyService consultantAgencyService;
@@ -59,51 +70,76 @@ public class EmailNotificationFacade {
   private final @NonNull RocketChatService rocketChatService;
   private final @NonNull ConsultingTypeManager consultingTypeManager;
   private final @NonNull UserHelper userHelper;
+  private final @NonNull SessionParticipantsResolver sessionParticipantsResolver;
+  private final @NonNull NotificationDigestProperties notificationDigestProperties;
 
   /**
-   * Sends email notifications according to the corresponding consultant(s) when a new enquiry was
-   * written.
+   * Generates the new enquiry notification mails for the consultant(s) of the given session.
    *
-   * @param session the regarding session
+   * @param sessionId the id of the regarding session
+   * @return the generated {@link MailDTO}s
    */
-  @Async
-  public void sendNewEnquiryEmailNotification(Session session) {
-
-    try {
-      EmailSupplier newEnquiryMail = new NewEnquiryEmailSupplier(session,
-          consultantAgencyRepository, agencyService, applicationBaseUrl);
-      sendMailTasksToMailService(newEnquiryMail);
-    } catch (Exception ex) {
+  public List<MailDTO> generateNewEnquiryEmailNotifications(Long sessionId) {
+    Optional<Session> session = sessionService.getSession(sessionId);
+    if (session.isEmpty()) {
       LogService.logEmailNotificationFacadeError(String.format(
-          "Failed to send new enquiry notification for session %s.", session.getId()), ex);
-    }
-  }
-
-  private void sendMailTasksToMailService(EmailSupplier mailsToSend)
-      throws RocketChatGetGroupMembersException {
-    List<MailDTO> generatedMails = mailsToSend.generateEmails();
-    if (isNotEmpty(generatedMails)) {
-      MailsDTO mailsDTO = new MailsDTO()
-          .mails(generatedMails);
-      mailService.sendEmailNotification(mailsDTO);
+          "Failed to send new enquiry notification for session %s: session not found.",
+          sessionId));
+      return emptyList();
     }
+    return new NewEnquiryEmailSupplier(session.get(), consultantAgencyRepository, agencyService,
+        applicationBaseUrl).generateEmails();
   }
 
   /**
    * Sends email notifications according to the corresponding consultant(s) or asker when a new
-   * message was written.
+   * message was written. Notifications of one session to the same recipients are collected for the
+   * digest interval of the consulting type and sent as one mail.
    *
    * @param rcGroupId the rocket chat group id
    * @param roles     roles to decide the regarding recipients
    * @param userId    the user id of initiating user
    */
-  @Async
-  @Transactional
   public void sendNewMessageNotification(String rcGroupId, Set<String> roles, String userId) {
+    var coalescingKey = buildNewMessageCoalescingKey(rcGroupId, roles);
+    if (this.notificationOutboxService.isPending(coalescingKey)) {
+      return;
+    }
+    this.notificationOutboxService.enqueueDelayed(NotificationType.NEW_MESSAGE, coalescingKey,
+        resolveNewMessageDigestInterval(rcGroupId),
+        NotificationPayload.builder()
+            .rcGroupId(rcGroupId)
+            .roles(roles)
+            .userId(userId)
+            .build());
+  }
 
+  private String buildNewMessageCoalescingKey(String rcGroupId, Set<String> roles) {
+    var recipients = roles.contains(UserRole.USER.getValue()) ? "consultants" : "asker";
+    return String.format("%s:%s:%s", NotificationType.NEW_MESSAGE, rcGroupId, recipients);
+  }
+
+  private Duration resolveNewMessageDigestInterval(String rcGroupId) {
+    return this.sessionParticipantsResolver.resolveByGroupId(rcGroupId)
+        .map(SessionParticipants::getConsultingTypeId)
+        .map(this.notificationDigestProperties::getNewMessageInterval)
+        .orElseGet(this.notificationDigestProperties::getNewMessageInterval);
+  }
+
+  /**
+   * Generates the new message notification mails for the corresponding consultant(s) or asker.
+   * Mails for sessions which can not be retrieved for the given user are not generated.
+   *
+   * @param rcGroupId the rocket chat group id
+   * @param roles     roles to decide the regarding recipients
+   * @param userId    the user id of initiating user
+   * @return the generated {@link MailDTO}s
+   */
+  public List<MailDTO> generateNewMessageEmailNotifications(String rcGroupId, Set<String> roles,
+      String userId) {
     try {
       Session session = sessionService.getSessionByGroupIdAndUser(rcGroupId, userId, roles);
-      EmailSupplier newMessageMails = NewMessageEmailSupplier
+      return NewMessageEmailSupplier
           .builder()
           .session(session)
           .rcGroupId(rcGroupId)
@@ -113,17 +149,14 @@ public class EmailNotificationFacade {
           .consultingTypeManager(consultingTypeManager)
           .applicationBaseUrl(applicationBaseUrl)
           .emailDummySuffix(emailDummySuffix)
-          .build();
-      sendMailTasksToMailService(newMessageMails);
+          .build()
+          .generateEmails();
 
     } catch (NotFoundException | ForbiddenException | BadRequestException getSessionException) {
       LogService.logEmailNotificationFacadeWarning(String.format(
           "Failed to get session for new message notification with Rocket.Chat group ID %s and user ID %s.",
           rcGroupId, userId), getSessionException);
-    } catch (Exception ex) {
-      LogService.logEmailNotificationFacadeError(String.format(
-          "Failed to send new message notification with Rocket.Chat group ID %s and user ID %s.",
-          rcGroupId, userId), ex);
+      return emptyList();
     }
   }
 
@@ -134,19 +167,28 @@ public class EmailNotificationFacade {
    * @param rcFeedbackGroupId group id of feedback chat
    * @param userId            regarding user id
    */
-  @Async
   public void sendNewFeedbackMessageNotification(String rcFeedbackGroupId, String userId) {
+    this.notificationOutboxService.enqueue(NotificationType.NEW_FEEDBACK_MESSAGE,
+        NotificationPayload.builder()
+            .rcGroupId(rcFeedbackGroupId)
+            .userId(userId)
+            .build());
+  }
 
-    try {
-      Session session = sessionService.getSessionByFeedbackGroupId(rcFeedbackGroupId);
-      EmailSupplier newFeedbackMessages = new NewFeedbackEmailSupplier(session,
-          rcFeedbackGroupId, userId, applicationBaseUrl, consultantService, rocketChatService,
-          rocketChatSystemUserId);
-      sendMailTasksToMailService(newFeedbackMessages);
-    } catch (Exception e) {
-      LogService.logEmailNotificationFacadeError(String.format(
-          "List of members for rocket chat feedback group id %s is empty.", rcFeedbackGroupId), e);
-    }
+  /**
+   * Generates the new feedback message notification mails for the corresponding consultant(s).
+   *
+   * @param rcFeedbackGroupId group id of feedback chat
+   * @param userId            regarding user id
+   * @return the generated {@link MailDTO}s
+   * @throws RocketChatGetGroupMembersException if the members of the feedback chat can not be
+   *                                            retrieved
+   */
+  public List<MailDTO> generateNewFeedbackMessageEmailNotifications(String rcFeedbackGroupId,
+      String userId) throws RocketChatGetGroupMembersException {
+    Session session = sessionService.getSessionByFeedbackGroupId(rcFeedbackGroupId);
+    return new NewFeedbackEmailSupplier(session, rcFeedbackGroupId, userId, applicationBaseUrl,
+        consultantService, rocketChatService, rocketChatSystemUserId).generateEmails();
   }
 
   /**
@@ -157,17 +199,30 @@ public class EmailNotificationFacade {
    * @param senderUserId       the id of initiating user
    * @param askerUserName      the name of the asker
    */
-  @Async
   public void sendAssignEnquiryEmailNotification(Consultant receiverConsultant, String senderUserId,
       String askerUserName) {
+    this.notificationOutboxService.enqueue(NotificationType.ASSIGN_ENQUIRY,
+        NotificationPayload.builder()
+            .consultantId(isNull(receiverConsultant) ? null : receiverConsultant.getId())
+            .userId(senderUserId)
+            .askerUserName(askerUserName)
+            .build());
+  }
 
-    EmailSupplier assignEnquiryMails = new AssignEnquiryEmailSupplier(receiverConsultant,
-        senderUserId, askerUserName, applicationBaseUrl, consultantService);
-    try {
-      sendMailTasksToMailService(assignEnquiryMails);
-    } catch (Exception exception) {
-      LogService.logEmailNotificationFacadeError(exception);
-    }
+  /**
+   * Generates the assign enquiry notification mail for the target consultant.
+   *
+   * @param receiverConsultantId the id of the target consultant
+   * @param senderUserId         the id of initiating user
+   * @param askerUserName        the name of the asker
+   * @return the generated {@link MailDTO}s
+   */
+  public List<MailDTO> generateAssignEnquiryEmailNotifications(String receiverConsultantId,
+      String senderUserId, String askerUserName) {
+    Consultant receiverConsultant = isNull(receiverConsultantId) ? null
+        : consultantService.getConsultant(receiverConsultantId).orElse(null);
+    return new AssignEnquiryEmailSupplier(receiverConsultant, senderUserId, askerUserName,
+        applicationBaseUrl, consultantService).generateEmails();
   }
 
 }
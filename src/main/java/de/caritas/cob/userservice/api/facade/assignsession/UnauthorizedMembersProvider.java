@@ -106,6 +106,9 @@ public class UnauthorizedMembersProvider {
   private void addMainConsultantsIfFeedbackTeamSession(String rcGroupId, Session session,
       List<String> authorizedMembers, List<Consultant> consultantsOfAgency) {
     if (isTeamSessionWithFeedbackChat(session)) {
+      keycloakAdminClientService.warmUpConsultantRoles(consultantsOfAgency.stream()
+          .map(Consultant::getId)
+          .collect(Collectors.toList()));
       if (rcGroupId.equalsIgnoreCase(session.getGroupId())) {
         obtainMainConsultantsOfGroup(authorizedMembers, consultantsOfAgency,
             this::hasAuthorityToViewPeerGroups);
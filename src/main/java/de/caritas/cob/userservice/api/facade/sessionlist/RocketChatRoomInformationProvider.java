@@ -2,32 +2,46 @@ package de.caritas.cob.userservice.api.facade.sessionlist;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import de.caritas.cob.userservice.api.container.RocketChatCredentials;
 import de.caritas.cob.userservice.api.container.RocketChatRoomInformation;
+import de.caritas.cob.userservice.api.container.RocketChatRoomState;
 import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsLastMessageDTO;
 import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsUpdateDTO;
 import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsUpdateDTO;
-import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.service.rocketchat.RocketChatRoomStateCache;
 
 @Component
 public class RocketChatRoomInformationProvider {
 
-  private final RocketChatService rocketChatService;
+  private static final String REQUEST_ATTRIBUTE_PREFIX =
+      RocketChatRoomInformation.class.getName() + ".";
+
+  private final RocketChatRoomStateCache rocketChatRoomStateCache;
 
   @Autowired
-  public RocketChatRoomInformationProvider(RocketChatService rocketChatService) {
-    this.rocketChatService = requireNonNull(rocketChatService);
+  public RocketChatRoomInformationProvider(RocketChatRoomStateCache rocketChatRoomStateCache) {
+    this.rocketChatRoomStateCache = requireNonNull(rocketChatRoomStateCache);
   }
 
   /**
-   * Get room and update information from Rocket.Chat for a user.
+   * Get room and update information from Rocket.Chat for a user. The information is retrieved only
+   * once per request and user, further calls within the same request return the same instance.
    *
    * @param rocketChatCredentials the Rocket.Chat credentials of the user
    * @return an instance of {@link RocketChatRoomInformation}
@@ -35,12 +49,37 @@ public class RocketChatRoomInformationProvider {
   public RocketChatRoomInformation retrieveRocketChatInformation(
       RocketChatCredentials rocketChatCredentials) {
 
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    String rcUserId = rocketChatCredentials.getRocketChatUserId();
+    if (isNull(requestAttributes) || isNull(rcUserId)) {
+      return loadRocketChatInformation(rocketChatCredentials);
+    }
+
+    String attributeName = REQUEST_ATTRIBUTE_PREFIX + rcUserId;
+    var rocketChatRoomInformation = (RocketChatRoomInformation) requestAttributes
+        .getAttribute(attributeName, SCOPE_REQUEST);
+    if (isNull(rocketChatRoomInformation)) {
+      rocketChatRoomInformation = loadRocketChatInformation(rocketChatCredentials);
+      requestAttributes.setAttribute(attributeName, rocketChatRoomInformation, SCOPE_REQUEST);
+    }
+    return rocketChatRoomInformation;
+  }
+
+  private RocketChatRoomInformation loadRocketChatInformation(
+      RocketChatCredentials rocketChatCredentials) {
+
     Map<String, Boolean> readMessages = emptyMap();
     List<RoomsUpdateDTO> roomsForUpdate = emptyList();
+    Map<String, Date> roomChangeDates = emptyMap();
+    Date messageStatesSynchronizedAt = null;
 
     if (nonNull(rocketChatCredentials.getRocketChatUserId())) {
-      readMessages = buildMessagesWithReadInfo(rocketChatCredentials);
-      roomsForUpdate = rocketChatService.getRoomsOfUser(rocketChatCredentials);
+      RocketChatRoomState roomState =
+          rocketChatRoomStateCache.synchronizeRoomState(rocketChatCredentials);
+      readMessages = buildMessagesWithReadInfo(roomState.getSubscriptionsByRoomId().values());
+      roomsForUpdate = new ArrayList<>(roomState.getRoomsById().values());
+      roomChangeDates = buildRoomChangeDates(roomState);
+      messageStatesSynchronizedAt = roomState.getMessageStatesSynchronizedAt();
     }
 
     List<String> userRooms =
@@ -52,14 +91,29 @@ public class RocketChatRoomInformationProvider {
         .roomsForUpdate(roomsForUpdate)
         .userRooms(userRooms)
         .lastMessagesRoom(lastMessagesRoom)
+        .roomChangeDates(roomChangeDates)
+        .messageStatesSynchronizedAt(messageStatesSynchronizedAt)
         .build();
   }
 
-  private Map<String, Boolean> buildMessagesWithReadInfo(
-      RocketChatCredentials rocketChatCredentials) {
+  private Map<String, Date> buildRoomChangeDates(RocketChatRoomState roomState) {
+    Map<String, Date> roomChangeDates = new HashMap<>();
+    roomState.getRoomsById().values().stream()
+        .filter(room -> nonNull(room.getUpdatedAt()))
+        .forEach(room -> roomChangeDates.merge(room.getId(), room.getUpdatedAt(), this::latest));
+    roomState.getSubscriptionsByRoomId().values().stream()
+        .filter(subscription -> nonNull(subscription.getUpdatedAt()))
+        .forEach(subscription -> roomChangeDates
+            .merge(subscription.getRoomId(), subscription.getUpdatedAt(), this::latest));
+    return roomChangeDates;
+  }
 
-    List<SubscriptionsUpdateDTO> subscriptions = rocketChatService
-        .getSubscriptionsOfUser(rocketChatCredentials);
+  private Date latest(Date date, Date otherDate) {
+    return date.after(otherDate) ? date : otherDate;
+  }
+
+  private Map<String, Boolean> buildMessagesWithReadInfo(
+      Collection<SubscriptionsUpdateDTO> subscriptions) {
 
     return subscriptions.stream()
         .collect(Collectors.toMap(SubscriptionsUpdateDTO::getRoomId, this::isMessageRead));
@@ -4,6 +4,7 @@ import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
+import de.caritas.cob.userservice.api.container.ConsultantSessionPage;
 import de.caritas.cob.userservice.api.container.RocketChatCredentials;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
 import de.caritas.cob.userservice.api.model.ConsultantSessionListResponseDTO;
@@ -73,20 +74,21 @@ public class SessionListFacade {
       Consultant consultant, String rcAuthToken,
       SessionListQueryParameter sessionListQueryParameter) {
 
-    List<ConsultantSessionResponseDTO> consultantSessions = consultantSessionListService
-        .retrieveSessionsForAuthenticatedConsultant(consultant, rcAuthToken,
-            sessionListQueryParameter);
-
-    /* Sort the session list by latest Rocket.Chat message if session is in progress (no enquiry).
-     * The latest answer is on top.
+    /* Sessions in progress are sorted by latest Rocket.Chat message and paged by the database on
+     * basis of the persisted message states. The latest answer is on top.
      *
      * Please note: Enquiry message sessions are being sorted by the repository (via
      * SessionService). Here the latest enquiry message is on the bottom.
      */
     if (SessionStatus.isStatusValueInProgress(sessionListQueryParameter.getSessionStatus())) {
-      sortSessionsByLastMessageDateDesc(consultantSessions);
+      return retrieveSessionPageDtoForAuthenticatedConsultant(consultant, rcAuthToken,
+          sessionListQueryParameter);
     }
 
+    List<ConsultantSessionResponseDTO> consultantSessions = consultantSessionListService
+        .retrieveSessionsForAuthenticatedConsultant(consultant, rcAuthToken,
+            sessionListQueryParameter);
+
     if (isFeedbackFilter(sessionListQueryParameter)) {
       removeAllChatsAndSessionsWithoutUnreadFeedback(consultantSessions);
     }
@@ -105,6 +107,20 @@ public class SessionListFacade {
         .total(consultantSessions.size());
   }
 
+  private ConsultantSessionListResponseDTO retrieveSessionPageDtoForAuthenticatedConsultant(
+      Consultant consultant, String rcAuthToken,
+      SessionListQueryParameter sessionListQueryParameter) {
+    ConsultantSessionPage sessionPage = consultantSessionListService
+        .retrieveSessionPageForAuthenticatedConsultant(consultant, rcAuthToken,
+            sessionListQueryParameter);
+
+    return new ConsultantSessionListResponseDTO()
+        .sessions(sessionPage.getSessions())
+        .offset(sessionListQueryParameter.getOffset())
+        .count(sessionPage.getSessions().size())
+        .total(Math.toIntExact(sessionPage.getTotal()));
+  }
+
   private boolean isFeedbackFilter(SessionListQueryParameter sessionListQueryParameter) {
     return sessionListQueryParameter.getSessionFilter().equals(SessionFilter.FEEDBACK);
   }
@@ -160,10 +176,6 @@ public class SessionListFacade {
         .total(teamSessions.size());
   }
 
-  private void sortSessionsByLastMessageDateDesc(List<ConsultantSessionResponseDTO> sessions) {
-    sessions.sort(Comparator.comparing(ConsultantSessionResponseDTO::getLatestMessage).reversed());
-  }
-
   private void removeAllChatsAndSessionsWithoutUnreadFeedback(
       List<ConsultantSessionResponseDTO> sessions) {
 
@@ -0,0 +1,58 @@
+package de.caritas.cob.userservice.api.helper;
+
+import java.util.function.Supplier;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs operations outside of a request with an {@link EntityManager} bound to the current thread,
+ * like the open session in view interceptor does for requests, so lazy relations can be loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityManagerSessionRunner {
+
+  private final @NonNull EntityManagerFactory entityManagerFactory;
+
+  /**
+   * Calls the given operation with a new {@link EntityManager} bound to the current thread. If the
+   * thread already has one bound, it is used instead.
+   *
+   * @param operation the operation to call
+   * @param <T>       the type of the result
+   * @return the result of the operation
+   */
+  public <T> T callInSession(Supplier<T> operation) {
+    if (TransactionSynchronizationManager.hasResource(this.entityManagerFactory)) {
+      return operation.get();
+    }
+    EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+    TransactionSynchronizationManager
+        .bindResource(this.entityManagerFactory, new EntityManagerHolder(entityManager));
+    try {
+      return operation.get();
+    } finally {
+      TransactionSynchronizationManager.unbindResource(this.entityManagerFactory);
+      EntityManagerFactoryUtils.closeEntityManager(entityManager);
+    }
+  }
+
+  /**
+   * Runs the given operation with a new {@link EntityManager} bound to the current thread.
+   *
+   * @param operation the operation to run
+   */
+  public void runInSession(Runnable operation) {
+    callInSession(() -> {
+      operation.run();
+      return null;
+    });
+  }
+
+}
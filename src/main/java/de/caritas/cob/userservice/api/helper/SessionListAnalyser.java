@@ -1,6 +1,8 @@
 package de.caritas.cob.userservice.api.helper;
 
+import static de.caritas.cob.userservice.config.CacheManagerConfig.DECRYPTED_MESSAGE_PREVIEW_CACHE;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 
 import de.caritas.cob.userservice.api.exception.CustomCryptoException;
@@ -9,9 +11,16 @@ import de.caritas.cob.userservice.api.model.SessionAttachmentDTO;
 import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsLastMessageDTO;
 import de.caritas.cob.userservice.api.service.DecryptionService;
 import de.caritas.cob.userservice.api.service.LogService;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 /**
@@ -23,11 +32,93 @@ public class SessionListAnalyser {
   public static final int MAX_MESSAGE_LENGTH_FOR_FRONTEND = 100;
 
   private final DecryptionService decryptionService;
+  private final CacheManager cacheManager;
+  private final AtomicLong cachedMasterKeyGeneration = new AtomicLong(-1);
 
   @Autowired
   public SessionListAnalyser(
-      DecryptionService decryptionService) {
+      DecryptionService decryptionService, CacheManager cacheManager) {
     this.decryptionService = requireNonNull(decryptionService);
+    this.cacheManager = requireNonNull(cacheManager);
+  }
+
+  /**
+   * Decrypts and returns the last message of a Rocket.Chat group truncated to the maximum length
+   * given by the frontend. The prepared message is cached by group, message id and last update of
+   * the message. The cache is invalidated when the master key changes.
+   *
+   * @param lastMessage the last message of the Rocket.Chat group
+   * @param groupId     Rocket.Chat group id of the message
+   * @return Decrypted message
+   */
+  public String prepareMessageForSessionList(RoomsLastMessageDTO lastMessage, String groupId) {
+    Cache cache = cacheManager.getCache(DECRYPTED_MESSAGE_PREVIEW_CACHE);
+    if (isNull(cache) || isNull(lastMessage.getId())) {
+      return prepareMessageForSessionList(lastMessage.getMessage(), groupId);
+    }
+
+    long masterKeyGeneration = obtainMasterKeyGeneration(cache);
+    String cacheKey = buildPreviewCacheKey(masterKeyGeneration, lastMessage, groupId);
+    ValueWrapper cachedPreview = cache.get(cacheKey);
+    if (nonNull(cachedPreview)) {
+      return (String) cachedPreview.get();
+    }
+    String preview = prepareMessageForSessionList(lastMessage.getMessage(), groupId);
+    cache.put(cacheKey, preview);
+    return preview;
+  }
+
+  /**
+   * Decrypts all last messages of the given Rocket.Chat groups which are not cached yet with one
+   * bulk decryption, so that following calls of
+   * {@link #prepareMessageForSessionList(RoomsLastMessageDTO, String)} are served from the cache.
+   *
+   * @param lastMessagesRoom the last messages of the Rocket.Chat groups by group id
+   * @param groupIds         the Rocket.Chat group ids of the session list
+   */
+  public void prepareMessagesForSessionList(Map<String, RoomsLastMessageDTO> lastMessagesRoom,
+      Collection<String> groupIds) {
+    Cache cache = cacheManager.getCache(DECRYPTED_MESSAGE_PREVIEW_CACHE);
+    if (isNull(cache)) {
+      return;
+    }
+
+    long masterKeyGeneration = obtainMasterKeyGeneration(cache);
+    Map<String, String> uncachedMessages = new HashMap<>();
+    groupIds.stream()
+        .filter(lastMessagesRoom::containsKey)
+        .forEach(groupId -> {
+          RoomsLastMessageDTO lastMessage = lastMessagesRoom.get(groupId);
+          if (nonNull(lastMessage.getId()) && StringUtils.isNotBlank(lastMessage.getMessage())
+              && isNull(cache.get(
+              buildPreviewCacheKey(masterKeyGeneration, lastMessage, groupId)))) {
+            uncachedMessages.put(groupId, lastMessage.getMessage());
+          }
+        });
+    if (uncachedMessages.isEmpty()) {
+      return;
+    }
+
+    decryptionService.decryptAll(uncachedMessages).forEach((groupId, decryptedMessage) ->
+        cache.put(buildPreviewCacheKey(masterKeyGeneration, lastMessagesRoom.get(groupId),
+            groupId), truncateMessageToMaximalLengthForFrontend(decryptedMessage)));
+  }
+
+  private long obtainMasterKeyGeneration(Cache cache) {
+    long masterKeyGeneration = decryptionService.getMasterKeyGeneration();
+    if (cachedMasterKeyGeneration.getAndSet(masterKeyGeneration) != masterKeyGeneration) {
+      cache.clear();
+    }
+    return masterKeyGeneration;
+  }
+
+  private String buildPreviewCacheKey(long masterKeyGeneration, RoomsLastMessageDTO lastMessage,
+      String groupId) {
+    Date messageChange =
+        nonNull(lastMessage.getUpdatedAt()) ? lastMessage.getUpdatedAt()
+            : lastMessage.getTimestamp();
+    return String.join(":", String.valueOf(masterKeyGeneration), groupId, lastMessage.getId(),
+        nonNull(messageChange) ? String.valueOf(messageChange.getTime()) : "");
   }
 
   /**
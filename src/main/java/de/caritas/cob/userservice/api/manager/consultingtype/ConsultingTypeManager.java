@@ -1,5 +1,7 @@
 package de.caritas.cob.userservice.api.manager.consultingtype;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
 import de.caritas.cob.userservice.api.exception.MissingConsultingTypeException;
@@ -18,14 +20,21 @@ import org.springframework.web.client.RestClientException;
 public class ConsultingTypeManager {
 
   private final @NonNull ConsultingTypeService consultingTypeService;
+  private final @NonNull ConsultingTypeRegistry consultingTypeRegistry;
 
   /**
-   * Returns the {@link ExtendedConsultingTypeResponseDTO} for the provided consulting ID.
+   * Returns the {@link ExtendedConsultingTypeResponseDTO} for the provided consulting ID. The
+   * settings are taken from the {@link ConsultingTypeRegistry} and only requested from the
+   * ConsultingTypeService if the registry does not know the consulting type yet.
    *
    * @param consultingTypeId The consulting ID for which the settings are searched
    * @return {@link ExtendedConsultingTypeResponseDTO} for the provided consulting ID
    */
   public ExtendedConsultingTypeResponseDTO getConsultingTypeSettings(int consultingTypeId) {
+    var registeredConsultingType = this.consultingTypeRegistry.get(consultingTypeId);
+    if (nonNull(registeredConsultingType)) {
+      return registeredConsultingType;
+    }
     try {
       return consultingTypeService.getExtendedConsultingTypeResponseDTO(consultingTypeId);
     } catch (RestClientException ex) {
@@ -54,8 +63,11 @@ public class ConsultingTypeManager {
   }
 
   public boolean isConsultantBoundedToAgency(int consultingTypeId) {
-    var extendedConsultingTypeResponseDTO = consultingTypeService
-        .getExtendedConsultingTypeResponseDTO(consultingTypeId);
+    var extendedConsultingTypeResponseDTO = this.consultingTypeRegistry.get(consultingTypeId);
+    if (isNull(extendedConsultingTypeResponseDTO)) {
+      extendedConsultingTypeResponseDTO = consultingTypeService
+          .getExtendedConsultingTypeResponseDTO(consultingTypeId);
+    }
     return isTrue(extendedConsultingTypeResponseDTO.getConsultantBoundedToConsultingType());
   }
 
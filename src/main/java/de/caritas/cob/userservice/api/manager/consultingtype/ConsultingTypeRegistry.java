@@ -0,0 +1,76 @@
+package de.caritas.cob.userservice.api.manager.consultingtype;
+
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.service.ConsultingTypeService;
+import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
+import java.util.Collection;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * In-process registry holding a snapshot of all consulting type settings indexed by their id. The
+ * snapshot is replaced as a whole on each refresh, so lookups never block and never reach the
+ * ConsultingTypeService.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsultingTypeRegistry {
+
+  private static final ExtendedConsultingTypeResponseDTO[] EMPTY_SNAPSHOT =
+      new ExtendedConsultingTypeResponseDTO[0];
+
+  private final @NonNull ConsultingTypeService consultingTypeService;
+
+  private volatile ExtendedConsultingTypeResponseDTO[] consultingTypesById = EMPTY_SNAPSHOT;
+
+  /**
+   * Loads all consulting type settings from the ConsultingTypeService and replaces the current
+   * snapshot. The current snapshot is kept if the ConsultingTypeService is not available.
+   */
+  public void refresh() {
+    try {
+      replaceSnapshot(
+          this.consultingTypeService.getAllExtendedConsultingTypeResponseDTOsWithoutCaching());
+    } catch (RestClientException | IllegalArgumentException ex) {
+      LogService.logWarn(String.format("Unable to refresh consulting type registry: %s",
+          ex.getMessage()));
+    }
+  }
+
+  void replaceSnapshot(Collection<ExtendedConsultingTypeResponseDTO> consultingTypes) {
+    int maxId = consultingTypes.stream()
+        .filter(consultingType -> nonNull(consultingType) && nonNull(consultingType.getId()))
+        .mapToInt(ExtendedConsultingTypeResponseDTO::getId)
+        .filter(id -> id >= 0)
+        .max()
+        .orElse(-1);
+
+    var snapshot = new ExtendedConsultingTypeResponseDTO[maxId + 1];
+    consultingTypes.stream()
+        .filter(consultingType -> nonNull(consultingType) && nonNull(consultingType.getId()))
+        .filter(consultingType -> consultingType.getId() >= 0)
+        .forEach(consultingType -> snapshot[consultingType.getId()] = consultingType);
+    this.consultingTypesById = snapshot;
+  }
+
+  /**
+   * Returns the {@link ExtendedConsultingTypeResponseDTO} for the given id from the current
+   * snapshot.
+   *
+   * @param consultingTypeId the id of the consulting type
+   * @return the {@link ExtendedConsultingTypeResponseDTO} or null if the snapshot does not contain
+   *         the consulting type
+   */
+  public ExtendedConsultingTypeResponseDTO get(int consultingTypeId) {
+    var snapshot = this.consultingTypesById;
+    if (consultingTypeId < 0 || consultingTypeId >= snapshot.length) {
+      return null;
+    }
+    return snapshot[consultingTypeId];
+  }
+
+}
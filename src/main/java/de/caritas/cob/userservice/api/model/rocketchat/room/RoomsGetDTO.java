@@ -20,5 +20,6 @@ public class RoomsGetDTO {
   private boolean success;
   private String status;
   private String message;
+  private RoomsRemoveDTO[] remove;
 
 }
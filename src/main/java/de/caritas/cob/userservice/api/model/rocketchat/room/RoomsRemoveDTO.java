@@ -0,0 +1,24 @@
+package de.caritas.cob.userservice.api.model.rocketchat.room;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Rocket.Chat remove DTO for rooms deleted since a given date.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomsRemoveDTO {
+
+  @JsonProperty("_id")
+  private String id;
+  @JsonProperty("_deletedAt")
+  private Date deletedAt;
+
+}
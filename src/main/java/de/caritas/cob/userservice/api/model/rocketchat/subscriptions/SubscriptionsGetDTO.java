@@ -20,5 +20,6 @@ public class SubscriptionsGetDTO {
   private boolean success;
   private String status;
   private String message;
+  private SubscriptionsRemoveDTO[] remove;
 
 }
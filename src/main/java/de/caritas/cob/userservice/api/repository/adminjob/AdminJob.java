@@ -0,0 +1,82 @@
+package de.caritas.cob.userservice.api.repository.adminjob;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents a persisted asynchronous admin job. Queued jobs are claimed by one instance of the
+ * service, jobs of an instance which stopped sending heartbeats are queued again.
+ */
+@Entity
+@Builder
+@Table(name = "admin_job")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AdminJob {
+
+  @Id
+  @Column(name = "id", updatable = false, nullable = false)
+  private String id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type", updatable = false, nullable = false)
+  private AdminJobType type;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private AdminJobStatus status;
+
+  @Column(name = "payload", updatable = false)
+  private String payload;
+
+  @Column(name = "result")
+  private String result;
+
+  @Column(name = "total_items", nullable = false)
+  private int totalItems;
+
+  @Column(name = "processed_items", nullable = false)
+  private int processedItems;
+
+  @Column(name = "failed_items", nullable = false)
+  private int failedItems;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "error_message")
+  private String errorMessage;
+
+  @Column(name = "worker")
+  private String worker;
+
+  @Column(name = "create_date", updatable = false, nullable = false)
+  private LocalDateTime createDate;
+
+  @Column(name = "start_date")
+  private LocalDateTime startDate;
+
+  @Column(name = "finish_date")
+  private LocalDateTime finishDate;
+
+  @Column(name = "heartbeat_date")
+  private LocalDateTime heartbeatDate;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+
+}
@@ -0,0 +1,43 @@
+package de.caritas.cob.userservice.api.repository.adminjob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface AdminJobRepository extends CrudRepository<AdminJob, String> {
+
+  List<AdminJob> findTop20ByStatusOrderByCreateDateAsc(AdminJobStatus status);
+
+  List<AdminJob> findByStatusAndHeartbeatDateBefore(AdminJobStatus status,
+      LocalDateTime heartbeatDate);
+
+  List<AdminJob> findByFinishDateBefore(LocalDateTime finishDate);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE AdminJob j SET j.totalItems = :totalItems, j.processedItems = :processedItems, "
+      + "j.failedItems = :failedItems, j.heartbeatDate = :heartbeatDate, "
+      + "j.version = j.version + 1 WHERE j.id = :id AND j.status = :runningStatus")
+  int updateProgress(@Param("id") String id, @Param("totalItems") int totalItems,
+      @Param("processedItems") int processedItems, @Param("failedItems") int failedItems,
+      @Param("heartbeatDate") LocalDateTime heartbeatDate,
+      @Param("runningStatus") AdminJobStatus runningStatus);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE AdminJob j SET j.status = :status, j.result = :result, "
+      + "j.errorMessage = :errorMessage, j.totalItems = :totalItems, "
+      + "j.processedItems = :processedItems, j.failedItems = :failedItems, "
+      + "j.heartbeatDate = :finishDate, j.finishDate = :finishDate, j.version = j.version + 1 "
+      + "WHERE j.id = :id AND j.status = :runningStatus")
+  int completeJob(@Param("id") String id, @Param("status") AdminJobStatus status,
+      @Param("result") String result, @Param("errorMessage") String errorMessage,
+      @Param("totalItems") int totalItems, @Param("processedItems") int processedItems,
+      @Param("failedItems") int failedItems, @Param("finishDate") LocalDateTime finishDate,
+      @Param("runningStatus") AdminJobStatus runningStatus);
+
+}
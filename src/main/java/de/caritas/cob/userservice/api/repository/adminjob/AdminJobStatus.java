@@ -0,0 +1,13 @@
+package de.caritas.cob.userservice.api.repository.adminjob;
+
+/**
+ * Lifecycle states of an asynchronous admin job.
+ */
+public enum AdminJobStatus {
+
+  QUEUED,
+  RUNNING,
+  FINISHED,
+  FAILED
+
+}
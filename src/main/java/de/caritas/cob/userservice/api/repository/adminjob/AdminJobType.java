@@ -0,0 +1,12 @@
+package de.caritas.cob.userservice.api.repository.adminjob;
+
+/**
+ * Types of asynchronous admin jobs.
+ */
+public enum AdminJobType {
+
+  CREATE_CONSULTANT_AGENCY,
+  CHANGE_AGENCY_TYPE,
+  GENERATE_VIOLATION_REPORT
+
+}
@@ -1,7 +1,9 @@
 package de.caritas.cob.userservice.api.repository.consultant;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 
 public interface ConsultantRepository extends CrudRepository<Consultant, Long> {
@@ -10,6 +12,9 @@ public interface ConsultantRepository extends CrudRepository<Consultant, Long> {
 
   Optional<Consultant> findByRocketChatIdAndDeleteDateIsNull(String id);
 
+  List<ConsultantRocketChatReference> findRocketChatReferencesByRocketChatIdInAndDeleteDateIsNull(
+      Collection<String> rocketChatIds);
+
   Optional<Consultant> findByEmailAndDeleteDateIsNull(String email);
 
   Optional<Consultant> findByUsernameAndDeleteDateIsNull(String username);
@@ -18,5 +23,6 @@ public interface ConsultantRepository extends CrudRepository<Consultant, Long> {
 
   List<Consultant> findByConsultantAgenciesAgencyIdAndDeleteDateIsNull(Long agencyId);
 
-  List<Consultant> findAllByDeleteDateNotNull();
+  List<Consultant> findByDeleteDateNotNullAndIdGreaterThanOrderByIdAsc(String id,
+      Pageable pageable);
 }
@@ -0,0 +1,12 @@
+package de.caritas.cob.userservice.api.repository.consultant;
+
+/**
+ * Projection of a {@link Consultant} containing only its id and its Rocket.Chat user id.
+ */
+public interface ConsultantRocketChatReference {
+
+  String getId();
+
+  String getRocketChatId();
+
+}
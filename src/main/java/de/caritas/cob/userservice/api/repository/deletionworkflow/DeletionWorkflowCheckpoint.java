@@ -0,0 +1,37 @@
+package de.caritas.cob.userservice.api.repository.deletionworkflow;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents the last processed key of a running chunked deletion workflow, so an interrupted run
+ * continues behind this key instead of starting from the beginning.
+ */
+@Entity
+@Builder
+@Table(name = "deletion_workflow_checkpoint")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class DeletionWorkflowCheckpoint {
+
+  @Id
+  @Column(name = "workflow", updatable = false, nullable = false)
+  private String workflow;
+
+  @Column(name = "last_key", nullable = false)
+  private String lastKey;
+
+  @Column(name = "update_date", nullable = false)
+  private LocalDateTime updateDate;
+
+}
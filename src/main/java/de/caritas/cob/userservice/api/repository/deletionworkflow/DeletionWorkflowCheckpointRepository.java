@@ -0,0 +1,8 @@
+package de.caritas.cob.userservice.api.repository.deletionworkflow;
+
+import org.springframework.data.repository.CrudRepository;
+
+public interface DeletionWorkflowCheckpointRepository extends
+    CrudRepository<DeletionWorkflowCheckpoint, String> {
+
+}
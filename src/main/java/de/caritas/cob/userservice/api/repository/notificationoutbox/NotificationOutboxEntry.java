@@ -0,0 +1,77 @@
+package de.caritas.cob.userservice.api.repository.notificationoutbox;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents an email notification written to the outbox together with the change triggering it.
+ * Pending notifications are claimed by one instance of the service, which generates and sends
+ * the mails.
+ */
+@Entity
+@Builder
+@Table(name = "notification_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class NotificationOutboxEntry {
+
+  @Id
+  @Column(name = "id", updatable = false, nullable = false)
+  private String id;
+
+  @Column(name = "idempotency_key", updatable = false, nullable = false)
+  private String idempotencyKey;
+
+  @Column(name = "coalescing_key", updatable = false)
+  private String coalescingKey;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type", updatable = false, nullable = false)
+  private NotificationType type;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private NotificationOutboxStatus status;
+
+  @Column(name = "payload", updatable = false)
+  private String payload;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "error_message")
+  private String errorMessage;
+
+  @Column(name = "worker")
+  private String worker;
+
+  @Column(name = "create_date", updatable = false, nullable = false)
+  private LocalDateTime createDate;
+
+  @Column(name = "next_attempt_date", nullable = false)
+  private LocalDateTime nextAttemptDate;
+
+  @Column(name = "claim_date")
+  private LocalDateTime claimDate;
+
+  @Column(name = "finish_date")
+  private LocalDateTime finishDate;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+
+}
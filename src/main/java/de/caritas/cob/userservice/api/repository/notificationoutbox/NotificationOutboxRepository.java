@@ -0,0 +1,30 @@
+package de.caritas.cob.userservice.api.repository.notificationoutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface NotificationOutboxRepository extends
+    CrudRepository<NotificationOutboxEntry, String> {
+
+  boolean existsByIdempotencyKey(String idempotencyKey);
+
+  boolean existsByCoalescingKeyAndStatus(String coalescingKey, NotificationOutboxStatus status);
+
+  List<NotificationOutboxEntry> findByStatusAndNextAttemptDateLessThanEqualOrderByNextAttemptDateAsc(
+      NotificationOutboxStatus status, LocalDateTime nextAttemptDate, Pageable pageable);
+
+  List<NotificationOutboxEntry> findByStatusAndClaimDateBefore(NotificationOutboxStatus status,
+      LocalDateTime claimDate);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM NotificationOutboxEntry e WHERE e.finishDate < :finishDate")
+  int deleteByFinishDateBefore(@Param("finishDate") LocalDateTime finishDate);
+
+}
@@ -0,0 +1,13 @@
+package de.caritas.cob.userservice.api.repository.notificationoutbox;
+
+/**
+ * Lifecycle states of a notification in the outbox.
+ */
+public enum NotificationOutboxStatus {
+
+  PENDING,
+  PROCESSING,
+  SENT,
+  FAILED
+
+}
@@ -0,0 +1,13 @@
+package de.caritas.cob.userservice.api.repository.notificationoutbox;
+
+/**
+ * Types of email notifications written to the outbox.
+ */
+public enum NotificationType {
+
+  NEW_ENQUIRY,
+  NEW_MESSAGE,
+  NEW_FEEDBACK_MESSAGE,
+  ASSIGN_ENQUIRY
+
+}
@@ -0,0 +1,20 @@
+package de.caritas.cob.userservice.api.repository.session;
+
+import java.io.Serializable;
+import lombok.Value;
+
+/**
+ * Ids of a {@link Session} and its participants and the consulting type of the session, used to
+ * notify the participants of a session without loading the whole session.
+ */
+@Value
+public class SessionParticipants implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  Long sessionId;
+  String userId;
+  String consultantId;
+  int consultingTypeId;
+
+}
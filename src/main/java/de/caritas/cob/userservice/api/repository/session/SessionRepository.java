@@ -2,12 +2,15 @@ package de.caritas.cob.userservice.api.repository.session;
 
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.user.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface SessionRepository extends CrudRepository<Session, Long> {
 
@@ -20,6 +23,124 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    */
   List<Session> findByConsultantAndStatus(Consultant consultant, SessionStatus sessionStatus);
 
+  /**
+   * Find all {@link Session}s with an assigned consultant and the given status. The consultant and
+   * the user are fetched by the same query.
+   *
+   * @param sessionStatus {@link SessionStatus}
+   * @return A list of {@link Session}s with the specific status
+   */
+  @Query(value = "SELECT s FROM Session s "
+      + "JOIN FETCH s.consultant "
+      + "LEFT JOIN FETCH s.user "
+      + "WHERE s.status = :sessionStatus")
+  List<Session> findWithConsultantByStatus(@Param("sessionStatus") SessionStatus sessionStatus);
+
+  /**
+   * Find the {@link SessionRoomReference}s of all {@link Session}s of a consultant with one of the
+   * given status.
+   *
+   * @param consultant      {@link Consultant}
+   * @param sessionStatuses the {@link SessionStatus}es to search for
+   * @return the {@link SessionRoomReference}s of the sessions
+   */
+  List<SessionRoomReference> findRoomReferencesByConsultantAndStatusIn(Consultant consultant,
+      Collection<SessionStatus> sessionStatuses);
+
+  /**
+   * Find the {@link SessionRoomReference}s of the {@link Session}s of a consultant with one of the
+   * given status whose group or feedback group is one of the given Rocket.Chat rooms.
+   *
+   * @param consultant      {@link Consultant}
+   * @param sessionStatuses the {@link SessionStatus}es to search for
+   * @param groupIds        the Rocket.Chat room ids
+   * @return the {@link SessionRoomReference}s of the sessions
+   */
+  @Query(value = "SELECT s.id AS id, s.groupId AS groupId, s.feedbackGroupId AS feedbackGroupId, "
+      + "s.registrationType AS registrationType, s.createDate AS createDate FROM Session s "
+      + "WHERE s.consultant = :consultant AND s.status IN :sessionStatuses "
+      + "AND (s.groupId IN :groupIds OR s.feedbackGroupId IN :groupIds)")
+  List<SessionRoomReference> findRoomReferencesByConsultantAndStatusInAndGroupIdIn(
+      @Param("consultant") Consultant consultant,
+      @Param("sessionStatuses") Collection<SessionStatus> sessionStatuses,
+      @Param("groupIds") Collection<String> groupIds);
+
+  /**
+   * Find the {@link SessionRoomReference}s of the {@link Session}s of a consultant with one of the
+   * given status which have no persisted message state yet.
+   *
+   * @param consultant      {@link Consultant}
+   * @param sessionStatuses the {@link SessionStatus}es to search for
+   * @return the {@link SessionRoomReference}s of the sessions
+   */
+  @Query(value = "SELECT s.id AS id, s.groupId AS groupId, s.feedbackGroupId AS feedbackGroupId, "
+      + "s.registrationType AS registrationType, s.createDate AS createDate FROM Session s "
+      + "LEFT JOIN SessionMessageState st ON st.sessionId = s.id "
+      + "WHERE s.consultant = :consultant AND s.status IN :sessionStatuses "
+      + "AND st.sessionId IS NULL")
+  List<SessionRoomReference> findRoomReferencesWithoutMessageStateByConsultantAndStatusIn(
+      @Param("consultant") Consultant consultant,
+      @Param("sessionStatuses") Collection<SessionStatus> sessionStatuses);
+
+  /**
+   * Find the {@link Session}s of a consultant with one of the given status ordered by the persisted
+   * latest message date descending.
+   *
+   * @param consultant      {@link Consultant}
+   * @param sessionStatuses the {@link SessionStatus}es to search for
+   * @param pageable        the pagination object
+   * @return the sessions of the requested page
+   */
+  @Query(value = "SELECT s FROM Session s "
+      + "LEFT JOIN SessionMessageState st ON st.sessionId = s.id "
+      + "WHERE s.consultant = :consultant AND s.status IN :sessionStatuses "
+      + "ORDER BY st.latestMessageDate DESC, s.id DESC")
+  List<Session> findByConsultantAndStatusInOrderByLatestMessageDateDesc(
+      @Param("consultant") Consultant consultant,
+      @Param("sessionStatuses") Collection<SessionStatus> sessionStatuses, Pageable pageable);
+
+  /**
+   * Find the {@link Session}s of a consultant with one of the given status and unread feedback
+   * ordered by the persisted latest message date descending.
+   *
+   * @param consultant      {@link Consultant}
+   * @param sessionStatuses the {@link SessionStatus}es to search for
+   * @param pageable        the pagination object
+   * @return the sessions of the requested page
+   */
+  @Query(value = "SELECT s FROM Session s "
+      + "JOIN SessionMessageState st ON st.sessionId = s.id "
+      + "WHERE s.consultant = :consultant AND s.status IN :sessionStatuses "
+      + "AND st.feedbackRead = false "
+      + "ORDER BY st.latestMessageDate DESC, s.id DESC")
+  List<Session> findByConsultantAndStatusInAndFeedbackUnreadOrderByLatestMessageDateDesc(
+      @Param("consultant") Consultant consultant,
+      @Param("sessionStatuses") Collection<SessionStatus> sessionStatuses, Pageable pageable);
+
+  /**
+   * Count the {@link Session}s of a consultant with one of the given status.
+   *
+   * @param consultant      {@link Consultant}
+   * @param sessionStatuses the {@link SessionStatus}es to search for
+   * @return the amount of sessions
+   */
+  long countByConsultantAndStatusIn(Consultant consultant,
+      Collection<SessionStatus> sessionStatuses);
+
+  /**
+   * Count the {@link Session}s of a consultant with one of the given status and unread feedback.
+   *
+   * @param consultant      {@link Consultant}
+   * @param sessionStatuses the {@link SessionStatus}es to search for
+   * @return the amount of sessions
+   */
+  @Query(value = "SELECT COUNT(s) FROM Session s "
+      + "JOIN SessionMessageState st ON st.sessionId = s.id "
+      + "WHERE s.consultant = :consultant AND s.status IN :sessionStatuses "
+      + "AND st.feedbackRead = false")
+  long countByConsultantAndStatusInAndFeedbackUnread(@Param("consultant") Consultant consultant,
+      @Param("sessionStatuses") Collection<SessionStatus> sessionStatuses);
+
   /**
    * Find a {@link Session} with unassigned consultant by agency ids and status ordery by creation
    * date ascending.
@@ -120,6 +241,22 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    */
   Optional<Session> findByGroupId(String groupId);
 
+  /**
+   * Find the {@link SessionParticipants} of the {@link Session} with the given Rocket.Chat group id
+   * or feedback group id.
+   *
+   * @param rcGroupId the rocket chat group id or feedback group id
+   * @return an {@link Optional} of the session participants
+   */
+  @Query(value = "SELECT new de.caritas.cob.userservice.api.repository.session"
+      + ".SessionParticipants(s.id, u.userId, c.id, s.consultingTypeId) "
+      + "FROM Session s "
+      + "LEFT JOIN s.user u "
+      + "LEFT JOIN s.consultant c "
+      + "WHERE s.groupId = :rcGroupId OR s.feedbackGroupId = :rcGroupId")
+  Optional<SessionParticipants> findParticipantsByGroupIdOrFeedbackGroupId(
+      @Param("rcGroupId") String rcGroupId);
+
   /**
    * Find all {@link Session}s by a agency ID and SessionStatus where consultant is null.
    *
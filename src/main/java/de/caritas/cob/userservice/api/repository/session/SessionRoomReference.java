@@ -0,0 +1,21 @@
+package de.caritas.cob.userservice.api.repository.session;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a {@link Session} containing only the attributes needed to resolve its
+ * Rocket.Chat message state.
+ */
+public interface SessionRoomReference {
+
+  Long getId();
+
+  String getGroupId();
+
+  String getFeedbackGroupId();
+
+  RegistrationType getRegistrationType();
+
+  LocalDateTime getCreateDate();
+
+}
@@ -0,0 +1,39 @@
+package de.caritas.cob.userservice.api.repository.sessionmessagestate;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Type;
+
+/**
+ * Represents the persisted Rocket.Chat message state of a session which is used to sort and page
+ * the session list of a consultant by the database.
+ */
+@Entity
+@Builder
+@Table(name = "session_message_state")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class SessionMessageState {
+
+  @Id
+  @Column(name = "session_id", updatable = false, nullable = false)
+  private Long sessionId;
+
+  @Column(name = "latest_message_date")
+  private LocalDateTime latestMessageDate;
+
+  @Column(name = "is_feedback_read", nullable = false)
+  @Type(type = "org.hibernate.type.NumericBooleanType")
+  private boolean feedbackRead;
+
+}
@@ -0,0 +1,30 @@
+package de.caritas.cob.userservice.api.repository.sessionmessagestate;
+
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface SessionMessageStateRepository extends CrudRepository<SessionMessageState, Long> {
+
+  /**
+   * Inserts the message state of a session or updates it if it already exists. Concurrent
+   * synchronizations of the same session therefore never fail on the primary key.
+   *
+   * @param sessionId         the session id
+   * @param latestMessageDate the date of the latest message
+   * @param feedbackRead      true, if the feedback messages are read
+   */
+  @Modifying
+  @Query(value = "INSERT INTO session_message_state "
+      + "(session_id, latest_message_date, is_feedback_read) "
+      + "VALUES (:sessionId, :latestMessageDate, :feedbackRead) "
+      + "ON DUPLICATE KEY UPDATE latest_message_date = VALUES(latest_message_date), "
+      + "is_feedback_read = VALUES(is_feedback_read)",
+      nativeQuery = true)
+  void upsert(@Param("sessionId") Long sessionId,
+      @Param("latestMessageDate") LocalDateTime latestMessageDate,
+      @Param("feedbackRead") boolean feedbackRead);
+
+}
@@ -1,9 +1,14 @@
 package de.caritas.cob.userservice.api.repository.user;
 
+import de.caritas.cob.userservice.api.repository.session.SessionStatus;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends CrudRepository<User, Long> {
 
@@ -11,7 +16,31 @@ public interface UserRepository extends CrudRepository<User, Long> {
 
   Optional<User> findByRcUserIdAndDeleteDateIsNull(String rcUserId);
 
-  List<User> findAllByDeleteDateNotNull();
+  List<UserRocketChatReference> findRocketChatReferencesByRcUserIdInAndDeleteDateIsNull(
+      Collection<String> rcUserIds);
+
+  @Query("SELECT u.mobileToken FROM User u WHERE u.userId IN :userIds "
+      + "AND u.deleteDate IS NULL AND u.mobileToken IS NOT NULL AND u.mobileToken <> ''")
+  List<String> findMobileTokensByUserIdIn(@Param("userIds") Collection<String> userIds);
+
+  List<User> findByDeleteDateNotNullAndUserIdGreaterThanOrderByUserIdAsc(String userId,
+      Pageable pageable);
 
   Optional<User> findByUsernameInAndDeleteDateIsNull(Collection<String> usernames);
+
+  @Query("SELECT u.userId FROM User u "
+      + "WHERE NOT EXISTS (SELECT s.id FROM Session s WHERE s.user = u) "
+      + "AND NOT EXISTS (SELECT ua.id FROM UserAgency ua WHERE ua.user = u)")
+  List<String> findUserIdsWithoutSessionAndUserAgency();
+
+  @Query("SELECT s.user.userId FROM Session s WHERE s.user.userId > :userId "
+      + "GROUP BY s.user.userId "
+      + "HAVING SUM(CASE WHEN s.status <> :sessionStatus THEN 1 ELSE 0 END) = 0 "
+      + "AND MAX(s.updateDate) < :updateDate "
+      + "ORDER BY s.user.userId ASC")
+  List<String> findUserIdsWithAllSessionsInStatusUpdatedBefore(@Param("userId") String userId,
+      @Param("sessionStatus") SessionStatus sessionStatus,
+      @Param("updateDate") LocalDateTime updateDate, Pageable pageable);
+
+  List<User> findByUserIdInOrderByUserIdAsc(Collection<String> userIds);
 }
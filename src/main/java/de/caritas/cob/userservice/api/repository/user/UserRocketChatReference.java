@@ -0,0 +1,12 @@
+package de.caritas.cob.userservice.api.repository.user;
+
+/**
+ * Projection of a {@link User} containing only its id and its Rocket.Chat user id.
+ */
+public interface UserRocketChatReference {
+
+  String getUserId();
+
+  String getRcUserId();
+
+}
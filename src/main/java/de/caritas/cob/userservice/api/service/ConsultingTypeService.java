@@ -1,8 +1,6 @@
 package de.caritas.cob.userservice.api.service;
 
-import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.config.CacheManagerConfig;
-import de.caritas.cob.userservice.consultingtypeservice.generated.ApiClient;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.ConsultingTypeControllerApi;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.BasicConsultingTypeResponseDTO;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
@@ -22,7 +20,6 @@ import org.springframework.web.client.RestClientException;
 public class ConsultingTypeService {
 
   private final @NonNull ConsultingTypeControllerApi consultingTypeControllerApi;
-  private final @NonNull SecurityHeaderSupplier securityHeaderSupplier;
 
   /**
    * Returns the {@link ExtendedConsultingTypeResponseDTO} for the provided consulting type ID. the
@@ -34,7 +31,6 @@ public class ConsultingTypeService {
   @Cacheable(cacheNames = CacheManagerConfig.CONSULTING_TYPE_CACHE, key = "#consultingTypeId")
   public ExtendedConsultingTypeResponseDTO getExtendedConsultingTypeResponseDTO(
       int consultingTypeId) throws RestClientException {
-    addDefaultHeaders(this.consultingTypeControllerApi.getApiClient());
     return this.consultingTypeControllerApi.getExtendedConsultingTypeById(consultingTypeId);
   }
 
@@ -45,14 +41,22 @@ public class ConsultingTypeService {
    */
   @Cacheable(cacheNames = CacheManagerConfig.CONSULTING_TYPE_CACHE)
   public List<Integer> getAllConsultingTypeIds() {
-    addDefaultHeaders(this.consultingTypeControllerApi.getApiClient());
     return this.consultingTypeControllerApi.getBasicConsultingTypeList().stream()
         .map(BasicConsultingTypeResponseDTO::getId)
         .collect(Collectors.toList());
   }
 
-  private void addDefaultHeaders(ApiClient apiClient) {
-    var headers = this.securityHeaderSupplier.getCsrfHttpHeaders();
-    headers.forEach((key, value) -> apiClient.addDefaultHeader(key, value.iterator().next()));
+  /**
+   * Returns all existing {@link ExtendedConsultingTypeResponseDTO}s. The result will not be cached
+   * and is used to refresh the in-process consulting type registry.
+   *
+   * @return list with all {@link ExtendedConsultingTypeResponseDTO}s
+   */
+  public List<ExtendedConsultingTypeResponseDTO> getAllExtendedConsultingTypeResponseDTOsWithoutCaching()
+      throws RestClientException {
+    return this.consultingTypeControllerApi.getBasicConsultingTypeList().stream()
+        .map(BasicConsultingTypeResponseDTO::getId)
+        .map(this.consultingTypeControllerApi::getExtendedConsultingTypeById)
+        .collect(Collectors.toList());
   }
 }
@@ -1,10 +1,15 @@
 package de.caritas.cob.userservice.api.service;
 
 import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
@@ -30,13 +35,36 @@ public class DecryptionService {
 
   private String fragment_masterKey = INITIAL_MASTER_KEY;
 
+  private final AtomicLong masterKeyGeneration = new AtomicLong();
+
+  private volatile SecretKeySpecCache secretKeySpecCache =
+      new SecretKeySpecCache(INITIAL_MASTER_KEY);
+
+  private final ThreadLocal<MessageDigest> messageDigests =
+      ThreadLocal.withInitial(DecryptionService::createMessageDigest);
+
+  private final ThreadLocal<Cipher> ciphers =
+      ThreadLocal.withInitial(DecryptionService::createCipher);
+
   /**
    * Updates the master key fragment
    * 
    * @param masterKey The master key fragment
    */
-  public void updateMasterKey(String masterKey) {
+  public synchronized void updateMasterKey(String masterKey) {
     this.fragment_masterKey = masterKey;
+    this.secretKeySpecCache = new SecretKeySpecCache(masterKey);
+    this.masterKeyGeneration.incrementAndGet();
+  }
+
+  /**
+   * Returns the generation of the current master key, which changes on every update of the master
+   * key. Can be used to invalidate data derived from the master key.
+   * 
+   * @return the current master key generation
+   */
+  public long getMasterKeyGeneration() {
+    return this.masterKeyGeneration.get();
   }
 
   /**
@@ -58,22 +86,45 @@ public class DecryptionService {
   }
 
   /**
-   * Prepares the SecretKeySpec for a given key
+   * Returns the SecretKeySpec for a given key. Derived keys are cached per secret until the master
+   * key changes.
    * 
    * @param secret the key for the generation
-   * @return The SecretKeySpec based on the key or <null> in case of an error
-   * @throws NoSuchAlgorithmException
+   * @return The SecretKeySpec based on the key
    * @throws UnsupportedEncodingException
    */
-  private SecretKeySpec generateSecretKeySpec(String secret)
-      throws UnsupportedEncodingException, NoSuchAlgorithmException {
+  private SecretKeySpec getSecretKeySpec(String secret) throws UnsupportedEncodingException {
+    SecretKeySpecCache currentCache = this.secretKeySpecCache;
 
-    if (getMasterKey().equals(INITIAL_MASTER_KEY)) {
+    if (currentCache.masterKey.equals(INITIAL_MASTER_KEY)) {
       throw new NoMasterKeyException("No MasterKey found - please provide a MasterKey!");
     }
 
-    byte[] keyByte = (getMasterKey() + secret + getApplicationKey()).getBytes("UTF-8");
-    MessageDigest sha = MessageDigest.getInstance(MESSAGE_DIGEST_METHOD);
+    if (secret == null) {
+      return generateSecretKeySpec(currentCache.masterKey, null);
+    }
+
+    SecretKeySpec keySpec = currentCache.keySpecs.get(secret);
+    if (keySpec == null) {
+      keySpec = generateSecretKeySpec(currentCache.masterKey, secret);
+      currentCache.put(secret, keySpec);
+    }
+    return keySpec;
+  }
+
+  /**
+   * Prepares the SecretKeySpec for a given key
+   * 
+   * @param masterKey the master key for the generation
+   * @param secret the key for the generation
+   * @return The SecretKeySpec based on the key
+   * @throws UnsupportedEncodingException
+   */
+  private SecretKeySpec generateSecretKeySpec(String masterKey, String secret)
+      throws UnsupportedEncodingException {
+
+    byte[] keyByte = (masterKey + secret + getApplicationKey()).getBytes("UTF-8");
+    MessageDigest sha = messageDigests.get();
     keyByte = sha.digest(keyByte);
     keyByte = Arrays.copyOf(keyByte, 16);
     return new SecretKeySpec(keyByte, SECRET_KEY_SPEC_METHOD);
@@ -95,8 +146,8 @@ public class DecryptionService {
     messageToDecrypt = messageToDecrypt.substring(ENCRYPTED_MESSAGE_FLAG.length());
 
     try {
-      SecretKeySpec keySpec = generateSecretKeySpec(secret);
-      Cipher cipher = Cipher.getInstance(CIPHER_METHODS);
+      SecretKeySpec keySpec = getSecretKeySpec(secret);
+      Cipher cipher = ciphers.get();
       cipher.init(Cipher.DECRYPT_MODE, keySpec);
       return new String(cipher.doFinal(Base64.getDecoder().decode(messageToDecrypt)));
     } catch (BadPaddingException e) {
@@ -108,4 +159,63 @@ public class DecryptionService {
     }
   }
 
+  /**
+   * Decrypts the given messages with the group id as secret. Messages which can not be decrypted
+   * are logged and left out of the result.
+   * 
+   * @param messagesByGroupId The messages to decrypt by their group id
+   * @return The decrypted messages by their group id
+   */
+  public Map<String, String> decryptAll(Map<String, String> messagesByGroupId) {
+
+    Map<String, String> decryptedMessages = new HashMap<>(messagesByGroupId.size());
+    for (Map.Entry<String, String> message : messagesByGroupId.entrySet()) {
+      try {
+        decryptedMessages.put(message.getKey(), decrypt(message.getValue(), message.getKey()));
+      } catch (CustomCryptoException e) {
+        LogService.logDecryptionError(
+            String.format("Could not decrypt message for group id %s", message.getKey()), e);
+      }
+    }
+    return decryptedMessages;
+  }
+
+  private static MessageDigest createMessageDigest() {
+    try {
+      return MessageDigest.getInstance(MESSAGE_DIGEST_METHOD);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Cipher createCipher() {
+    try {
+      return Cipher.getInstance(CIPHER_METHODS);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Derived keys of one master key. The cache is replaced as a whole when the master key changes.
+   */
+  private static class SecretKeySpecCache {
+
+    private static final int MAX_CACHED_KEY_SPECS = 10000;
+
+    private final String masterKey;
+    private final Map<String, SecretKeySpec> keySpecs = new ConcurrentHashMap<>();
+
+    private SecretKeySpecCache(String masterKey) {
+      this.masterKey = masterKey;
+    }
+
+    private void put(String secret, SecretKeySpec keySpec) {
+      if (keySpecs.size() >= MAX_CACHED_KEY_SPECS) {
+        keySpecs.clear();
+      }
+      keySpecs.put(secret, keySpec);
+    }
+  }
+
 }
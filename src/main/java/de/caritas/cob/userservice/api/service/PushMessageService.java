@@ -3,14 +3,19 @@ package de.caritas.cob.userservice.api.service;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MulticastMessage;
 import com.google.firebase.messaging.Notification;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import lombok.SneakyThrows;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -23,6 +28,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class PushMessageService {
 
+  static final int MAX_MULTICAST_TOKENS = 500;
+
   @Value("${firebase.configuration.push-notifications.enabled}")
   private boolean isEnabled;
 
@@ -56,23 +63,33 @@ public class PushMessageService {
   }
 
   /**
-   * Sends a push notification message to mobile device with given registration token.
+   * Sends a push notification message to all mobile devices with the given registration tokens.
+   * The tokens are sent as multicast messages of at most {@value #MAX_MULTICAST_TOKENS} tokens.
    *
-   * @param registrationToken the mobile device identifier
+   * @param registrationTokens the mobile device identifiers
    */
-  public void pushNewMessageEvent(String registrationToken) {
-    if (!this.isEnabled) {
+  public void pushNewMessageEvents(Collection<String> registrationTokens) {
+    if (!this.isEnabled || registrationTokens.isEmpty()) {
       return;
     }
-    Message message = Message.builder()
+    List<String> tokens = new ArrayList<>(registrationTokens);
+    ListUtils.partition(tokens, MAX_MULTICAST_TOKENS).forEach(this::pushMulticastMessage);
+  }
+
+  private void pushMulticastMessage(List<String> registrationTokens) {
+    MulticastMessage message = MulticastMessage.builder()
         .setNotification(Notification.builder()
             .setBody(pushNotificationMessage)
             .build())
-        .setToken(registrationToken)
+        .addAllTokens(registrationTokens)
         .build();
 
     try {
-      this.firebaseMessaging.send(message);
+      BatchResponse response = this.firebaseMessaging.sendMulticast(message);
+      if (response.getFailureCount() > 0) {
+        LogService.logWarn(String.format("Push notification failed for %s of %s devices",
+            response.getFailureCount(), registrationTokens.size()));
+      }
     } catch (FirebaseMessagingException e) {
       LogService.logWarn(e);
     }
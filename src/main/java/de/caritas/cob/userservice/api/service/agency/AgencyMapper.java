@@ -0,0 +1,36 @@
+package de.caritas.cob.userservice.api.service.agency;
+
+import static java.util.Objects.isNull;
+
+import de.caritas.cob.userservice.agencyserivce.generated.web.model.AgencyResponseDTO;
+import de.caritas.cob.userservice.api.model.AgencyDTO;
+
+/**
+ * Mapper class to map agencies of the AgencyService to the userservice {@link AgencyDTO}.
+ */
+public class AgencyMapper {
+
+  private AgencyMapper() {}
+
+  /**
+   * Maps the given {@link AgencyResponseDTO} to an {@link AgencyDTO}.
+   *
+   * @param agencyResponseDTO the agency provided by the AgencyService
+   * @return the mapped {@link AgencyDTO}
+   */
+  public static AgencyDTO fromAgencyResponseDTO(AgencyResponseDTO agencyResponseDTO) {
+    if (isNull(agencyResponseDTO)) {
+      return null;
+    }
+    return new AgencyDTO()
+        .id(agencyResponseDTO.getId())
+        .name(agencyResponseDTO.getName())
+        .postcode(agencyResponseDTO.getPostcode())
+        .city(agencyResponseDTO.getCity())
+        .description(agencyResponseDTO.getDescription())
+        .teamAgency(agencyResponseDTO.getTeamAgency())
+        .offline(agencyResponseDTO.getOffline())
+        .consultingType(agencyResponseDTO.getConsultingType());
+  }
+
+}
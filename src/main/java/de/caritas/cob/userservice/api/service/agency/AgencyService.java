@@ -1,22 +1,25 @@
 package de.caritas.cob.userservice.api.service.agency;
 
 import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import de.caritas.cob.userservice.agencyserivce.generated.ApiClient;
 import de.caritas.cob.userservice.agencyserivce.generated.web.AgencyControllerApi;
-import de.caritas.cob.userservice.agencyserivce.generated.web.model.AgencyResponseDTO;
-import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
 import de.caritas.cob.userservice.api.model.AgencyDTO;
-import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.config.CacheManagerConfig;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
@@ -28,7 +31,7 @@ import org.springframework.stereotype.Component;
 public class AgencyService {
 
   private final @NonNull AgencyControllerApi agencyControllerApi;
-  private final @NonNull SecurityHeaderSupplier securityHeaderSupplier;
+  private final @NonNull CacheManager cacheManager;
 
   /**
    * Returns the {@link AgencyDTO} for the provided agencyId. Agency will be cached for further
@@ -58,15 +61,45 @@ public class AgencyService {
   }
 
   /**
-   * Returns List of {@link AgencyDTO} for provided agencyIds. Agencies will be cached for further
-   * requests.
+   * Returns List of {@link AgencyDTO} for provided agencyIds. Each agency is resolved from the
+   * agency cache, only the agencies missing in the cache are requested with one call from the
+   * AgencyService and will be cached for further requests.
    *
    * @param agencyIds List of {@link AgencyDTO#getId()}
-   * @return List<AgencyDTO> List of {@link AgencyDTO}
+   * @return List<AgencyDTO> List of {@link AgencyDTO} in the order of the given ids
    */
-  @Cacheable(value = CacheManagerConfig.AGENCY_CACHE, key = "#agencyIds")
   public List<AgencyDTO> getAgencies(List<Long> agencyIds) {
-    return getAgenciesFromAgencyService(agencyIds);
+    if (isEmpty(agencyIds)) {
+      return emptyList();
+    }
+    Cache agencyCache = this.cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE);
+    if (isNull(agencyCache)) {
+      return getAgenciesFromAgencyService(agencyIds);
+    }
+
+    List<Long> distinctAgencyIds = agencyIds.stream()
+        .distinct()
+        .collect(Collectors.toList());
+    Map<Long, AgencyDTO> agenciesById = new HashMap<>();
+    List<Long> missingAgencyIds = new ArrayList<>();
+    distinctAgencyIds.forEach(agencyId -> {
+      AgencyDTO cachedAgency = agencyCache.get(agencyId, AgencyDTO.class);
+      if (nonNull(cachedAgency)) {
+        agenciesById.put(agencyId, cachedAgency);
+      } else {
+        missingAgencyIds.add(agencyId);
+      }
+    });
+
+    getAgenciesFromAgencyService(missingAgencyIds).forEach(agency -> {
+      agencyCache.put(agency.getId(), agency);
+      agenciesById.put(agency.getId(), agency);
+    });
+
+    return distinctAgencyIds.stream()
+        .map(agenciesById::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
   }
 
   /**
@@ -77,9 +110,8 @@ public class AgencyService {
    */
   private List<AgencyDTO> getAgenciesFromAgencyService(List<Long> agencyIds) {
     if (isNotEmpty(agencyIds)) {
-      addDefaultHeaders(this.agencyControllerApi.getApiClient());
       return this.agencyControllerApi.getAgenciesByIds(agencyIds).stream()
-          .map(this::fromOriginalAgency)
+          .map(AgencyMapper::fromAgencyResponseDTO)
           .collect(Collectors.toList());
     }
     return emptyList();
@@ -92,29 +124,12 @@ public class AgencyService {
    * @return List of {@link AgencyDTO}
    */
   public List<AgencyDTO> getAgenciesByConsultingType(int consultingTypeId) {
-    addDefaultHeaders(this.agencyControllerApi.getApiClient());
     return this.agencyControllerApi.getAgenciesByConsultingType(consultingTypeId)
         .stream()
-        .map(this::fromOriginalAgency)
+        .map(AgencyMapper::fromAgencyResponseDTO)
         .collect(Collectors.toList());
   }
 
-  private void addDefaultHeaders(ApiClient apiClient) {
-    var headers = this.securityHeaderSupplier.getCsrfHttpHeaders();
-    headers.forEach((key, value) -> apiClient.addDefaultHeader(key, value.iterator().next()));
-  }
-
-  private AgencyDTO fromOriginalAgency(AgencyResponseDTO agencyResponseDTO) {
-    var objectMapper = new ObjectMapper();
-    try {
-      return objectMapper
-          .readValue(objectMapper.writeValueAsString(agencyResponseDTO), AgencyDTO.class);
-    } catch (JsonProcessingException e) {
-      throw new InternalServerErrorException("Model definition of agency in userservice does not "
-          + "match the definition of agencyservice");
-    }
-  }
-
   /**
    * Returns the {@link AgencyDTO} for the provided agencyId. Agency won't be cached for further
    * requests.
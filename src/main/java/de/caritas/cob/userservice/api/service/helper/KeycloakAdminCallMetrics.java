@@ -0,0 +1,76 @@
+package de.caritas.cob.userservice.api.service.helper;
+
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.service.LogService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+/**
+ * Client filter registered on the keycloak admin client to count the performed admin calls and
+ * measure their latency.
+ */
+public class KeycloakAdminCallMetrics implements ClientRequestFilter, ClientResponseFilter {
+
+  private static final String START_TIME_PROPERTY = KeycloakAdminCallMetrics.class.getName()
+      + ".startTime";
+
+  private final LongAdder callCount = new LongAdder();
+  private final LongAdder failedCallCount = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+
+  @Override
+  public void filter(ClientRequestContext requestContext) {
+    requestContext.setProperty(START_TIME_PROPERTY, System.nanoTime());
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+    this.callCount.increment();
+    if (responseContext.getStatus() >= 400) {
+      this.failedCallCount.increment();
+    }
+    var startTime = requestContext.getProperty(START_TIME_PROPERTY);
+    if (nonNull(startTime)) {
+      long latencyNanos = System.nanoTime() - (long) startTime;
+      this.totalLatencyNanos.add(latencyNanos);
+      LogService.logDebug(String.format("Keycloak admin call %s %s returned %s in %s ms",
+          requestContext.getMethod(), requestContext.getUri().getPath(),
+          responseContext.getStatus(), TimeUnit.NANOSECONDS.toMillis(latencyNanos)));
+    }
+  }
+
+  /**
+   * Returns the amount of performed keycloak admin calls.
+   *
+   * @return the amount of calls
+   */
+  public long getCallCount() {
+    return this.callCount.sum();
+  }
+
+  /**
+   * Returns the amount of keycloak admin calls answered with an error status.
+   *
+   * @return the amount of failed calls
+   */
+  public long getFailedCallCount() {
+    return this.failedCallCount.sum();
+  }
+
+  /**
+   * Returns the average latency of all performed keycloak admin calls in milliseconds.
+   *
+   * @return the average latency in milliseconds
+   */
+  public double getAverageLatencyMillis() {
+    long calls = getCallCount();
+    return calls == 0 ? 0
+        : (double) TimeUnit.NANOSECONDS.toMicros(this.totalLatencyNanos.sum()) / calls / 1000;
+  }
+
+}
@@ -1,13 +1,22 @@
 package de.caritas.cob.userservice.api.service.helper;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.KeycloakBuilder;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UsersResource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
- * Accessor class to provide the keycloak connection.
+ * Accessor class to provide the keycloak connection. One keycloak admin client with a pooled
+ * connection manager is shared by all callers, so the access token is obtained once and refreshed
+ * by the client itself instead of being granted for each call.
  */
 @Service
 public class KeycloakAdminClientAccessor {
@@ -27,6 +36,14 @@ public class KeycloakAdminClientAccessor {
   @Value("${keycloakService.admin.clientId}")
   private String keycloakClientId;
 
+  @Value("${keycloakService.admin.connectionPoolSize}")
+  private int connectionPoolSize;
+
+  @Getter
+  private final KeycloakAdminCallMetrics keycloakAdminCallMetrics = new KeycloakAdminCallMetrics();
+
+  private volatile Keycloak keycloak;
+
   /**
    * Returnes the {@link UsersResource} of current realm.
    *
@@ -46,9 +63,42 @@ public class KeycloakAdminClientAccessor {
   }
 
   private Keycloak getInstance() {
-    return Keycloak
-        .getInstance(this.keycloakServerUrl, this.keycloakRealm, this.keycloakUsername,
-            this.keycloakPassword, this.keycloakClientId);
+    var instance = this.keycloak;
+    if (isNull(instance)) {
+      synchronized (this) {
+        instance = this.keycloak;
+        if (isNull(instance)) {
+          instance = buildInstance();
+          this.keycloak = instance;
+        }
+      }
+    }
+    return instance;
+  }
+
+  private Keycloak buildInstance() {
+    return KeycloakBuilder.builder()
+        .serverUrl(this.keycloakServerUrl)
+        .realm(this.keycloakRealm)
+        .username(this.keycloakUsername)
+        .password(this.keycloakPassword)
+        .clientId(this.keycloakClientId)
+        .resteasyClient(new ResteasyClientBuilder()
+            .connectionPoolSize(this.connectionPoolSize)
+            .register(this.keycloakAdminCallMetrics)
+            .build())
+        .build();
+  }
+
+  /**
+   * Closes the shared keycloak admin client and its connection pool.
+   */
+  @PreDestroy
+  public synchronized void close() {
+    if (nonNull(this.keycloak)) {
+      this.keycloak.close();
+      this.keycloak = null;
+    }
   }
 
 }
@@ -15,23 +15,38 @@ import de.caritas.cob.userservice.api.helper.UsernameTranscoder;
 import de.caritas.cob.userservice.api.model.keycloak.KeycloakCreateUserResponseDTO;
 import de.caritas.cob.userservice.api.model.registration.UserDTO;
 import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.config.CacheManagerConfig;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.ws.rs.core.Response;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.Synchronized;
+import org.keycloak.admin.client.resource.RolesResource;
 import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.ErrorRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -40,7 +55,6 @@ import org.springframework.stereotype.Service;
  * Admin Client.
  */
 @Service
-@RequiredArgsConstructor
 public class KeycloakAdminClientService {
 
   @Value("${keycloakService.user.role}")
@@ -55,10 +69,26 @@ public class KeycloakAdminClientService {
   @Value("${keycloakApi.error.email}")
   private String keycloakErrorEmail;
 
+  private static final int ROLE_MEMBERS_PAGE_SIZE = 100;
+  private static final EnumSet<UserRole> ASKER_ROLES = EnumSet.of(UserRole.USER,
+      UserRole.ANONYMOUS);
+
   private final UsernameTranscoder usernameTranscoder = new UsernameTranscoder();
 
-  private final @NonNull UserHelper userHelper;
-  private final @NonNull KeycloakAdminClientAccessor keycloakAdminClientAccessor;
+  private final UserHelper userHelper;
+  private final KeycloakAdminClientAccessor keycloakAdminClientAccessor;
+  private final CacheManager cacheManager;
+  private final Executor keycloakAdminExecutor;
+
+  public KeycloakAdminClientService(@NonNull UserHelper userHelper,
+      @NonNull KeycloakAdminClientAccessor keycloakAdminClientAccessor,
+      @NonNull CacheManager cacheManager,
+      @NonNull @Qualifier("keycloakAdminExecutor") Executor keycloakAdminExecutor) {
+    this.userHelper = userHelper;
+    this.keycloakAdminClientAccessor = keycloakAdminClientAccessor;
+    this.cacheManager = cacheManager;
+    this.keycloakAdminExecutor = keycloakAdminExecutor;
+  }
 
   /**
    * Creates a user in Keycloak and returns its Keycloak user ID.
@@ -207,6 +237,7 @@ public class KeycloakAdminClientService {
     }
     user.roles().realmLevel()
         .add(Collections.singletonList(roleRepresentation));
+    evictUserRoles(userId);
 
     // Check if role has been assigned successfully
     List<RoleRepresentation> userRoles = user.roles().realmLevel().listAll();
@@ -322,6 +353,7 @@ public class KeycloakAdminClientService {
     this.keycloakAdminClientAccessor.getUsersResource()
         .get(userId)
         .remove();
+    evictUserRoles(userId);
   }
 
   /**
@@ -333,8 +365,8 @@ public class KeycloakAdminClientService {
    */
   public boolean userHasAuthority(String userId, String authority) {
     try {
-      return getUserRoles(userId).stream()
-          .map(role -> UserRole.getRoleByValue(role.getName()))
+      return getUserRoleNames(userId).stream()
+          .map(UserRole::getRoleByValue)
           .filter(Optional::isPresent)
           .map(Optional::get)
           .map(Authority::getAuthoritiesByUserRole)
@@ -355,8 +387,8 @@ public class KeycloakAdminClientService {
    */
   public boolean userHasRole(String userId, String userRole) {
     try {
-      return getUserRoles(userId).stream()
-          .map(this::toUserRole)
+      return getUserRoleNames(userId).stream()
+          .map(UserRole::getRoleByValue)
           .filter(Optional::isPresent)
           .map(Optional::get)
           .map(UserRole::getValue)
@@ -368,16 +400,94 @@ public class KeycloakAdminClientService {
     }
   }
 
-  private Optional<UserRole> toUserRole(RoleRepresentation roleRepresentation) {
-    return UserRole.getRoleByValue(roleRepresentation.getName());
-  }
+  @SuppressWarnings("unchecked")
+  private Set<String> getUserRoleNames(String userId) {
+    var userRolesCache = this.cacheManager.getCache(CacheManagerConfig.KEYCLOAK_USER_ROLES_CACHE);
+    if (nonNull(userRolesCache)) {
+      var cachedRoleNames = userRolesCache.get(userId);
+      if (nonNull(cachedRoleNames)) {
+        return (Set<String>) cachedRoleNames.get();
+      }
+    }
 
-  private List<RoleRepresentation> getUserRoles(String userId) {
-    return this.keycloakAdminClientAccessor.getUsersResource()
+    Set<String> roleNames = this.keycloakAdminClientAccessor.getUsersResource()
         .get(userId)
         .roles()
         .realmLevel()
-        .listAll();
+        .listAll()
+        .stream()
+        .map(RoleRepresentation::getName)
+        .filter(roleName -> UserRole.getRoleByValue(roleName).isPresent())
+        .collect(Collectors.toCollection(HashSet::new));
+    if (nonNull(userRolesCache)) {
+      userRolesCache.put(userId, roleNames);
+    }
+    return roleNames;
+  }
+
+  private void evictUserRoles(String userId) {
+    var userRolesCache = this.cacheManager.getCache(CacheManagerConfig.KEYCLOAK_USER_ROLES_CACHE);
+    if (nonNull(userRolesCache)) {
+      userRolesCache.evict(userId);
+    }
+  }
+
+  /**
+   * Loads the roles of the given consultants which are not cached yet and stores them in the user
+   * roles cache. Instead of one request per consultant the members of each role a consultant can
+   * hold are requested page by page, concurrently per role on the bounded keycloak admin executor.
+   * The asker roles are not requested, so this must not be used for asker accounts. Nothing is
+   * cached if the members of any role could not be loaded, the roles are requested again on access.
+   *
+   * @param consultantIds the keycloak user ids of the consultants
+   */
+  public void warmUpConsultantRoles(Collection<String> consultantIds) {
+    var userRolesCache = this.cacheManager.getCache(CacheManagerConfig.KEYCLOAK_USER_ROLES_CACHE);
+    if (isNull(userRolesCache) || isNull(consultantIds)) {
+      return;
+    }
+    Map<String, Set<String>> roleNamesByUserId = consultantIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .filter(consultantId -> isNull(userRolesCache.get(consultantId)))
+        .collect(Collectors.toMap(Function.identity(),
+            consultantId -> ConcurrentHashMap.newKeySet()));
+    if (roleNamesByUserId.isEmpty()) {
+      return;
+    }
+
+    try {
+      var rolesResource = this.keycloakAdminClientAccessor.getRealmResource().roles();
+      CompletableFuture.allOf(EnumSet.complementOf(ASKER_ROLES).stream()
+          .map(UserRole::getValue)
+          .map(roleName -> CompletableFuture.runAsync(
+              () -> obtainRoleMemberIds(rolesResource, roleName)
+                  .filter(roleNamesByUserId::containsKey)
+                  .forEach(userId -> roleNamesByUserId.get(userId).add(roleName)),
+              this.keycloakAdminExecutor))
+          .toArray(CompletableFuture[]::new))
+          .join();
+    } catch (Exception ex) {
+      LogService.logKeycloakError("Could not warm up roles of consultants", ex);
+      return;
+    }
+    roleNamesByUserId.forEach(
+        (userId, roleNames) -> userRolesCache.put(userId, new HashSet<>(roleNames)));
+  }
+
+  private Stream<String> obtainRoleMemberIds(RolesResource rolesResource, String roleName) {
+    var roleResource = rolesResource.get(roleName);
+    List<String> memberIds = new ArrayList<>();
+    Collection<UserRepresentation> page;
+    var firstResult = 0;
+    do {
+      page = roleResource.getRoleUserMembers(firstResult, ROLE_MEMBERS_PAGE_SIZE);
+      page.stream()
+          .map(UserRepresentation::getId)
+          .forEach(memberIds::add);
+      firstResult += ROLE_MEMBERS_PAGE_SIZE;
+    } while (page.size() == ROLE_MEMBERS_PAGE_SIZE);
+    return memberIds.stream();
   }
 
   /**
@@ -1,15 +1,13 @@
 package de.caritas.cob.userservice.api.service.helper;
 
 import de.caritas.cob.userservice.api.service.LogService;
-import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
-import de.caritas.cob.userservice.mailservice.generated.ApiClient;
 import de.caritas.cob.userservice.mailservice.generated.web.MailsControllerApi;
 import de.caritas.cob.userservice.mailservice.generated.web.model.MailsDTO;
 import de.caritas.cob.userservice.mailservice.generated.web.model.ErrorMailDTO;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 
 /**
  * Service class to communicate with the MailService.
@@ -20,7 +18,6 @@ public class MailService {
 
   private static final String MAIL_SERVICE_ERROR_MESSAGE = "Error while calling the MailService";
 
-  private final @NonNull SecurityHeaderSupplier securityHeaderSupplier;
   private final @NonNull MailsControllerApi mailsControllerApi;
 
   /**
@@ -29,7 +26,6 @@ public class MailService {
    * @param mailsDTO the transfer object to be handled in MailService
    */
   public void sendEmailNotification(MailsDTO mailsDTO) {
-    addSecurityHeaders();
     try {
       this.mailsControllerApi.sendMails(mailsDTO);
     } catch (Exception e) {
@@ -37,10 +33,15 @@ public class MailService {
     }
   }
 
-  private void addSecurityHeaders() {
-    HttpHeaders header = securityHeaderSupplier.getCsrfHttpHeaders();
-    ApiClient apiClient = this.mailsControllerApi.getApiClient();
-    header.forEach((name, value) -> apiClient.addDefaultHeader(name, value.iterator().next()));
+  /**
+   * Send the aggregated mails of several notifications via the MailService. Errors are not
+   * handled, so the caller can retry the notifications.
+   *
+   * @param mailsDTO the transfer object to be handled in MailService
+   * @throws RestClientException if the MailService could not be called
+   */
+  public void sendEmailNotificationBatch(MailsDTO mailsDTO) {
+    this.mailsControllerApi.sendMails(mailsDTO);
   }
 
   /**
@@ -49,7 +50,6 @@ public class MailService {
    * @param errorMailDTO the transfer object to be handled in MailService
    */
   public void sendErrorEmailNotification(ErrorMailDTO errorMailDTO) {
-    addSecurityHeaders();
     try {
       this.mailsControllerApi.sendErrorMail(errorMailDTO);
     } catch (Exception e) {
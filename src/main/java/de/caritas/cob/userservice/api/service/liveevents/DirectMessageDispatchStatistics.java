@@ -0,0 +1,17 @@
+package de.caritas.cob.userservice.api.service.liveevents;
+
+import lombok.Value;
+
+/**
+ * Statistics of the direct message events dispatched by the {@link DirectMessageEventDispatcher}
+ * within one statistics interval.
+ */
+@Value
+public class DirectMessageDispatchStatistics {
+
+  int queueDepth;
+  long dispatchedRecipientCount;
+  double averageLatencyMillis;
+  long maxLatencyMillis;
+
+}
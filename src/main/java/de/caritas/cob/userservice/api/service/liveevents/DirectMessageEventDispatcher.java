@@ -0,0 +1,164 @@
+package de.caritas.cob.userservice.api.service.liveevents;
+
+import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.DIRECTMESSAGE;
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.api.service.PushMessageService;
+import de.caritas.cob.userservice.api.service.user.UserService;
+import de.caritas.cob.userservice.liveservice.generated.web.LiveControllerApi;
+import de.caritas.cob.userservice.liveservice.generated.web.model.LiveEventMessage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Dispatches direct message live events and push notifications asynchronously. Recipients are
+ * queued by the request thread and dispatched by a single background thread once per window, so
+ * all events of one recipient within the window are coalesced into one live event and one push
+ * notification. The live event and the push notifications of one window are sent in bulk.
+ */
+@Component
+@RequiredArgsConstructor
+public class DirectMessageEventDispatcher {
+
+  private static final String DISPATCH_THREAD_NAME = "UserService-LiveEventDispatch";
+
+  private final @NonNull LiveControllerApi liveControllerApi;
+  private final @NonNull UserService userService;
+  private final @NonNull PushMessageService pushMessageService;
+
+  private final Map<String, Long> queuedSinceByUserId = new ConcurrentHashMap<>();
+  private final LongAdder dispatchedRecipientCount = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+  @Value("${live.event.dispatch.window.millis}")
+  private long dispatchWindowMillis;
+
+  private ScheduledExecutorService dispatchScheduler;
+
+  /**
+   * Starts the background dispatch of queued events.
+   */
+  @PostConstruct
+  public void startDispatch() {
+    this.dispatchScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, DISPATCH_THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.dispatchScheduler.scheduleWithFixedDelay(this::dispatchQueuedEvents,
+        this.dispatchWindowMillis, this.dispatchWindowMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background dispatch and dispatches the remaining queued events.
+   */
+  @PreDestroy
+  public void stopDispatch() {
+    this.dispatchScheduler.shutdown();
+    try {
+      this.dispatchScheduler.awaitTermination(this.dispatchWindowMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    dispatchQueuedEvents();
+  }
+
+  /**
+   * Queues a direct message event for the given users. Users already queued keep their position.
+   *
+   * @param userIds the ids of the users to notify
+   */
+  public void enqueue(Collection<String> userIds) {
+    long now = System.nanoTime();
+    userIds.forEach(userId -> this.queuedSinceByUserId.putIfAbsent(userId, now));
+  }
+
+  /**
+   * Sends one live event and the push notifications for all currently queued users.
+   */
+  void dispatchQueuedEvents() {
+    try {
+      List<String> userIds = new ArrayList<>();
+      List<Long> queuedSince = new ArrayList<>();
+      for (String userId : this.queuedSinceByUserId.keySet()) {
+        Long since = this.queuedSinceByUserId.remove(userId);
+        if (nonNull(since)) {
+          userIds.add(userId);
+          queuedSince.add(since);
+        }
+      }
+      if (!userIds.isEmpty()) {
+        sendLiveEvent(userIds);
+        this.pushMessageService.pushNewMessageEvents(
+            this.userService.findMobileTokensOfUsers(userIds));
+        recordLatencies(queuedSince);
+      }
+    } catch (RuntimeException e) {
+      LogService.logInternalServerError("Unable to dispatch direct message events", e);
+    }
+  }
+
+  private void sendLiveEvent(List<String> userIds) {
+    var liveEventMessage = new LiveEventMessage()
+        .eventType(DIRECTMESSAGE)
+        .userIds(userIds);
+    try {
+      this.liveControllerApi.sendLiveEvent(liveEventMessage);
+    } catch (RestClientException e) {
+      LogService.logInternalServerError(String.format(
+          "Unable to trigger %s live event message for %s users", DIRECTMESSAGE, userIds.size()),
+          e);
+    }
+  }
+
+  private void recordLatencies(List<Long> queuedSince) {
+    long now = System.nanoTime();
+    queuedSince.forEach(since -> {
+      long latencyNanos = now - since;
+      this.dispatchedRecipientCount.increment();
+      this.totalLatencyNanos.add(latencyNanos);
+      this.maxLatencyNanos.accumulate(latencyNanos);
+    });
+  }
+
+  /**
+   * Returns the amount of users currently waiting for dispatch.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    return this.queuedSinceByUserId.size();
+  }
+
+  /**
+   * Returns the statistics of the recipients dispatched since the last call and resets them, so
+   * every call covers one statistics interval.
+   *
+   * @return the {@link DirectMessageDispatchStatistics} of the interval
+   */
+  public DirectMessageDispatchStatistics getThenResetStatistics() {
+    long recipients = this.dispatchedRecipientCount.sumThenReset();
+    long totalLatencyMicros = TimeUnit.NANOSECONDS.toMicros(this.totalLatencyNanos.sumThenReset());
+    long maxLatencyMillis = TimeUnit.NANOSECONDS.toMillis(this.maxLatencyNanos.getThenReset());
+    return new DirectMessageDispatchStatistics(getQueueDepth(), recipients,
+        recipients == 0 ? 0 : (double) totalLatencyMicros / recipients / 1000, maxLatencyMillis);
+  }
+
+}
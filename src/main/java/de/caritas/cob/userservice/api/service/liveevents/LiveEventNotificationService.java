@@ -2,17 +2,13 @@ package de.caritas.cob.userservice.api.service.liveevents;
 
 import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.ANONYMOUSCONVERSATIONFINISHED;
 import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.ANONYMOUSENQUIRYACCEPTED;
-import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.DIRECTMESSAGE;
 import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.NEWANONYMOUSENQUIRY;
 import static java.util.Collections.singletonList;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import de.caritas.cob.userservice.api.helper.AuthenticatedUser;
-import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.service.LogService;
-import de.caritas.cob.userservice.api.service.PushMessageService;
-import de.caritas.cob.userservice.api.service.user.UserService;
 import de.caritas.cob.userservice.liveservice.generated.web.LiveControllerApi;
 import de.caritas.cob.userservice.liveservice.generated.web.model.LiveEventMessage;
 import de.caritas.cob.userservice.liveservice.generated.web.model.StatusSource;
@@ -35,10 +31,8 @@ public class LiveEventNotificationService {
   private final @NonNull LiveControllerApi liveControllerApi;
   private final @NonNull UserIdsProviderFactory userIdsProviderFactory;
   private final @NonNull AuthenticatedUser authenticatedUser;
-  private final @NonNull PushMessageService pushMessageService;
-  private final @NonNull UserService userService;
+  private final @NonNull DirectMessageEventDispatcher directMessageEventDispatcher;
 
-  private static final String RC_GROUP_ID_MESSAGE_TEMPLATE = "Rocket.Chat group ID: %s";
   private static final String NEW_ANONYMOUS_ENQUIRY_MESSAGE_TEMPLATE =
       "Anonymous Enquiry ID: %s";
 
@@ -71,8 +65,9 @@ public class LiveEventNotificationService {
   }
 
   /**
-   * Collects all relevant user or consultant ids of chats and sessions and sends a new direct
-   * message to the live service.
+   * Collects all relevant user or consultant ids of chats and sessions and queues a new direct
+   * message live event and push notification for them, which are dispatched asynchronously by
+   * the {@link DirectMessageEventDispatcher}.
    *
    * @param rcGroupId the rocket chat group id used to observe relevant users
    */
@@ -83,8 +78,9 @@ public class LiveEventNotificationService {
           .filter(this::notInitiatingUser)
           .collect(Collectors.toList());
 
-      triggerDirectMessageLiveEvent(userIds, rcGroupId);
-      triggerMobilePushNotification(userIds);
+      if (isNotEmpty(userIds)) {
+        this.directMessageEventDispatcher.enqueue(userIds);
+      }
     }
   }
 
@@ -92,40 +88,12 @@ public class LiveEventNotificationService {
     return !userId.equals(this.authenticatedUser.getUserId());
   }
 
-  private void triggerDirectMessageLiveEvent(List<String> userIds, String rcGroupId) {
-    if (isNotEmpty(userIds)) {
-      var liveEventMessage = new LiveEventMessage()
-          .eventType(DIRECTMESSAGE)
-          .userIds(userIds);
-
-      sendLiveEventMessage(liveEventMessage, () -> {
-        var rcMessage = String.format(RC_GROUP_ID_MESSAGE_TEMPLATE, rcGroupId);
-        return makeUserIdsEventTypeMessage(liveEventMessage, rcMessage);
-      });
-    }
-  }
-
   private String makeUserIdsEventTypeMessage(LiveEventMessage triggeredLiveEventMessage,
       String withMessage) {
     return String.format("Unable to trigger %s live event message %s",
         triggeredLiveEventMessage.getEventType(), withMessage);
   }
 
-  private void triggerMobilePushNotification(List<String> userIds) {
-    userIds.forEach(this::sendPushNotificationForUser);
-  }
-
-  private void sendPushNotificationForUser(String userId) {
-    this.userService.getUser(userId)
-        .ifPresent(this::sendPushNotificationIfUserHasMobileToken);
-  }
-
-  private void sendPushNotificationIfUserHasMobileToken(User user) {
-    if (isNotBlank(user.getMobileToken())) {
-      this.pushMessageService.pushNewMessageEvent(user.getMobileToken());
-    }
-  }
-
   /**
    * Sends a new anonymous enquiry live event to the provided user IDs.
    *
@@ -3,8 +3,8 @@ package de.caritas.cob.userservice.api.service.liveevents;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.isNull;
 
-import de.caritas.cob.userservice.api.repository.session.Session;
-import de.caritas.cob.userservice.api.repository.session.SessionRepository;
+import de.caritas.cob.userservice.api.repository.session.SessionParticipants;
+import de.caritas.cob.userservice.api.service.session.SessionParticipantsResolver;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -19,29 +19,29 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RelevantUserAccountIdsBySessionProvider implements UserIdsProvider {
 
-  private final @NonNull SessionRepository sessionRepository;
+  private final @NonNull SessionParticipantsResolver sessionParticipantsResolver;
 
   /**
    * Collects the relevant user id of a session, if consultant wrote, id of user will be returned
    * and vice versa.
    *
-   * @param rcGroupId the rocket chat group id used to retrieve the {@link Session}
+   * @param rcGroupId the rocket chat group id or feedback group id of the session
    * @return a {@link List} containing the user id to be notified
    */
   @Override
   public List<String> collectUserIds(String rcGroupId) {
-    Session session = this.sessionRepository.findByGroupId(rcGroupId)
-            .orElse(this.sessionRepository.findByFeedbackGroupId(rcGroupId)
-                .orElse(null));
+    SessionParticipants participants = this.sessionParticipantsResolver
+        .resolveByGroupId(rcGroupId)
+        .orElse(null);
 
-    return extractDependentUserIds(session);
+    return extractDependentUserIds(participants);
   }
 
-  private List<String> extractDependentUserIds(Session session) {
-    if (isNull(session) || isNull(session.getConsultant())) {
+  private List<String> extractDependentUserIds(SessionParticipants participants) {
+    if (isNull(participants) || isNull(participants.getConsultantId())) {
       return emptyList();
     }
-    return Stream.of(session.getUser().getUserId(), session.getConsultant().getId())
+    return Stream.of(participants.getUserId(), participants.getConsultantId())
         .collect(Collectors.toList());
   }
 
@@ -14,9 +14,7 @@ import de.caritas.cob.userservice.api.helper.MessageHelper;
 import de.caritas.cob.userservice.api.helper.UsernameTranscoder;
 import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.service.rocketchat.RocketChatCredentialsProvider;
-import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
-import de.caritas.cob.userservice.messageservice.generated.ApiClient;
 import de.caritas.cob.userservice.messageservice.generated.web.MessageControllerApi;
 import de.caritas.cob.userservice.messageservice.generated.web.model.AliasOnlyMessageDTO;
 import de.caritas.cob.userservice.messageservice.generated.web.model.MessageDTO;
@@ -35,7 +33,6 @@ public class MessageServiceProvider {
 
   private final @NonNull MessageControllerApi messageControllerApi;
   private final @NonNull RocketChatCredentialsProvider rocketChatCredentialsProvider;
-  private final @NonNull SecurityHeaderSupplier securityHeaderSupplier;
 
   /**
    * Posts an enquiry message via the MessageService to the given Rocket.Chat group ID.
@@ -62,8 +59,6 @@ public class MessageServiceProvider {
   }
 
   private void postMessage(String message, RocketChatCredentials rcCredentials, String rcGroupId) {
-
-    addDefaultHeaders(this.messageControllerApi.getApiClient());
     this.messageControllerApi.createMessage(rcCredentials.getRocketChatToken(),
         rcCredentials.getRocketChatUserId(), rcGroupId, new MessageDTO().message(message));
   }
@@ -134,7 +129,6 @@ public class MessageServiceProvider {
   private void postAliasOnlyMessage(String rcGroupId, MessageType messageType,
       CreateEnquiryExceptionInformation exceptionInformation)
       throws RocketChatPostFurtherStepsMessageException {
-    addDefaultHeaders(this.messageControllerApi.getApiClient());
     try {
       this.messageControllerApi.saveAliasOnlyMessage(rcGroupId, new AliasOnlyMessageDTO()
           .messageType(messageType));
@@ -145,9 +139,4 @@ public class MessageServiceProvider {
               rcGroupId), exception, exceptionInformation);
     }
   }
-
-  private void addDefaultHeaders(ApiClient apiClient) {
-    var headers = this.securityHeaderSupplier.getKeycloakAndCsrfHttpHeaders();
-    headers.forEach((key, value) -> apiClient.addDefaultHeader(key, value.iterator().next()));
-  }
 }
@@ -0,0 +1,155 @@
+package de.caritas.cob.userservice.api.service.notificationoutbox;
+
+import de.caritas.cob.userservice.api.facade.EmailNotificationFacade;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxEntry;
+import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.api.service.helper.MailService;
+import de.caritas.cob.userservice.mailservice.generated.web.model.MailDTO;
+import de.caritas.cob.userservice.mailservice.generated.web.model.MailsDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sends the pending notifications of the outbox. The mails of several notifications are sent with
+ * one call to the MailService, failed notifications are retried with exponential backoff, a
+ * notification failing again is sent on its own so it does not affect others.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxDrainer {
+
+  private final @NonNull NotificationOutboxService notificationOutboxService;
+  private final @NonNull EmailNotificationFacade emailNotificationFacade;
+  private final @NonNull MailService mailService;
+  private final @NonNull EntityManagerSessionRunner entityManagerSessionRunner;
+
+  @Value("${notification.outbox.batchSize}")
+  private int batchSize;
+
+  @Value("${notification.outbox.maxBatchesPerRun}")
+  private int maxBatchesPerRun;
+
+  @Value("${notification.outbox.maxMailsPerCall}")
+  private int maxMailsPerCall;
+
+  /**
+   * Claims and sends due notifications until none are left or the maximum amount of batches per
+   * run is reached.
+   */
+  public void drainDueEntries() {
+    for (int batch = 0; batch < this.maxBatchesPerRun; batch++) {
+      List<NotificationOutboxEntry> entries =
+          this.notificationOutboxService.claimDueEntries(this.batchSize);
+      if (entries.isEmpty()) {
+        return;
+      }
+      send(entries);
+    }
+  }
+
+  private void send(List<NotificationOutboxEntry> entries) {
+    List<GeneratedNotification> generatedNotifications = new ArrayList<>();
+    for (NotificationOutboxEntry entry : entries) {
+      try {
+        List<MailDTO> mails = this.entityManagerSessionRunner.callInSession(
+            () -> generateMails(entry));
+        if (mails.isEmpty()) {
+          this.notificationOutboxService.markSent(entry);
+        } else {
+          generatedNotifications.add(new GeneratedNotification(entry, mails));
+        }
+      } catch (Exception e) {
+        LogService.logEmailNotificationFacadeError(String.format(
+            "Failed to generate mails of notification %s (%s)", entry.getId(), entry.getType()),
+            e);
+        this.notificationOutboxService.scheduleRetry(entry, e.getMessage());
+      }
+    }
+    partition(generatedNotifications).forEach(this::sendMails);
+  }
+
+  @SneakyThrows
+  private List<MailDTO> generateMails(NotificationOutboxEntry entry) {
+    var payload = this.notificationOutboxService.readPayload(entry);
+    switch (entry.getType()) {
+      case NEW_ENQUIRY:
+        return this.emailNotificationFacade
+            .generateNewEnquiryEmailNotifications(payload.getSessionId());
+      case NEW_MESSAGE:
+        return this.emailNotificationFacade.generateNewMessageEmailNotifications(
+            payload.getRcGroupId(), payload.getRoles(), payload.getUserId());
+      case NEW_FEEDBACK_MESSAGE:
+        return this.emailNotificationFacade.generateNewFeedbackMessageEmailNotifications(
+            payload.getRcGroupId(), payload.getUserId());
+      case ASSIGN_ENQUIRY:
+        return this.emailNotificationFacade.generateAssignEnquiryEmailNotifications(
+            payload.getConsultantId(), payload.getUserId(), payload.getAskerUserName());
+      default:
+        throw new IllegalStateException(
+            String.format("No mails for notification type %s", entry.getType()));
+    }
+  }
+
+  private List<List<GeneratedNotification>> partition(List<GeneratedNotification> notifications) {
+    List<List<GeneratedNotification>> partitions = new ArrayList<>();
+    List<GeneratedNotification> current = new ArrayList<>();
+    int currentMails = 0;
+    for (GeneratedNotification notification : notifications) {
+      if (notification.isRetry()) {
+        partitions.add(List.of(notification));
+        continue;
+      }
+      int mails = notification.getMails().size();
+      if (!current.isEmpty() && currentMails + mails > this.maxMailsPerCall) {
+        partitions.add(current);
+        current = new ArrayList<>();
+        currentMails = 0;
+      }
+      current.add(notification);
+      currentMails += mails;
+    }
+    if (!current.isEmpty()) {
+      partitions.add(current);
+    }
+    return partitions;
+  }
+
+  private void sendMails(List<GeneratedNotification> notifications) {
+    var mailsDTO = new MailsDTO().mails(notifications.stream()
+        .flatMap(notification -> notification.getMails().stream())
+        .collect(Collectors.toList()));
+    try {
+      this.mailService.sendEmailNotificationBatch(mailsDTO);
+      notifications.forEach(
+          notification -> this.notificationOutboxService.markSent(notification.getEntry()));
+    } catch (Exception e) {
+      LogService.logMailServiceException(String.format(
+          "Failed to send %s mails of %s notifications", mailsDTO.getMails().size(),
+          notifications.size()), e);
+      notifications.forEach(notification -> this.notificationOutboxService
+          .scheduleRetry(notification.getEntry(), e.getMessage()));
+    }
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class GeneratedNotification {
+
+    private final NotificationOutboxEntry entry;
+    private final List<MailDTO> mails;
+
+    boolean isRetry() {
+      return this.entry.getAttempts() > 1;
+    }
+
+  }
+
+}
@@ -0,0 +1,280 @@
+package de.caritas.cob.userservice.api.service.notificationoutbox;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+import static java.util.Objects.isNull;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxEntry;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxRepository;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxStatus;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationType;
+import de.caritas.cob.userservice.api.service.LogService;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service to write email notifications to the outbox and to manage their lifecycle. Notifications
+ * are written within the transaction of the triggering change, so they are neither lost when the
+ * mail service is slow nor when the instance is stopped.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+  private static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+  private final @NonNull NotificationOutboxRepository notificationOutboxRepository;
+  private final @NonNull ObjectMapper objectMapper;
+  private final String workerId = resolveWorkerId();
+
+  @Value("${notification.outbox.retentionHours}")
+  private long retentionHours;
+
+  @Value("${notification.outbox.staleMinutes}")
+  private long staleMinutes;
+
+  @Value("${notification.outbox.maxAttempts}")
+  private int maxAttempts;
+
+  @Value("${notification.outbox.backoff.initialSeconds}")
+  private long initialBackoffSeconds;
+
+  @Value("${notification.outbox.backoff.maxSeconds}")
+  private long maxBackoffSeconds;
+
+  private static String resolveWorkerId() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      return UUID.randomUUID().toString();
+    }
+  }
+
+  /**
+   * Writes a notification to the outbox, unless a notification with the same idempotency key has
+   * already been written. A concurrently written notification with the same key is detected by the
+   * unique idempotency key and treated as already written. Within a surrounding transaction the
+   * write fails with that transaction instead.
+   *
+   * @param type           the {@link NotificationType}
+   * @param idempotencyKey the key identifying the notification
+   * @param payload        the {@link NotificationPayload} to generate the mails from
+   */
+  public void enqueue(NotificationType type, String idempotencyKey, NotificationPayload payload) {
+    if (this.notificationOutboxRepository.existsByIdempotencyKey(idempotencyKey)) {
+      return;
+    }
+    var now = nowInUtc();
+    var entry = NotificationOutboxEntry.builder()
+        .id(UUID.randomUUID().toString())
+        .idempotencyKey(idempotencyKey)
+        .type(type)
+        .status(NotificationOutboxStatus.PENDING)
+        .payload(toPayloadJson(payload))
+        .createDate(now)
+        .nextAttemptDate(now)
+        .build();
+    try {
+      this.notificationOutboxRepository.save(entry);
+    } catch (DataIntegrityViolationException e) {
+      // written concurrently with the same idempotency key
+    }
+  }
+
+  /**
+   * Writes a notification to the outbox which is sent once for every call.
+   *
+   * @param type    the {@link NotificationType}
+   * @param payload the {@link NotificationPayload} to generate the mails from
+   */
+  public void enqueue(NotificationType type, NotificationPayload payload) {
+    enqueue(type, type + ":" + UUID.randomUUID(), payload);
+  }
+
+  /**
+   * Checks if a notification with the given coalescing key is waiting to be sent. Further
+   * notifications with the same key are covered by it.
+   *
+   * @param coalescingKey the key of notifications which are sent as one
+   * @return true if a notification with the key is pending
+   */
+  public boolean isPending(String coalescingKey) {
+    return this.notificationOutboxRepository
+        .existsByCoalescingKeyAndStatus(coalescingKey, NotificationOutboxStatus.PENDING);
+  }
+
+  /**
+   * Writes a notification to the outbox which is sent after the given delay. Notifications with
+   * the same coalescing key written until then should be dropped, see {@link #isPending(String)}.
+   *
+   * @param type          the {@link NotificationType}
+   * @param coalescingKey the key of notifications which are sent as one
+   * @param delay         the delay until the notification is sent
+   * @param payload       the {@link NotificationPayload} to generate the mails from
+   */
+  public void enqueueDelayed(NotificationType type, String coalescingKey, Duration delay,
+      NotificationPayload payload) {
+    var now = nowInUtc();
+    var entry = NotificationOutboxEntry.builder()
+        .id(UUID.randomUUID().toString())
+        .idempotencyKey(type + ":" + UUID.randomUUID())
+        .coalescingKey(coalescingKey)
+        .type(type)
+        .status(NotificationOutboxStatus.PENDING)
+        .payload(toPayloadJson(payload))
+        .createDate(now)
+        .nextAttemptDate(now.plus(delay))
+        .build();
+    this.notificationOutboxRepository.save(entry);
+  }
+
+  private String toPayloadJson(NotificationPayload payload) {
+    try {
+      return this.objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new InternalServerErrorException("Payload of notification could not be serialized", e,
+          LogService::logInternalServerError);
+    }
+  }
+
+  /**
+   * Reads the {@link NotificationPayload} of the given entry.
+   *
+   * @param entry the {@link NotificationOutboxEntry}
+   * @return the {@link NotificationPayload}
+   * @throws JsonProcessingException if the payload can not be read
+   */
+  public NotificationPayload readPayload(NotificationOutboxEntry entry)
+      throws JsonProcessingException {
+    return isNull(entry.getPayload()) ? new NotificationPayload()
+        : this.objectMapper.readValue(entry.getPayload(), NotificationPayload.class);
+  }
+
+  /**
+   * Claims the pending notifications which are due, oldest first. Notifications claimed by
+   * another instance in the meantime are skipped.
+   *
+   * @param limit the maximum amount of notifications to claim
+   * @return the claimed {@link NotificationOutboxEntry}s
+   */
+  public List<NotificationOutboxEntry> claimDueEntries(int limit) {
+    return this.notificationOutboxRepository
+        .findByStatusAndNextAttemptDateLessThanEqualOrderByNextAttemptDateAsc(
+            NotificationOutboxStatus.PENDING, nowInUtc(), PageRequest.of(0, limit))
+        .stream()
+        .map(this::claim)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList());
+  }
+
+  private Optional<NotificationOutboxEntry> claim(NotificationOutboxEntry entry) {
+    entry.setStatus(NotificationOutboxStatus.PROCESSING);
+    entry.setWorker(this.workerId);
+    entry.setAttempts(entry.getAttempts() + 1);
+    entry.setClaimDate(nowInUtc());
+    try {
+      return Optional.of(this.notificationOutboxRepository.save(entry));
+    } catch (OptimisticLockingFailureException e) {
+      // the notification has been claimed by another instance in the meantime
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Marks the given claimed notification as sent.
+   *
+   * @param entry the claimed {@link NotificationOutboxEntry}
+   */
+  public void markSent(NotificationOutboxEntry entry) {
+    entry.setStatus(NotificationOutboxStatus.SENT);
+    entry.setFinishDate(nowInUtc());
+    entry.setErrorMessage(null);
+    saveIfUnchanged(entry);
+  }
+
+  /**
+   * Marks the given claimed notification as failed without further attempts.
+   *
+   * @param entry        the claimed {@link NotificationOutboxEntry}
+   * @param errorMessage the reason
+   */
+  public void markFailed(NotificationOutboxEntry entry, String errorMessage) {
+    entry.setStatus(NotificationOutboxStatus.FAILED);
+    entry.setFinishDate(nowInUtc());
+    entry.setErrorMessage(StringUtils.abbreviate(errorMessage, MAX_ERROR_MESSAGE_LENGTH));
+    saveIfUnchanged(entry);
+  }
+
+  /**
+   * Schedules another attempt of the given claimed notification with exponential backoff, or
+   * marks it as failed once the maximum amount of attempts is reached.
+   *
+   * @param entry        the claimed {@link NotificationOutboxEntry}
+   * @param errorMessage the reason
+   */
+  public void scheduleRetry(NotificationOutboxEntry entry, String errorMessage) {
+    if (entry.getAttempts() >= this.maxAttempts) {
+      LogService.logEmailNotificationFacadeError(String.format(
+          "Notification %s (%s) failed after %d attempts: %s", entry.getId(), entry.getType(),
+          entry.getAttempts(), errorMessage));
+      markFailed(entry, errorMessage);
+      return;
+    }
+    entry.setStatus(NotificationOutboxStatus.PENDING);
+    entry.setWorker(null);
+    entry.setNextAttemptDate(nowInUtc().plusSeconds(backoffSeconds(entry.getAttempts())));
+    entry.setErrorMessage(StringUtils.abbreviate(errorMessage, MAX_ERROR_MESSAGE_LENGTH));
+    saveIfUnchanged(entry);
+  }
+
+  private long backoffSeconds(int attempts) {
+    long factor = 1L << Math.min(Math.max(attempts - 1, 0), 20);
+    return Math.min(this.initialBackoffSeconds * factor, this.maxBackoffSeconds);
+  }
+
+  private void saveIfUnchanged(NotificationOutboxEntry entry) {
+    try {
+      this.notificationOutboxRepository.save(entry);
+    } catch (OptimisticLockingFailureException e) {
+      LogService.logWarn(String.format(
+          "Notification %s has been changed by another instance and keeps its state",
+          entry.getId()));
+    }
+  }
+
+  /**
+   * Schedules another attempt of notifications which have been claimed for the configured time
+   * without being finished, e.g. because the instance sending them has been stopped.
+   */
+  public void requeueStaleEntries() {
+    var staleDate = nowInUtc().minusMinutes(this.staleMinutes);
+    this.notificationOutboxRepository
+        .findByStatusAndClaimDateBefore(NotificationOutboxStatus.PROCESSING, staleDate)
+        .forEach(entry -> scheduleRetry(entry,
+            String.format("Worker %s stopped responding", entry.getWorker())));
+  }
+
+  /**
+   * Deletes sent and failed notifications after the configured retention time.
+   */
+  public void removeExpiredEntries() {
+    this.notificationOutboxRepository
+        .deleteByFinishDateBefore(nowInUtc().minusHours(this.retentionHours));
+  }
+
+}
@@ -0,0 +1,26 @@
+package de.caritas.cob.userservice.api.service.notificationoutbox;
+
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters of a notification in the outbox, the mails are generated from them when the
+ * notification is sent.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPayload {
+
+  private Long sessionId;
+  private String rcGroupId;
+  private Set<String> roles;
+  private String userId;
+  private String consultantId;
+  private String askerUserName;
+
+}
@@ -0,0 +1,243 @@
+package de.caritas.cob.userservice.api.service.rocketchat;
+
+import static de.caritas.cob.userservice.config.CacheManagerConfig.ROCKET_CHAT_ROOM_STATE_CACHE;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.container.RocketChatCredentials;
+import de.caritas.cob.userservice.api.container.RocketChatRoomState;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsGetDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsRemoveDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsUpdateDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsGetDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsRemoveDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsUpdateDTO;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per user cache of the Rocket.Chat subscriptions and rooms. After the initial full load only the
+ * changes since the last synchronization are requested from Rocket.Chat by using the
+ * updatedSince parameter and merged into the cached state. Subscriptions and rooms are requested
+ * concurrently on the bounded Rocket.Chat executor.
+ */
+@Service
+public class RocketChatRoomStateCache {
+
+  private final RocketChatService rocketChatService;
+  private final CacheManager cacheManager;
+  private final Executor rocketChatExecutor;
+
+  public RocketChatRoomStateCache(@NonNull RocketChatService rocketChatService,
+      @NonNull CacheManager cacheManager,
+      @NonNull @Qualifier("rocketChatExecutor") Executor rocketChatExecutor) {
+    this.rocketChatService = rocketChatService;
+    this.cacheManager = cacheManager;
+    this.rocketChatExecutor = rocketChatExecutor;
+  }
+
+  /**
+   * Synchronizes the cached room state of the given user with Rocket.Chat and returns the current
+   * state.
+   *
+   * @param rocketChatCredentials the Rocket.Chat credentials of the user
+   * @return the current {@link RocketChatRoomState}
+   */
+  public RocketChatRoomState synchronizeRoomState(RocketChatCredentials rocketChatCredentials) {
+    Cache cache = cacheManager.getCache(ROCKET_CHAT_ROOM_STATE_CACHE);
+    String rcUserId = rocketChatCredentials.getRocketChatUserId();
+    RocketChatRoomState cachedState =
+        nonNull(cache) ? cache.get(rcUserId, RocketChatRoomState.class) : null;
+
+    RocketChatRoomState currentState = isNull(cachedState)
+        ? loadFullRoomState(rocketChatCredentials)
+        : mergeRoomStateDelta(cachedState, rocketChatCredentials);
+
+    if (nonNull(cache)) {
+      cache.put(rcUserId, currentState);
+    }
+    return currentState;
+  }
+
+  /**
+   * Removes the cached room state of the given user, which leads to a full synchronization on the
+   * next request.
+   *
+   * @param rcUserId the Rocket.Chat user id
+   */
+  public void evictRoomState(String rcUserId) {
+    Cache cache = cacheManager.getCache(ROCKET_CHAT_ROOM_STATE_CACHE);
+    if (nonNull(cache) && nonNull(rcUserId)) {
+      cache.evict(rcUserId);
+    }
+  }
+
+  /**
+   * Stores the date up to which the room changes of the given user have been applied to the
+   * persisted session message states. The date lives as long as the cached room state, so the
+   * message states only have to be synchronized completely after a full load of the rooms.
+   *
+   * @param rcUserId       the Rocket.Chat user id
+   * @param synchronizedAt the date of the latest applied room change
+   */
+  public void markMessageStatesSynchronized(String rcUserId, Date synchronizedAt) {
+    Cache cache = cacheManager.getCache(ROCKET_CHAT_ROOM_STATE_CACHE);
+    if (isNull(cache) || isNull(rcUserId) || isNull(synchronizedAt)) {
+      return;
+    }
+    RocketChatRoomState cachedState = cache.get(rcUserId, RocketChatRoomState.class);
+    if (nonNull(cachedState)) {
+      cache.put(rcUserId, cachedState.toBuilder()
+          .messageStatesSynchronizedAt(latestDate(cachedState.getMessageStatesSynchronizedAt(),
+              Stream.of(synchronizedAt)))
+          .build());
+    }
+  }
+
+  private RocketChatRoomState loadFullRoomState(RocketChatCredentials rocketChatCredentials) {
+    var subscriptionsFuture = supplyAsync(() ->
+        rocketChatService.getSubscriptionsOfUserUpdatedSince(rocketChatCredentials, null));
+    RoomsGetDTO rooms = rocketChatService.getRoomsOfUserUpdatedSince(rocketChatCredentials, null);
+    SubscriptionsGetDTO subscriptions = join(subscriptionsFuture);
+
+    return RocketChatRoomState.builder()
+        .subscriptionsByRoomId(unmodifiableMap(
+            mergeSubscriptions(new LinkedHashMap<>(), subscriptions.getUpdate())))
+        .subscriptionsUpdatedAt(latestSubscriptionChange(null, subscriptions))
+        .roomsById(unmodifiableMap(mergeRooms(new LinkedHashMap<>(), rooms.getUpdate())))
+        .roomsUpdatedAt(latestRoomChange(null, rooms))
+        .build();
+  }
+
+  private RocketChatRoomState mergeRoomStateDelta(RocketChatRoomState cachedState,
+      RocketChatCredentials rocketChatCredentials) {
+    var subscriptionsDeltaFuture = supplyAsync(() -> rocketChatService
+        .getSubscriptionsOfUserUpdatedSince(rocketChatCredentials,
+            cachedState.getSubscriptionsUpdatedAt()));
+    RoomsGetDTO roomsDelta = rocketChatService
+        .getRoomsOfUserUpdatedSince(rocketChatCredentials, cachedState.getRoomsUpdatedAt());
+    SubscriptionsGetDTO subscriptionsDelta = join(subscriptionsDeltaFuture);
+
+    Map<String, SubscriptionsUpdateDTO> subscriptions =
+        new LinkedHashMap<>(cachedState.getSubscriptionsByRoomId());
+    Set<String> unsubscribedRoomIds = removeSubscriptions(subscriptions,
+        subscriptionsDelta.getRemove());
+    mergeSubscriptions(subscriptions, subscriptionsDelta.getUpdate());
+
+    Map<String, RoomsUpdateDTO> rooms = new LinkedHashMap<>(cachedState.getRoomsById());
+    unsubscribedRoomIds.removeAll(subscriptions.keySet());
+    rooms.keySet().removeAll(unsubscribedRoomIds);
+    removeRooms(rooms, roomsDelta.getRemove());
+    mergeRooms(rooms, roomsDelta.getUpdate());
+
+    if (!rooms.keySet().containsAll(subscriptions.keySet())) {
+      // A room of a new subscription has not been changed since the last synchronization
+      roomsDelta = rocketChatService.getRoomsOfUserUpdatedSince(rocketChatCredentials, null);
+      rooms = mergeRooms(new LinkedHashMap<>(), roomsDelta.getUpdate());
+    }
+
+    return RocketChatRoomState.builder()
+        .subscriptionsByRoomId(unmodifiableMap(subscriptions))
+        .subscriptionsUpdatedAt(
+            latestSubscriptionChange(cachedState.getSubscriptionsUpdatedAt(), subscriptionsDelta))
+        .roomsById(unmodifiableMap(rooms))
+        .roomsUpdatedAt(latestRoomChange(cachedState.getRoomsUpdatedAt(), roomsDelta))
+        .messageStatesSynchronizedAt(cachedState.getMessageStatesSynchronizedAt())
+        .build();
+  }
+
+  private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(supplier, rocketChatExecutor);
+  }
+
+  private <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private Map<String, SubscriptionsUpdateDTO> mergeSubscriptions(
+      Map<String, SubscriptionsUpdateDTO> subscriptions, SubscriptionsUpdateDTO[] updates) {
+    streamOf(updates)
+        .filter(subscription -> nonNull(subscription.getRoomId()))
+        .forEach(subscription -> subscriptions.put(subscription.getRoomId(), subscription));
+    return subscriptions;
+  }
+
+  private Set<String> removeSubscriptions(Map<String, SubscriptionsUpdateDTO> subscriptions,
+      SubscriptionsRemoveDTO[] removals) {
+    Set<String> removedSubscriptionIds = streamOf(removals)
+        .map(SubscriptionsRemoveDTO::getId)
+        .collect(Collectors.toSet());
+    Set<String> unsubscribedRoomIds = new HashSet<>();
+    subscriptions.values().removeIf(subscription -> {
+      if (removedSubscriptionIds.contains(subscription.get_id())) {
+        unsubscribedRoomIds.add(subscription.getRoomId());
+        return true;
+      }
+      return false;
+    });
+    return unsubscribedRoomIds;
+  }
+
+  private Map<String, RoomsUpdateDTO> mergeRooms(Map<String, RoomsUpdateDTO> rooms,
+      RoomsUpdateDTO[] updates) {
+    streamOf(updates)
+        .filter(room -> nonNull(room.getId()))
+        .forEach(room -> rooms.put(room.getId(), room));
+    return rooms;
+  }
+
+  private void removeRooms(Map<String, RoomsUpdateDTO> rooms, RoomsRemoveDTO[] removals) {
+    streamOf(removals)
+        .map(RoomsRemoveDTO::getId)
+        .forEach(rooms::remove);
+  }
+
+  private Date latestSubscriptionChange(Date previous, SubscriptionsGetDTO delta) {
+    return latestDate(previous,
+        Stream.concat(
+            streamOf(delta.getUpdate()).map(SubscriptionsUpdateDTO::getUpdatedAt),
+            streamOf(delta.getRemove()).map(SubscriptionsRemoveDTO::getDeletedAt)));
+  }
+
+  private Date latestRoomChange(Date previous, RoomsGetDTO delta) {
+    return latestDate(previous,
+        Stream.concat(
+            streamOf(delta.getUpdate()).map(RoomsUpdateDTO::getUpdatedAt),
+            streamOf(delta.getRemove()).map(RoomsRemoveDTO::getDeletedAt)));
+  }
+
+  private Date latestDate(Date previous, Stream<Date> changes) {
+    return Stream.concat(Stream.of(previous), changes)
+        .filter(Objects::nonNull)
+        .max(Date::compareTo)
+        .orElse(null);
+  }
+
+  private <T> Stream<T> streamOf(T[] items) {
+    return isNull(items) ? Stream.empty() : Stream.of(items);
+  }
+
+}
@@ -43,6 +43,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -568,6 +569,26 @@ public class RocketChatService {
    */
   public List<SubscriptionsUpdateDTO> getSubscriptionsOfUser(
       RocketChatCredentials rocketChatCredentials) {
+    return Arrays.asList(
+        retrieveSubscriptions(rocketChatCredentials, rocketChatApiSubscriptionsGet).getUpdate());
+  }
+
+  /**
+   * Returns the subscriptions of the given user which have been updated or removed since the given
+   * date. If no date is given, all subscriptions are returned.
+   *
+   * @param rocketChatCredentials {@link RocketChatCredentials}
+   * @param updatedSince          the date of the last synchronization, may be null
+   * @return the {@link SubscriptionsGetDTO} containing updated and removed subscriptions
+   */
+  public SubscriptionsGetDTO getSubscriptionsOfUserUpdatedSince(
+      RocketChatCredentials rocketChatCredentials, Date updatedSince) {
+    return retrieveSubscriptions(rocketChatCredentials,
+        buildUpdatedSincePath(rocketChatApiSubscriptionsGet, updatedSince));
+  }
+
+  private SubscriptionsGetDTO retrieveSubscriptions(RocketChatCredentials rocketChatCredentials,
+      String url) {
 
     ResponseEntity<SubscriptionsGetDTO> response = null;
 
@@ -575,8 +596,7 @@ public class RocketChatService {
       var header = getStandardHttpHeaders(rocketChatCredentials);
       HttpEntity<Void> request = new HttpEntity<>(header);
 
-      response = restTemplate.exchange(rocketChatApiSubscriptionsGet, HttpMethod.GET, request,
-          SubscriptionsGetDTO.class);
+      response = restTemplate.exchange(url, HttpMethod.GET, request, SubscriptionsGetDTO.class);
 
     } catch (HttpStatusCodeException ex) {
       if (ex.getStatusCode().equals(HttpStatus.UNAUTHORIZED)) {
@@ -588,7 +608,7 @@ public class RocketChatService {
     }
 
     if (response.getStatusCode() == HttpStatus.OK && nonNull(response.getBody())) {
-      return Arrays.asList(response.getBody().getUpdate());
+      return response.getBody();
     } else {
       var error = "Could not get Rocket.Chat subscriptions for user id %s";
       throw new InternalServerErrorException(error, LogService::logRocketChatError);
@@ -602,6 +622,24 @@ public class RocketChatService {
    * @return the rooms for the user
    */
   public List<RoomsUpdateDTO> getRoomsOfUser(RocketChatCredentials rocketChatCredentials) {
+    return Arrays.asList(retrieveRooms(rocketChatCredentials, rocketChatApiRoomsGet).getUpdate());
+  }
+
+  /**
+   * Returns the rooms of the given user which have been updated or removed since the given date. If
+   * no date is given, all rooms are returned.
+   *
+   * @param rocketChatCredentials {@link RocketChatCredentials}
+   * @param updatedSince          the date of the last synchronization, may be null
+   * @return the {@link RoomsGetDTO} containing updated and removed rooms
+   */
+  public RoomsGetDTO getRoomsOfUserUpdatedSince(RocketChatCredentials rocketChatCredentials,
+      Date updatedSince) {
+    return retrieveRooms(rocketChatCredentials,
+        buildUpdatedSincePath(rocketChatApiRoomsGet, updatedSince));
+  }
+
+  private RoomsGetDTO retrieveRooms(RocketChatCredentials rocketChatCredentials, String url) {
 
     ResponseEntity<RoomsGetDTO> response;
 
@@ -609,8 +647,7 @@ public class RocketChatService {
       var header = getStandardHttpHeaders(rocketChatCredentials);
       HttpEntity<Void> request = new HttpEntity<>(header);
 
-      response =
-          restTemplate.exchange(rocketChatApiRoomsGet, HttpMethod.GET, request, RoomsGetDTO.class);
+      response = restTemplate.exchange(url, HttpMethod.GET, request, RoomsGetDTO.class);
 
     } catch (Exception ex) {
       throw new InternalServerErrorException(String.format(
@@ -619,7 +656,7 @@ public class RocketChatService {
     }
 
     if (response.getStatusCode() == HttpStatus.OK && nonNull(response.getBody())) {
-      return Arrays.asList(response.getBody().getUpdate());
+      return response.getBody();
     } else {
       var error = String.format(CHAT_ROOM_ERROR_MESSAGE,
           rocketChatCredentials.getRocketChatUserId());
@@ -627,6 +664,16 @@ public class RocketChatService {
     }
   }
 
+  private String buildUpdatedSincePath(String url, Date updatedSince) {
+    if (isNull(updatedSince)) {
+      return url;
+    }
+    return UriComponentsBuilder
+        .fromUriString(url)
+        .queryParam("updatedSince", DateTimeFormatter.ISO_INSTANT.format(updatedSince.toInstant()))
+        .build().encode().toUriString();
+  }
+
   /**
    * Returns the information of the given Rocket.Chat user.
    *
@@ -0,0 +1,79 @@
+package de.caritas.cob.userservice.api.service.securityheader;
+
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Interceptor adding the security headers to each request of a generated api client. The headers
+ * are obtained per request, so the api clients do not share any mutable header state and can be
+ * used concurrently.
+ */
+@RequiredArgsConstructor
+public class SecurityHeaderInterceptor implements ClientHttpRequestInterceptor {
+
+  private static final ThreadLocal<HttpHeaders> HEADERS_OVERRIDE = new ThreadLocal<>();
+
+  private final @NonNull Supplier<HttpHeaders> securityHeaderSupplier;
+
+  /**
+   * Performs the given api call with the provided headers instead of the default security headers
+   * of the api client, e.g. to call a service with the token of the technical user.
+   *
+   * @param headers the headers to be used for all api calls inside the given call
+   * @param apiCall the api call
+   * @param <T>     the result type of the api call
+   * @return the result of the api call
+   */
+  public static <T> T callWithHeaders(HttpHeaders headers, Supplier<T> apiCall) {
+    var previousHeaders = HEADERS_OVERRIDE.get();
+    HEADERS_OVERRIDE.set(headers);
+    try {
+      return apiCall.get();
+    } finally {
+      if (nonNull(previousHeaders)) {
+        HEADERS_OVERRIDE.set(previousHeaders);
+      } else {
+        HEADERS_OVERRIDE.remove();
+      }
+    }
+  }
+
+  /**
+   * Performs the given api call with the provided headers instead of the default security headers
+   * of the api client.
+   *
+   * @param headers the headers to be used for all api calls inside the given call
+   * @param apiCall the api call
+   */
+  public static void runWithHeaders(HttpHeaders headers, Runnable apiCall) {
+    callWithHeaders(headers, () -> {
+      apiCall.run();
+      return null;
+    });
+  }
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+      ClientHttpRequestExecution execution) throws IOException {
+    var overrideHeaders = HEADERS_OVERRIDE.get();
+    var securityHeaders = nonNull(overrideHeaders) ? overrideHeaders
+        : this.securityHeaderSupplier.get();
+    var requestHeaders = request.getHeaders();
+    securityHeaders.forEach((key, values) -> {
+      if (!requestHeaders.containsKey(key)) {
+        requestHeaders.put(key, values);
+      }
+    });
+    return execution.execute(request, body);
+  }
+
+}
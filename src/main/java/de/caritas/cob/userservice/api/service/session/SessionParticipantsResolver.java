@@ -0,0 +1,70 @@
+package de.caritas.cob.userservice.api.service.session;
+
+import static de.caritas.cob.userservice.config.CacheManagerConfig.SESSION_PARTICIPANTS_CACHE;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.repository.session.Session;
+import de.caritas.cob.userservice.api.repository.session.SessionParticipants;
+import de.caritas.cob.userservice.api.repository.session.SessionRepository;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the participants of a session by one of its Rocket.Chat group ids. Resolved
+ * participants are cached by group id in a bounded LRU cache, unknown group ids are not cached
+ * because their session may be created later.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionParticipantsResolver {
+
+  private final @NonNull SessionRepository sessionRepository;
+  private final @NonNull CacheManager cacheManager;
+
+  /**
+   * Resolves the {@link SessionParticipants} of the session with the given Rocket.Chat group id
+   * or feedback group id.
+   *
+   * @param rcGroupId the Rocket.Chat group id or feedback group id
+   * @return an {@link Optional} of the session participants
+   */
+  public Optional<SessionParticipants> resolveByGroupId(String rcGroupId) {
+    Cache cache = cacheManager.getCache(SESSION_PARTICIPANTS_CACHE);
+    SessionParticipants cachedParticipants =
+        nonNull(cache) ? cache.get(rcGroupId, SessionParticipants.class) : null;
+    if (nonNull(cachedParticipants)) {
+      return Optional.of(cachedParticipants);
+    }
+
+    Optional<SessionParticipants> participants =
+        sessionRepository.findParticipantsByGroupIdOrFeedbackGroupId(rcGroupId);
+    if (nonNull(cache)) {
+      participants.ifPresent(sessionParticipants -> cache.put(rcGroupId, sessionParticipants));
+    }
+    return participants;
+  }
+
+  /**
+   * Removes the cached participants of the given session, which has to be done whenever the
+   * participants of the session change.
+   *
+   * @param session the {@link Session}
+   */
+  public void evictParticipants(Session session) {
+    Cache cache = cacheManager.getCache(SESSION_PARTICIPANTS_CACHE);
+    if (isNull(cache) || isNull(session)) {
+      return;
+    }
+    Stream.of(session.getGroupId(), session.getFeedbackGroupId())
+        .filter(Objects::nonNull)
+        .forEach(cache::evict);
+  }
+
+}
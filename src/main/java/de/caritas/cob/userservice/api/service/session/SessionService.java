@@ -22,6 +22,7 @@ import de.caritas.cob.userservice.api.model.registration.UserDTO;
 import de.caritas.cob.userservice.api.model.user.SessionConsultantForUserDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgency;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationType;
 import de.caritas.cob.userservice.api.repository.session.RegistrationType;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.repository.session.SessionRepository;
@@ -30,6 +31,8 @@ import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.service.ConsultantService;
 import de.caritas.cob.userservice.api.service.LogService;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationOutboxService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationPayload;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.MonitoringDTO;
 import java.util.ArrayList;
@@ -42,7 +45,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service for sessions
@@ -51,10 +56,15 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class SessionService {
 
+  public static final List<SessionStatus> ACTIVE_AND_DONE_STATUSES =
+      List.of(SessionStatus.IN_PROGRESS, SessionStatus.DONE);
+
   private final @NonNull SessionRepository sessionRepository;
   private final @NonNull AgencyService agencyService;
   private final @NonNull ConsultantService consultantService;
   private final @NonNull ConsultingTypeManager consultingTypeManager;
+  private final @NonNull SessionParticipantsResolver sessionParticipantsResolver;
+  private final @NonNull NotificationOutboxService notificationOutboxService;
 
   /**
    * Returns the sessions for a user
@@ -98,6 +108,7 @@ public class SessionService {
     session.setConsultant(consultant);
     session.setStatus(status);
     saveSession(session);
+    sessionParticipantsResolver.evictParticipants(session);
   }
 
   /**
@@ -211,6 +222,21 @@ public class SessionService {
     return sessionRepository.save(session);
   }
 
+  /**
+   * Saves a {@link Session} whose enquiry message has been written and writes the new enquiry
+   * notification to the outbox in the same transaction, so the notification is sent if and only
+   * if the enquiry has been stored.
+   *
+   * @param session the session
+   */
+  @Transactional
+  public void saveEnquirySession(Session session) {
+    saveSession(session);
+    this.notificationOutboxService.enqueue(NotificationType.NEW_ENQUIRY,
+        NotificationType.NEW_ENQUIRY + ":" + session.getId(),
+        NotificationPayload.builder().sessionId(session.getId()).build());
+  }
+
   /**
    * Returns a list of {@link ConsultantSessionResponseDTO} containing team sessions excluding
    * sessions which are taken by the consultant.
@@ -291,6 +317,47 @@ public class SessionService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Retrieves the first active and done sessions of given {@link Consultant} ordered by the
+   * persisted latest message date descending.
+   *
+   * @param consultant         the consultant
+   * @param limit              the maximum amount of sessions to retrieve
+   * @param onlyUnreadFeedback true, if only sessions with unread feedback should be retrieved
+   * @return the related {@link ConsultantSessionResponseDTO}s
+   */
+  public List<ConsultantSessionResponseDTO> getLatestActiveAndDoneSessionsForConsultant(
+      Consultant consultant, int limit, boolean onlyUnreadFeedback) {
+    if (limit <= 0) {
+      return emptyList();
+    }
+    var pageable = PageRequest.of(0, limit);
+    List<Session> sessions = onlyUnreadFeedback
+        ? sessionRepository.findByConsultantAndStatusInAndFeedbackUnreadOrderByLatestMessageDateDesc(
+        consultant, ACTIVE_AND_DONE_STATUSES, pageable)
+        : sessionRepository.findByConsultantAndStatusInOrderByLatestMessageDateDesc(consultant,
+            ACTIVE_AND_DONE_STATUSES, pageable);
+
+    return sessions.stream()
+        .map(session -> new SessionMapper().toConsultantSessionDto(session))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Counts the active and done sessions of given {@link Consultant}.
+   *
+   * @param consultant         the consultant
+   * @param onlyUnreadFeedback true, if only sessions with unread feedback should be counted
+   * @return the amount of sessions
+   */
+  public long countActiveAndDoneSessionsForConsultant(Consultant consultant,
+      boolean onlyUnreadFeedback) {
+    return onlyUnreadFeedback
+        ? sessionRepository.countByConsultantAndStatusInAndFeedbackUnread(consultant,
+        ACTIVE_AND_DONE_STATUSES)
+        : sessionRepository.countByConsultantAndStatusIn(consultant, ACTIVE_AND_DONE_STATUSES);
+  }
+
   private List<Session> getSessionsForConsultantByStatus(Consultant consultant,
       SessionStatus sessionStatus) {
     return sessionRepository.findByConsultantAndStatus(consultant, sessionStatus);
@@ -326,6 +393,7 @@ public class SessionService {
    */
   public void deleteSession(Session session) {
     sessionRepository.delete(session);
+    sessionParticipantsResolver.evictParticipants(session);
   }
 
   /**
@@ -36,7 +36,7 @@ public class AvailableLastMessageUpdater {
     RoomsLastMessageDTO roomsLastMessage =
         rocketChatRoomInformation.getLastMessagesRoom().get(groupId);
     session.setLastMessage(isNotBlank(roomsLastMessage.getMessage()) ? sessionListAnalyser
-        .prepareMessageForSessionList(roomsLastMessage.getMessage(), groupId) : null);
+        .prepareMessageForSessionList(roomsLastMessage, groupId) : null);
     session.setMessageDate(Helper.getUnixTimestampFromDate(
         rocketChatRoomInformation.getLastMessagesRoom().get(groupId).getTimestamp()));
     latestMessageSetter.accept(roomsLastMessage.getTimestamp());
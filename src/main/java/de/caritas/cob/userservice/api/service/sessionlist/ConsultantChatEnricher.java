@@ -14,6 +14,7 @@ import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsLastMessageDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -48,6 +49,28 @@ public class ConsultantChatEnricher {
             .rocketChatUserId(consultant.getRocketChatId())
             .build());
 
+    return updateRequiredConsultantChatValues(consultantSessionResponseDTOs,
+        rocketChatRoomInformation, consultant);
+  }
+
+  /**
+   * Enriches the given chats with the information of the already retrieved Rocket.Chat room
+   * information. - last message - last message date - messages read
+   *
+   * @param consultantSessionResponseDTOs the chat list to be enriched
+   * @param rocketChatRoomInformation     the {@link RocketChatRoomInformation} of the consultant
+   * @param consultant                    the {@link Consultant}
+   * @return the enriched {@link ConsultantSessionResponseDTO}s
+   */
+  public List<ConsultantSessionResponseDTO> updateRequiredConsultantChatValues(
+      List<ConsultantSessionResponseDTO> consultantSessionResponseDTOs,
+      RocketChatRoomInformation rocketChatRoomInformation, Consultant consultant) {
+
+    this.sessionListAnalyser.prepareMessagesForSessionList(
+        rocketChatRoomInformation.getLastMessagesRoom(), consultantSessionResponseDTOs.stream()
+            .map(consultantSessionResponseDTO -> consultantSessionResponseDTO.getChat()
+                .getGroupId())
+            .collect(Collectors.toList()));
     consultantSessionResponseDTOs.forEach(
         consultantSessionResponseDTO -> updateRequiredChatValues(rocketChatRoomInformation,
             consultant.getRocketChatId(), consultantSessionResponseDTO));
@@ -86,7 +109,7 @@ public class ConsultantChatEnricher {
     RoomsLastMessageDTO roomsLastMessage = rocketChatRoomInformation
         .getLastMessagesRoom().get(groupId);
     chat.setLastMessage(isNotBlank(roomsLastMessage.getMessage()) ? sessionListAnalyser
-        .prepareMessageForSessionList(roomsLastMessage.getMessage(), groupId) : null);
+        .prepareMessageForSessionList(roomsLastMessage, groupId) : null);
     chat.setMessageDate(Helper
         .getUnixTimestampFromDate(rocketChatRoomInformation.getLastMessagesRoom().get(groupId)
             .getTimestamp()));
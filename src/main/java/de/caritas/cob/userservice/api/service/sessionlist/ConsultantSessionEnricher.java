@@ -15,6 +15,7 @@ import de.caritas.cob.userservice.api.model.ConsultantSessionResponseDTO;
 import de.caritas.cob.userservice.api.model.SessionDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -50,6 +51,28 @@ public class ConsultantSessionEnricher {
             .rocketChatUserId(consultant.getRocketChatId())
             .build());
 
+    return updateRequiredConsultantSessionValues(consultantSessionResponseDTOs,
+        rocketChatRoomInformation, consultant);
+  }
+
+  /**
+   * Enriches the given session with the following information from the already retrieved
+   * Rocket.Chat room information: "last message", "last message date", and "messages read".
+   *
+   * @param consultantSessionResponseDTOs the session list to be enriched
+   * @param rocketChatRoomInformation     the {@link RocketChatRoomInformation} of the consultant
+   * @param consultant                    the {@link Consultant}
+   * @return the enriched {@link ConsultantSessionResponseDTO}s
+   */
+  public List<ConsultantSessionResponseDTO> updateRequiredConsultantSessionValues(
+      List<ConsultantSessionResponseDTO> consultantSessionResponseDTOs,
+      RocketChatRoomInformation rocketChatRoomInformation, Consultant consultant) {
+
+    this.sessionListAnalyser.prepareMessagesForSessionList(
+        rocketChatRoomInformation.getLastMessagesRoom(), consultantSessionResponseDTOs.stream()
+            .map(consultantSessionResponseDTO -> consultantSessionResponseDTO.getSession()
+                .getGroupId())
+            .collect(Collectors.toList()));
     consultantSessionResponseDTOs.forEach(consultantSessionResponseDTO -> this
         .enrichConsultantSession(consultantSessionResponseDTO, rocketChatRoomInformation,
             consultant));
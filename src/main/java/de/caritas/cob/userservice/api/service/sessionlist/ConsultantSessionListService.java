@@ -1,12 +1,16 @@
 package de.caritas.cob.userservice.api.service.sessionlist;
 
 import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
+import de.caritas.cob.userservice.api.container.ConsultantSessionPage;
+import de.caritas.cob.userservice.api.container.RocketChatCredentials;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
 import de.caritas.cob.userservice.api.exception.httpresponses.BadRequestException;
+import de.caritas.cob.userservice.api.facade.sessionlist.RocketChatRoomInformationProvider;
 import de.caritas.cob.userservice.api.model.ConsultantSessionListResponseDTO;
 import de.caritas.cob.userservice.api.model.ConsultantSessionResponseDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
@@ -14,10 +18,12 @@ import de.caritas.cob.userservice.api.repository.session.SessionFilter;
 import de.caritas.cob.userservice.api.repository.session.SessionStatus;
 import de.caritas.cob.userservice.api.service.ChatService;
 import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.api.service.rocketchat.RocketChatRoomStateCache;
 import de.caritas.cob.userservice.api.service.session.SessionService;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -30,6 +36,9 @@ public class ConsultantSessionListService {
   private final @NonNull ChatService chatService;
   private final @NonNull ConsultantSessionEnricher consultantSessionEnricher;
   private final @NonNull ConsultantChatEnricher consultantChatEnricher;
+  private final @NonNull RocketChatRoomInformationProvider rocketChatRoomInformationProvider;
+  private final @NonNull SessionMessageStateService sessionMessageStateService;
+  private final @NonNull RocketChatRoomStateCache rocketChatRoomStateCache;
 
   /**
    * Returns a list of {@link ConsultantSessionResponseDTO} for the specified consultant id and
@@ -55,6 +64,73 @@ public class ConsultantSessionListService {
     return mergeConsultantSessionsAndChats(consultant, sessions, chats, rcAuthToken);
   }
 
+  /**
+   * Returns the requested page of the active and done sessions and chats of the consultant sorted
+   * by the latest message date descending. The sessions are sorted and limited by the database on
+   * basis of the persisted session message states, so that only the sessions of the requested page
+   * have to be enriched.
+   *
+   * @param consultant                {@link Consultant}
+   * @param rcAuthToken               Rocket.Chat Token
+   * @param sessionListQueryParameter session list query parameters as {@link SessionListQueryParameter}
+   * @return the {@link ConsultantSessionPage}
+   */
+  public ConsultantSessionPage retrieveSessionPageForAuthenticatedConsultant(
+      Consultant consultant, String rcAuthToken,
+      SessionListQueryParameter sessionListQueryParameter) {
+
+    var rocketChatRoomInformation = this.rocketChatRoomInformationProvider
+        .retrieveRocketChatInformation(RocketChatCredentials.builder()
+            .rocketChatToken(rcAuthToken)
+            .rocketChatUserId(consultant.getRocketChatId())
+            .build());
+    var messageStatesSynchronizedAt = this.sessionMessageStateService
+        .synchronizeSessionMessageStates(consultant, SessionService.ACTIVE_AND_DONE_STATUSES,
+            rocketChatRoomInformation);
+    this.rocketChatRoomStateCache.markMessageStatesSynchronized(consultant.getRocketChatId(),
+        messageStatesSynchronizedAt);
+
+    boolean onlyUnreadFeedback = isFeedbackFilter(sessionListQueryParameter);
+    int offset = sessionListQueryParameter.getOffset();
+    int pageEnd = offset + sessionListQueryParameter.getCount();
+
+    List<ConsultantSessionResponseDTO> sessions = this.sessionService
+        .getLatestActiveAndDoneSessionsForConsultant(consultant, pageEnd, onlyUnreadFeedback);
+    sessions.forEach(session -> session.setLatestMessage(this.sessionMessageStateService
+        .resolveLatestMessageDate(session.getSession(), rocketChatRoomInformation)));
+    long total = this.sessionService
+        .countActiveAndDoneSessionsForConsultant(consultant, onlyUnreadFeedback);
+
+    List<ConsultantSessionResponseDTO> allSessions = new ArrayList<>(sessions);
+    if (!onlyUnreadFeedback) {
+      List<ConsultantSessionResponseDTO> chats = chatService.getChatsForConsultant(consultant);
+      if (isNotEmpty(chats)) {
+        allSessions.addAll(this.consultantChatEnricher
+            .updateRequiredConsultantChatValues(chats, rocketChatRoomInformation, consultant));
+        total += chats.size();
+      }
+    }
+    sortSessionsByLastMessageDateDesc(allSessions);
+
+    List<ConsultantSessionResponseDTO> pageSessions = offset < allSessions.size()
+        ? new ArrayList<>(allSessions.subList(offset, Math.min(pageEnd, allSessions.size())))
+        : new ArrayList<>();
+    this.consultantSessionEnricher.updateRequiredConsultantSessionValues(
+        pageSessions.stream()
+            .filter(session -> isNull(session.getChat()))
+            .collect(Collectors.toList()),
+        rocketChatRoomInformation, consultant);
+
+    return ConsultantSessionPage.builder()
+        .sessions(pageSessions)
+        .total(total)
+        .build();
+  }
+
+  private boolean isFeedbackFilter(SessionListQueryParameter sessionListQueryParameter) {
+    return SessionFilter.FEEDBACK.equals(sessionListQueryParameter.getSessionFilter());
+  }
+
   private List<ConsultantSessionResponseDTO> retrieveSessionsForStatus(Consultant consultant,
       Integer status) {
     var sessionStatus = getVerifiedSessionStatus(status);
@@ -0,0 +1,180 @@
+package de.caritas.cob.userservice.api.service.sessionlist;
+
+import static de.caritas.cob.userservice.api.repository.session.RegistrationType.ANONYMOUS;
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.toDate;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.container.RocketChatRoomInformation;
+import de.caritas.cob.userservice.api.helper.Helper;
+import de.caritas.cob.userservice.api.model.SessionDTO;
+import de.caritas.cob.userservice.api.repository.consultant.Consultant;
+import de.caritas.cob.userservice.api.repository.session.SessionRepository;
+import de.caritas.cob.userservice.api.repository.session.SessionRoomReference;
+import de.caritas.cob.userservice.api.repository.session.SessionStatus;
+import de.caritas.cob.userservice.api.repository.sessionmessagestate.SessionMessageState;
+import de.caritas.cob.userservice.api.repository.sessionmessagestate.SessionMessageStateRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service to keep the persisted {@link SessionMessageState}s of the sessions of a consultant in
+ * sync with the room information of Rocket.Chat. After an initial complete synchronization only the
+ * sessions of changed Rocket.Chat rooms are updated.
+ */
+@Service
+@RequiredArgsConstructor
+public class SessionMessageStateService {
+
+  private final @NonNull SessionRepository sessionRepository;
+  private final @NonNull SessionMessageStateRepository sessionMessageStateRepository;
+
+  /**
+   * Updates the {@link SessionMessageState}s of the sessions with the given status of the
+   * consultant whose Rocket.Chat rooms have changed since the last synchronization or which have no
+   * message state yet. All sessions are synchronized if the room information has not been applied
+   * to the message states yet. Only states which differ from the persisted ones are written, so the
+   * persisted latest message dates equal the ones resolved by
+   * {@link #resolveLatestMessageDate(SessionDTO, RocketChatRoomInformation)} afterwards.
+   *
+   * @param consultant                the {@link Consultant}
+   * @param sessionStatuses           the {@link SessionStatus}es of the sessions to synchronize
+   * @param rocketChatRoomInformation the current {@link RocketChatRoomInformation} of the
+   *                                  consultant
+   * @return the date of the latest room change which has been applied to the message states
+   */
+  @Transactional
+  public Date synchronizeSessionMessageStates(Consultant consultant,
+      Collection<SessionStatus> sessionStatuses,
+      RocketChatRoomInformation rocketChatRoomInformation) {
+
+    Date synchronizedAt = rocketChatRoomInformation.getMessageStatesSynchronizedAt();
+    Map<String, Date> roomChangeDates = rocketChatRoomInformation.getRoomChangeDates();
+    Date latestRoomChange = roomChangeDates.values().stream()
+        .max(Date::compareTo)
+        .orElse(Helper.UNIXTIME_0);
+
+    List<SessionRoomReference> roomReferences;
+    if (isNull(synchronizedAt)) {
+      roomReferences = sessionRepository
+          .findRoomReferencesByConsultantAndStatusIn(consultant, sessionStatuses);
+    } else {
+      roomReferences = findRoomReferencesToSynchronize(consultant, sessionStatuses,
+          roomChangeDates, synchronizedAt);
+      if (roomReferences.isEmpty()) {
+        return latestRoomChange;
+      }
+    }
+
+    Map<Long, SessionMessageState> persistedStates = StreamSupport
+        .stream(sessionMessageStateRepository.findAllById(roomReferences.stream()
+            .map(SessionRoomReference::getId)
+            .collect(Collectors.toList())).spliterator(), false)
+        .collect(Collectors.toMap(SessionMessageState::getSessionId, Function.identity()));
+
+    roomReferences.stream()
+        .map(roomReference -> buildMessageState(roomReference, rocketChatRoomInformation))
+        .filter(state -> isChanged(persistedStates.get(state.getSessionId()), state))
+        .forEach(state -> sessionMessageStateRepository.upsert(state.getSessionId(),
+            state.getLatestMessageDate(), state.isFeedbackRead()));
+
+    return latestRoomChange;
+  }
+
+  /**
+   * Sessions whose rooms have not changed since the last synchronization are skipped, unless they
+   * have no message state yet, e.g. because they have been assigned to the consultant since then.
+   * Otherwise they would be sorted to the end of the session list by the database.
+   */
+  private List<SessionRoomReference> findRoomReferencesToSynchronize(Consultant consultant,
+      Collection<SessionStatus> sessionStatuses, Map<String, Date> roomChangeDates,
+      Date synchronizedAt) {
+    Map<Long, SessionRoomReference> roomReferences = new LinkedHashMap<>();
+    sessionRepository
+        .findRoomReferencesWithoutMessageStateByConsultantAndStatusIn(consultant, sessionStatuses)
+        .forEach(roomReference -> roomReferences.put(roomReference.getId(), roomReference));
+
+    Set<String> changedRoomIds = roomChangeDates.entrySet().stream()
+        .filter(roomChangeDate -> roomChangeDate.getValue().after(synchronizedAt))
+        .map(Entry::getKey)
+        .collect(Collectors.toSet());
+    if (!changedRoomIds.isEmpty()) {
+      sessionRepository.findRoomReferencesByConsultantAndStatusInAndGroupIdIn(consultant,
+          sessionStatuses, changedRoomIds)
+          .forEach(roomReference -> roomReferences.put(roomReference.getId(), roomReference));
+    }
+    return new ArrayList<>(roomReferences.values());
+  }
+
+  private SessionMessageState buildMessageState(SessionRoomReference roomReference,
+      RocketChatRoomInformation rocketChatRoomInformation) {
+    var lastMessage = rocketChatRoomInformation.getLastMessagesRoom()
+        .get(roomReference.getGroupId());
+    LocalDateTime latestMessageDate = null;
+    if (nonNull(lastMessage)) {
+      latestMessageDate = LocalDateTime.ofInstant(lastMessage.getTimestamp().toInstant(),
+          ZoneOffset.UTC);
+    } else if (ANONYMOUS.equals(roomReference.getRegistrationType())) {
+      latestMessageDate = roomReference.getCreateDate();
+    }
+
+    return SessionMessageState.builder()
+        .sessionId(roomReference.getId())
+        .latestMessageDate(latestMessageDate)
+        .feedbackRead(isFeedbackRead(rocketChatRoomInformation,
+            roomReference.getFeedbackGroupId()))
+        .build();
+  }
+
+  private boolean isChanged(SessionMessageState persistedState, SessionMessageState state) {
+    return isNull(persistedState)
+        || !Objects.equals(persistedState.getLatestMessageDate(), state.getLatestMessageDate())
+        || persistedState.isFeedbackRead() != state.isFeedbackRead();
+  }
+
+  /**
+   * Resolves the date of the latest message of the given session which is used to sort the
+   * session list. Sessions without any message are sorted by their creation date if they are
+   * anonymous, otherwise to the end of the list.
+   *
+   * @param session                   the {@link SessionDTO}
+   * @param rocketChatRoomInformation the {@link RocketChatRoomInformation} of the consultant
+   * @return the latest message date
+   */
+  public Date resolveLatestMessageDate(SessionDTO session,
+      RocketChatRoomInformation rocketChatRoomInformation) {
+    var lastMessage = rocketChatRoomInformation.getLastMessagesRoom().get(session.getGroupId());
+    if (nonNull(lastMessage)) {
+      return lastMessage.getTimestamp();
+    }
+    return ANONYMOUS.name().equals(session.getRegistrationType())
+        ? toDate(session.getCreateDate()) : Helper.UNIXTIME_0;
+  }
+
+  private boolean isFeedbackRead(RocketChatRoomInformation rocketChatRoomInformation,
+      String feedbackGroupId) {
+    // Same rules as for the session list: the read state is only set when a message was posted
+    if (rocketChatRoomInformation.getLastMessagesRoom().containsKey(feedbackGroupId)
+        && rocketChatRoomInformation.getReadMessages().containsKey(feedbackGroupId)) {
+      return rocketChatRoomInformation.getReadMessages().get(feedbackGroupId);
+    }
+    return !rocketChatRoomInformation.getLastMessagesRoom().containsKey(feedbackGroupId);
+  }
+
+}
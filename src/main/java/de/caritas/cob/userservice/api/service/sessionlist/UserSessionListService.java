@@ -17,6 +17,7 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -53,6 +54,11 @@ public class UserSessionListService {
 
     RocketChatRoomInformation rocketChatRoomInformation = rocketChatRoomInformationProvider
         .retrieveRocketChatInformation(rocketChatCredentials);
+    sessionListAnalyser.prepareMessagesForSessionList(
+        rocketChatRoomInformation.getLastMessagesRoom(), Stream.concat(
+            sessions.stream().map(session -> session.getSession().getGroupId()),
+            chats.stream().map(chat -> chat.getChat().getGroupId()))
+            .collect(Collectors.toList()));
 
     List<UserSessionResponseDTO> allSessions = new ArrayList<>();
     allSessions.addAll(updateUserSessionValues(sessions, rocketChatRoomInformation,
@@ -129,7 +135,7 @@ public class UserSessionListService {
     RoomsLastMessageDTO roomsLastMessage = rocketChatRoomInformation.getLastMessagesRoom()
         .get(groupId);
     chat.setLastMessage(StringUtils.isNotEmpty(roomsLastMessage.getMessage()) ? sessionListAnalyser
-        .prepareMessageForSessionList(roomsLastMessage.getMessage(), groupId) : null);
+        .prepareMessageForSessionList(roomsLastMessage, groupId) : null);
     chat.setMessageDate(Helper.getUnixTimestampFromDate(roomsLastMessage.getTimestamp()));
     chatDTO.setLatestMessage(roomsLastMessage.getTimestamp());
     chat.setAttachment(sessionListAnalyser
@@ -0,0 +1,83 @@
+package de.caritas.cob.userservice.api.service.user;
+
+import static de.caritas.cob.userservice.config.CacheManagerConfig.ACCOUNT_ID_BY_RC_USER_ID_CACHE;
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
+import de.caritas.cob.userservice.api.repository.user.UserRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the account ids of askers and consultants by their Rocket.Chat user ids. All ids
+ * missing in the cache are resolved by one query on the users and, for the remaining ones, one
+ * query on the consultants. Rocket.Chat user ids without account are not cached.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountIdByRcUserIdResolver {
+
+  private final @NonNull UserRepository userRepository;
+  private final @NonNull ConsultantRepository consultantRepository;
+  private final @NonNull CacheManager cacheManager;
+
+  /**
+   * Resolves the account ids of the given Rocket.Chat user ids. Asker accounts take precedence
+   * over consultant accounts.
+   *
+   * @param rcUserIds the Rocket.Chat user ids
+   * @return the account ids by Rocket.Chat user id, containing only the resolvable ids
+   */
+  public Map<String, String> resolveAccountIds(Collection<String> rcUserIds) {
+    Cache cache = cacheManager.getCache(ACCOUNT_ID_BY_RC_USER_ID_CACHE);
+    Map<String, String> accountIds = new HashMap<>();
+    Set<String> unresolvedRcUserIds = new LinkedHashSet<>();
+    rcUserIds.stream()
+        .filter(Objects::nonNull)
+        .forEach(rcUserId -> {
+          String cachedAccountId = nonNull(cache) ? cache.get(rcUserId, String.class) : null;
+          if (nonNull(cachedAccountId)) {
+            accountIds.put(rcUserId, cachedAccountId);
+          } else {
+            unresolvedRcUserIds.add(rcUserId);
+          }
+        });
+
+    Map<String, String> loadedAccountIds = loadAccountIds(unresolvedRcUserIds);
+    if (nonNull(cache)) {
+      loadedAccountIds.forEach(cache::put);
+    }
+    accountIds.putAll(loadedAccountIds);
+    return accountIds;
+  }
+
+  private Map<String, String> loadAccountIds(Set<String> rcUserIds) {
+    Map<String, String> accountIds = new HashMap<>();
+    if (rcUserIds.isEmpty()) {
+      return accountIds;
+    }
+    userRepository.findRocketChatReferencesByRcUserIdInAndDeleteDateIsNull(rcUserIds)
+        .forEach(user -> accountIds.put(user.getRcUserId(), user.getUserId()));
+
+    Set<String> consultantRcUserIds = rcUserIds.stream()
+        .filter(rcUserId -> !accountIds.containsKey(rcUserId))
+        .collect(Collectors.toSet());
+    if (!consultantRcUserIds.isEmpty()) {
+      consultantRepository
+          .findRocketChatReferencesByRocketChatIdInAndDeleteDateIsNull(consultantRcUserIds)
+          .forEach(consultant -> accountIds.put(consultant.getRocketChatId(), consultant.getId()));
+    }
+    return accountIds;
+  }
+
+}
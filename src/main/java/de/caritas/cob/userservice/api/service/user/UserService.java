@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.service.user;
 
+import static java.util.Collections.emptyList;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -9,14 +10,18 @@ import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.repository.user.UserRepository;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+  static final int MAX_MOBILE_TOKEN_QUERY_USER_IDS = 500;
+
   private final @NonNull UserRepository userRepository;
   private final UsernameTranscoder usernameTranscoder = new UsernameTranscoder();
 
@@ -67,6 +72,23 @@ public class UserService {
     return userRepository.findByUserIdAndDeleteDateIsNull(userId);
   }
 
+  /**
+   * Loads the mobile tokens of all given users having one. The users are queried in chunks of at
+   * most {@value #MAX_MOBILE_TOKEN_QUERY_USER_IDS} ids.
+   *
+   * @param userIds the ids of the users
+   * @return the mobile tokens of the users
+   */
+  public List<String> findMobileTokensOfUsers(List<String> userIds) {
+    if (userIds.isEmpty()) {
+      return emptyList();
+    }
+    return ListUtils.partition(userIds, MAX_MOBILE_TOKEN_QUERY_USER_IDS).stream()
+        .map(userRepository::findMobileTokensByUserIdIn)
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Saves an {@link User} to the database.
    *
@@ -2,6 +2,7 @@ package de.caritas.cob.userservice.config;
 
 import de.caritas.cob.userservice.api.admin.service.consultant.ConsultantReindexer;
 import javax.persistence.EntityManagerFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.hibernate.search.jpa.FullTextEntityManager;
 import org.hibernate.search.jpa.Search;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -12,6 +13,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.PropertySources;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.client.RestTemplate;
 
@@ -37,10 +39,19 @@ public class AppConfig {
     return validatorFactoryBean;
   }
 
-  // RestTemplate Bean
+  /**
+   * RestTemplate using the pooled http client of {@link HttpClientConfig}.
+   *
+   * @param builder the {@link RestTemplateBuilder}
+   * @param pooledHttpClient the pooled {@link CloseableHttpClient}
+   * @return the {@link RestTemplate}
+   */
   @Bean
-  public RestTemplate restTemplate(RestTemplateBuilder builder) {
-    return builder.build();
+  public RestTemplate restTemplate(RestTemplateBuilder builder,
+      CloseableHttpClient pooledHttpClient) {
+    return builder
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(pooledHttpClient))
+        .build();
   }
 
   /**
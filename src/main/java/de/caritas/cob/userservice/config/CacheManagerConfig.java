@@ -1,6 +1,7 @@
 package de.caritas.cob.userservice.config;
 
 import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.store.MemoryStoreEvictionPolicy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -14,6 +15,11 @@ public class CacheManagerConfig {
 
   public static final String AGENCY_CACHE = "agencyCache";
   public static final String CONSULTING_TYPE_CACHE = "consultingTypeCache";
+  public static final String ROCKET_CHAT_ROOM_STATE_CACHE = "rocketChatRoomStateCache";
+  public static final String DECRYPTED_MESSAGE_PREVIEW_CACHE = "decryptedMessagePreviewCache";
+  public static final String KEYCLOAK_USER_ROLES_CACHE = "keycloakUserRolesCache";
+  public static final String SESSION_PARTICIPANTS_CACHE = "sessionParticipantsCache";
+  public static final String ACCOUNT_ID_BY_RC_USER_ID_CACHE = "accountIdByRcUserIdCache";
 
   @Value("${cache.agencies.configuration.maxEntriesLocalHeap}")
   private long agenciesMaxEntriesLocalHeap;
@@ -39,6 +45,66 @@ public class CacheManagerConfig {
   @Value("${cache.consulting.type.configuration.timeToLiveSeconds}")
   private long consultingTypeTimeToLiveSeconds;
 
+  @Value("${cache.rocketchat.room.state.configuration.maxEntriesLocalHeap}")
+  private long rocketChatRoomStateMaxEntriesLocalHeap;
+
+  @Value("${cache.rocketchat.room.state.configuration.eternal}")
+  private boolean rocketChatRoomStateEternal;
+
+  @Value("${cache.rocketchat.room.state.configuration.timeToIdleSeconds}")
+  private long rocketChatRoomStateTimeToIdleSeconds;
+
+  @Value("${cache.rocketchat.room.state.configuration.timeToLiveSeconds}")
+  private long rocketChatRoomStateTimeToLiveSeconds;
+
+  @Value("${cache.decrypted.message.preview.configuration.maxEntriesLocalHeap}")
+  private long decryptedMessagePreviewMaxEntriesLocalHeap;
+
+  @Value("${cache.decrypted.message.preview.configuration.eternal}")
+  private boolean decryptedMessagePreviewEternal;
+
+  @Value("${cache.decrypted.message.preview.configuration.timeToIdleSeconds}")
+  private long decryptedMessagePreviewTimeToIdleSeconds;
+
+  @Value("${cache.decrypted.message.preview.configuration.timeToLiveSeconds}")
+  private long decryptedMessagePreviewTimeToLiveSeconds;
+
+  @Value("${cache.keycloak.user.roles.configuration.maxEntriesLocalHeap}")
+  private long keycloakUserRolesMaxEntriesLocalHeap;
+
+  @Value("${cache.keycloak.user.roles.configuration.eternal}")
+  private boolean keycloakUserRolesEternal;
+
+  @Value("${cache.keycloak.user.roles.configuration.timeToIdleSeconds}")
+  private long keycloakUserRolesTimeToIdleSeconds;
+
+  @Value("${cache.keycloak.user.roles.configuration.timeToLiveSeconds}")
+  private long keycloakUserRolesTimeToLiveSeconds;
+
+  @Value("${cache.session.participants.configuration.maxEntriesLocalHeap}")
+  private long sessionParticipantsMaxEntriesLocalHeap;
+
+  @Value("${cache.session.participants.configuration.eternal}")
+  private boolean sessionParticipantsEternal;
+
+  @Value("${cache.session.participants.configuration.timeToIdleSeconds}")
+  private long sessionParticipantsTimeToIdleSeconds;
+
+  @Value("${cache.session.participants.configuration.timeToLiveSeconds}")
+  private long sessionParticipantsTimeToLiveSeconds;
+
+  @Value("${cache.account.id.by.rc.user.id.configuration.maxEntriesLocalHeap}")
+  private long accountIdByRcUserIdMaxEntriesLocalHeap;
+
+  @Value("${cache.account.id.by.rc.user.id.configuration.eternal}")
+  private boolean accountIdByRcUserIdEternal;
+
+  @Value("${cache.account.id.by.rc.user.id.configuration.timeToIdleSeconds}")
+  private long accountIdByRcUserIdTimeToIdleSeconds;
+
+  @Value("${cache.account.id.by.rc.user.id.configuration.timeToLiveSeconds}")
+  private long accountIdByRcUserIdTimeToLiveSeconds;
+
   @Bean
   public CacheManager cacheManager() {
     return new EhCacheCacheManager(ehCacheManager());
@@ -49,6 +115,11 @@ public class CacheManagerConfig {
     var config = new net.sf.ehcache.config.Configuration();
     config.addCache(buildAgencyCacheConfiguration());
     config.addCache(buildConsultingTypeCacheConfiguration());
+    config.addCache(buildRocketChatRoomStateCacheConfiguration());
+    config.addCache(buildDecryptedMessagePreviewCacheConfiguration());
+    config.addCache(buildKeycloakUserRolesCacheConfiguration());
+    config.addCache(buildSessionParticipantsCacheConfiguration());
+    config.addCache(buildAccountIdByRcUserIdCacheConfiguration());
 
     return net.sf.ehcache.CacheManager.newInstance(config);
   }
@@ -73,4 +144,73 @@ public class CacheManagerConfig {
     return consultingTypeCacheConfiguration;
   }
 
+  private CacheConfiguration buildRocketChatRoomStateCacheConfiguration() {
+    var rocketChatRoomStateCacheConfiguration = new CacheConfiguration();
+    rocketChatRoomStateCacheConfiguration.setName(ROCKET_CHAT_ROOM_STATE_CACHE);
+    rocketChatRoomStateCacheConfiguration
+        .setMaxEntriesLocalHeap(rocketChatRoomStateMaxEntriesLocalHeap);
+    rocketChatRoomStateCacheConfiguration.setEternal(rocketChatRoomStateEternal);
+    rocketChatRoomStateCacheConfiguration
+        .setTimeToIdleSeconds(rocketChatRoomStateTimeToIdleSeconds);
+    rocketChatRoomStateCacheConfiguration
+        .setTimeToLiveSeconds(rocketChatRoomStateTimeToLiveSeconds);
+    return rocketChatRoomStateCacheConfiguration;
+  }
+
+  private CacheConfiguration buildDecryptedMessagePreviewCacheConfiguration() {
+    var decryptedMessagePreviewCacheConfiguration = new CacheConfiguration();
+    decryptedMessagePreviewCacheConfiguration.setName(DECRYPTED_MESSAGE_PREVIEW_CACHE);
+    decryptedMessagePreviewCacheConfiguration
+        .setMaxEntriesLocalHeap(decryptedMessagePreviewMaxEntriesLocalHeap);
+    decryptedMessagePreviewCacheConfiguration.setEternal(decryptedMessagePreviewEternal);
+    decryptedMessagePreviewCacheConfiguration
+        .setTimeToIdleSeconds(decryptedMessagePreviewTimeToIdleSeconds);
+    decryptedMessagePreviewCacheConfiguration
+        .setTimeToLiveSeconds(decryptedMessagePreviewTimeToLiveSeconds);
+    return decryptedMessagePreviewCacheConfiguration;
+  }
+
+  private CacheConfiguration buildKeycloakUserRolesCacheConfiguration() {
+    var keycloakUserRolesCacheConfiguration = new CacheConfiguration();
+    keycloakUserRolesCacheConfiguration.setName(KEYCLOAK_USER_ROLES_CACHE);
+    keycloakUserRolesCacheConfiguration
+        .setMaxEntriesLocalHeap(keycloakUserRolesMaxEntriesLocalHeap);
+    keycloakUserRolesCacheConfiguration.setEternal(keycloakUserRolesEternal);
+    keycloakUserRolesCacheConfiguration
+        .setTimeToIdleSeconds(keycloakUserRolesTimeToIdleSeconds);
+    keycloakUserRolesCacheConfiguration
+        .setTimeToLiveSeconds(keycloakUserRolesTimeToLiveSeconds);
+    return keycloakUserRolesCacheConfiguration;
+  }
+
+  private CacheConfiguration buildSessionParticipantsCacheConfiguration() {
+    var sessionParticipantsCacheConfiguration = new CacheConfiguration();
+    sessionParticipantsCacheConfiguration.setName(SESSION_PARTICIPANTS_CACHE);
+    sessionParticipantsCacheConfiguration
+        .setMaxEntriesLocalHeap(sessionParticipantsMaxEntriesLocalHeap);
+    sessionParticipantsCacheConfiguration
+        .setMemoryStoreEvictionPolicyFromObject(MemoryStoreEvictionPolicy.LRU);
+    sessionParticipantsCacheConfiguration.setEternal(sessionParticipantsEternal);
+    sessionParticipantsCacheConfiguration
+        .setTimeToIdleSeconds(sessionParticipantsTimeToIdleSeconds);
+    sessionParticipantsCacheConfiguration
+        .setTimeToLiveSeconds(sessionParticipantsTimeToLiveSeconds);
+    return sessionParticipantsCacheConfiguration;
+  }
+
+  private CacheConfiguration buildAccountIdByRcUserIdCacheConfiguration() {
+    var accountIdByRcUserIdCacheConfiguration = new CacheConfiguration();
+    accountIdByRcUserIdCacheConfiguration.setName(ACCOUNT_ID_BY_RC_USER_ID_CACHE);
+    accountIdByRcUserIdCacheConfiguration
+        .setMaxEntriesLocalHeap(accountIdByRcUserIdMaxEntriesLocalHeap);
+    accountIdByRcUserIdCacheConfiguration
+        .setMemoryStoreEvictionPolicyFromObject(MemoryStoreEvictionPolicy.LRU);
+    accountIdByRcUserIdCacheConfiguration.setEternal(accountIdByRcUserIdEternal);
+    accountIdByRcUserIdCacheConfiguration
+        .setTimeToIdleSeconds(accountIdByRcUserIdTimeToIdleSeconds);
+    accountIdByRcUserIdCacheConfiguration
+        .setTimeToLiveSeconds(accountIdByRcUserIdTimeToLiveSeconds);
+    return accountIdByRcUserIdCacheConfiguration;
+  }
+
 }
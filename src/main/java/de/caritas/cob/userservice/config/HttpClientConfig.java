@@ -0,0 +1,77 @@
+package de.caritas.cob.userservice.config;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the pooled http client used by the shared RestTemplate and therefore by all
+ * generated api clients and the Rocket.Chat calls.
+ */
+@Configuration
+public class HttpClientConfig {
+
+  @Value("${http.client.pool.maxTotal}")
+  private int maxTotal;
+
+  @Value("${http.client.pool.maxPerRoute}")
+  private int maxPerRoute;
+
+  @Value("${http.client.pool.validateAfterInactivityMillis}")
+  private int validateAfterInactivityMillis;
+
+  @Value("${http.client.pool.idleEvictionSeconds}")
+  private long idleEvictionSeconds;
+
+  @Value("${http.client.connectTimeoutMillis}")
+  private int connectTimeoutMillis;
+
+  @Value("${http.client.connectionRequestTimeoutMillis}")
+  private int connectionRequestTimeoutMillis;
+
+  @Value("${http.client.readTimeoutMillis}")
+  private int readTimeoutMillis;
+
+  /**
+   * Connection pool shared by all outgoing http calls.
+   *
+   * @return the {@link PoolingHttpClientConnectionManager}
+   */
+  @Bean(destroyMethod = "close")
+  public PoolingHttpClientConnectionManager httpClientConnectionManager() {
+    var connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(this.maxTotal);
+    connectionManager.setDefaultMaxPerRoute(this.maxPerRoute);
+    connectionManager.setValidateAfterInactivity(this.validateAfterInactivityMillis);
+    return connectionManager;
+  }
+
+  /**
+   * Http client using the shared connection pool. Idle and expired connections are evicted by a
+   * background thread of the client.
+   *
+   * @param httpClientConnectionManager the {@link PoolingHttpClientConnectionManager}
+   * @return the {@link CloseableHttpClient}
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient pooledHttpClient(
+      PoolingHttpClientConnectionManager httpClientConnectionManager) {
+    var requestConfig = RequestConfig.custom()
+        .setConnectTimeout(this.connectTimeoutMillis)
+        .setConnectionRequestTimeout(this.connectionRequestTimeoutMillis)
+        .setSocketTimeout(this.readTimeoutMillis)
+        .build();
+    return HttpClients.custom()
+        .setConnectionManager(httpClientConnectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .evictExpiredConnections()
+        .evictIdleConnections(this.idleEvictionSeconds, TimeUnit.SECONDS)
+        .build();
+  }
+
+}
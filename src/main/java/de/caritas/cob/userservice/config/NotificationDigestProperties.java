@@ -0,0 +1,35 @@
+package de.caritas.cob.userservice.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Intervals in which email notifications are collected and sent as one digest mail.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "notification.digest")
+public class NotificationDigestProperties {
+
+  private Duration newMessageInterval = Duration.ZERO;
+  private Map<Integer, Duration> newMessageIntervalByConsultingType = new HashMap<>();
+
+  /**
+   * Returns the new message digest interval of the given consulting type, or the default
+   * interval if none is configured for it.
+   *
+   * @param consultingTypeId the id of the consulting type
+   * @return the interval
+   */
+  public Duration getNewMessageInterval(Integer consultingTypeId) {
+    return this.newMessageIntervalByConsultingType
+        .getOrDefault(consultingTypeId, this.newMessageInterval);
+  }
+
+}
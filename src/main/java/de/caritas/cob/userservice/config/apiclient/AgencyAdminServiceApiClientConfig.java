@@ -2,11 +2,11 @@ package de.caritas.cob.userservice.config.apiclient;
 
 import de.caritas.cob.userservice.agencyadminserivce.generated.ApiClient;
 import de.caritas.cob.userservice.agencyadminserivce.generated.web.AdminAgencyControllerApi;
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Configuration class for the AgencyAdminService API client.
@@ -31,13 +31,17 @@ public class AgencyAdminServiceApiClientConfig {
   /**
    * AgencyAdminService API client bean.
    *
-   * @param restTemplate {@link RestTemplate}
+   * @param apiClientRestTemplateFactory {@link ApiClientRestTemplateFactory}
+   * @param securityHeaderSupplier       {@link SecurityHeaderSupplier}
    * @return the AgencyAdminService {@link ApiClient}
    */
   @Bean
   @Primary
-  public ApiClient adminAgencyApiClient(RestTemplate restTemplate) {
-    return new ApiClient(restTemplate).setBasePath(this.agencyAdminServiceApiUrl);
+  public ApiClient adminAgencyApiClient(ApiClientRestTemplateFactory apiClientRestTemplateFactory,
+      SecurityHeaderSupplier securityHeaderSupplier) {
+    return new ApiClient(apiClientRestTemplateFactory
+        .create(securityHeaderSupplier::getKeycloakAndCsrfHttpHeaders))
+        .setBasePath(this.agencyAdminServiceApiUrl);
   }
 
 }
@@ -2,11 +2,11 @@ package de.caritas.cob.userservice.config.apiclient;
 
 import de.caritas.cob.userservice.agencyserivce.generated.ApiClient;
 import de.caritas.cob.userservice.agencyserivce.generated.web.AgencyControllerApi;
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Configuration class for the AgencyAdminService API client.
@@ -31,13 +31,17 @@ public class AgencyServiceApiClientConfig {
   /**
    * AgencyService API client bean.
    *
-   * @param restTemplate {@link RestTemplate}
+   * @param apiClientRestTemplateFactory {@link ApiClientRestTemplateFactory}
+   * @param securityHeaderSupplier       {@link SecurityHeaderSupplier}
    * @return the AgencyService {@link ApiClient}
    */
   @Bean
   @Primary
-  public ApiClient agencyApiClient(RestTemplate restTemplate) {
-    return new ApiClient(restTemplate).setBasePath(this.agencyServiceApiUrl);
+  public ApiClient agencyApiClient(ApiClientRestTemplateFactory apiClientRestTemplateFactory,
+      SecurityHeaderSupplier securityHeaderSupplier) {
+    return new ApiClient(apiClientRestTemplateFactory
+        .create(securityHeaderSupplier::getCsrfHttpHeaders))
+        .setBasePath(this.agencyServiceApiUrl);
   }
 
 }
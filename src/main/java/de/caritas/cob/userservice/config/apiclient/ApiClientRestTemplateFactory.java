@@ -0,0 +1,39 @@
+package de.caritas.cob.userservice.config.apiclient;
+
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderInterceptor;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Factory for the {@link RestTemplate}s of the generated api clients. Each api client gets its
+ * own {@link RestTemplate} with a {@link SecurityHeaderInterceptor}, all of them share the pooled
+ * http client.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiClientRestTemplateFactory {
+
+  private final @NonNull RestTemplateBuilder restTemplateBuilder;
+  private final @NonNull CloseableHttpClient pooledHttpClient;
+
+  /**
+   * Creates a {@link RestTemplate} adding the headers of the given supplier to each request.
+   *
+   * @param securityHeaderSupplier the supplier of the security headers, called once per request
+   * @return the {@link RestTemplate}
+   */
+  public RestTemplate create(Supplier<HttpHeaders> securityHeaderSupplier) {
+    return this.restTemplateBuilder
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(this.pooledHttpClient))
+        .additionalInterceptors(new SecurityHeaderInterceptor(securityHeaderSupplier))
+        .build();
+  }
+
+}
@@ -1,12 +1,12 @@
 package de.caritas.cob.userservice.config.apiclient;
 
-import de.caritas.cob.userservice.consultingtypeservice.generated.web.ConsultingTypeControllerApi;
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.consultingtypeservice.generated.ApiClient;
+import de.caritas.cob.userservice.consultingtypeservice.generated.web.ConsultingTypeControllerApi;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Configuration class for the ConsultingTypeService API client.
@@ -31,13 +31,17 @@ public class ConsultingTypeServiceApiClientConfig {
   /**
    * ConsultingTypeService API client bean.
    *
-   * @param restTemplate {@link RestTemplate}
+   * @param apiClientRestTemplateFactory {@link ApiClientRestTemplateFactory}
+   * @param securityHeaderSupplier       {@link SecurityHeaderSupplier}
    * @return the ConsultingTypeService {@link ApiClient}
    */
   @Bean
   @Primary
-  public ApiClient consultingTypeApiClient(RestTemplate restTemplate) {
-    return new ApiClient(restTemplate).setBasePath(this.consultingTypeServiceApiUrl);
+  public ApiClient consultingTypeApiClient(ApiClientRestTemplateFactory apiClientRestTemplateFactory,
+      SecurityHeaderSupplier securityHeaderSupplier) {
+    return new ApiClient(apiClientRestTemplateFactory
+        .create(securityHeaderSupplier::getCsrfHttpHeaders))
+        .setBasePath(this.consultingTypeServiceApiUrl);
   }
 
 }
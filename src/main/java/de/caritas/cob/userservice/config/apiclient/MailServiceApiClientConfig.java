@@ -1,12 +1,12 @@
 package de.caritas.cob.userservice.config.apiclient;
 
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.mailservice.generated.ApiClient;
 import de.caritas.cob.userservice.mailservice.generated.web.MailsControllerApi;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class MailServiceApiClientConfig {
@@ -21,8 +21,11 @@ public class MailServiceApiClientConfig {
 
   @Bean
   @Primary
-  public ApiClient mailServiceApiClient(RestTemplate restTemplate) {
-    return new ApiClient(restTemplate).setBasePath(this.mailServiceApiUrl);
+  public ApiClient mailServiceApiClient(ApiClientRestTemplateFactory apiClientRestTemplateFactory,
+      SecurityHeaderSupplier securityHeaderSupplier) {
+    return new ApiClient(apiClientRestTemplateFactory
+        .create(securityHeaderSupplier::getCsrfHttpHeaders))
+        .setBasePath(this.mailServiceApiUrl);
   }
 
 }
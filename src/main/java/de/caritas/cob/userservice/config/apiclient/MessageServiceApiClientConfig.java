@@ -1,12 +1,12 @@
 package de.caritas.cob.userservice.config.apiclient;
 
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.messageservice.generated.ApiClient;
 import de.caritas.cob.userservice.messageservice.generated.web.MessageControllerApi;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Configuration class for the MessageService API client.
@@ -31,12 +31,16 @@ public class MessageServiceApiClientConfig {
   /**
    * MessageService API client bean.
    *
-   * @param restTemplate {@link RestTemplate}
+   * @param apiClientRestTemplateFactory {@link ApiClientRestTemplateFactory}
+   * @param securityHeaderSupplier       {@link SecurityHeaderSupplier}
    * @return the MessageService {@link ApiClient}
    */
   @Bean
   @Primary
-  public ApiClient messageServiceApiClient(RestTemplate restTemplate) {
-    return new ApiClient(restTemplate).setBasePath(this.messageServiceApiUrl);
+  public ApiClient messageServiceApiClient(ApiClientRestTemplateFactory apiClientRestTemplateFactory,
+      SecurityHeaderSupplier securityHeaderSupplier) {
+    return new ApiClient(apiClientRestTemplateFactory
+        .create(securityHeaderSupplier::getKeycloakAndCsrfHttpHeaders))
+        .setBasePath(this.messageServiceApiUrl);
   }
 }
@@ -0,0 +1,29 @@
+package de.caritas.cob.userservice.scheduler;
+
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler to write heartbeats of running admin jobs, to recover jobs of stopped instances, to
+ * dispatch queued jobs and to remove expired jobs.
+ */
+@Component
+@Profile("!testing")
+@RequiredArgsConstructor
+public class AdminJobScheduler {
+
+  private final @NonNull AdminJobService adminJobService;
+
+  @Scheduled(cron = "${admin.job.scheduler.cron}")
+  public void maintainAdminJobs() {
+    this.adminJobService.sendHeartbeats();
+    this.adminJobService.requeueStaleJobs();
+    this.adminJobService.dispatchQueuedJobs();
+    this.adminJobService.removeExpiredJobs();
+  }
+
+}
@@ -0,0 +1,34 @@
+package de.caritas.cob.userservice.scheduler;
+
+import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeRegistry;
+import de.caritas.cob.userservice.api.service.LogService;
+import javax.annotation.PostConstruct;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler to preload and periodically refresh the {@link ConsultingTypeRegistry}.
+ */
+@Component
+@Profile("!testing")
+@RequiredArgsConstructor
+public class ConsultingTypeRegistryScheduler {
+
+  private final @NonNull ConsultingTypeRegistry consultingTypeRegistry;
+
+  @PostConstruct
+  public void postConstructInitializer() {
+    LogService.logDebug("ConsultingTypeRegistryScheduler - preload consulting types");
+    consultingTypeRegistry.refresh();
+  }
+
+  @Scheduled(cron = "${consulting.type.registry.refresh.cron}")
+  public void scheduledRefresh() {
+    LogService.logDebug("ConsultingTypeRegistryScheduler - refresh consulting types");
+    consultingTypeRegistry.refresh();
+  }
+
+}
@@ -0,0 +1,62 @@
+package de.caritas.cob.userservice.scheduler;
+
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationOutboxDrainer;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationOutboxService;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler to recover notifications of stopped instances, to send due notifications of the
+ * outbox and to remove expired ones. The outbox is drained by its own scheduler thread, so it is
+ * neither delayed by the long running workflows of the shared scheduler nor delays them.
+ */
+@Component
+@Profile("!testing")
+@RequiredArgsConstructor
+public class NotificationOutboxScheduler {
+
+  private static final String THREAD_NAME_PREFIX = "UserService-NotificationOutbox-";
+
+  private final @NonNull NotificationOutboxService notificationOutboxService;
+  private final @NonNull NotificationOutboxDrainer notificationOutboxDrainer;
+
+  @Value("${notification.outbox.scheduler.cron}")
+  private String notificationOutboxCron;
+
+  private ThreadPoolTaskScheduler taskScheduler;
+
+  /**
+   * Starts the scheduled draining of the outbox.
+   */
+  @PostConstruct
+  public void startScheduler() {
+    this.taskScheduler = new ThreadPoolTaskScheduler();
+    this.taskScheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
+    this.taskScheduler.initialize();
+    this.taskScheduler.schedule(this::drainNotificationOutbox,
+        new CronTrigger(this.notificationOutboxCron));
+  }
+
+  /**
+   * Stops the scheduled draining of the outbox. Notifications claimed by a stopped run are
+   * recovered as stale notifications.
+   */
+  @PreDestroy
+  public void stopScheduler() {
+    this.taskScheduler.shutdown();
+  }
+
+  public void drainNotificationOutbox() {
+    this.notificationOutboxService.requeueStaleEntries();
+    this.notificationOutboxDrainer.drainDueEntries();
+    this.notificationOutboxService.removeExpiredEntries();
+  }
+
+}
@@ -0,0 +1,64 @@
+package de.caritas.cob.userservice.scheduler;
+
+import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientAccessor;
+import de.caritas.cob.userservice.api.service.liveevents.DirectMessageEventDispatcher;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler to periodically log the statistics of shared resources of the service.
+ */
+@Component
+@Profile("!testing")
+@RequiredArgsConstructor
+public class StatisticsLoggingScheduler {
+
+  private final @NonNull KeycloakAdminClientAccessor keycloakAdminClientAccessor;
+  private final @NonNull PoolingHttpClientConnectionManager httpClientConnectionManager;
+  private final @NonNull DirectMessageEventDispatcher directMessageEventDispatcher;
+
+  @Scheduled(cron = "${statistics.logging.cron}")
+  public void logStatistics() {
+    logKeycloakAdminCallStatistics();
+    logHttpClientPoolStatistics();
+    logLiveEventDispatchStatistics();
+  }
+
+  private void logKeycloakAdminCallStatistics() {
+    var keycloakAdminCallMetrics = this.keycloakAdminClientAccessor.getKeycloakAdminCallMetrics();
+    LogService.logInfo(String.format(
+        "Keycloak admin calls - total: %s, failed: %s, average latency: %.1f ms",
+        keycloakAdminCallMetrics.getCallCount(), keycloakAdminCallMetrics.getFailedCallCount(),
+        keycloakAdminCallMetrics.getAverageLatencyMillis()));
+  }
+
+  private void logHttpClientPoolStatistics() {
+    var totalStats = this.httpClientConnectionManager.getTotalStats();
+    LogService.logInfo(String.format(
+        "Http connection pool - leased: %s, pending: %s, available: %s, max: %s",
+        totalStats.getLeased(), totalStats.getPending(), totalStats.getAvailable(),
+        totalStats.getMax()));
+    this.httpClientConnectionManager.getRoutes().forEach(route -> {
+      var routeStats = this.httpClientConnectionManager.getStats(route);
+      LogService.logDebug(String.format(
+          "Http connection pool %s - leased: %s, pending: %s, available: %s, max: %s",
+          route.getTargetHost(), routeStats.getLeased(), routeStats.getPending(),
+          routeStats.getAvailable(), routeStats.getMax()));
+    });
+  }
+
+  private void logLiveEventDispatchStatistics() {
+    var statistics = this.directMessageEventDispatcher.getThenResetStatistics();
+    LogService.logInfo(String.format(
+        "Direct message event dispatch - queued: %s, dispatched: %s, average latency: %.1f ms, "
+            + "max latency: %s ms",
+        statistics.getQueueDepth(), statistics.getDispatchedRecipientCount(),
+        statistics.getAverageLatencyMillis(), statistics.getMaxLatencyMillis()));
+  }
+
+}
@@ -0,0 +1 @@
+DROP TABLE IF EXISTS `userservice`.`session_message_state`;
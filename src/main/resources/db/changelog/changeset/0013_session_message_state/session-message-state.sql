@@ -0,0 +1,8 @@
+CREATE TABLE `userservice`.`session_message_state` (
+  `session_id` bigint(21) unsigned NOT NULL,
+  `latest_message_date` datetime(3) DEFAULT NULL,
+  `is_feedback_read` tinyint(4) NOT NULL DEFAULT '1',
+  PRIMARY KEY (`session_id`),
+  KEY `index_latest_message_date` (`latest_message_date`),
+  CONSTRAINT `session_message_state_ibfk_1` FOREIGN KEY (`session_id`) REFERENCES `session` (`id`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_unicode_ci;
@@ -0,0 +1,21 @@
+CREATE TABLE `userservice`.`admin_job` (
+  `id` varchar(36) COLLATE utf8_unicode_ci NOT NULL,
+  `type` varchar(40) COLLATE utf8_unicode_ci NOT NULL,
+  `status` varchar(20) COLLATE utf8_unicode_ci NOT NULL,
+  `payload` longtext COLLATE utf8_unicode_ci DEFAULT NULL,
+  `result` longtext COLLATE utf8_unicode_ci DEFAULT NULL,
+  `total_items` int(11) NOT NULL DEFAULT '0',
+  `processed_items` int(11) NOT NULL DEFAULT '0',
+  `failed_items` int(11) NOT NULL DEFAULT '0',
+  `attempts` int(11) NOT NULL DEFAULT '0',
+  `error_message` varchar(1024) COLLATE utf8_unicode_ci DEFAULT NULL,
+  `worker` varchar(255) COLLATE utf8_unicode_ci DEFAULT NULL,
+  `create_date` datetime NOT NULL,
+  `start_date` datetime DEFAULT NULL,
+  `finish_date` datetime DEFAULT NULL,
+  `heartbeat_date` datetime DEFAULT NULL,
+  `version` bigint(21) NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id`),
+  KEY `index_status_create_date` (`status`, `create_date`),
+  KEY `index_finish_date` (`finish_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_unicode_ci;
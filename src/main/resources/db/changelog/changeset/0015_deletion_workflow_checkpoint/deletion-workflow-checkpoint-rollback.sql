@@ -0,0 +1 @@
+DROP TABLE IF EXISTS `userservice`.`deletion_workflow_checkpoint`;
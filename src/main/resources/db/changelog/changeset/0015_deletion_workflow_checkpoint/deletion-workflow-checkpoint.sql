@@ -0,0 +1,7 @@
+DROP TABLE IF EXISTS `userservice`.`deletion_workflow_checkpoint`;
+CREATE TABLE `userservice`.`deletion_workflow_checkpoint` (
+  `workflow` varchar(40) COLLATE utf8_unicode_ci NOT NULL,
+  `last_key` varchar(36) COLLATE utf8_unicode_ci NOT NULL,
+  `update_date` datetime NOT NULL,
+  PRIMARY KEY (`workflow`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_unicode_ci;
@@ -0,0 +1,2 @@
+ALTER TABLE `userservice`.`session`
+DROP INDEX `index_user_id_status_update_date`;
@@ -0,0 +1,2 @@
+ALTER TABLE `userservice`.`session`
+ADD INDEX `index_user_id_status_update_date` (`user_id`, `status`, `update_date`);
@@ -0,0 +1,3 @@
+ALTER TABLE `userservice`.`session`
+DROP INDEX `index_rc_group_id`,
+DROP INDEX `index_rc_feedback_group_id`;
@@ -0,0 +1,3 @@
+ALTER TABLE `userservice`.`session`
+ADD INDEX `index_rc_group_id` (`rc_group_id`),
+ADD INDEX `index_rc_feedback_group_id` (`rc_feedback_group_id`);
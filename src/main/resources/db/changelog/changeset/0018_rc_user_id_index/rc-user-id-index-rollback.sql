@@ -0,0 +1,4 @@
+ALTER TABLE `userservice`.`user`
+DROP INDEX `index_rc_user_id`;
+ALTER TABLE `userservice`.`consultant`
+DROP INDEX `index_rc_user_id`;
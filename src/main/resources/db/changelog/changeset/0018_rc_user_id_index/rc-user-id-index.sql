@@ -0,0 +1,4 @@
+ALTER TABLE `userservice`.`user`
+ADD INDEX `index_rc_user_id` (`rc_user_id`);
+ALTER TABLE `userservice`.`consultant`
+ADD INDEX `index_rc_user_id` (`rc_user_id`);
@@ -0,0 +1 @@
+DROP TABLE IF EXISTS `userservice`.`notification_outbox`;
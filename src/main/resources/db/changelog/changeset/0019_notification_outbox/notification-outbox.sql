@@ -0,0 +1,21 @@
+DROP TABLE IF EXISTS `userservice`.`notification_outbox`;
+CREATE TABLE `userservice`.`notification_outbox` (
+  `id` varchar(36) COLLATE utf8_unicode_ci NOT NULL,
+  `idempotency_key` varchar(255) COLLATE utf8_unicode_ci NOT NULL,
+  `type` varchar(40) COLLATE utf8_unicode_ci NOT NULL,
+  `status` varchar(20) COLLATE utf8_unicode_ci NOT NULL,
+  `payload` longtext COLLATE utf8_unicode_ci DEFAULT NULL,
+  `attempts` int(11) NOT NULL DEFAULT '0',
+  `error_message` varchar(1024) COLLATE utf8_unicode_ci DEFAULT NULL,
+  `worker` varchar(255) COLLATE utf8_unicode_ci DEFAULT NULL,
+  `create_date` datetime NOT NULL,
+  `next_attempt_date` datetime NOT NULL,
+  `claim_date` datetime DEFAULT NULL,
+  `finish_date` datetime DEFAULT NULL,
+  `version` bigint(21) NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `unique_idempotency_key` (`idempotency_key`),
+  KEY `index_status_next_attempt_date` (`status`, `next_attempt_date`),
+  KEY `index_status_claim_date` (`status`, `claim_date`),
+  KEY `index_finish_date` (`finish_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_unicode_ci;
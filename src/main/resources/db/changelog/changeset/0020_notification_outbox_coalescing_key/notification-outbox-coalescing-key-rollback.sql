@@ -0,0 +1,4 @@
+ALTER TABLE `userservice`.`notification_outbox`
+DROP INDEX `index_coalescing_key_status`;
+ALTER TABLE `userservice`.`notification_outbox`
+DROP COLUMN `coalescing_key`;
@@ -0,0 +1,4 @@
+ALTER TABLE `userservice`.`notification_outbox`
+ADD COLUMN `coalescing_key` varchar(255) COLLATE utf8_unicode_ci DEFAULT NULL AFTER `idempotency_key`;
+ALTER TABLE `userservice`.`notification_outbox`
+ADD INDEX `index_coalescing_key_status` (`coalescing_key`, `status`);
@@ -1,6 +1,9 @@
 package de.caritas.cob.userservice.api.actions.registry;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -11,10 +14,13 @@ import de.caritas.cob.userservice.api.actions.session.DeactivateSessionActionCom
 import de.caritas.cob.userservice.api.actions.session.SetRocketChatRoomReadOnlyActionCommand;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.service.session.SessionService;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,4 +60,25 @@ class ActionContainerTest {
     verify(sessionActionCommand, times(1)).execute(session);
   }
 
+  @Test
+  void executeActions_Should_passEachActionToActionRunnerInOrder_When_actionRunnerIsGiven() {
+    ActionCommand<Session> firstActionCommand = mock(DeactivateSessionActionCommand.class);
+    ActionCommand<Session> secondActionCommand = mock(SetRocketChatRoomReadOnlyActionCommand.class);
+    Session session = mock(Session.class);
+    List<ActionCommand<Session>> runActions = new ArrayList<>();
+
+    new ActionContainer<>(Set.of(firstActionCommand, secondActionCommand))
+        .addActionToExecute(SetRocketChatRoomReadOnlyActionCommand.class)
+        .addActionToExecute(DeactivateSessionActionCommand.class)
+        .executeActions(session, (actionCommand, execution) -> {
+          runActions.add(actionCommand);
+          execution.run();
+        });
+
+    assertThat(runActions, contains(secondActionCommand, firstActionCommand));
+    InOrder inOrder = inOrder(firstActionCommand, secondActionCommand);
+    inOrder.verify(secondActionCommand).execute(session);
+    inOrder.verify(firstActionCommand).execute(session);
+  }
+
 }
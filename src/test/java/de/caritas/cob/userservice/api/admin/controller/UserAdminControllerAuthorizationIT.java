@@ -27,7 +27,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.caritas.cob.userservice.api.admin.facade.ConsultantAdminFacade;
 import de.caritas.cob.userservice.api.admin.facade.UserAdminFacade;
-import de.caritas.cob.userservice.api.admin.report.service.ViolationReportGenerator;
+import de.caritas.cob.userservice.api.admin.facade.ViolationReportFacade;
 import de.caritas.cob.userservice.api.admin.service.session.SessionAdminService;
 import de.caritas.cob.userservice.api.authorization.Authority.AuthorityValue;
 import de.caritas.cob.userservice.api.model.CreateConsultantAgencyDTO;
@@ -67,7 +67,7 @@ public class UserAdminControllerAuthorizationIT {
   private SessionAdminService sessionAdminService;
 
   @MockBean
-  private ViolationReportGenerator violationReportGenerator;
+  private ViolationReportFacade violationReportFacade;
 
   @MockBean
   private ConsultantAdminFacade consultantAdminFacade;
@@ -131,7 +131,7 @@ public class UserAdminControllerAuthorizationIT {
         .header(CSRF_HEADER, CSRF_VALUE))
         .andExpect(status().isUnauthorized());
 
-    verifyNoMoreInteractions(violationReportGenerator);
+    verifyNoMoreInteractions(violationReportFacade);
   }
 
   @Test
@@ -151,20 +151,20 @@ public class UserAdminControllerAuthorizationIT {
         .header(CSRF_HEADER, CSRF_VALUE))
         .andExpect(status().isForbidden());
 
-    verifyNoMoreInteractions(violationReportGenerator);
+    verifyNoMoreInteractions(violationReportFacade);
   }
 
   @Test
   @WithMockUser(authorities = {AuthorityValue.USER_ADMIN})
-  public void generateViolationReport_Should_ReturnOkAndCallViolationReportGenerator_When_userAdminAuthority()
+  public void generateViolationReport_Should_ReturnAcceptedAndCallViolationReportFacade_When_userAdminAuthority()
       throws Exception {
 
     mvc.perform(get(REPORT_PATH)
         .cookie(CSRF_COOKIE)
         .header(CSRF_HEADER, CSRF_VALUE))
-        .andExpect(status().isOk());
+        .andExpect(status().isAccepted());
 
-    verify(violationReportGenerator, times(1)).generateReport();
+    verify(violationReportFacade, times(1)).generateViolationReport();
   }
 
   @Test
@@ -437,7 +437,7 @@ public class UserAdminControllerAuthorizationIT {
 
   @Test
   @WithMockUser(authorities = {AuthorityValue.USER_ADMIN})
-  public void createConsultantAgency_Should_ReturnCreatedAndCallConsultantAdminFilterService_When_userAdminAuthority()
+  public void createConsultantAgency_Should_ReturnAcceptedAndCallConsultantAdminFilterService_When_userAdminAuthority()
       throws Exception {
     CreateConsultantAgencyDTO createConsultantAgencyDTO =
         new EasyRandom().nextObject(CreateConsultantAgencyDTO.class);
@@ -447,7 +447,7 @@ public class UserAdminControllerAuthorizationIT {
         .header(CSRF_HEADER, CSRF_VALUE)
         .contentType(MediaType.APPLICATION_JSON)
         .content(new ObjectMapper().writeValueAsString(createConsultantAgencyDTO)))
-        .andExpect(status().isCreated());
+        .andExpect(status().isAccepted());
 
     verify(consultantAdminFacade, times(1)).createNewConsultantAgency(anyString(), any());
   }
@@ -486,13 +486,13 @@ public class UserAdminControllerAuthorizationIT {
 
   @Test
   @WithMockUser(authorities = {AuthorityValue.USER_ADMIN})
-  public void changeAgencyType_Should_ReturnCreatedAndCallConsultantAdmin_When_userAdminAuthority()
+  public void changeAgencyType_Should_ReturnAcceptedAndCallConsultantAdmin_When_userAdminAuthority()
       throws Exception {
     mvc.perform(post(AGENCY_CHANGE_TYPE_PATH)
         .cookie(CSRF_COOKIE)
         .header(CSRF_HEADER, CSRF_VALUE)
         .contentType(MediaType.APPLICATION_JSON))
-        .andExpect(status().isOk());
+        .andExpect(status().isAccepted());
 
     verify(this.consultantAdminFacade, times(1)).changeAgencyType(any(), any());
   }
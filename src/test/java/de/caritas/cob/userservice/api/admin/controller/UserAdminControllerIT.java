@@ -1,6 +1,7 @@
 package de.caritas.cob.userservice.api.admin.controller;
 
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -11,16 +12,22 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.caritas.cob.userservice.api.admin.facade.ConsultantAdminFacade;
 import de.caritas.cob.userservice.api.admin.facade.UserAdminFacade;
-import de.caritas.cob.userservice.api.admin.report.service.ViolationReportGenerator;
+import de.caritas.cob.userservice.api.admin.facade.ViolationReportFacade;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobService;
 import de.caritas.cob.userservice.api.admin.service.session.SessionAdminService;
 import de.caritas.cob.userservice.api.authorization.RoleAuthorizationAuthorityMapper;
+import de.caritas.cob.userservice.api.exception.httpresponses.ConflictException;
 import de.caritas.cob.userservice.api.exception.httpresponses.NoContentException;
+import de.caritas.cob.userservice.api.exception.httpresponses.NotFoundException;
+import de.caritas.cob.userservice.api.model.AdminJobDTO;
+import de.caritas.cob.userservice.api.model.AdminJobDTO.StatusEnum;
 import de.caritas.cob.userservice.api.model.CreateConsultantAgencyDTO;
 import de.caritas.cob.userservice.api.model.CreateConsultantDTO;
 import de.caritas.cob.userservice.api.model.UpdateAdminConsultantDTO;
@@ -33,6 +40,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.hateoas.client.LinkDiscoverers;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -47,6 +55,7 @@ public class UserAdminControllerIT {
   protected static final String ROOT_PATH = "/useradmin";
   protected static final String SESSION_PATH = ROOT_PATH + "/sessions";
   protected static final String REPORT_PATH = ROOT_PATH + "/report";
+  protected static final String VIOLATION_REPORT_PATH = REPORT_PATH + "/jobId";
   protected static final String FILTERED_CONSULTANTS_PATH = ROOT_PATH + "/consultants";
   protected static final String GET_CONSULTANT_PATH = ROOT_PATH + "/consultants/";
   protected static final String DELETE_CONSULTANT_PATH = GET_CONSULTANT_PATH + "1234";
@@ -57,6 +66,7 @@ public class UserAdminControllerIT {
   protected static final String DELETE_CONSULTANT_AGENCY_PATH = ROOT_PATH + "/consultants/%s"
       + "/agencies/%s";
   protected static final String AGENCY_CHANGE_TYPE_PATH = ROOT_PATH + "/agency/1/changetype";
+  protected static final String ADMIN_JOB_PATH = ROOT_PATH + "/jobs/jobId";
   protected static final String PAGE_PARAM = "page";
   protected static final String PER_PAGE_PARAM = "perPage";
 
@@ -70,7 +80,7 @@ public class UserAdminControllerIT {
   private ConsultantAdminFacade consultantAdminFacade;
 
   @MockBean
-  private ViolationReportGenerator violationReportGenerator;
+  private ViolationReportFacade violationReportFacade;
 
   @MockBean
   private LinkDiscoverers linkDiscoverers;
@@ -81,6 +91,9 @@ public class UserAdminControllerIT {
   @MockBean
   private UserAdminFacade userAdminFacade;
 
+  @MockBean
+  private AdminJobService adminJobService;
+
   @Test
   public void getSessions_Should_returnBadRequest_When_requiredPaginationParamsAreMissing()
       throws Exception {
@@ -131,11 +144,33 @@ public class UserAdminControllerIT {
   }
 
   @Test
-  public void generateReport_Should_returnOk() throws Exception {
+  public void generateReport_Should_returnAccepted() throws Exception {
     this.mvc.perform(get(REPORT_PATH))
-        .andExpect(status().isOk());
+        .andExpect(status().isAccepted());
+
+    verify(this.violationReportFacade, times(1)).generateViolationReport();
+  }
+
+  @Test
+  public void getViolationReport_Should_returnOkAndStreamReport_When_reportJobIsFinished()
+      throws Exception {
+    when(this.violationReportFacade.findViolationReport("jobId"))
+        .thenReturn(new ByteArrayResource("{\"identifier\":\"id\"}\n".getBytes()));
+
+    this.mvc.perform(get(VIOLATION_REPORT_PATH))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string("{\"identifier\":\"id\"}\n"));
+  }
+
+  @Test
+  public void getViolationReport_Should_returnConflict_When_reportJobIsNotFinished()
+      throws Exception {
+    when(this.violationReportFacade.findViolationReport("jobId"))
+        .thenThrow(new ConflictException(""));
 
-    verify(this.violationReportGenerator, times(1)).generateReport();
+    this.mvc.perform(get(VIOLATION_REPORT_PATH))
+        .andExpect(status().isConflict());
   }
 
   @Test
@@ -223,7 +258,7 @@ public class UserAdminControllerIT {
   }
 
   @Test
-  public void createConsultantAgency_Should_returnCreated_When_requiredParamsAreGiven()
+  public void createConsultantAgency_Should_returnAccepted_When_requiredParamsAreGiven()
       throws Exception {
     String consultantId = "1da238c6-cd46-4162-80f1-bff74eafeAAA";
 
@@ -236,17 +271,36 @@ public class UserAdminControllerIT {
     this.mvc.perform(post(consultantAgencyPath)
         .contentType(MediaType.APPLICATION_JSON)
         .content(new ObjectMapper().writeValueAsString(createConsultantAgencyDTO)))
-        .andExpect(status().isCreated());
+        .andExpect(status().isAccepted());
 
     verify(this.consultantAdminFacade, times(1))
         .createNewConsultantAgency(eq(consultantId), eq(createConsultantAgencyDTO));
   }
 
   @Test
-  public void changeAgencyType_Should_returnOk_When_parametersAreValid() throws Exception {
+  public void getAdminJob_Should_returnOkAndAdminJob_When_jobExists() throws Exception {
+    when(this.adminJobService.findAdminJob("jobId"))
+        .thenReturn(new AdminJobDTO().id("jobId").status(StatusEnum.RUNNING));
+
+    this.mvc.perform(get(ADMIN_JOB_PATH))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id", is("jobId")))
+        .andExpect(jsonPath("$.status", is("RUNNING")));
+  }
+
+  @Test
+  public void getAdminJob_Should_returnNotFound_When_jobDoesNotExist() throws Exception {
+    when(this.adminJobService.findAdminJob("jobId")).thenThrow(new NotFoundException(""));
+
+    this.mvc.perform(get(ADMIN_JOB_PATH))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  public void changeAgencyType_Should_returnAccepted_When_parametersAreValid() throws Exception {
     this.mvc.perform(post(AGENCY_CHANGE_TYPE_PATH)
         .contentType(MediaType.APPLICATION_JSON))
-        .andExpect(status().isOk());
+        .andExpect(status().isAccepted());
 
     verify(this.consultantAdminFacade, times(1)).changeAgencyType(any(), any());
   }
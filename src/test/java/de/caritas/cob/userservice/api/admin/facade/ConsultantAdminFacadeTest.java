@@ -1,18 +1,22 @@
 package de.caritas.cob.userservice.api.admin.facade;
 
-import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.DEFAULT_AGENCY;
 import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.TEAM_AGENCY;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import de.caritas.cob.userservice.api.admin.service.agency.ChangeAgencyTypeJobHandler;
 import de.caritas.cob.userservice.api.admin.service.agency.ConsultantAgencyAdminService;
 import de.caritas.cob.userservice.api.admin.service.consultant.ConsultantAdminFilterService;
 import de.caritas.cob.userservice.api.admin.service.consultant.ConsultantAdminService;
 import de.caritas.cob.userservice.api.admin.service.consultant.create.agencyrelation.ConsultantAgencyRelationCreatorService;
+import de.caritas.cob.userservice.api.admin.service.consultant.create.agencyrelation.CreateConsultantAgencyJobHandler;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobService;
 import de.caritas.cob.userservice.api.model.AgencyTypeDTO;
 import de.caritas.cob.userservice.api.model.ConsultantFilter;
+import de.caritas.cob.userservice.api.model.CreateConsultantAgencyDTO;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -37,6 +41,9 @@ public class ConsultantAdminFacadeTest {
   @Mock
   private ConsultantAgencyRelationCreatorService relationCreatorService;
 
+  @Mock
+  private AdminJobService adminJobService;
+
   @Test
   public void findConsultant_Should_useConsultantAdminService() {
     this.consultantAdminFacade.findConsultant("");
@@ -77,10 +84,16 @@ public class ConsultantAdminFacadeTest {
   }
 
   @Test
-  public void createNewConsultantAgency_Should_useConsultantAgencyAdminServiceCorrectly() {
-    this.consultantAdminFacade.createNewConsultantAgency(null, null);
+  public void createNewConsultantAgency_Should_verifyRelationAndSubmitCreationAsAdminJob() {
+    CreateConsultantAgencyDTO createConsultantAgencyDTO = new CreateConsultantAgencyDTO();
 
-    verify(this.relationCreatorService, times(1)).createNewConsultantAgency(null, null);
+    this.consultantAdminFacade.createNewConsultantAgency("consultantId", createConsultantAgencyDTO);
+
+    verify(this.relationCreatorService, times(1))
+        .verifyNewConsultantAgency("consultantId", createConsultantAgencyDTO);
+    verify(this.adminJobService, times(1)).submit(AdminJobType.CREATE_CONSULTANT_AGENCY,
+        new CreateConsultantAgencyJobHandler.Payload("consultantId", createConsultantAgencyDTO));
+    verify(this.relationCreatorService, never()).createVerifiedConsultantAgency(any(), any(), any());
   }
 
   @Test
@@ -91,19 +104,15 @@ public class ConsultantAdminFacadeTest {
   }
 
   @Test
-  public void changeAgencyType_Should_callMarkAllAssignedConsultantsAsTeamConsultant_When_typeIsTeamAgency() {
-    this.consultantAdminFacade.changeAgencyType(1L, new AgencyTypeDTO().agencyType(TEAM_AGENCY));
-
-    verify(this.consultantAgencyAdminService, times(1))
-        .markAllAssignedConsultantsAsTeamConsultant(1L);
-  }
+  public void changeAgencyType_Should_submitChangeAsAdminJob() {
+    AgencyTypeDTO agencyTypeDTO = new AgencyTypeDTO().agencyType(TEAM_AGENCY);
 
-  @Test
-  public void changeAgencyType_Should_callRemoveConsultantsFromTeamSessionsByAgencyId_When_typeIsDefaultAgency() {
-    this.consultantAdminFacade.changeAgencyType(1L, new AgencyTypeDTO().agencyType(DEFAULT_AGENCY));
+    this.consultantAdminFacade.changeAgencyType(1L, agencyTypeDTO);
 
-    verify(this.consultantAgencyAdminService, times(1))
-        .removeConsultantsFromTeamSessionsByAgencyId(1L);
+    verify(this.adminJobService, times(1)).submit(AdminJobType.CHANGE_AGENCY_TYPE,
+        new ChangeAgencyTypeJobHandler.Payload(1L, agencyTypeDTO));
+    verify(this.consultantAgencyAdminService, never())
+        .markAllAssignedConsultantsAsTeamConsultant(any());
   }
 
   @Test
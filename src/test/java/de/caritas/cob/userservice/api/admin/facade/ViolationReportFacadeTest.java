@@ -0,0 +1,57 @@
+package de.caritas.cob.userservice.api.admin.facade;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobService;
+import de.caritas.cob.userservice.api.exception.httpresponses.NotFoundException;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+import java.io.File;
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ViolationReportFacadeTest {
+
+  @InjectMocks
+  private ViolationReportFacade violationReportFacade;
+
+  @Mock
+  private AdminJobService adminJobService;
+
+  @Test
+  public void generateViolationReport_Should_submitReportJob() {
+    this.violationReportFacade.generateViolationReport();
+
+    verify(this.adminJobService, times(1))
+        .submit(AdminJobType.GENERATE_VIOLATION_REPORT, null);
+  }
+
+  @Test
+  public void findViolationReport_Should_returnReportFileOfJobResult() throws IOException {
+    File reportFile = File.createTempFile("violation_report_", ".ndjson");
+    reportFile.deleteOnExit();
+    when(this.adminJobService.findAdminJobResult("jobId", AdminJobType.GENERATE_VIOLATION_REPORT))
+        .thenReturn(reportFile.getAbsolutePath());
+
+    var report = this.violationReportFacade.findViolationReport("jobId");
+
+    assertThat(report.getFile(), is(reportFile));
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void findViolationReport_Should_throwNotFoundException_When_reportFileDoesNotExist() {
+    when(this.adminJobService.findAdminJobResult("jobId", AdminJobType.GENERATE_VIOLATION_REPORT))
+        .thenReturn("report/unknown.ndjson");
+
+    this.violationReportFacade.findViolationReport("jobId");
+  }
+
+}
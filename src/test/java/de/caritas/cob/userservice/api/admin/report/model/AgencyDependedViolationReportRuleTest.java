@@ -9,14 +9,14 @@ import static org.hamcrest.Matchers.is;
 import de.caritas.cob.userservice.agencyadminserivce.generated.web.model.AgencyAdminResponseDTO;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.Test;
 
 public class AgencyDependedViolationReportRuleTest {
 
   private AgencyDependedViolationReportRule reportRule = new AgencyDependedViolationReportRule() {
     @Override
-    public List<ViolationDTO> generateViolations() {
-      return emptyList();
+    public void generateViolations(Consumer<ViolationDTO> violationConsumer) {
     }
   };
 
@@ -14,6 +14,7 @@ import de.caritas.cob.userservice.api.model.ViolationDTO;
 import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgency;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgencyRepository;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.jeasy.random.EasyRandom;
@@ -40,7 +41,8 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRuleTest {
 
   @Test
   public void generateViolations_Should_returnEmptyList_When_noViolationExists() {
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(0));
   }
@@ -57,7 +59,8 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRuleTest {
     this.reportRule
         .setAllAgencies(singletonList(new AgencyAdminResponseDTO().id(1L).teamAgency(false)));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     ViolationDTO resultViolation = violations.iterator().next();
@@ -107,7 +110,8 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRuleTest {
             .map(ConsultantAgency::getConsultant)
             .collect(Collectors.toList()));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(5));
   }
@@ -13,6 +13,7 @@ import de.caritas.cob.userservice.agencyadminserivce.generated.web.model.AgencyA
 import de.caritas.cob.userservice.api.model.ViolationDTO;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgency;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgencyRepository;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.jeasy.random.EasyRandom;
@@ -33,7 +34,8 @@ public class InvalidAgencyForConsultantViolationReportRuleTest {
 
   @Test
   public void generateViolations_Should_returnEmptyList_When_noViolationExists() {
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(0));
   }
@@ -46,7 +48,8 @@ public class InvalidAgencyForConsultantViolationReportRuleTest {
         .thenReturn(singletonList(violatedConsultantAgency));
     this.reportRule.setAllAgencies(singletonList(new AgencyAdminResponseDTO().id(1L)));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     ViolationDTO resultViolation = violations.iterator().next();
@@ -90,7 +93,8 @@ public class InvalidAgencyForConsultantViolationReportRuleTest {
         new AgencyAdminResponseDTO().id(5L)
     ));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(5));
   }
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.when;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.jeasy.random.EasyRandom;
@@ -30,7 +31,8 @@ public class MissingAgencyForConsultantViolationReportRuleTest {
 
   @Test
   public void generateViolations_Should_returnEmptyList_When_noViolationExists() {
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(0));
   }
@@ -41,7 +43,8 @@ public class MissingAgencyForConsultantViolationReportRuleTest {
     violatedConsultant.setConsultantAgencies(null);
     when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     ViolationDTO resultViolation = violations.iterator().next();
@@ -68,7 +71,8 @@ public class MissingAgencyForConsultantViolationReportRuleTest {
     consultants.get(9).setConsultantAgencies(null);
     when(this.consultantRepository.findAll()).thenReturn(consultants);
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(5));
   }
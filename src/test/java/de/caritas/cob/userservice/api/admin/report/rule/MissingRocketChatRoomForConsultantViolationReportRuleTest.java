@@ -2,25 +2,26 @@ package de.caritas.cob.userservice.api.admin.report.rule;
 
 import static de.caritas.cob.userservice.api.model.ViolationDTO.ViolationTypeEnum.CONSULTANT;
 import static java.util.Arrays.asList;
-import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
+import de.caritas.cob.userservice.api.admin.report.service.RocketChatUserRoomsProvider;
+import de.caritas.cob.userservice.api.admin.report.service.RocketChatUserRoomsProvider.UserRooms;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
-import de.caritas.cob.userservice.api.model.rocketchat.user.UserInfoResponseDTO;
-import de.caritas.cob.userservice.api.model.rocketchat.user.UserRoomDTO;
-import de.caritas.cob.userservice.api.repository.consultant.Consultant;
-import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.repository.session.SessionRepository;
-import de.caritas.cob.userservice.api.service.LogService;
-import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.repository.session.SessionStatus;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import org.jeasy.random.EasyRandom;
 import org.junit.Test;
@@ -35,37 +36,32 @@ public class MissingRocketChatRoomForConsultantViolationReportRuleTest {
   @InjectMocks
   private MissingRocketChatRoomForConsultantViolationReportRule reportRule;
 
-  @Mock
-  private ConsultantRepository consultantRepository;
-
   @Mock
   private SessionRepository sessionRepository;
 
   @Mock
-  private RocketChatService rocketChatService;
+  private RocketChatUserRoomsProvider rocketChatUserRoomsProvider;
 
   @Test
   public void generateViolations_Should_returnEmptyList_When_noViolationExists() {
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(0));
   }
 
   @Test
   public void generateViolations_Should_returnExpectedViolation_When_oneViolatedSessionExists() {
-    Consultant violatedConsultant = new EasyRandom().nextObject(Consultant.class);
-    violatedConsultant.setSessions(null);
     Session violatedSession = new EasyRandom().nextObject(Session.class);
-    UserInfoResponseDTO userInfoResponseDTO =
-        new EasyRandom().nextObject(UserInfoResponseDTO.class);
-    userInfoResponseDTO.getUser().setRooms(emptyList());
+    UserRooms userRooms = UserRooms.of(emptySet());
 
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
+    when(this.sessionRepository.findWithConsultantByStatus(SessionStatus.IN_PROGRESS))
         .thenReturn(singletonList(violatedSession));
-    when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoResponseDTO);
+    when(this.rocketChatUserRoomsProvider.findRoomsOfUsers(any()))
+        .thenReturn(singletonMap(violatedSession.getConsultant().getRocketChatId(), userRooms));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     ViolationDTO resultViolation = violations.iterator().next();
@@ -79,20 +75,16 @@ public class MissingRocketChatRoomForConsultantViolationReportRuleTest {
 
   @Test
   public void generateViolations_Should_returnViolationMessageOfFeedbackRoom_When_oneViolatedFeedbackSessionExists() {
-    Consultant violatedConsultant = new EasyRandom().nextObject(Consultant.class);
     Session violatedSession = new EasyRandom().nextObject(Session.class);
-    violatedConsultant.setSessions(singleton(violatedSession));
-    UserInfoResponseDTO userInfoResponseDTO =
-        new EasyRandom().nextObject(UserInfoResponseDTO.class);
-    userInfoResponseDTO.getUser()
-        .setRooms(singletonList(new UserRoomDTO(violatedSession.getGroupId())));
-
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
+    UserRooms userRooms = UserRooms.of(singleton(violatedSession.getGroupId()));
+
+    when(this.sessionRepository.findWithConsultantByStatus(SessionStatus.IN_PROGRESS))
         .thenReturn(singletonList(violatedSession));
-    when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoResponseDTO);
+    when(this.rocketChatUserRoomsProvider.findRoomsOfUsers(any()))
+        .thenReturn(singletonMap(violatedSession.getConsultant().getRocketChatId(), userRooms));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     ViolationDTO resultViolation = violations.iterator().next();
@@ -105,20 +97,16 @@ public class MissingRocketChatRoomForConsultantViolationReportRuleTest {
 
   @Test
   public void generateViolations_Should_returnViolationMessageOfRoom_When_oneViolatedStandardSessionExists() {
-    Consultant violatedConsultant = new EasyRandom().nextObject(Consultant.class);
     Session violatedSession = new EasyRandom().nextObject(Session.class);
-    violatedConsultant.setSessions(singleton(violatedSession));
-    UserInfoResponseDTO userInfoResponseDTO =
-        new EasyRandom().nextObject(UserInfoResponseDTO.class);
-    userInfoResponseDTO.getUser()
-        .setRooms(singletonList(new UserRoomDTO(violatedSession.getFeedbackGroupId())));
-
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
+    UserRooms userRooms = UserRooms.of(singleton(violatedSession.getFeedbackGroupId()));
+
+    when(this.sessionRepository.findWithConsultantByStatus(SessionStatus.IN_PROGRESS))
         .thenReturn(singletonList(violatedSession));
-    when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoResponseDTO);
+    when(this.rocketChatUserRoomsProvider.findRoomsOfUsers(any()))
+        .thenReturn(singletonMap(violatedSession.getConsultant().getRocketChatId(), userRooms));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     ViolationDTO resultViolation = violations.iterator().next();
@@ -130,47 +118,57 @@ public class MissingRocketChatRoomForConsultantViolationReportRuleTest {
 
   @Test
   public void generateViolations_Should_returnNoViolation_When_allRoomsExist() {
-    Consultant violatedConsultant = new EasyRandom().nextObject(Consultant.class);
     Session violatedSession = new EasyRandom().nextObject(Session.class);
-    violatedConsultant.setSessions(singleton(violatedSession));
-    UserInfoResponseDTO userInfoResponseDTO =
-        new EasyRandom().nextObject(UserInfoResponseDTO.class);
-    userInfoResponseDTO.getUser().setRooms(asList(
-        new UserRoomDTO(violatedSession.getGroupId()),
-        new UserRoomDTO(violatedSession.getFeedbackGroupId())));
-
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
+    UserRooms userRooms = UserRooms.of(new HashSet<>(asList(violatedSession.getGroupId(),
+        violatedSession.getFeedbackGroupId())));
+
+    when(this.sessionRepository.findWithConsultantByStatus(SessionStatus.IN_PROGRESS))
         .thenReturn(singletonList(violatedSession));
-    when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoResponseDTO);
+    when(this.rocketChatUserRoomsProvider.findRoomsOfUsers(any()))
+        .thenReturn(singletonMap(violatedSession.getConsultant().getRocketChatId(), userRooms));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(0));
   }
 
   @Test
   public void generateViolations_Should_returnViolation_When_userDoesNotExistInRocketChat() {
-    Consultant violatedConsultant = new EasyRandom().nextObject(Consultant.class);
     Session violatedSession = new EasyRandom().nextObject(Session.class);
-    violatedConsultant.setSessions(singleton(violatedSession));
-    UserInfoResponseDTO userInfoResponseDTO =
-        new EasyRandom().nextObject(UserInfoResponseDTO.class);
-    userInfoResponseDTO.getUser().setRooms(asList(
-        new UserRoomDTO(violatedSession.getGroupId()),
-        new UserRoomDTO(violatedSession.getFeedbackGroupId())));
-
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
+    UserRooms userRooms = UserRooms.failed("caused message");
+
+    when(this.sessionRepository.findWithConsultantByStatus(SessionStatus.IN_PROGRESS))
         .thenReturn(singletonList(violatedSession));
-    when(this.rocketChatService.getUserInfo(any()))
-        .thenThrow(new InternalServerErrorException("message", new RuntimeException("caused "
-            + "message"), LogService::logRocketChatError));
+    when(this.rocketChatUserRoomsProvider.findRoomsOfUsers(any()))
+        .thenReturn(singletonMap(violatedSession.getConsultant().getRocketChatId(), userRooms));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     assertThat(violations.get(0).getReason(), is("caused message"));
   }
 
+  @Test
+  public void generateViolations_Should_retrieveRoomsOnlyOnce_When_consultantHasSeveralSessions() {
+    Session firstSession = new EasyRandom().nextObject(Session.class);
+    Session secondSession = new EasyRandom().nextObject(Session.class);
+    secondSession.setConsultant(firstSession.getConsultant());
+    UserRooms userRooms = UserRooms.of(new HashSet<>(asList(firstSession.getGroupId(),
+        firstSession.getFeedbackGroupId())));
+
+    when(this.sessionRepository.findWithConsultantByStatus(SessionStatus.IN_PROGRESS))
+        .thenReturn(asList(firstSession, secondSession));
+    when(this.rocketChatUserRoomsProvider.findRoomsOfUsers(any()))
+        .thenReturn(singletonMap(firstSession.getConsultant().getRocketChatId(), userRooms));
+
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
+
+    assertThat(violations, hasSize(1));
+    verify(this.rocketChatUserRoomsProvider, times(1))
+        .findRoomsOfUsers(singleton(firstSession.getConsultant().getRocketChatId()));
+  }
+
 }
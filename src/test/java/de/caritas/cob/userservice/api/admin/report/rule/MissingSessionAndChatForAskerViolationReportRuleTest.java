@@ -1,6 +1,7 @@
 package de.caritas.cob.userservice.api.admin.report.rule;
 
 import static de.caritas.cob.userservice.api.model.ViolationDTO.ViolationTypeEnum.ASKER;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
@@ -8,12 +9,9 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.model.ViolationDTO;
-import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.repository.user.UserRepository;
-import de.caritas.cob.userservice.api.repository.useragency.UserAgencyRepository;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import org.jeasy.random.EasyRandom;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -29,43 +27,36 @@ public class MissingSessionAndChatForAskerViolationReportRuleTest {
   @Mock
   private UserRepository userRepository;
 
-  @Mock
-  private UserAgencyRepository userAgencyRepository;
-
   @Test
   public void generateViolations_Should_returnEmptyList_When_noViolationExists() {
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(0));
   }
 
   @Test
   public void generateViolations_Should_returnExpectedViolation_When_oneViolatedAskerExists() {
-    User violatedUser = new EasyRandom().nextObject(User.class);
-    violatedUser.setSessions(null);
-    when(this.userRepository.findAll()).thenReturn(singletonList(violatedUser));
+    when(this.userRepository.findUserIdsWithoutSessionAndUserAgency())
+        .thenReturn(singletonList("userId"));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(1));
     ViolationDTO resultViolation = violations.iterator().next();
-    assertThat(resultViolation.getIdentifier(), is(violatedUser.getUserId()));
+    assertThat(resultViolation.getIdentifier(), is("userId"));
     assertThat(resultViolation.getViolationType(), is(ASKER));
     assertThat(resultViolation.getReason(), is("Use has neither chat nor session relation"));
   }
 
   @Test
-  public void generateViolations_Should_returnViolationsOnlyForAskersWithoutSessions() {
-    List<User> users = new EasyRandom().objects(User.class, 10)
-        .collect(Collectors.toList());
-    users.get(0).setSessions(null);
-    users.get(2).setSessions(null);
-    users.get(4).setSessions(null);
-    users.get(6).setSessions(null);
-    users.get(9).setSessions(null);
-    when(this.userRepository.findAll()).thenReturn(users);
+  public void generateViolations_Should_returnViolationsForAllFoundAskers() {
+    when(this.userRepository.findUserIdsWithoutSessionAndUserAgency())
+        .thenReturn(asList("1", "2", "3", "4", "5"));
 
-    List<ViolationDTO> violations = this.reportRule.generateViolations();
+    List<ViolationDTO> violations = new ArrayList<>();
+    this.reportRule.generateViolations(violations::add);
 
     assertThat(violations, hasSize(5));
   }
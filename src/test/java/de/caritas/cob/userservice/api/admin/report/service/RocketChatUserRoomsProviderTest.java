@@ -0,0 +1,121 @@
+package de.caritas.cob.userservice.api.admin.report.service;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.admin.report.service.RocketChatUserRoomsProvider.UserRooms;
+import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
+import de.caritas.cob.userservice.api.model.rocketchat.user.UserInfoResponseDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.user.UserRoomDTO;
+import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.jeasy.random.EasyRandom;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RocketChatUserRoomsProviderTest {
+
+  private final ExecutorService rocketChatExecutor = Executors.newFixedThreadPool(2);
+
+  private RocketChatUserRoomsProvider rocketChatUserRoomsProvider;
+
+  @Mock
+  private RocketChatService rocketChatService;
+
+  @Before
+  public void setup() {
+    this.rocketChatUserRoomsProvider = new RocketChatUserRoomsProvider(this.rocketChatService,
+        new ObjectMapper(), this.rocketChatExecutor);
+    ReflectionTestUtils.setField(this.rocketChatUserRoomsProvider, "concurrency", 2);
+  }
+
+  @After
+  public void shutdownExecutor() {
+    this.rocketChatExecutor.shutdownNow();
+  }
+
+  @Test
+  public void findRoomsOfUsers_Should_requestEachUserOnlyOnce_When_userIdsContainDuplicates() {
+    when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoWithRooms("room"));
+
+    Map<String, UserRooms> result = this.rocketChatUserRoomsProvider
+        .findRoomsOfUsers(asList("user1", "user2", "user1", "user3", "user2"));
+
+    assertThat(result.keySet(), containsInAnyOrder("user1", "user2", "user3"));
+    assertThat(result.get("user1").getRoomIds(), containsInAnyOrder("room"));
+    verify(this.rocketChatService, times(3)).getUserInfo(any());
+  }
+
+  @Test
+  public void findRoomsOfUsers_Should_returnFailedUserRooms_When_userInfoCanNotBeRetrieved() {
+    when(this.rocketChatService.getUserInfo("user1"))
+        .thenThrow(new InternalServerErrorException("message",
+            new RuntimeException("caused message"), LogService::logRocketChatError));
+
+    Map<String, UserRooms> result = this.rocketChatUserRoomsProvider
+        .findRoomsOfUsers(singletonList("user1"));
+
+    assertThat(result.get("user1").isFailed(), is(true));
+    assertThat(result.get("user1").getRoomIds(), is(nullValue()));
+    assertThat(result.get("user1").getFailureMessage(), is("caused message"));
+  }
+
+  @Test
+  public void findRoomsOfUsers_Should_readRoomsFromExport_When_subscriptionExportIsConfigured()
+      throws IOException {
+    Path export = Files.createTempFile("rocketchat_subscription", ".json");
+    Files.write(export, asList(
+        "{\"_id\":\"1\",\"rid\":\"room1\",\"u\":{\"_id\":\"user1\",\"username\":\"name\"}}",
+        "",
+        "{\"_id\":\"2\",\"rid\":\"room2\",\"u\":{\"_id\":\"user1\",\"username\":\"name\"}}",
+        "{\"_id\":\"3\",\"rid\":\"room3\",\"u\":{\"_id\":\"other\",\"username\":\"other\"}}"));
+    ReflectionTestUtils.setField(this.rocketChatUserRoomsProvider, "subscriptionExport",
+        export.toString());
+
+    try {
+      Map<String, UserRooms> result = this.rocketChatUserRoomsProvider
+          .findRoomsOfUsers(asList("user1", "user2"));
+
+      assertThat(result.keySet(), containsInAnyOrder("user1", "user2"));
+      assertThat(result.get("user1").getRoomIds(), containsInAnyOrder("room1", "room2"));
+      assertThat(result.get("user2").getRoomIds(), is(empty()));
+      verifyNoInteractions(this.rocketChatService);
+    } finally {
+      Files.deleteIfExists(export);
+    }
+  }
+
+  private UserInfoResponseDTO userInfoWithRooms(String... roomIds) {
+    UserInfoResponseDTO userInfoResponseDTO =
+        new EasyRandom().nextObject(UserInfoResponseDTO.class);
+    userInfoResponseDTO.getUser().setRooms(asList(roomIds).stream()
+        .map(UserRoomDTO::new)
+        .collect(Collectors.toList()));
+    return userInfoResponseDTO;
+  }
+
+}
@@ -2,29 +2,55 @@ package de.caritas.cob.userservice.api.admin.report.service;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
-import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.caritas.cob.userservice.api.admin.report.registry.ViolationRuleRegistry;
 import de.caritas.cob.userservice.api.admin.service.agency.AgencyAdminService;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
 import de.caritas.cob.userservice.api.model.ViolationDTO;
+import de.caritas.cob.userservice.api.model.keycloak.login.KeycloakLoginResponseDTO;
+import de.caritas.cob.userservice.api.service.KeycloakService;
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ViolationReportGeneratorTest {
 
-  @InjectMocks
+  private static final String REPORT_PATH = "report";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ExecutorService violationReportExecutor = Executors.newFixedThreadPool(3);
+
   private ViolationReportGenerator violationReportGenerator;
 
   @Mock
@@ -33,33 +59,123 @@ public class ViolationReportGeneratorTest {
   @Mock
   private AgencyAdminService agencyAdminService;
 
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private KeycloakService keycloakService;
+
+  @Mock
+  private SecurityHeaderSupplier securityHeaderSupplier;
+
+  @Before
+  public void setup() {
+    lenient().when(this.entityManagerFactory.createEntityManager())
+        .thenReturn(mock(EntityManager.class));
+    var keycloakLoginResponseDTO = new KeycloakLoginResponseDTO();
+    keycloakLoginResponseDTO.setAccessToken("technicalToken");
+    lenient().when(this.keycloakService.loginUser(any(), any()))
+        .thenReturn(keycloakLoginResponseDTO);
+    this.violationReportGenerator = new ViolationReportGenerator(this.violationRuleRegistry,
+        this.agencyAdminService, new EntityManagerSessionRunner(this.entityManagerFactory),
+        this.objectMapper, this.violationReportExecutor, this.keycloakService,
+        this.securityHeaderSupplier);
+    ReflectionTestUtils.setField(this.violationReportGenerator, "violationReportPath", REPORT_PATH);
+  }
+
   @After
   public void cleanGeneratedFiles() throws IOException {
-    FileUtils.deleteDirectory(new File("report"));
+    this.violationReportExecutor.shutdownNow();
+    FileUtils.deleteDirectory(new File(REPORT_PATH));
   }
 
   @Test
-  public void generateReport_Should_returnEmptyList_When_noViolationExist() {
-    List<ViolationDTO> violations = this.violationReportGenerator.generateReport();
+  public void generateReport_Should_writeEmptyReport_When_noViolationExist() throws IOException {
+    Path reportFile = this.violationReportGenerator.generateReport(AdminJobProgress.NONE);
+
+    assertThat(Files.readAllLines(reportFile), hasSize(0));
+  }
+
+  @Test
+  public void generateReport_Should_writeOneViolationPerLine_When_violationsAreFound()
+      throws IOException {
+    when(this.violationRuleRegistry.getViolationReportRules(any())).thenReturn(asList(
+        violationConsumer -> reportViolations(violationConsumer, "first", "second"),
+        violationConsumer -> reportViolations(violationConsumer, "third", "fourth"),
+        violationConsumer -> reportViolations(violationConsumer, "fifth", "sixth")));
+    AdminJobProgress progress = mock(AdminJobProgress.class);
 
-    assertThat(violations, hasSize(0));
+    Path reportFile = this.violationReportGenerator.generateReport(progress);
+
+    List<String> identifiers = Files.readAllLines(reportFile).stream()
+        .map(this::readIdentifier)
+        .collect(Collectors.toList());
+    assertThat(identifiers, containsInAnyOrder("first", "second", "third", "fourth", "fifth",
+        "sixth"));
+    verify(progress, times(1)).start(3);
+    verify(progress, times(3)).itemProcessed();
   }
 
   @Test
-  public void generateReport_Should_returnFlattenedViolations_When_violationsAreFound() {
+  public void generateReport_Should_deleteReportFileAndThrowException_When_ruleFails() {
     when(this.violationRuleRegistry.getViolationReportRules(any())).thenReturn(asList(
-        () -> asList(identifiedViolation("first"), identifiedViolation("second")),
-        () -> asList(identifiedViolation("third"), identifiedViolation("fourth")),
-        () -> asList(identifiedViolation("fifth"), identifiedViolation("sixth"))));
+        violationConsumer -> reportViolations(violationConsumer, "first"),
+        violationConsumer -> {
+          throw new IllegalStateException("rule failed");
+        }));
+
+    try {
+      this.violationReportGenerator.generateReport(AdminJobProgress.NONE);
+      fail("Exception of failed rule expected");
+    } catch (CompletionException e) {
+      assertThat(e.getCause().getMessage(), is("rule failed"));
+    }
+
+    assertThat(new File(REPORT_PATH).listFiles().length, is(0));
+  }
 
-    List<ViolationDTO> violations = this.violationReportGenerator.generateReport();
+  @Test
+  public void generateReport_Should_retrieveAgenciesWithHeadersOfTechnicalUser() {
+    ReflectionTestUtils.setField(this.violationReportGenerator, "keycloakTechnicalUsername",
+        "technical");
+    ReflectionTestUtils.setField(this.violationReportGenerator, "keycloakTechnicalPassword",
+        "secret");
+
+    this.violationReportGenerator.generateReport(AdminJobProgress.NONE);
+
+    verify(this.keycloakService, times(1)).loginUser("technical", "secret");
+    verify(this.securityHeaderSupplier, times(1)).getKeycloakAndCsrfHttpHeaders("technicalToken");
+    verify(this.agencyAdminService, times(1)).retrieveAllAgencies();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void validateViolationReportPath_Should_throwIllegalStateException_When_pathIsRelative() {
+    this.violationReportGenerator.validateViolationReportPath();
+  }
+
+  @Test
+  public void validateViolationReportPath_Should_createReportDirectory_When_pathIsAbsolute() {
+    File reportDirectory = new File(REPORT_PATH).getAbsoluteFile();
+    ReflectionTestUtils.setField(this.violationReportGenerator, "violationReportPath",
+        reportDirectory.getPath());
+
+    this.violationReportGenerator.validateViolationReportPath();
+
+    assertThat(reportDirectory.isDirectory(), is(true));
+  }
 
-    assertThat(violations, hasSize(6));
-    violations.forEach(violationDTO -> assertThat(violationDTO.getIdentifier(), notNullValue()));
+  private String readIdentifier(String line) {
+    try {
+      return this.objectMapper.readValue(line, ViolationDTO.class).getIdentifier();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
   }
 
-  private ViolationDTO identifiedViolation(String identifier) {
-    return new ViolationDTO().identifier(identifier);
+  private void reportViolations(Consumer<ViolationDTO> violationConsumer, String... identifiers) {
+    for (String identifier : identifiers) {
+      violationConsumer.accept(new ViolationDTO().identifier(identifier));
+    }
   }
 
 }
@@ -0,0 +1,116 @@
+package de.caritas.cob.userservice.api.admin.report.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.agencyadminserivce.generated.ApiClient;
+import de.caritas.cob.userservice.agencyadminserivce.generated.web.AdminAgencyControllerApi;
+import de.caritas.cob.userservice.api.admin.report.registry.ViolationRuleRegistry;
+import de.caritas.cob.userservice.api.admin.service.agency.AgencyAdminService;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.model.keycloak.login.KeycloakLoginResponseDTO;
+import de.caritas.cob.userservice.api.service.KeycloakService;
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderInterceptor;
+import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ViolationReportJobHandlerTest {
+
+  private static final String REPORT_PATH = "report";
+  private static final String TECHNICAL_TOKEN = "technicalToken";
+
+  private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+  private final ExecutorService violationReportExecutor = Executors.newFixedThreadPool(3);
+
+  private ViolationReportJobHandler violationReportJobHandler;
+  private MockRestServiceServer agencyAdminServer;
+
+  @Mock
+  private ViolationRuleRegistry violationRuleRegistry;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private KeycloakService keycloakService;
+
+  @Mock
+  private SecurityHeaderSupplier securityHeaderSupplier;
+
+  @Before
+  public void setup() {
+    var restTemplate = new RestTemplate();
+    restTemplate.getInterceptors().add(new SecurityHeaderInterceptor(() -> {
+      throw new IllegalStateException("Scope 'request' is not active for the current thread");
+    }));
+    this.agencyAdminServer = MockRestServiceServer.bindTo(restTemplate).build();
+    var agencyAdminService = new AgencyAdminService(
+        new AdminAgencyControllerApi(new ApiClient(restTemplate)));
+
+    var keycloakLoginResponseDTO = new KeycloakLoginResponseDTO();
+    keycloakLoginResponseDTO.setAccessToken(TECHNICAL_TOKEN);
+    when(this.keycloakService.loginUser(any(), any())).thenReturn(keycloakLoginResponseDTO);
+    when(this.securityHeaderSupplier.getKeycloakAndCsrfHttpHeaders(TECHNICAL_TOKEN))
+        .thenAnswer(invocation -> {
+          var headers = new HttpHeaders();
+          headers.setBearerAuth(invocation.getArgument(0));
+          return headers;
+        });
+
+    var violationReportGenerator = new ViolationReportGenerator(this.violationRuleRegistry,
+        agencyAdminService, new EntityManagerSessionRunner(this.entityManagerFactory),
+        new ObjectMapper(), this.violationReportExecutor, this.keycloakService,
+        this.securityHeaderSupplier);
+    ReflectionTestUtils.setField(violationReportGenerator, "violationReportPath", REPORT_PATH);
+    this.violationReportJobHandler = new ViolationReportJobHandler(violationReportGenerator);
+  }
+
+  @After
+  public void cleanGeneratedFiles() throws IOException {
+    this.jobExecutor.shutdownNow();
+    this.violationReportExecutor.shutdownNow();
+    FileUtils.deleteDirectory(new File(REPORT_PATH));
+  }
+
+  @Test
+  public void execute_Should_callAgencyAdminServiceWithTechnicalUser_When_runOutsideOfRequest() {
+    this.agencyAdminServer.expect(method(HttpMethod.GET))
+        .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer " + TECHNICAL_TOKEN))
+        .andRespond(withSuccess("{\"_embedded\":[]}", MediaType.APPLICATION_JSON));
+
+    String reportPath = CompletableFuture
+        .supplyAsync(() -> this.violationReportJobHandler.execute(null, AdminJobProgress.NONE),
+            this.jobExecutor)
+        .join();
+
+    this.agencyAdminServer.verify();
+    assertThat(reportPath, endsWith(".ndjson"));
+  }
+
+}
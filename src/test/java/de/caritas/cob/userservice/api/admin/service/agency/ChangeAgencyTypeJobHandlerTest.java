@@ -0,0 +1,64 @@
+package de.caritas.cob.userservice.api.admin.service.agency;
+
+import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.DEFAULT_AGENCY;
+import static de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum.TEAM_AGENCY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.model.AgencyTypeDTO;
+import de.caritas.cob.userservice.api.model.AgencyTypeDTO.AgencyTypeEnum;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChangeAgencyTypeJobHandlerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private ChangeAgencyTypeJobHandler changeAgencyTypeJobHandler;
+
+  @Mock
+  private ConsultantAgencyAdminService consultantAgencyAdminService;
+
+  @Before
+  public void setup() {
+    this.changeAgencyTypeJobHandler = new ChangeAgencyTypeJobHandler(
+        this.consultantAgencyAdminService, this.objectMapper);
+  }
+
+  @Test
+  public void execute_Should_callMarkAllAssignedConsultantsAsTeamConsultant_When_typeIsTeamAgency()
+      throws JsonProcessingException {
+    this.changeAgencyTypeJobHandler.execute(buildPayload(TEAM_AGENCY), AdminJobProgress.NONE);
+
+    verify(this.consultantAgencyAdminService, times(1))
+        .markAllAssignedConsultantsAsTeamConsultant(1L);
+    verify(this.consultantAgencyAdminService, never())
+        .removeConsultantsFromTeamSessionsByAgencyId(any());
+  }
+
+  @Test
+  public void execute_Should_callRemoveConsultantsFromTeamSessionsByAgencyId_When_typeIsDefaultAgency()
+      throws JsonProcessingException {
+    this.changeAgencyTypeJobHandler.execute(buildPayload(DEFAULT_AGENCY), AdminJobProgress.NONE);
+
+    verify(this.consultantAgencyAdminService, times(1))
+        .removeConsultantsFromTeamSessionsByAgencyId(1L);
+    verify(this.consultantAgencyAdminService, never())
+        .markAllAssignedConsultantsAsTeamConsultant(any());
+  }
+
+  private String buildPayload(AgencyTypeEnum agencyType) throws JsonProcessingException {
+    return this.objectMapper.writeValueAsString(new ChangeAgencyTypeJobHandler.Payload(1L,
+        new AgencyTypeDTO().agencyType(agencyType)));
+  }
+
+}
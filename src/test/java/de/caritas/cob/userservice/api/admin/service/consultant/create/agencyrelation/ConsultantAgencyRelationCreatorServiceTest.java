@@ -4,8 +4,15 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
+import de.caritas.cob.userservice.api.exception.httpresponses.BadRequestException;
 import de.caritas.cob.userservice.api.facade.RocketChatFacade;
 import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeManager;
 import de.caritas.cob.userservice.api.model.AgencyDTO;
@@ -17,6 +24,7 @@ import de.caritas.cob.userservice.api.service.ConsultantAgencyService;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
 import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientService;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -50,6 +58,9 @@ public class ConsultantAgencyRelationCreatorServiceTest {
   @Mock
   private ConsultingTypeManager consultingTypeManager;
 
+  @Mock
+  private Executor rocketChatExecutor;
+
   @Test
   public void createNewConsultantAgency_Should_notThrowNullPointerException_When_agencyTypeIsU25AndConsultantHasNoAgencyAssigned() {
     AgencyDTO agencyDTO = new AgencyDTO()
@@ -70,4 +81,78 @@ public class ConsultantAgencyRelationCreatorServiceTest {
 
   }
 
+  @Test
+  public void verifyNewConsultantAgency_Should_notChangeAnyData_When_relationIsValid() {
+    AgencyDTO agencyDTO = new AgencyDTO()
+        .consultingType(1)
+        .id(2L);
+    when(this.consultantRepository.findByIdAndDeleteDateIsNull(anyString()))
+        .thenReturn(Optional.of(new Consultant()));
+    when(agencyService.getAgencyWithoutCaching(eq(2L))).thenReturn(agencyDTO);
+    when(keycloakAdminClientService.userHasRole(any(), any())).thenReturn(true);
+    CreateConsultantAgencyDTO createConsultantAgencyDTO = new CreateConsultantAgencyDTO()
+        .role("valid role")
+        .agencyId(2L);
+
+    this.consultantAgencyRelationCreatorService
+        .verifyNewConsultantAgency("consultant Id", createConsultantAgencyDTO);
+
+    verifyNoInteractions(this.consultantAgencyService, this.sessionRepository,
+        this.rocketChatFacade);
+  }
+
+  @Test(expected = BadRequestException.class)
+  public void verifyNewConsultantAgency_Should_throwBadRequestException_When_consultantHasNotRequestedRole() {
+    when(this.consultantRepository.findByIdAndDeleteDateIsNull(anyString()))
+        .thenReturn(Optional.of(new Consultant()));
+    CreateConsultantAgencyDTO createConsultantAgencyDTO = new CreateConsultantAgencyDTO()
+        .role("invalid role")
+        .agencyId(2L);
+
+    this.consultantAgencyRelationCreatorService
+        .verifyNewConsultantAgency("consultant Id", createConsultantAgencyDTO);
+  }
+
+  @Test
+  public void createVerifiedConsultantAgency_Should_reportSessionsToProgressAndSaveRelation() {
+    AgencyDTO agencyDTO = new AgencyDTO()
+        .consultingType(1)
+        .id(2L);
+    when(this.consultantRepository.findByIdAndDeleteDateIsNull(anyString()))
+        .thenReturn(Optional.of(new Consultant()));
+    when(agencyService.getAgencyWithoutCaching(eq(2L))).thenReturn(agencyDTO);
+    AdminJobProgress progress = mock(AdminJobProgress.class);
+    CreateConsultantAgencyDTO createConsultantAgencyDTO = new CreateConsultantAgencyDTO()
+        .role("valid role")
+        .agencyId(2L);
+
+    this.consultantAgencyRelationCreatorService
+        .createVerifiedConsultantAgency("consultant Id", createConsultantAgencyDTO, progress);
+
+    verify(progress, times(1)).start(0);
+    verify(this.consultantAgencyService, times(1)).saveConsultantAgency(any());
+    verifyNoInteractions(this.keycloakAdminClientService);
+  }
+
+  @Test
+  public void createVerifiedConsultantAgency_Should_notSaveRelationAgain_When_relationAlreadyExists() {
+    AgencyDTO agencyDTO = new AgencyDTO()
+        .consultingType(1)
+        .id(2L);
+    Consultant consultant = new Consultant();
+    consultant.setId("consultant Id");
+    when(this.consultantRepository.findByIdAndDeleteDateIsNull(anyString()))
+        .thenReturn(Optional.of(consultant));
+    when(agencyService.getAgencyWithoutCaching(eq(2L))).thenReturn(agencyDTO);
+    when(this.consultantAgencyService.isConsultantInAgency("consultant Id", 2L)).thenReturn(true);
+    CreateConsultantAgencyDTO createConsultantAgencyDTO = new CreateConsultantAgencyDTO()
+        .role("valid role")
+        .agencyId(2L);
+
+    this.consultantAgencyRelationCreatorService.createVerifiedConsultantAgency("consultant Id",
+        createConsultantAgencyDTO, AdminJobProgress.NONE);
+
+    verify(this.consultantAgencyService, never()).saveConsultantAgency(any());
+  }
+
 }
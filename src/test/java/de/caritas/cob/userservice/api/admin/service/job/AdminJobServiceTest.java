@@ -0,0 +1,313 @@
+package de.caritas.cob.userservice.api.admin.service.job;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.reflect.Whitebox.setInternalState;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.exception.httpresponses.ConflictException;
+import de.caritas.cob.userservice.api.exception.httpresponses.NotFoundException;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.model.AdminJobDTO;
+import de.caritas.cob.userservice.api.model.AdminJobDTO.StatusEnum;
+import de.caritas.cob.userservice.api.model.AdminJobDTO.TypeEnum;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJob;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobRepository;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobStatus;
+import de.caritas.cob.userservice.api.repository.adminjob.AdminJobType;
+import de.caritas.cob.userservice.api.service.LogService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AdminJobServiceTest {
+
+  private final Map<String, AdminJob> persistedJobs = new HashMap<>();
+
+  @Mock
+  private AdminJobRepository adminJobRepository;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private AdminJobHandler adminJobHandler;
+
+  @BeforeEach
+  void setup() {
+    when(this.adminJobRepository.save(any())).then(invocation -> {
+      AdminJob adminJob = invocation.getArgument(0);
+      this.persistedJobs.put(adminJob.getId(), adminJob);
+      return adminJob;
+    });
+    when(this.adminJobRepository.findById(anyString()))
+        .then(invocation -> Optional.ofNullable(this.persistedJobs.get(invocation.getArgument(0))));
+    when(this.adminJobRepository.updateProgress(anyString(), anyInt(), anyInt(), anyInt(), any(),
+        any())).then(invocation -> {
+          AdminJob adminJob = this.persistedJobs.get(invocation.<String>getArgument(0));
+          adminJob.setTotalItems(invocation.getArgument(1));
+          adminJob.setProcessedItems(invocation.getArgument(2));
+          adminJob.setFailedItems(invocation.getArgument(3));
+          return 1;
+        });
+    when(this.adminJobRepository.completeJob(anyString(), any(), any(), any(), anyInt(), anyInt(),
+        anyInt(), any(), any())).then(invocation -> {
+          AdminJob adminJob = this.persistedJobs.get(invocation.<String>getArgument(0));
+          adminJob.setStatus(invocation.getArgument(1));
+          adminJob.setResult(invocation.getArgument(2));
+          adminJob.setErrorMessage(invocation.getArgument(3));
+          adminJob.setTotalItems(invocation.getArgument(4));
+          adminJob.setProcessedItems(invocation.getArgument(5));
+          adminJob.setFailedItems(invocation.getArgument(6));
+          adminJob.setFinishDate(invocation.getArgument(7));
+          return 1;
+        });
+    when(this.entityManagerFactory.createEntityManager()).thenReturn(mock(EntityManager.class));
+    when(this.adminJobHandler.getType()).thenReturn(AdminJobType.CREATE_CONSULTANT_AGENCY);
+  }
+
+  private AdminJobService buildAdminJobService(Executor executor) {
+    var adminJobService = new AdminJobService(this.adminJobRepository,
+        List.of(this.adminJobHandler), new ObjectMapper(),
+        new EntityManagerSessionRunner(this.entityManagerFactory), executor);
+    ReflectionTestUtils.setField(adminJobService, "retentionHours", 24L);
+    ReflectionTestUtils.setField(adminJobService, "progressFlushIntervalMillis", 0L);
+    ReflectionTestUtils.setField(adminJobService, "staleMinutes", 5L);
+    ReflectionTestUtils.setField(adminJobService, "maxAttempts", 3);
+    return adminJobService;
+  }
+
+  @Test
+  void submit_Should_runHandlerWithPayloadAndPersistProgress_When_handlerSucceeds() {
+    when(this.adminJobHandler.execute(eq("\"payload\""), any())).then(invocation -> {
+      AdminJobProgress progress = invocation.getArgument(1);
+      progress.start(3);
+      progress.itemProcessed();
+      progress.itemProcessed();
+      progress.itemFailed();
+      return "result";
+    });
+    var adminJobService = buildAdminJobService(Runnable::run);
+
+    AdminJobDTO submittedJob = adminJobService
+        .submit(AdminJobType.CREATE_CONSULTANT_AGENCY, "payload");
+    AdminJobDTO adminJob = adminJobService.findAdminJob(submittedJob.getId());
+
+    assertThat(adminJob.getType(), is(TypeEnum.CREATE_CONSULTANT_AGENCY));
+    assertThat(adminJob.getStatus(), is(StatusEnum.FINISHED));
+    assertThat(adminJob.getTotalItems(), is(3));
+    assertThat(adminJob.getProcessedItems(), is(2));
+    assertThat(adminJob.getFailedItems(), is(1));
+    assertThat(adminJob.getStartDate(), notNullValue());
+    assertThat(adminJob.getFinishDate(), notNullValue());
+    assertThat(adminJob.getDurationMillis(), notNullValue());
+    assertThat(adminJob.getErrorMessage(), nullValue());
+    assertThat(adminJob.getLinks().getSelf().getHref(), is("/useradmin/jobs/" + adminJob.getId()));
+    assertThat(this.persistedJobs.get(adminJob.getId()).getResult(), is("result"));
+    assertThat(this.persistedJobs.get(adminJob.getId()).getAttempts(), is(1));
+  }
+
+  @Test
+  void submit_Should_markJobAsFailedWithErrorMessage_When_handlerThrowsException() {
+    when(this.adminJobHandler.execute(any(), any()))
+        .thenThrow(new IllegalStateException("rocket chat not available"));
+    var adminJobService = buildAdminJobService(Runnable::run);
+
+    AdminJobDTO submittedJob = adminJobService
+        .submit(AdminJobType.CREATE_CONSULTANT_AGENCY, null);
+    AdminJobDTO adminJob = adminJobService.findAdminJob(submittedJob.getId());
+
+    assertThat(adminJob.getStatus(), is(StatusEnum.FAILED));
+    assertThat(adminJob.getErrorMessage(), is("rocket chat not available"));
+  }
+
+  @Test
+  void submit_Should_keepJobQueued_When_executorRejectsJob() {
+    var adminJobService = buildAdminJobService(runnable -> {
+      throw new RejectedExecutionException("queue full");
+    });
+
+    AdminJobDTO submittedJob = adminJobService
+        .submit(AdminJobType.CREATE_CONSULTANT_AGENCY, null);
+
+    assertThat(submittedJob.getStatus(), is(StatusEnum.QUEUED));
+    assertThat(submittedJob.getStartDate(), nullValue());
+    assertThat(submittedJob.getDurationMillis(), nullValue());
+    verify(this.adminJobHandler, never()).execute(any(), any());
+  }
+
+  @Test
+  void submit_Should_notRunHandler_When_jobHasBeenClaimedByAnotherInstance() {
+    var adminJobService = buildAdminJobService(runnable -> {
+      when(this.adminJobRepository.save(any()))
+          .thenThrow(new OptimisticLockingFailureException("claimed"));
+      runnable.run();
+    });
+
+    adminJobService.submit(AdminJobType.CREATE_CONSULTANT_AGENCY, null);
+
+    verify(this.adminJobHandler, never()).execute(any(), any());
+  }
+
+  @Test
+  void dispatchQueuedJobs_Should_runQueuedJobs() {
+    var queuedJob = buildPersistedJob(AdminJobStatus.QUEUED, 0);
+    when(this.adminJobRepository.findTop20ByStatusOrderByCreateDateAsc(AdminJobStatus.QUEUED))
+        .thenReturn(List.of(queuedJob));
+
+    buildAdminJobService(Runnable::run).dispatchQueuedJobs();
+
+    verify(this.adminJobHandler).execute(any(), any());
+    assertThat(queuedJob.getStatus(), is(AdminJobStatus.FINISHED));
+  }
+
+  @Test
+  void requeueStaleJobs_Should_queueStaleJobAgain_When_maxAttemptsAreNotReached() {
+    var staleJob = buildPersistedJob(AdminJobStatus.RUNNING, 1);
+    when(this.adminJobRepository.findByStatusAndHeartbeatDateBefore(eq(AdminJobStatus.RUNNING),
+        any())).thenReturn(List.of(staleJob));
+
+    buildAdminJobService(Runnable::run).requeueStaleJobs();
+
+    assertThat(staleJob.getStatus(), is(AdminJobStatus.QUEUED));
+    assertThat(staleJob.getWorker(), nullValue());
+  }
+
+  @Test
+  void requeueStaleJobs_Should_markStaleJobAsFailed_When_maxAttemptsAreReached() {
+    var staleJob = buildPersistedJob(AdminJobStatus.RUNNING, 3);
+    when(this.adminJobRepository.findByStatusAndHeartbeatDateBefore(eq(AdminJobStatus.RUNNING),
+        any())).thenReturn(List.of(staleJob));
+
+    buildAdminJobService(Runnable::run).requeueStaleJobs();
+
+    assertThat(staleJob.getStatus(), is(AdminJobStatus.FAILED));
+    assertThat(staleJob.getFinishDate(), notNullValue());
+    assertThat(staleJob.getErrorMessage(), notNullValue());
+  }
+
+  @Test
+  void removeExpiredJobs_Should_deleteJobsFinishedBeforeRetentionTime() {
+    var expiredJobs = List.of(buildPersistedJob(AdminJobStatus.FINISHED, 1));
+    when(this.adminJobRepository.findByFinishDateBefore(any())).thenReturn(expiredJobs);
+
+    buildAdminJobService(Runnable::run).removeExpiredJobs();
+
+    verify(this.adminJobRepository).deleteAll(expiredJobs);
+  }
+
+  @Test
+  void removeExpiredJobs_Should_deleteReportFilesOfExpiredViolationReportJobs(
+      @TempDir Path reportDirectory) throws IOException {
+    var reportFile = Files.createFile(reportDirectory.resolve("violation_report.ndjson"));
+    var expiredJob = buildPersistedJob(AdminJobStatus.FINISHED, 1);
+    expiredJob.setType(AdminJobType.GENERATE_VIOLATION_REPORT);
+    expiredJob.setResult(reportFile.toString());
+    when(this.adminJobRepository.findByFinishDateBefore(any())).thenReturn(List.of(expiredJob));
+
+    buildAdminJobService(Runnable::run).removeExpiredJobs();
+
+    assertThat(Files.exists(reportFile), is(false));
+    verify(this.adminJobRepository).deleteAll(List.of(expiredJob));
+  }
+
+  @Test
+  void removeExpiredJobs_Should_logWarningAndDeleteJob_When_reportFileCanNotBeDeleted(
+      @TempDir Path reportDirectory) throws IOException {
+    Files.createFile(reportDirectory.resolve("violation_report.ndjson"));
+    var expiredJob = buildPersistedJob(AdminJobStatus.FINISHED, 1);
+    expiredJob.setType(AdminJobType.GENERATE_VIOLATION_REPORT);
+    expiredJob.setResult(reportDirectory.toString());
+    when(this.adminJobRepository.findByFinishDateBefore(any())).thenReturn(List.of(expiredJob));
+    var logger = mock(Logger.class);
+    setInternalState(LogService.class, "LOGGER", logger);
+
+    buildAdminJobService(Runnable::run).removeExpiredJobs();
+
+    verify(logger).warn(anyString());
+    verify(this.adminJobRepository).deleteAll(List.of(expiredJob));
+  }
+
+  @Test
+  void findAdminJob_Should_throwNotFoundException_When_jobDoesNotExist() {
+    var adminJobService = buildAdminJobService(Runnable::run);
+
+    assertThrows(NotFoundException.class, () -> adminJobService.findAdminJob("unknown"));
+  }
+
+  @Test
+  void findAdminJobResult_Should_returnResult_When_jobIsFinished() {
+    var finishedJob = buildPersistedJob(AdminJobStatus.FINISHED, 1);
+    finishedJob.setResult("result");
+
+    var result = buildAdminJobService(Runnable::run)
+        .findAdminJobResult(finishedJob.getId(), AdminJobType.CREATE_CONSULTANT_AGENCY);
+
+    assertThat(result, is("result"));
+  }
+
+  @Test
+  void findAdminJobResult_Should_throwConflictException_When_jobIsNotFinished() {
+    var runningJob = buildPersistedJob(AdminJobStatus.RUNNING, 1);
+    var adminJobService = buildAdminJobService(Runnable::run);
+
+    assertThrows(ConflictException.class, () -> adminJobService
+        .findAdminJobResult(runningJob.getId(), AdminJobType.CREATE_CONSULTANT_AGENCY));
+  }
+
+  @Test
+  void findAdminJobResult_Should_throwNotFoundException_When_jobHasOtherType() {
+    var finishedJob = buildPersistedJob(AdminJobStatus.FINISHED, 1);
+    var adminJobService = buildAdminJobService(Runnable::run);
+
+    assertThrows(NotFoundException.class, () -> adminJobService
+        .findAdminJobResult(finishedJob.getId(), AdminJobType.GENERATE_VIOLATION_REPORT));
+  }
+
+  private AdminJob buildPersistedJob(AdminJobStatus status, int attempts) {
+    var adminJob = AdminJob.builder()
+        .id("jobId" + this.persistedJobs.size())
+        .type(AdminJobType.CREATE_CONSULTANT_AGENCY)
+        .status(status)
+        .attempts(attempts)
+        .worker("worker")
+        .createDate(nowInUtc())
+        .build();
+    this.persistedJobs.put(adminJob.getId(), adminJob);
+    return adminJob;
+  }
+
+}
@@ -3,15 +3,19 @@ package de.caritas.cob.userservice.api.admin.service.rocketchat;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.caritas.cob.userservice.api.admin.service.job.AdminJobProgress;
 import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
 import de.caritas.cob.userservice.api.facade.RocketChatFacade;
 import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeManager;
@@ -20,6 +24,9 @@ import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.repository.session.SessionStatus;
 import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientService;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import org.jeasy.random.EasyRandom;
 import org.junit.Test;
@@ -142,4 +149,98 @@ public class RocketChatAddToGroupOperationServiceTest {
     }
   }
 
+  @Test
+  public void addToGroupsOrRollbackOnFailure_Should_reportProgressOfEachSession_When_processedInParallel() {
+    List<Session> sessions = List.of(newEnquiry(), newEnquiry(), newEnquiry());
+    Consultant consultant = easyRandom.nextObject(Consultant.class);
+    AdminJobProgress progress = mock(AdminJobProgress.class);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      RocketChatAddToGroupOperationService
+          .getInstance(this.rocketChatFacade, this.keycloakAdminClientService, logMethod,
+              consultingTypeManager)
+          .onSessions(sessions)
+          .withConsultant(consultant)
+          .withProgress(progress)
+          .inParallel(executor, 2)
+          .addToGroupsOrRollbackOnFailure();
+    } finally {
+      executor.shutdown();
+    }
+
+    verify(progress, times(1)).start(3);
+    verify(progress, times(3)).itemProcessed();
+    verify(progress, never()).itemFailed();
+    sessions.forEach(session -> verify(this.rocketChatFacade, times(1))
+        .addUserToRocketChatGroup(consultant.getRocketChatId(), session.getGroupId()));
+  }
+
+  @Test
+  public void addToGroupsOrRollbackOnFailure_Should_stopAfterFailedBatchAndRollbackOnlyTouchedSessions() {
+    Session failingSession = newEnquiry();
+    Session succeedingSession = newEnquiry();
+    Session untouchedSession = newEnquiry();
+    Consultant consultant = easyRandom.nextObject(Consultant.class);
+    AdminJobProgress progress = mock(AdminJobProgress.class);
+    doThrow(new RuntimeException("")).when(this.rocketChatFacade)
+        .addUserToRocketChatGroup(consultant.getRocketChatId(), failingSession.getGroupId());
+
+    try {
+      RocketChatAddToGroupOperationService
+          .getInstance(this.rocketChatFacade, this.keycloakAdminClientService, logMethod,
+              consultingTypeManager)
+          .onSessions(List.of(failingSession, succeedingSession, untouchedSession))
+          .withConsultant(consultant)
+          .withProgress(progress)
+          .inParallel(Runnable::run, 2)
+          .addToGroupsOrRollbackOnFailure();
+      fail("Internal Server Error was not thrown");
+    } catch (InternalServerErrorException e) {
+      verify(progress, times(1)).itemFailed();
+      verify(progress, times(1)).itemProcessed();
+      verify(this.rocketChatFacade, never())
+          .addUserToRocketChatGroup(anyString(), eq(untouchedSession.getGroupId()));
+      verify(this.rocketChatFacade, times(1))
+          .retrieveRocketChatMembers(succeedingSession.getGroupId());
+      verify(this.rocketChatFacade, never())
+          .retrieveRocketChatMembers(untouchedSession.getGroupId());
+    }
+  }
+
+  @Test
+  public void addToGroupsOrRollbackOnFailure_Should_retryRollback_When_rollbackFailsTemporarily() {
+    Session session = newEnquiry();
+    Consultant consultant = easyRandom.nextObject(Consultant.class);
+    doThrow(new RuntimeException("")).when(this.rocketChatFacade)
+        .addUserToRocketChatGroup(anyString(), anyString());
+    GroupMemberDTO memberOfGroup = new GroupMemberDTO();
+    memberOfGroup.set_id(consultant.getRocketChatId());
+    when(this.rocketChatFacade.retrieveRocketChatMembers(anyString())).thenReturn(singletonList(
+        memberOfGroup));
+    doThrow(new RuntimeException("")).doNothing().when(this.rocketChatFacade)
+        .removeUserFromGroup(consultant.getRocketChatId(), session.getGroupId());
+
+    try {
+      RocketChatAddToGroupOperationService
+          .getInstance(this.rocketChatFacade, this.keycloakAdminClientService, logMethod,
+              consultingTypeManager)
+          .onSessions(singletonList(session))
+          .withConsultant(consultant)
+          .addToGroupsOrRollbackOnFailure();
+      fail("Internal Server Error was not thrown");
+    } catch (InternalServerErrorException e) {
+      assertThat(e.getMessage(), startsWith("ERROR: Consultant could not be added to rc group"));
+      verify(this.rocketChatFacade, times(2))
+          .removeUserFromGroup(consultant.getRocketChatId(), session.getGroupId());
+    }
+  }
+
+  private Session newEnquiry() {
+    Session session = easyRandom.nextObject(Session.class);
+    session.setStatus(SessionStatus.NEW);
+    session.setFeedbackGroupId(null);
+    return session;
+  }
+
 }
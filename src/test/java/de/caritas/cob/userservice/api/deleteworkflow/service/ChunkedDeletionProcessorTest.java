@@ -0,0 +1,142 @@
+package de.caritas.cob.userservice.api.deleteworkflow.service;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.repository.deletionworkflow.DeletionWorkflowCheckpoint;
+import de.caritas.cob.userservice.api.repository.deletionworkflow.DeletionWorkflowCheckpointRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChunkedDeletionProcessorTest {
+
+  private static final String WORKFLOW = "workflow";
+  private static final List<String> KEYS = List.of("a", "b", "c", "d", "e");
+
+  private ChunkedDeletionProcessor chunkedDeletionProcessor;
+
+  @Mock
+  private DeletionWorkflowCheckpointRepository checkpointRepository;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Before
+  public void setup() {
+    lenient().when(this.entityManagerFactory.createEntityManager())
+        .thenReturn(mock(EntityManager.class));
+    this.chunkedDeletionProcessor = new ChunkedDeletionProcessor(this.checkpointRepository,
+        new EntityManagerSessionRunner(this.entityManagerFactory));
+    ReflectionTestUtils.setField(this.chunkedDeletionProcessor, "chunkSize", 2);
+  }
+
+  @Test
+  public void deleteInChunks_Should_deleteAllEntriesInChunksOfConfiguredSize() {
+    List<List<String>> deletedChunks = new ArrayList<>();
+
+    this.chunkedDeletionProcessor.deleteInChunks(WORKFLOW, keysBehind(),
+        key -> key, chunk -> {
+          deletedChunks.add(chunk);
+          return emptyList();
+        });
+
+    assertThat(deletedChunks, contains(List.of("a", "b"), List.of("c", "d"), List.of("e")));
+  }
+
+  @Test
+  public void deleteInChunks_Should_storeCheckpointAfterEachFullChunkAndRemoveItAtTheEnd() {
+    when(this.checkpointRepository.existsById(WORKFLOW)).thenReturn(true);
+
+    this.chunkedDeletionProcessor.deleteInChunks(WORKFLOW, keysBehind(),
+        key -> key, chunk -> emptyList());
+
+    ArgumentCaptor<DeletionWorkflowCheckpoint> captor =
+        ArgumentCaptor.forClass(DeletionWorkflowCheckpoint.class);
+    verify(this.checkpointRepository, times(2)).save(captor.capture());
+    assertThat(captor.getAllValues().stream()
+        .map(DeletionWorkflowCheckpoint::getLastKey)
+        .collect(Collectors.toList()), contains("b", "d"));
+    verify(this.checkpointRepository, times(1)).deleteById(WORKFLOW);
+  }
+
+  @Test
+  public void deleteInChunks_Should_resumeBehindCheckpoint_When_checkpointExists() {
+    when(this.checkpointRepository.findById(WORKFLOW))
+        .thenReturn(Optional.of(new DeletionWorkflowCheckpoint(WORKFLOW, "c", null)));
+    List<String> deletedKeys = new ArrayList<>();
+
+    this.chunkedDeletionProcessor.deleteInChunks(WORKFLOW, keysBehind(),
+        key -> key, chunk -> {
+          deletedKeys.addAll(chunk);
+          return emptyList();
+        });
+
+    assertThat(deletedKeys, contains("d", "e"));
+  }
+
+  @Test
+  public void deleteInChunks_Should_returnErrorsOfAllChunks() {
+    DeletionWorkflowError error = mock(DeletionWorkflowError.class);
+
+    List<DeletionWorkflowError> errors = this.chunkedDeletionProcessor
+        .deleteInChunks(WORKFLOW, keysBehind(), key -> key, chunk -> singletonList(error));
+
+    assertThat(errors, hasSize(3));
+  }
+
+  @Test
+  public void deleteInChunks_Should_keepLastCheckpoint_When_chunkDeletionFails() {
+    try {
+      this.chunkedDeletionProcessor.deleteInChunks(WORKFLOW, keysBehind(),
+          key -> key, chunk -> {
+            if (chunk.contains("c")) {
+              throw new IllegalStateException("failure");
+            }
+            return emptyList();
+          });
+      fail("Exception was not thrown");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), is("failure"));
+    }
+
+    verify(this.checkpointRepository, times(1)).save(any());
+    verify(this.checkpointRepository, never()).deleteById(eq(WORKFLOW));
+  }
+
+  private BiFunction<String, Pageable, List<String>> keysBehind() {
+    return (lastKey, pageable) -> KEYS.stream()
+        .filter(key -> key.compareTo(lastKey) > 0)
+        .limit(pageable.getPageSize())
+        .collect(Collectors.toList());
+  }
+
+}
@@ -2,9 +2,13 @@ package de.caritas.cob.userservice.api.deleteworkflow.service;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -19,22 +23,31 @@ import de.caritas.cob.userservice.api.deleteworkflow.action.consultant.DeleteDat
 import de.caritas.cob.userservice.api.deleteworkflow.action.consultant.DeleteRocketChatConsultantAction;
 import de.caritas.cob.userservice.api.deleteworkflow.model.AskerDeletionWorkflowDTO;
 import de.caritas.cob.userservice.api.deleteworkflow.model.ConsultantDeletionWorkflowDTO;
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
 import de.caritas.cob.userservice.api.exception.rocketchat.RocketChatDeleteUserException;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
+import de.caritas.cob.userservice.api.repository.deletionworkflow.DeletionWorkflowCheckpointRepository;
 import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.repository.user.UserRepository;
 import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DeleteUserAccountServiceTest {
 
-  @InjectMocks
   private DeleteUserAccountService deleteUserAccountService;
 
   @Mock
@@ -49,7 +62,32 @@ public class DeleteUserAccountServiceTest {
   @Mock
   private WorkflowErrorMailService workflowErrorMailService;
 
+  @Mock
+  private DeletionWorkflowCheckpointRepository checkpointRepository;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
   private final ActionCommandMockProvider commandMockProvider = new ActionCommandMockProvider();
+  private final ExecutorService deletionWorkflowExecutor = Executors.newFixedThreadPool(2);
+
+  @Before
+  public void setup() {
+    lenient().when(this.entityManagerFactory.createEntityManager())
+        .thenReturn(mock(EntityManager.class));
+    ChunkedDeletionProcessor chunkedDeletionProcessor = new ChunkedDeletionProcessor(
+        this.checkpointRepository, new EntityManagerSessionRunner(this.entityManagerFactory));
+    ReflectionTestUtils.setField(chunkedDeletionProcessor, "chunkSize", 100);
+    this.deleteUserAccountService = new DeleteUserAccountService(this.userRepository,
+        this.consultantRepository, this.actionsRegistry, this.workflowErrorMailService,
+        chunkedDeletionProcessor, new DeletionTargetLimiter(1, 1),
+        new EntityManagerSessionRunner(this.entityManagerFactory), this.deletionWorkflowExecutor);
+  }
+
+  @After
+  public void shutdownExecutor() {
+    this.deletionWorkflowExecutor.shutdownNow();
+  }
 
   @Test
   public void deleteUserAccounts_Should_notPerformAnyDeletion_When_noUserAccountIsMarkedDeleted() {
@@ -62,7 +100,9 @@ public class DeleteUserAccountServiceTest {
   @Test
   public void deleteUserAccounts_Should_performAskerDeletion_When_userIsMarkedAsDeleted() {
     User user = new User();
-    when(this.userRepository.findAllByDeleteDateNotNull()).thenReturn(singletonList(user));
+    when(this.userRepository
+        .findByDeleteDateNotNullAndUserIdGreaterThanOrderByUserIdAsc(any(), any()))
+        .thenReturn(singletonList(user));
     when(this.actionsRegistry.buildContainerForType(AskerDeletionWorkflowDTO.class))
         .thenReturn(this.commandMockProvider.getActionContainer(AskerDeletionWorkflowDTO.class));
 
@@ -77,7 +117,8 @@ public class DeleteUserAccountServiceTest {
   @Test
   public void deleteUserAccounts_Should_performConsultantDeletion_When_consultantIsMarkedAsDeleted() {
     Consultant consultant = new Consultant();
-    when(this.consultantRepository.findAllByDeleteDateNotNull())
+    when(this.consultantRepository
+        .findByDeleteDateNotNullAndIdGreaterThanOrderByIdAsc(any(), any()))
         .thenReturn(singletonList(consultant));
     when(this.actionsRegistry.buildContainerForType(ConsultantDeletionWorkflowDTO.class))
         .thenReturn(
@@ -97,11 +138,14 @@ public class DeleteUserAccountServiceTest {
       throws RocketChatDeleteUserException {
     Consultant consultant = new Consultant();
     consultant.setRocketChatId("rc consultant id");
-    when(this.consultantRepository.findAllByDeleteDateNotNull())
+    when(this.consultantRepository
+        .findByDeleteDateNotNullAndIdGreaterThanOrderByIdAsc(any(), any()))
         .thenReturn(singletonList(consultant));
     User user = new User();
     user.setRcUserId("rc user id");
-    when(this.userRepository.findAllByDeleteDateNotNull()).thenReturn(singletonList(user));
+    when(this.userRepository
+        .findByDeleteDateNotNullAndUserIdGreaterThanOrderByUserIdAsc(any(), any()))
+        .thenReturn(singletonList(user));
     RocketChatService rocketChatService = mock(RocketChatService.class);
     DeleteRocketChatAskerAction deleteRocketChatAskerAction =
         new DeleteRocketChatAskerAction(rocketChatService);
@@ -123,4 +167,25 @@ public class DeleteUserAccountServiceTest {
     verify(this.workflowErrorMailService, times(1)).buildAndSendErrorMail(anyList());
   }
 
+  @Test
+  public void performUserDeletions_Should_deleteAllUsersAndReportFailure_When_oneUserDeletionFails() {
+    User failingUser = new User();
+    failingUser.setUserId("failing");
+    User user = new User();
+    user.setUserId("user");
+    when(this.actionsRegistry.buildContainerForType(AskerDeletionWorkflowDTO.class))
+        .thenReturn(this.commandMockProvider.getActionContainer(AskerDeletionWorkflowDTO.class));
+    doThrow(new IllegalStateException()).when(
+        this.commandMockProvider.getActionMock(DeleteDatabaseAskerAction.class))
+        .execute(new AskerDeletionWorkflowDTO(failingUser, emptyList()));
+
+    List<DeletionWorkflowError> workflowErrors =
+        this.deleteUserAccountService.performUserDeletions(List.of(failingUser, user));
+
+    verify(this.commandMockProvider.getActionMock(DeleteDatabaseAskerAction.class), times(1))
+        .execute(new AskerDeletionWorkflowDTO(user, emptyList()));
+    assertThat(workflowErrors, hasSize(1));
+    assertThat(workflowErrors.get(0).getIdentifier(), is("failing"));
+  }
+
 }
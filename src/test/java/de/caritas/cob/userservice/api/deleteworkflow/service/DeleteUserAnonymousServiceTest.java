@@ -1,6 +1,11 @@
 package de.caritas.cob.userservice.api.deleteworkflow.service;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -8,23 +13,19 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionWorkflowError;
-import de.caritas.cob.userservice.api.repository.session.Session;
-import de.caritas.cob.userservice.api.repository.session.SessionRepository;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.repository.deletionworkflow.DeletionWorkflowCheckpointRepository;
 import de.caritas.cob.userservice.api.repository.session.SessionStatus;
 import de.caritas.cob.userservice.api.repository.user.User;
+import de.caritas.cob.userservice.api.repository.user.UserRepository;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -34,11 +35,10 @@ class DeleteUserAnonymousServiceTest {
 
   private static final int DELETION_PERIOD_MINUTES = 1200;
 
-  @InjectMocks
   private DeleteUserAnonymousService deleteUserAnonymousService;
 
   @Mock
-  private SessionRepository sessionRepository;
+  private UserRepository userRepository;
 
   @Mock
   private DeleteUserAccountService deleteUserAccountService;
@@ -46,14 +46,27 @@ class DeleteUserAnonymousServiceTest {
   @Mock
   private WorkflowErrorMailService workflowErrorMailService;
 
+  @Mock
+  private DeletionWorkflowCheckpointRepository checkpointRepository;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
   @BeforeEach
   public void setUp() {
+    lenient().when(this.entityManagerFactory.createEntityManager())
+        .thenReturn(mock(EntityManager.class));
+    var chunkedDeletionProcessor = new ChunkedDeletionProcessor(this.checkpointRepository,
+        new EntityManagerSessionRunner(this.entityManagerFactory));
+    ReflectionTestUtils.setField(chunkedDeletionProcessor, "chunkSize", 100);
+    this.deleteUserAnonymousService = new DeleteUserAnonymousService(this.userRepository,
+        this.deleteUserAccountService, this.workflowErrorMailService, chunkedDeletionProcessor);
     ReflectionTestUtils.setField(deleteUserAnonymousService, "deletionPeriodMinutes",
         DELETION_PERIOD_MINUTES);
   }
 
   @Test
-  void deleteInactiveAnonymousUsers_Should_notPerformAnyDeletion_When_noSessionIsAvailable() {
+  void deleteInactiveAnonymousUsers_Should_notPerformAnyDeletion_When_noUserIsDeletable() {
     this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
 
     verifyNoMoreInteractions(this.workflowErrorMailService);
@@ -61,130 +74,51 @@ class DeleteUserAnonymousServiceTest {
   }
 
   @Test
-  void deleteInactiveAnonymousUsers_Should_notPerformAnyDeletion_When_noSessionIsDone() {
-    whenSessionRepositoryFindByStatus_ThenReturnUserSessionsWithStatus(
-        getAnyStatusWhichIsNotDone());
+  void deleteInactiveAnonymousUsers_Should_searchUsersWithOnlyDoneSessionsOutsideDeletionPeriod() {
+    LocalDateTime before = LocalDateTime.now().minusMinutes(DELETION_PERIOD_MINUTES);
 
     this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
 
-    verifyNoMoreInteractions(this.workflowErrorMailService);
-    verifyNoMoreInteractions(this.deleteUserAccountService);
-  }
-
-  private SessionStatus[] getAnyStatusWhichIsNotDone() {
-    List<SessionStatus> anyStatusNotDone = new ArrayList<>(List.of(SessionStatus.values()));
-    anyStatusNotDone.remove(SessionStatus.DONE);
-    return anyStatusNotDone.toArray(SessionStatus[]::new);
-  }
-
-  private void whenSessionRepositoryFindByStatus_ThenReturnUserSessionsWithStatus(
-      SessionStatus... sessionStatus) {
-    User user = new User();
-    Set<Session> userSessions = Stream.of(sessionStatus)
-        .map(createSessionForUserWithUpdateDateNow(user))
-        .collect(Collectors.toSet());
-    user.setSessions(userSessions);
-
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
-  }
-
-  private Function<SessionStatus, Session> createSessionForUserWithUpdateDateNow(User user) {
-    return createSessionForUserWithUpdateDate(user, LocalDateTime.now());
-  }
-
-  private Function<SessionStatus, Session> createSessionForUserWithUpdateDate(User user,
-      LocalDateTime sessionUpdateDate) {
-    return (sessionStatus) -> createSessionForUser(user, sessionUpdateDate, sessionStatus);
-  }
-
-  private Session createSessionForUser(User user, LocalDateTime updateDate,
-      SessionStatus sessionStatus) {
-    Session session = new Session();
-    session.setId((long) sessionStatus.getValue());
-    session.setUpdateDate(updateDate);
-    session.setStatus(sessionStatus);
-    session.setUser(user);
-    return session;
+    LocalDateTime after = LocalDateTime.now().minusMinutes(DELETION_PERIOD_MINUTES);
+    ArgumentCaptor<LocalDateTime> deletionTimeCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(this.userRepository, times(1)).findUserIdsWithAllSessionsInStatusUpdatedBefore(
+        eq(ChunkedDeletionProcessor.FIRST_KEY), eq(SessionStatus.DONE),
+        deletionTimeCaptor.capture(), any());
+    assertThat(deletionTimeCaptor.getValue(), greaterThanOrEqualTo(before));
+    assertThat(deletionTimeCaptor.getValue(), lessThanOrEqualTo(after));
   }
 
   @Test
-  void deleteInactiveAnonymousUsers_Should_notPerformAnyDeletion_When_notAllSessionsAreDone() {
-    whenSessionRepositoryFindByStatus_ThenReturnUserSessionsWithStatus(
-        SessionStatus.IN_PROGRESS, SessionStatus.DONE);
-
-    this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
-
-    verifyNoMoreInteractions(this.workflowErrorMailService);
-    verifyNoMoreInteractions(this.deleteUserAccountService);
-  }
-
-  @ParameterizedTest
-  @MethodSource("createUpdateDatesWithinDeletionPeriod")
-  void deleteInactiveAnonymousUsers_Should_notPerformAnyDeletion_When_sessionsAreDoneWithinDeletionPeriod(
-      LocalDateTime updateDate) {
-    User user = new User();
-    Set<Session> userSessions = Set.of(createSessionForUser(user, updateDate, SessionStatus.DONE));
-    user.setSessions(userSessions);
-
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
-
-    this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
-
-    verifyNoMoreInteractions(this.workflowErrorMailService);
-    verifyNoMoreInteractions(this.deleteUserAccountService);
-  }
-
-  private static List<LocalDateTime> createUpdateDatesWithinDeletionPeriod() {
-    LocalDateTime now = LocalDateTime.now();
-    LocalDateTime oneSecondWithinDeletionPeriod = now
-        .minusMinutes(DELETION_PERIOD_MINUTES)
-        .plusSeconds(1);
-    LocalDateTime timeInTheFuture = now.plusSeconds(20);
-
-    return List.of(now, oneSecondWithinDeletionPeriod, timeInTheFuture);
-  }
-
-  @ParameterizedTest
-  @MethodSource("createOverdueUpdateDates")
-  void deleteInactiveAnonymousUsers_Should_performAskerDeletion_When_userSessionsAreDoneAndOverdue(
-      LocalDateTime overdueUpdateDate) {
+  void deleteInactiveAnonymousUsers_Should_performAskerDeletion_When_usersAreDeletable() {
     User user = new User();
-    Set<Session> userSessions = Set.of(createSessionForUser(user, overdueUpdateDate,
-        SessionStatus.DONE));
-    user.setSessions(userSessions);
-
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
+    user.setUserId("userId");
+    givenDeletableUsers(user);
 
     this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
 
     verifyNoMoreInteractions(this.workflowErrorMailService);
-    verify(this.deleteUserAccountService, times(1)).performUserDeletion(user);
-  }
-
-  private static List<LocalDateTime> createOverdueUpdateDates() {
-    LocalDateTime now = LocalDateTime.now();
-    LocalDateTime oneDeletionPeriodAgo = now
-        .minusMinutes(DELETION_PERIOD_MINUTES);
-    LocalDateTime timeLongInThePast = oneDeletionPeriodAgo.minusMinutes(10);
-
-    return List.of(oneDeletionPeriodAgo, timeLongInThePast);
+    verify(this.deleteUserAccountService, times(1)).performUserDeletions(List.of(user));
   }
 
   @Test
   void deleteInactiveAnonymousUsers_Should_sendErrorMails_When_someActionsFail() {
     User user = new User();
-    Set<Session> userSessions = Set.of(
-        createSessionForUser(user, createOverdueUpdateDates().get(0), SessionStatus.DONE));
-    user.setSessions(userSessions);
-
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
+    user.setUserId("userId");
+    givenDeletableUsers(user);
 
     DeletionWorkflowError error = mock(DeletionWorkflowError.class);
-    when(this.deleteUserAccountService.performUserDeletion(any())).thenReturn(List.of(error));
+    when(this.deleteUserAccountService.performUserDeletions(any())).thenReturn(List.of(error));
 
     this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
 
     verify(this.workflowErrorMailService, times(1)).buildAndSendErrorMail(List.of(error));
-    verify(this.deleteUserAccountService, times(1)).performUserDeletion(user);
+    verify(this.deleteUserAccountService, times(1)).performUserDeletions(List.of(user));
+  }
+
+  private void givenDeletableUsers(User user) {
+    when(this.userRepository.findUserIdsWithAllSessionsInStatusUpdatedBefore(any(), any(), any(),
+        any())).thenReturn(List.of(user.getUserId()));
+    when(this.userRepository.findByUserIdInOrderByUserIdAsc(List.of(user.getUserId())))
+        .thenReturn(List.of(user));
   }
 }
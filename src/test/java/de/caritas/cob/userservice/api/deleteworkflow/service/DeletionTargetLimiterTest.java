@@ -0,0 +1,80 @@
+package de.caritas.cob.userservice.api.deleteworkflow.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.deleteworkflow.action.DeletionTargetAction;
+import de.caritas.cob.userservice.api.deleteworkflow.model.DeletionTargetType;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DeletionTargetLimiterTest {
+
+  private final DeletionTargetLimiter deletionTargetLimiter = new DeletionTargetLimiter(1, 2);
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @AfterEach
+  void shutdownExecutor() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  void runLimited_Should_runExecution_When_actionIsNoDeletionTargetAction() {
+    AtomicInteger executions = new AtomicInteger();
+
+    this.deletionTargetLimiter.runLimited(new Object(), executions::incrementAndGet);
+
+    assertThat(executions.get(), is(1));
+  }
+
+  @Test
+  void runLimited_Should_limitConcurrentExecutions_When_actionsHaveSameTargetType()
+      throws InterruptedException {
+    assertThat(maxConcurrentExecutions(DeletionTargetType.ROCKET_CHAT), is(2));
+  }
+
+  @Test
+  void runLimited_Should_notLimitExecutions_When_targetTypeIsNotLimited()
+      throws InterruptedException {
+    assertThat(maxConcurrentExecutions(DeletionTargetType.DATABASE), is(4));
+  }
+
+  private int maxConcurrentExecutions(DeletionTargetType targetType)
+      throws InterruptedException {
+    DeletionTargetAction action = mock(DeletionTargetAction.class);
+    when(action.getDeletionTargetType()).thenReturn(targetType);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch finished = new CountDownLatch(4);
+
+    for (int i = 0; i < 4; i++) {
+      this.executor.execute(() -> {
+        this.deletionTargetLimiter.runLimited(action, () -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          sleep();
+          running.decrementAndGet();
+        });
+        finished.countDown();
+      });
+    }
+
+    finished.await(5, TimeUnit.SECONDS);
+    return maxRunning.get();
+  }
+
+  private void sleep() {
+    try {
+      Thread.sleep(200);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -3,7 +3,6 @@ package de.caritas.cob.userservice.api.facade;
 import static de.caritas.cob.userservice.api.repository.session.RegistrationType.ANONYMOUS;
 import static de.caritas.cob.userservice.api.repository.session.RegistrationType.REGISTERED;
 import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
-import static de.caritas.cob.userservice.testHelper.ExceptionConstants.INTERNAL_SERVER_ERROR_EXCEPTION;
 import static de.caritas.cob.userservice.testHelper.ExceptionConstants.RC_ADD_USER_TO_GROUP_EXCEPTION;
 import static de.caritas.cob.userservice.testHelper.ExceptionConstants.RC_CHAT_REMOVE_SYSTEM_MESSAGES_EXCEPTION;
 import static de.caritas.cob.userservice.testHelper.ExceptionConstants.RC_POST_MESSAGE_EXCEPTION;
@@ -96,6 +95,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CreateEnquiryMessageFacadeTest {
@@ -167,9 +167,6 @@ public class CreateEnquiryMessageFacadeTest {
   @InjectMocks
   private CreateEnquiryMessageFacade createEnquiryMessageFacade;
 
-  @Mock
-  private EmailNotificationFacade emailNotificationFacade;
-
   @Mock
   private SessionService sessionService;
 
@@ -283,8 +280,7 @@ public class CreateEnquiryMessageFacadeTest {
     verify(messageServiceProvider, atLeastOnce()).postEnquiryMessage(any(), any(), any(), any());
     verify(messageServiceProvider, atLeastOnce())
         .postWelcomeMessageIfConfigured(any(), any(), any(), any());
-    verify(sessionService, atLeastOnce()).saveSession(any());
-    verify(emailNotificationFacade, atLeastOnce()).sendNewEnquiryEmailNotification(any());
+    verify(sessionService, atLeastOnce()).saveEnquirySession(any());
   }
 
   @Test(expected = ConflictException.class)
@@ -530,7 +526,7 @@ public class CreateEnquiryMessageFacadeTest {
         .setFeedbackGroupId(groupResponseDTO.getGroup().getId());
     assertNotNull(spySession.getEnquiryMessageDate());
     verify(spySession, times(1)).setStatus(SessionStatus.NEW);
-    verify(sessionService, times(1)).saveSession(spySession);
+    verify(sessionService, times(1)).saveEnquirySession(spySession);
   }
 
   @Test(expected = InternalServerErrorException.class)
@@ -826,7 +822,8 @@ public class CreateEnquiryMessageFacadeTest {
         .thenReturn(Optional.of(GROUP_RESPONSE_DTO));
     when(rocketChatService.createPrivateGroupWithSystemUser(Mockito.any()))
         .thenReturn(Optional.of(FEEDBACK_GROUP_RESPONSE_DTO_2));
-    when(sessionService.saveSession(spySession)).thenThrow(INTERNAL_SERVER_ERROR_EXCEPTION);
+    doThrow(new DataIntegrityViolationException("session could not be saved"))
+        .when(sessionService).saveEnquirySession(spySession);
 
     try {
       createEnquiryMessageFacade.createEnquiryMessage(USER, SESSION_ID, MESSAGE, RC_CREDENTIALS);
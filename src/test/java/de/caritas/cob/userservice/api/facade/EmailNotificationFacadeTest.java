@@ -21,7 +21,6 @@ import static de.caritas.cob.userservice.testHelper.TestConstants.IS_NOT_OFFLINE
 import static de.caritas.cob.userservice.testHelper.TestConstants.IS_NO_TEAM_AGENCY;
 import static de.caritas.cob.userservice.testHelper.TestConstants.IS_NO_TEAM_SESSION;
 import static de.caritas.cob.userservice.testHelper.TestConstants.IS_TEAM_SESSION;
-import static de.caritas.cob.userservice.testHelper.TestConstants.NAME;
 import static de.caritas.cob.userservice.testHelper.TestConstants.POSTCODE;
 import static de.caritas.cob.userservice.testHelper.TestConstants.RC_FEEDBACK_GROUP_ID;
 import static de.caritas.cob.userservice.testHelper.TestConstants.RC_GROUP_ID;
@@ -29,12 +28,17 @@ import static de.caritas.cob.userservice.testHelper.TestConstants.USERNAME;
 import static de.caritas.cob.userservice.testHelper.TestConstants.USERNAME_CONSULTANT_ENCODED;
 import static de.caritas.cob.userservice.testHelper.TestConstants.USERNAME_ENCODED;
 import static de.caritas.cob.userservice.testHelper.TestConstants.USER_ID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -52,16 +56,21 @@ import de.caritas.cob.userservice.api.model.rocketchat.group.GroupMemberDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgency;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgencyRepository;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationType;
 import de.caritas.cob.userservice.api.repository.session.Session;
+import de.caritas.cob.userservice.api.repository.session.SessionParticipants;
 import de.caritas.cob.userservice.api.repository.session.SessionStatus;
 import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.service.ConsultantAgencyService;
 import de.caritas.cob.userservice.api.service.ConsultantService;
 import de.caritas.cob.userservice.api.service.LogService;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
-import de.caritas.cob.userservice.api.service.helper.MailService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationOutboxService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationPayload;
 import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.service.session.SessionParticipantsResolver;
 import de.caritas.cob.userservice.api.service.session.SessionService;
+import de.caritas.cob.userservice.config.NotificationDigestProperties;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.GroupChatDTO;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.MonitoringDTO;
@@ -69,19 +78,22 @@ import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.NewM
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.NotificationsDTO;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.TeamSessionsDTO;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.WelcomeMessageDTO;
-import de.caritas.cob.userservice.mailservice.generated.web.model.MailsDTO;
+import de.caritas.cob.userservice.mailservice.generated.web.model.MailDTO;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.internal.util.reflection.FieldSetter;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
@@ -197,7 +209,7 @@ public class EmailNotificationFacadeTest {
   @Mock
   private ConsultantAgencyRepository consultantAgencyRepository;
   @Mock
-  private MailService mailService;
+  private NotificationOutboxService notificationOutboxService;
   @Mock
   private AgencyService agencyService;
   @Mock
@@ -214,6 +226,10 @@ public class EmailNotificationFacadeTest {
   ConsultingTypeManager consultingTypeManager;
   @Mock
   UserHelper userHelper;
+  @Mock
+  SessionParticipantsResolver sessionParticipantsResolver;
+  @Spy
+  NotificationDigestProperties notificationDigestProperties = new NotificationDigestProperties();
 
   @Before
   public void setup() throws NoSuchFieldException, SecurityException {
@@ -230,86 +246,149 @@ public class EmailNotificationFacadeTest {
   }
 
   /**
-   * Method: sendNewEnquiryEmailNotification
+   * Method: generateNewEnquiryEmailNotifications
    */
   @Test
-  public void sendNewEnquiryEmailNotification_Should_SendEmailNotificationViaMailServiceHelperToConsultants() {
+  public void generateNewEnquiryEmailNotifications_Should_GenerateMailsForConsultants() {
 
+    when(sessionService.getSession(SESSION.getId())).thenReturn(Optional.of(SESSION));
     when(consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(SESSION.getAgencyId()))
         .thenReturn(CONSULTANT_AGENCY_LIST);
     when(agencyService.getAgency(SESSION.getAgencyId())).thenReturn(AGENCY_DTO);
 
-    emailNotificationFacade.sendNewEnquiryEmailNotification(SESSION);
-
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    List<MailDTO> mails =
+        emailNotificationFacade.generateNewEnquiryEmailNotifications(SESSION.getId());
 
+    assertThat(mails, hasSize(1));
   }
 
   @Test
-  public void sendNewEnquiryEmailNotification_ShouldNot_SendEmailNotificationViaMailServiceHelperToUser() {
+  public void generateNewEnquiryEmailNotifications_ShouldNot_GenerateMailForUser() {
 
+    when(sessionService.getSession(SESSION.getId())).thenReturn(Optional.of(SESSION));
     when(consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(SESSION.getAgencyId()))
         .thenReturn(CONSULTANT_AGENCY_LIST);
     when(agencyService.getAgency(SESSION.getAgencyId())).thenReturn(AGENCY_DTO);
 
-    emailNotificationFacade.sendNewEnquiryEmailNotification(SESSION);
+    List<MailDTO> mails =
+        emailNotificationFacade.generateNewEnquiryEmailNotifications(SESSION.getId());
 
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails.get(0).getEmail(), is(CONSULTANT.getEmail()));
   }
 
   @Test
-  public void sendNewEnquiryEmailNotification_Should_GetAgencyInformationFromAgencyServiceHelper() {
+  public void generateNewEnquiryEmailNotifications_Should_GetAgencyInformationFromAgencyServiceHelper() {
 
+    when(sessionService.getSession(SESSION.getId())).thenReturn(Optional.of(SESSION));
     when(consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(SESSION.getAgencyId()))
         .thenReturn(CONSULTANT_AGENCY_LIST);
     when(agencyService.getAgency(SESSION.getAgencyId())).thenReturn(AGENCY_DTO);
 
-    emailNotificationFacade.sendNewEnquiryEmailNotification(SESSION);
+    emailNotificationFacade.generateNewEnquiryEmailNotifications(SESSION.getId());
 
     verify(agencyService, times(1)).getAgency(SESSION.getAgencyId());
-
   }
 
   @Test
-  public void sendNewEnquiryEmailNotification_ShouldNot_SendEmailWhenConsultantAgencyListIsEmpty() {
+  public void generateNewEnquiryEmailNotifications_ShouldNot_GenerateMailsWhenConsultantAgencyListIsEmpty() {
 
+    when(sessionService.getSession(SESSION.getId())).thenReturn(Optional.of(SESSION));
     when(consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(AGENCY_ID)).thenReturn(null);
 
-    emailNotificationFacade.sendNewEnquiryEmailNotification(SESSION);
+    List<MailDTO> mails =
+        emailNotificationFacade.generateNewEnquiryEmailNotifications(SESSION.getId());
 
-    verify(mailService, times(0)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
   }
 
   @Test
-  public void sendNewEnquiryEmailNotification_ShouldNot_SendEmailWhenConsultantIsAbsent() {
+  public void generateNewEnquiryEmailNotifications_ShouldNot_GenerateMailsWhenConsultantIsAbsent() {
 
+    when(sessionService.getSession(SESSION.getId())).thenReturn(Optional.of(SESSION));
     when(consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(AGENCY_ID))
         .thenReturn(ABSENT_CONSULTANT_AGENCY_LIST);
+    when(agencyService.getAgency(AGENCY_ID)).thenReturn(AGENCY_DTO);
 
-    emailNotificationFacade.sendNewEnquiryEmailNotification(SESSION);
+    List<MailDTO> mails =
+        emailNotificationFacade.generateNewEnquiryEmailNotifications(SESSION.getId());
 
-    verify(mailService, times(0)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
   }
 
   @Test
-  public void sendNewEnquiryEmailNotification_Should_LogError_WhenSendEmailFails() {
+  public void generateNewEnquiryEmailNotifications_Should_LogErrorAndGenerateNoMails_When_SessionIsNotFound() {
 
-    EmailNotificationException emailNotificationException =
-        new EmailNotificationException(new Exception());
+    when(sessionService.getSession(SESSION.getId())).thenReturn(Optional.empty());
 
-    when(consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(AGENCY_ID))
-        .thenThrow(emailNotificationException);
+    List<MailDTO> mails =
+        emailNotificationFacade.generateNewEnquiryEmailNotifications(SESSION.getId());
 
-    emailNotificationFacade.sendNewEnquiryEmailNotification(SESSION);
+    assertThat(mails, hasSize(0));
+    verify(logger, times(1)).error(anyString(), anyString(), anyString());
+    verifyNoInteractions(consultantAgencyRepository);
+  }
+
+  @Test(expected = EmailNotificationException.class)
+  public void generateNewEnquiryEmailNotifications_Should_PassException_When_ConsultantsCanNotBeLoaded() {
+
+    when(sessionService.getSession(SESSION.getId())).thenReturn(Optional.of(SESSION));
+    when(consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(AGENCY_ID))
+        .thenThrow(new EmailNotificationException(new Exception()));
 
-    verify(logger, times(2)).error(anyString(), anyString(), anyString());
+    emailNotificationFacade.generateNewEnquiryEmailNotifications(SESSION.getId());
   }
 
   /**
    * Method: sendNewMessageNotification
    */
   @Test
-  public void sendNewMessageNotification_Should_SendEmailNotificationViaMailServiceHelperToConsultant_WhenCalledAsUserAuthorityAndIsTeamSession() {
+  public void sendNewMessageNotification_Should_WriteNotificationDelayedByDigestIntervalOfConsultingType() {
+    notificationDigestProperties.setNewMessageInterval(Duration.ofMinutes(5));
+    notificationDigestProperties.setNewMessageIntervalByConsultingType(
+        Map.of(CONSULTING_TYPE_ID_SUCHT, Duration.ofMinutes(15)));
+    when(sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID)).thenReturn(Optional.of(
+        new SessionParticipants(1L, USER_ID, CONSULTANT_ID, CONSULTING_TYPE_ID_SUCHT)));
+
+    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+
+    verify(notificationOutboxService, times(1)).enqueueDelayed(NotificationType.NEW_MESSAGE,
+        "NEW_MESSAGE:" + RC_GROUP_ID + ":consultants", Duration.ofMinutes(15),
+        NotificationPayload.builder()
+            .rcGroupId(RC_GROUP_ID)
+            .roles(USER_ROLES)
+            .userId(USER_ID)
+            .build());
+    verifyNoInteractions(sessionService);
+  }
+
+  @Test
+  public void sendNewMessageNotification_Should_WriteNotificationDelayedByDefaultDigestInterval_When_SessionIsNotFound() {
+    notificationDigestProperties.setNewMessageInterval(Duration.ofMinutes(5));
+    when(sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID)).thenReturn(Optional.empty());
+
+    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, CONSULTANT_ROLES,
+        CONSULTANT_ID);
+
+    verify(notificationOutboxService, times(1)).enqueueDelayed(eq(NotificationType.NEW_MESSAGE),
+        eq("NEW_MESSAGE:" + RC_GROUP_ID + ":asker"), eq(Duration.ofMinutes(5)), any());
+  }
+
+  @Test
+  public void sendNewMessageNotification_ShouldNot_WriteNotification_When_NotificationToSameRecipientsIsPending() {
+    when(notificationOutboxService.isPending("NEW_MESSAGE:" + RC_GROUP_ID + ":consultants"))
+        .thenReturn(true);
+
+    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+
+    verify(notificationOutboxService, never()).enqueueDelayed(any(), any(), any(), any());
+    verifyNoInteractions(sessionParticipantsResolver);
+  }
+
+  /**
+   * Method: generateNewMessageEmailNotifications
+   */
+  @Test
+  public void generateNewMessageEmailNotifications_Should_GenerateMailsForConsultants_WhenCalledAsUserAuthorityAndIsTeamSession() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(TEAM_SESSION);
@@ -317,14 +396,15 @@ public class EmailNotificationFacadeTest {
     when(consultingTypeManager.getConsultingTypeSettings(TEAM_SESSION.getConsultingTypeId()))
         .thenReturn(CONSULTING_TYPE_SETTINGS_NOTIFICATION_TO_ALL_TEAM_CONSULTANTS);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
     verify(consultantAgencyService, times(1)).findConsultantsByAgencyId(AGENCY_ID);
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(2));
   }
 
   @Test
-  public void sendNewMessageNotification_ShouldNot_SendEmailNotificationToUser_WhenCalledAsUserAuthorityAndIsTeamSession() {
+  public void generateNewMessageEmailNotifications_ShouldNot_GenerateMailForUser_WhenCalledAsUserAuthorityAndIsTeamSession() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(TEAM_SESSION);
@@ -332,14 +412,15 @@ public class EmailNotificationFacadeTest {
     when(consultingTypeManager.getConsultingTypeSettings(TEAM_SESSION.getConsultingTypeId()))
         .thenReturn(CONSULTING_TYPE_SETTINGS_NOTIFICATION_TO_ALL_TEAM_CONSULTANTS);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(consultantAgencyService, times(1)).findConsultantsByAgencyId(AGENCY_ID);
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails.stream().map(MailDTO::getEmail).collect(Collectors.toList()),
+        not(hasItem(USER.getEmail())));
   }
 
   @Test
-  public void sendNewMessageNotification_ShouldNot_SendEmail_WhenMailListIsEmptyAndCalledAsUserAuthorityAndIsTeamSession() {
+  public void generateNewMessageEmailNotifications_ShouldNot_GenerateMails_WhenConsultantListIsEmptyAndCalledAsUserAuthorityAndIsTeamSession() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(TEAM_SESSION);
@@ -347,123 +428,111 @@ public class EmailNotificationFacadeTest {
     when(consultingTypeManager.getConsultingTypeSettings(TEAM_SESSION.getConsultingTypeId()))
         .thenReturn(CONSULTING_TYPE_SETTINGS_NOTIFICATION_TO_ALL_TEAM_CONSULTANTS);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(mailService, times(0)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
   }
 
-  @Test
-  public void sendNewMessageNotification_Should_LogError_WhenSessionServiceFails() {
-
-    InternalServerErrorException serviceException = new InternalServerErrorException(ERROR_MSG);
+  @Test(expected = InternalServerErrorException.class)
+  public void generateNewMessageEmailNotifications_Should_PassException_WhenSessionServiceFails() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
-        .thenThrow(serviceException);
+        .thenThrow(new InternalServerErrorException(ERROR_MSG));
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
-    verify(logger, times(2)).error(anyString(), anyString(), anyString());
+    emailNotificationFacade.generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
   }
 
   @Test
-  public void sendNewMessageNotification_ShouldNot_SendEmailAndLogEmailNotificationFacadeError_WhenSessionIsNullOrEmpty() {
+  public void generateNewMessageEmailNotifications_ShouldNot_GenerateMailsAndLogEmailNotificationFacadeError_WhenSessionIsNullOrEmpty() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(null);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(mailService, times(0)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
     verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
   }
 
   @Test
-  public void sendNewMessageNotification_ShouldNot_SendEmailAndLogEmailNotificationFacadeError_WhenSessionIsNotInProgress() {
+  public void generateNewMessageEmailNotifications_ShouldNot_GenerateMailsAndLogEmailNotificationFacadeError_WhenSessionIsNotInProgress() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(SESSION);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(mailService, times(0)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
     verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
   }
 
   @Test
-  public void sendNewMessageNotification_ShouldNot_SendEmail_WhenCalledAsUserAuthorityAndIsSingleSessionAndConsultantHasNoEmailProvided() {
+  public void generateNewMessageEmailNotifications_ShouldNot_GenerateMails_WhenCalledAsUserAuthorityAndIsSingleSessionAndConsultantHasNoEmailProvided() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(SESSION_IN_PROGRESS_NO_EMAIL);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(mailService, times(0)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
   }
 
   @Test
-  public void sendNewMessageNotification_Should_SendEmailNotificationViaMailServiceHelper_WhenCalledAsUserAuthorityAndIsSingleSession() {
+  public void generateNewMessageEmailNotifications_Should_GenerateMail_WhenCalledAsUserAuthorityAndIsSingleSession() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(SESSION_IN_PROGRESS);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(1));
   }
 
   @Test
-  public void sendNewMessageNotification_ShouldNot_SendEmailAndLogEmailNotificationFacadeWarning_When_GetSessionFails() {
+  public void generateNewMessageEmailNotifications_ShouldNot_GenerateMailsAndLogEmailNotificationFacadeWarning_When_GetSessionFails() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, CONSULTANT_ID, CONSULTANT_ROLES))
         .thenThrow(new NotFoundException(ERROR_MSG));
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, CONSULTANT_ROLES,
-        CONSULTANT_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, CONSULTANT_ROLES, CONSULTANT_ID);
 
-    verify(mailService, times(0))
-        .sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
     verify(logger, atLeastOnce()).warn(anyString(), anyString(), anyString());
   }
 
   @Test
-  public void sendNewMessageNotification_Should_LogEmailNotificationFacadeError_When_ErrorOccursDuringMailTransmission() {
-
-    when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, CONSULTANT_ID, CONSULTANT_ROLES))
-        .thenReturn(SESSION_IN_PROGRESS);
-    doThrow(new NullPointerException())
-        .when(mailService).sendEmailNotification(any());
-
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, CONSULTANT_ROLES,
-        CONSULTANT_ID);
-
-    verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
-  }
-
-  @Test
-  public void sendNewMessageNotification_ShouldNot_SendEmail_WhenCalledAsConsultantAuthorityAndAskerHasNoEmailProvided() {
+  public void generateNewMessageEmailNotifications_ShouldNot_GenerateMails_WhenCalledAsConsultantAuthorityAndAskerHasNoEmailProvided() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, CONSULTANT_ID, CONSULTANT_ROLES))
         .thenReturn(SESSION_IN_PROGRESS_NO_EMAIL);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, CONSULTANT_ROLES,
-        CONSULTANT_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, CONSULTANT_ROLES, CONSULTANT_ID);
 
-    verify(mailService, times(0)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(0));
   }
 
   @Test
-  public void sendNewMessageNotification_Should_SendEmailToUserWithEncodedUsernames_WhenCalledAsConsultantAuthorityAndAskerHasEmail() {
+  public void generateNewMessageEmailNotifications_Should_GenerateMailToUser_WhenCalledAsConsultantAuthorityAndAskerHasEmail() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, CONSULTANT_ID, CONSULTANT_ROLES))
         .thenReturn(SESSION_IN_PROGRESS);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, CONSULTANT_ROLES,
-        CONSULTANT_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, CONSULTANT_ROLES, CONSULTANT_ID);
 
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any(MailsDTO.class));
+    assertThat(mails, hasSize(1));
+    assertThat(mails.get(0).getEmail(), is(USER.getEmail()));
   }
 
   @Test
-  public void sendNewMessageNotification_Should_SendEmailToAllConsultants_WhenIsTeamSessionAndConsultingTypeSettingsToSendToAllTeamConsultantsIsTrue() {
+  public void generateNewMessageEmailNotifications_Should_GenerateMailsForAllConsultants_WhenIsTeamSessionAndConsultingTypeSettingsToSendToAllTeamConsultantsIsTrue() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(TEAM_SESSION);
@@ -471,29 +540,62 @@ public class EmailNotificationFacadeTest {
         .thenReturn(CONSULTING_TYPE_SETTINGS_NOTIFICATION_TO_ALL_TEAM_CONSULTANTS);
     when(consultantAgencyService.findConsultantsByAgencyId(AGENCY_ID)).thenReturn(CONSULTANT_LIST);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any());
+    assertThat(mails, hasSize(CONSULTANT_LIST.size()));
   }
 
   @Test
-  public void sendNewMessageNotification_Should_SendEmailToAssignConsultantOnly_WhenIsTeamSessionAndConsultingTypeSettingsToSendToAllTeamConsultantsIsFalse() {
+  public void generateNewMessageEmailNotifications_Should_GenerateMailForAssignedConsultantOnly_WhenIsTeamSessionAndConsultingTypeSettingsToSendToAllTeamConsultantsIsFalse() {
 
     when(sessionService.getSessionByGroupIdAndUser(RC_GROUP_ID, USER_ID, USER_ROLES))
         .thenReturn(TEAM_SESSION);
     when(consultingTypeManager.getConsultingTypeSettings(TEAM_SESSION.getConsultingTypeId()))
         .thenReturn(CONSULTING_TYPE_SETTINGS_NOTIFICATION_TO_ASSIGNED_CONSULTANT_ONLY);
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
 
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any());
+    assertThat(mails, hasSize(1));
+    assertThat(mails.get(0).getEmail(), is(CONSULTANT.getEmail()));
+  }
+
+  @Test
+  public void generateNewMessageEmailNotifications_ShouldNot_LogError_When_SessionStatusIsNew() {
+    Session session = mock(Session.class);
+    when(session.getStatus()).thenReturn(SessionStatus.NEW);
+    when(session.getUser()).thenReturn(USER);
+
+    when(sessionService.getSessionByGroupIdAndUser(any(), any(), any())).thenReturn(session);
+
+    emailNotificationFacade.generateNewMessageEmailNotifications(RC_GROUP_ID, USER_ROLES, USER_ID);
+
+    verifyNoInteractions(logger);
   }
 
   /**
    * Method: sendNewFeedbackMessageNotification
    */
   @Test
-  public void sendNewFeedbackMessageNotification_Should_SendEmailToAllFeedbackChatGroupMembersWithDecodedUsernames_WhenAssignedConsultantWroteAFeedbackMessage()
+  public void sendNewFeedbackMessageNotification_Should_WriteNotificationToOutbox() {
+
+    emailNotificationFacade.sendNewFeedbackMessageNotification(RC_FEEDBACK_GROUP_ID,
+        CONSULTANT_ID);
+
+    verify(notificationOutboxService, times(1)).enqueue(NotificationType.NEW_FEEDBACK_MESSAGE,
+        NotificationPayload.builder()
+            .rcGroupId(RC_FEEDBACK_GROUP_ID)
+            .userId(CONSULTANT_ID)
+            .build());
+    verifyNoInteractions(rocketChatService);
+  }
+
+  /**
+   * Method: generateNewFeedbackMessageEmailNotifications
+   */
+  @Test
+  public void generateNewFeedbackMessageEmailNotifications_Should_GenerateMailsForAllFeedbackChatGroupMembers_WhenAssignedConsultantWroteAFeedbackMessage()
       throws Exception {
 
     when(consultantService.getConsultant(CONSULTANT_ID)).thenReturn(Optional.of(CONSULTANT));
@@ -504,129 +606,153 @@ public class EmailNotificationFacadeTest {
     when(consultantService.getConsultantByRcUserId(GROUP_MEMBER_2_RC_ID))
         .thenReturn(Optional.of(CONSULTANT3));
 
-    emailNotificationFacade.sendNewFeedbackMessageNotification(RC_FEEDBACK_GROUP_ID, CONSULTANT_ID);
-
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any());
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewFeedbackMessageEmailNotifications(RC_FEEDBACK_GROUP_ID, CONSULTANT_ID);
 
+    assertThat(mails, hasSize(2));
   }
 
   @Test
-  public void sendNewFeedbackMessageNotification_Should_SendEmailToAssignedConsultantWithDecodedUsername_WhenOtherConsultantWrote() {
+  public void generateNewFeedbackMessageEmailNotifications_Should_GenerateMailForAssignedConsultant_WhenOtherConsultantWrote()
+      throws Exception {
 
     when(consultantService.getConsultant(CONSULTANT_ID_2)).thenReturn(Optional.of(CONSULTANT2));
     when(sessionService.getSessionByFeedbackGroupId(RC_FEEDBACK_GROUP_ID)).thenReturn(SESSION);
 
-    emailNotificationFacade.sendNewFeedbackMessageNotification(RC_FEEDBACK_GROUP_ID,
-        CONSULTANT_ID_2);
-
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any());
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewFeedbackMessageEmailNotifications(RC_FEEDBACK_GROUP_ID, CONSULTANT_ID_2);
 
+    assertThat(mails, hasSize(1));
+    assertThat(mails.get(0).getEmail(), is(CONSULTANT.getEmail()));
   }
 
   @Test
-  public void sendNewFeedbackMessageNotification_Should_LogErrorAndSendNoMails_WhenCallingConsultantIsNotFound() {
+  public void generateNewFeedbackMessageEmailNotifications_Should_LogErrorAndGenerateNoMails_WhenCallingConsultantIsNotFound()
+      throws Exception {
 
-    emailNotificationFacade.sendNewFeedbackMessageNotification(RC_FEEDBACK_GROUP_ID,
-        CONSULTANT_ID);
+    when(sessionService.getSessionByFeedbackGroupId(RC_FEEDBACK_GROUP_ID)).thenReturn(SESSION);
 
-    verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewFeedbackMessageEmailNotifications(RC_FEEDBACK_GROUP_ID, CONSULTANT_ID);
 
+    assertThat(mails, hasSize(0));
+    verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
   }
 
   @Test
-  public void sendNewFeedbackMessageNotification_Should_LogErrorAndSendNoMails_WhenSessionIsNotFound() {
+  public void generateNewFeedbackMessageEmailNotifications_Should_LogErrorAndGenerateNoMails_WhenSessionIsNotFound()
+      throws Exception {
 
     when(sessionService.getSessionByFeedbackGroupId(RC_FEEDBACK_GROUP_ID)).thenReturn(null);
 
-    emailNotificationFacade.sendNewFeedbackMessageNotification(RC_FEEDBACK_GROUP_ID,
-        CONSULTANT_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewFeedbackMessageEmailNotifications(RC_FEEDBACK_GROUP_ID, CONSULTANT_ID);
 
+    assertThat(mails, hasSize(0));
     verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
-
   }
 
   @Test
-  public void sendNewFeedbackMessageNotification_Should_LogErrorAndSendNoMails_WhenNoConsultantIsAssignedToSession() {
+  public void generateNewFeedbackMessageEmailNotifications_Should_LogErrorAndGenerateNoMails_WhenNoConsultantIsAssignedToSession()
+      throws Exception {
 
     when(sessionService.getSessionByFeedbackGroupId(RC_FEEDBACK_GROUP_ID))
         .thenReturn(SESSION_WITHOUT_CONSULTANT);
 
-    emailNotificationFacade.sendNewFeedbackMessageNotification(RC_FEEDBACK_GROUP_ID,
-        CONSULTANT_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateNewFeedbackMessageEmailNotifications(RC_FEEDBACK_GROUP_ID, CONSULTANT_ID);
 
+    assertThat(mails, hasSize(0));
     verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void generateNewFeedbackMessageEmailNotifications_Should_PassException_When_SessionServiceThrowsRuntimeException()
+      throws Exception {
+    when(sessionService.getSessionByFeedbackGroupId(any())).thenThrow(new RuntimeException(""));
 
+    emailNotificationFacade.generateNewFeedbackMessageEmailNotifications(GROUP_MEMBER_1_RC_ID,
+        USER_ID);
   }
 
+  /**
+   * Method: sendAssignEnquiryEmailNotification
+   */
   @Test
-  public void sendAssignEnquiryEmailNotification_Should_SendEmail_WhenAllParametersAreValid() {
-
-    when(consultantService.getConsultant(CONSULTANT_ID_2)).thenReturn(Optional.of(CONSULTANT2));
+  public void sendAssignEnquiryEmailNotification_Should_WriteNotificationWithReceiverIdToOutbox() {
 
     emailNotificationFacade.sendAssignEnquiryEmailNotification(CONSULTANT, CONSULTANT_ID_2,
         USERNAME);
 
-    verify(mailService, times(1)).sendEmailNotification(Mockito.any());
+    verify(notificationOutboxService, times(1)).enqueue(NotificationType.ASSIGN_ENQUIRY,
+        NotificationPayload.builder()
+            .consultantId(CONSULTANT_ID)
+            .userId(CONSULTANT_ID_2)
+            .askerUserName(USERNAME)
+            .build());
   }
 
   @Test
-  public void sendAssignEnquiryEmailNotification_Should_LogErrorAndSendNoMails_WhenReceiverConsultantIsNull() {
+  public void sendAssignEnquiryEmailNotification_Should_WriteNotificationWithoutReceiverIdToOutbox_WhenReceiverConsultantIsNull() {
 
     emailNotificationFacade.sendAssignEnquiryEmailNotification(null, CONSULTANT_ID_2, USERNAME);
 
-    verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
+    verify(notificationOutboxService, times(1)).enqueue(NotificationType.ASSIGN_ENQUIRY,
+        NotificationPayload.builder()
+            .userId(CONSULTANT_ID_2)
+            .askerUserName(USERNAME)
+            .build());
   }
 
+  /**
+   * Method: generateAssignEnquiryEmailNotifications
+   */
   @Test
-  public void sendAssignEnquiryEmailNotification_Should_LogErrorAndSendNoMails_WhenReceiverConsultantIsMissingEmailAddress() {
+  public void generateAssignEnquiryEmailNotifications_Should_GenerateMail_WhenAllParametersAreValid() {
+
+    when(consultantService.getConsultant(CONSULTANT_ID)).thenReturn(Optional.of(CONSULTANT));
+    when(consultantService.getConsultant(CONSULTANT_ID_2)).thenReturn(Optional.of(CONSULTANT2));
 
-    emailNotificationFacade.sendAssignEnquiryEmailNotification(CONSULTANT_WITHOUT_MAIL,
-        CONSULTANT_ID_2, USERNAME);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateAssignEnquiryEmailNotifications(CONSULTANT_ID, CONSULTANT_ID_2, USERNAME);
 
-    verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
+    assertThat(mails, hasSize(1));
+    assertThat(mails.get(0).getEmail(), is(CONSULTANT.getEmail()));
   }
 
   @Test
-  public void sendAssignEnquiryEmailNotification_Should_LogErrorAndSendNoMails_WhenSenderConsultantIsNotFound() {
+  public void generateAssignEnquiryEmailNotifications_Should_LogErrorAndGenerateNoMails_WhenReceiverConsultantIsNull() {
 
-    when(consultantService.getConsultant(Mockito.anyString())).thenReturn(Optional.empty());
-
-    emailNotificationFacade.sendAssignEnquiryEmailNotification(CONSULTANT, CONSULTANT_ID_2,
-        USERNAME);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateAssignEnquiryEmailNotifications(null, CONSULTANT_ID_2, USERNAME);
 
+    assertThat(mails, hasSize(0));
     verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
   }
 
   @Test
-  public void sendNewMessageNotification_ShouldNot_LogError_When_SessionStatusIsNew() {
-    Session session = mock(Session.class);
-    when(session.getStatus()).thenReturn(SessionStatus.NEW);
-    when(session.getUser()).thenReturn(USER);
+  public void generateAssignEnquiryEmailNotifications_Should_LogErrorAndGenerateNoMails_WhenReceiverConsultantIsMissingEmailAddress() {
 
-    when(sessionService.getSessionByGroupIdAndUser(any(), any(), any())).thenReturn(session);
+    when(consultantService.getConsultant(CONSULTANT_ID))
+        .thenReturn(Optional.of(CONSULTANT_WITHOUT_MAIL));
 
-    emailNotificationFacade.sendNewMessageNotification(RC_GROUP_ID, USER_ROLES, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateAssignEnquiryEmailNotifications(CONSULTANT_ID, CONSULTANT_ID_2, USERNAME);
 
-    verifyNoInteractions(logger);
+    assertThat(mails, hasSize(0));
+    verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
   }
 
   @Test
-  public void sendAssignEnquiryEmailNotification_Should_LogError_When_MailServiceHelperThrowsException() {
-    doThrow(new RuntimeException("unexpected")).when(mailService)
-        .sendEmailNotification(any());
-    when(consultantService.getConsultant(any())).thenReturn(Optional.of(CONSULTANT));
-
-    emailNotificationFacade.sendAssignEnquiryEmailNotification(CONSULTANT, USER_ID, NAME);
-
-    verify(logger, times(1)).error(anyString(), anyString(), contains("unexpected"));
-  }
+  public void generateAssignEnquiryEmailNotifications_Should_LogErrorAndGenerateNoMails_WhenSenderConsultantIsNotFound() {
 
-  @Test
-  public void sendAssignEnquiryEmailNotification_Should_LogError_When_SessionServiceThrowsRuntimeException() {
-    when(sessionService.getSessionByFeedbackGroupId(any())).thenThrow(new RuntimeException(""));
+    when(consultantService.getConsultant(CONSULTANT_ID)).thenReturn(Optional.of(CONSULTANT));
+    when(consultantService.getConsultant(CONSULTANT_ID_2)).thenReturn(Optional.empty());
 
-    emailNotificationFacade.sendNewFeedbackMessageNotification(GROUP_MEMBER_1_RC_ID, USER_ID);
+    List<MailDTO> mails = emailNotificationFacade
+        .generateAssignEnquiryEmailNotifications(CONSULTANT_ID, CONSULTANT_ID_2, USERNAME);
 
+    assertThat(mails, hasSize(0));
     verify(logger, atLeastOnce()).error(anyString(), anyString(), anyString());
   }
 
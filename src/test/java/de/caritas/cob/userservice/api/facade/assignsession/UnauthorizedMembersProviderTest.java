@@ -13,6 +13,7 @@ import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
@@ -26,6 +27,7 @@ import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientService;
 import de.caritas.cob.userservice.api.service.rocketchat.RocketChatCredentialsProvider;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.jeasy.random.EasyRandom;
 import org.junit.Before;
 import org.junit.Test;
@@ -184,6 +186,9 @@ public class UnauthorizedMembersProviderTest {
     assertThat(result.size(), is(5));
     assertThat(result, contains(normalConsultant, teamConsultant, teamConsultant2, peerConsultant,
         peerConsultant2));
+    verify(keycloakAdminClientService).warmUpConsultantRoles(consultantList.stream()
+        .map(Consultant::getId)
+        .collect(Collectors.toList()));
   }
 
   @Test(expected = InternalServerErrorException.class)
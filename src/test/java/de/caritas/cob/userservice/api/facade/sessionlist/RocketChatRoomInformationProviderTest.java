@@ -14,11 +14,23 @@ import static de.caritas.cob.userservice.testHelper.TestConstants.SUBSCRIPTIONS_
 import static de.caritas.cob.userservice.testHelper.TestConstants.USERS_ROOMS_LIST;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static java.util.Collections.emptyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.container.RocketChatRoomInformation;
-import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.container.RocketChatRoomState;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsUpdateDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsUpdateDTO;
+import de.caritas.cob.userservice.api.service.rocketchat.RocketChatRoomStateCache;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.apache.commons.collections.CollectionUtils;
 import org.junit.Test;
@@ -26,6 +38,9 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RocketChatRoomInformationProviderTest {
@@ -34,13 +49,13 @@ public class RocketChatRoomInformationProviderTest {
   private RocketChatRoomInformationProvider rocketChatRoomInformationProvider;
 
   @Mock
-  private RocketChatService rocketChatService;
+  private RocketChatRoomStateCache rocketChatRoomStateCache;
 
   @Test
   public void retrieveRocketChatInformation_Should_Return_CorrectMessagesReadMap() {
 
-    when(rocketChatService.getSubscriptionsOfUser(RC_CREDENTIALS))
-        .thenReturn(SUBSCRIPTIONS_UPDATE_LIST_DTO_WITH_ONE_FEEDBACK_UNREAD);
+    when(rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS))
+        .thenReturn(roomState(SUBSCRIPTIONS_UPDATE_LIST_DTO_WITH_ONE_FEEDBACK_UNREAD, emptyList()));
     RocketChatRoomInformation rocketChatRoomInformation = rocketChatRoomInformationProvider
         .retrieveRocketChatInformation(RC_CREDENTIALS);
 
@@ -55,7 +70,8 @@ public class RocketChatRoomInformationProviderTest {
   @Test
   public void retrieveRocketChatInformation_Should_Return_RocketChatRoomsUpdateList() {
 
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
+    when(rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS))
+        .thenReturn(roomState(emptyList(), ROOMS_UPDATE_DTO_LIST));
     RocketChatRoomInformation rocketChatRoomInformation = rocketChatRoomInformationProvider
         .retrieveRocketChatInformation(RC_CREDENTIALS);
     assertEquals(ROOMS_UPDATE_DTO_LIST, rocketChatRoomInformation.getRoomsForUpdate());
@@ -64,7 +80,8 @@ public class RocketChatRoomInformationProviderTest {
   @Test
   public void retrieveRocketChatInformation_Should_Return_CorrectRocketChatUserRoomList() {
 
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
+    when(rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS))
+        .thenReturn(roomState(emptyList(), ROOMS_UPDATE_DTO_LIST));
     RocketChatRoomInformation rocketChatRoomInformation = rocketChatRoomInformationProvider
         .retrieveRocketChatInformation(RC_CREDENTIALS);
     assertEquals(USERS_ROOMS_LIST, rocketChatRoomInformation.getUserRooms());
@@ -73,7 +90,8 @@ public class RocketChatRoomInformationProviderTest {
   @Test
   public void retrieveRocketChatInformation_Should_Return_CorrectRocketChatLastMessageRoom() {
 
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
+    when(rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS))
+        .thenReturn(roomState(emptyList(), ROOMS_UPDATE_DTO_LIST));
     RocketChatRoomInformation rocketChatRoomInformation = rocketChatRoomInformationProvider
         .retrieveRocketChatInformation(RC_CREDENTIALS);
     assertEquals(ROOMS_LAST_MESSAGE_DTO_MAP, rocketChatRoomInformation.getLastMessagesRoom());
@@ -91,6 +109,72 @@ public class RocketChatRoomInformationProviderTest {
     assertEquals(CollectionUtils.sizeIsEmpty(rocketChatRoomInformation.getLastMessagesRoom()),
         true);
     assertEquals(CollectionUtils.sizeIsEmpty(rocketChatRoomInformation.getRoomsForUpdate()), true);
+    verifyNoInteractions(rocketChatRoomStateCache);
+  }
+
+  @Test
+  public void retrieveRocketChatInformation_Should_RetrieveRoomStateOnlyOncePerRequest() {
+    RequestContextHolder
+        .setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    try {
+      when(rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS))
+          .thenReturn(roomState(emptyList(), ROOMS_UPDATE_DTO_LIST));
+
+      RocketChatRoomInformation firstResult = rocketChatRoomInformationProvider
+          .retrieveRocketChatInformation(RC_CREDENTIALS);
+      RocketChatRoomInformation secondResult = rocketChatRoomInformationProvider
+          .retrieveRocketChatInformation(RC_CREDENTIALS);
+
+      assertSame(firstResult, secondResult);
+      verify(rocketChatRoomStateCache, times(1)).synchronizeRoomState(RC_CREDENTIALS);
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+  }
+
+  @Test
+  public void retrieveRocketChatInformation_Should_RetrieveRoomStateOnEachCall_When_NoRequestIsActive() {
+    when(rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS))
+        .thenReturn(roomState(emptyList(), ROOMS_UPDATE_DTO_LIST));
+
+    rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
+    rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
+
+    verify(rocketChatRoomStateCache, times(2)).synchronizeRoomState(RC_CREDENTIALS);
+  }
+
+  @Test
+  public void retrieveRocketChatInformation_Should_Return_LatestChangeDatesOfRoomsAndSubscriptions() {
+    var room = new RoomsUpdateDTO();
+    room.setId(RC_GROUP_ID);
+    room.setUpdatedAt(new Date(1000));
+    var otherRoom = new RoomsUpdateDTO();
+    otherRoom.setId(RC_GROUP_ID_2);
+    otherRoom.setUpdatedAt(new Date(3000));
+    var subscription = new SubscriptionsUpdateDTO();
+    subscription.setRoomId(RC_GROUP_ID);
+    subscription.setUpdatedAt(new Date(2000));
+    when(rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS))
+        .thenReturn(roomState(List.of(subscription), List.of(room, otherRoom)));
+
+    RocketChatRoomInformation rocketChatRoomInformation = rocketChatRoomInformationProvider
+        .retrieveRocketChatInformation(RC_CREDENTIALS);
+
+    assertEquals(Map.of(RC_GROUP_ID, new Date(2000), RC_GROUP_ID_2, new Date(3000)),
+        rocketChatRoomInformation.getRoomChangeDates());
+  }
+
+  private RocketChatRoomState roomState(List<SubscriptionsUpdateDTO> subscriptions,
+      List<RoomsUpdateDTO> rooms) {
+    Map<String, SubscriptionsUpdateDTO> subscriptionsByRoomId = new LinkedHashMap<>();
+    subscriptions.forEach(
+        subscription -> subscriptionsByRoomId.put(subscription.getRoomId(), subscription));
+    Map<String, RoomsUpdateDTO> roomsById = new LinkedHashMap<>();
+    rooms.forEach(room -> roomsById.put(room.getId(), room));
+    return RocketChatRoomState.builder()
+        .subscriptionsByRoomId(subscriptionsByRoomId)
+        .roomsById(roomsById)
+        .build();
   }
 
 }
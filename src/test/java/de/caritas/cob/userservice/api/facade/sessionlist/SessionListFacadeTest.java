@@ -11,14 +11,19 @@ import static de.caritas.cob.userservice.testHelper.TestConstants.OFFSET_0;
 import static de.caritas.cob.userservice.testHelper.TestConstants.RC_CREDENTIALS;
 import static de.caritas.cob.userservice.testHelper.TestConstants.RC_TOKEN;
 import static de.caritas.cob.userservice.testHelper.TestConstants.SESSION_STATUS_IN_PROGRESS;
+import static de.caritas.cob.userservice.testHelper.TestConstants.SESSION_STATUS_NEW;
 import static de.caritas.cob.userservice.testHelper.TestConstants.USER_ID;
 import static de.caritas.cob.userservice.testHelper.TestConstants.USER_SESSION_RESPONSE_SESSION_CHAT_DTO_LIST;
 import static java.util.Objects.nonNull;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.caritas.cob.userservice.api.container.ConsultantSessionPage;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
 import de.caritas.cob.userservice.api.model.ConsultantSessionListResponseDTO;
 import de.caritas.cob.userservice.api.model.ConsultantSessionResponseDTO;
@@ -217,6 +222,36 @@ public class SessionListFacadeTest {
     assertFalse(result.getSessions().get(0).getSession().getFeedbackRead());
   }
 
+  @Test
+  public void retrieveSessionsForAuthenticatedConsultant_Should_ReturnSessionPage_When_SessionStatusIsInProgress() {
+
+    SessionListQueryParameter sessionListQueryParameter = SessionListQueryParameter.builder()
+        .sessionStatus(SESSION_STATUS_IN_PROGRESS)
+        .offset(OFFSET_0)
+        .count(COUNT_1)
+        .sessionFilter(SessionFilter.ALL)
+        .build();
+    ConsultantSessionPage sessionPage = ConsultantSessionPage.builder()
+        .sessions(CONSULTANT_SESSION_RESPONSE_DTO_LIST.subList(0, 1))
+        .total(CONSULTANT_SESSION_RESPONSE_DTO_LIST.size())
+        .build();
+
+    when(consultantSessionListService.retrieveSessionPageForAuthenticatedConsultant(CONSULTANT,
+        RC_TOKEN, sessionListQueryParameter))
+        .thenReturn(sessionPage);
+
+    ConsultantSessionListResponseDTO result =
+        sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(CONSULTANT, RC_TOKEN,
+            sessionListQueryParameter);
+
+    assertEquals(sessionPage.getSessions(), result.getSessions());
+    assertEquals(OFFSET_0, result.getOffset());
+    assertEquals(Integer.valueOf(COUNT_1), result.getCount());
+    assertEquals(Integer.valueOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST.size()), result.getTotal());
+    verify(consultantSessionListService, never())
+        .retrieveSessionsForAuthenticatedConsultant(any(), any(), any());
+  }
+
   /**
    * Method: retrieveTeamSessionsForAuthenticatedConsultant
    */
@@ -337,7 +372,7 @@ public class SessionListFacadeTest {
   private SessionListQueryParameter createStandardSessionListQueryParameterObject(
       int offset, int count, SessionFilter sessionFilter) {
     return SessionListQueryParameter.builder()
-        .sessionStatus(SESSION_STATUS_IN_PROGRESS)
+        .sessionStatus(SESSION_STATUS_NEW)
         .offset(offset)
         .count(count)
         .sessionFilter(sessionFilter)
@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.helper;
 
+import static de.caritas.cob.userservice.config.CacheManagerConfig.DECRYPTED_MESSAGE_PREVIEW_CACHE;
 import static de.caritas.cob.userservice.testHelper.TestConstants.MESSAGES_READ_MAP_WITHOUT_UNREADS;
 import static de.caritas.cob.userservice.testHelper.TestConstants.MESSAGES_READ_MAP_WITH_UNREADS;
 import static de.caritas.cob.userservice.testHelper.TestConstants.MESSAGE_TOO_LONG;
@@ -16,18 +17,27 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.exception.CustomCryptoException;
 import de.caritas.cob.userservice.api.model.SessionAttachmentDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsLastMessageDTO;
 import de.caritas.cob.userservice.api.service.DecryptionService;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SessionListAnalyserTest {
@@ -36,6 +46,8 @@ public class SessionListAnalyserTest {
   private SessionListAnalyser sessionListAnalyser;
   @Mock
   private DecryptionService decryptionService;
+  @Mock
+  private CacheManager cacheManager;
 
   /*
    * Method: prepareMessageForSessionList
@@ -54,6 +66,79 @@ public class SessionListAnalyserTest {
     verify(decryptionService, atLeastOnce()).decrypt(MESSAGE_TOO_LONG, RC_GROUP_ID);
   }
 
+  @Test
+  public void prepareMessageForSessionList_Should_DecryptLastMessageOnlyOnce_When_MessageIsUnchanged()
+      throws CustomCryptoException {
+    when(cacheManager.getCache(DECRYPTED_MESSAGE_PREVIEW_CACHE))
+        .thenReturn(new ConcurrentMapCache(DECRYPTED_MESSAGE_PREVIEW_CACHE));
+    when(decryptionService.decrypt(MESSAGE_TOO_LONG, RC_GROUP_ID)).thenReturn(MESSAGE_TOO_LONG);
+    RoomsLastMessageDTO lastMessage = lastMessage("messageId", new Date(1000));
+
+    String firstResult = sessionListAnalyser.prepareMessageForSessionList(lastMessage, RC_GROUP_ID);
+    String secondResult =
+        sessionListAnalyser.prepareMessageForSessionList(lastMessage, RC_GROUP_ID);
+
+    assertEquals(SessionListAnalyser.MAX_MESSAGE_LENGTH_FOR_FRONTEND, firstResult.length());
+    assertEquals(firstResult, secondResult);
+    verify(decryptionService, times(1)).decrypt(MESSAGE_TOO_LONG, RC_GROUP_ID);
+  }
+
+  @Test
+  public void prepareMessageForSessionList_Should_DecryptLastMessageAgain_When_MessageWasUpdated()
+      throws CustomCryptoException {
+    when(cacheManager.getCache(DECRYPTED_MESSAGE_PREVIEW_CACHE))
+        .thenReturn(new ConcurrentMapCache(DECRYPTED_MESSAGE_PREVIEW_CACHE));
+    when(decryptionService.decrypt(MESSAGE_TOO_LONG, RC_GROUP_ID)).thenReturn(MESSAGE_TOO_LONG);
+
+    sessionListAnalyser
+        .prepareMessageForSessionList(lastMessage("messageId", new Date(1000)), RC_GROUP_ID);
+    sessionListAnalyser
+        .prepareMessageForSessionList(lastMessage("messageId", new Date(2000)), RC_GROUP_ID);
+
+    verify(decryptionService, times(2)).decrypt(MESSAGE_TOO_LONG, RC_GROUP_ID);
+  }
+
+  @Test
+  public void prepareMessageForSessionList_Should_DecryptLastMessageAgain_When_MasterKeyChanged()
+      throws CustomCryptoException {
+    when(cacheManager.getCache(DECRYPTED_MESSAGE_PREVIEW_CACHE))
+        .thenReturn(new ConcurrentMapCache(DECRYPTED_MESSAGE_PREVIEW_CACHE));
+    when(decryptionService.decrypt(MESSAGE_TOO_LONG, RC_GROUP_ID)).thenReturn(MESSAGE_TOO_LONG);
+    when(decryptionService.getMasterKeyGeneration()).thenReturn(1L, 2L);
+    RoomsLastMessageDTO lastMessage = lastMessage("messageId", new Date(1000));
+
+    sessionListAnalyser.prepareMessageForSessionList(lastMessage, RC_GROUP_ID);
+    sessionListAnalyser.prepareMessageForSessionList(lastMessage, RC_GROUP_ID);
+
+    verify(decryptionService, times(2)).decrypt(MESSAGE_TOO_LONG, RC_GROUP_ID);
+  }
+
+  @Test
+  public void prepareMessagesForSessionList_Should_DecryptUncachedMessagesInBulk()
+      throws CustomCryptoException {
+    when(cacheManager.getCache(DECRYPTED_MESSAGE_PREVIEW_CACHE))
+        .thenReturn(new ConcurrentMapCache(DECRYPTED_MESSAGE_PREVIEW_CACHE));
+    when(decryptionService.decryptAll(Map.of(RC_GROUP_ID, MESSAGE_TOO_LONG)))
+        .thenReturn(Map.of(RC_GROUP_ID, MESSAGE_TOO_LONG));
+    RoomsLastMessageDTO lastMessage = lastMessage("messageId", new Date(1000));
+
+    sessionListAnalyser
+        .prepareMessagesForSessionList(Map.of(RC_GROUP_ID, lastMessage), List.of(RC_GROUP_ID,
+            RC_GROUP_ID_6));
+    String result = sessionListAnalyser.prepareMessageForSessionList(lastMessage, RC_GROUP_ID);
+
+    assertEquals(SessionListAnalyser.MAX_MESSAGE_LENGTH_FOR_FRONTEND, result.length());
+    verify(decryptionService, never()).decrypt(any(), any());
+  }
+
+  private RoomsLastMessageDTO lastMessage(String messageId, Date updatedAt) {
+    RoomsLastMessageDTO lastMessage = new RoomsLastMessageDTO();
+    lastMessage.setId(messageId);
+    lastMessage.setUpdatedAt(updatedAt);
+    lastMessage.setMessage(MESSAGE_TOO_LONG);
+    return lastMessage;
+  }
+
   /*
    * Method: isMessagesForRocketChatGroupReadByUser
    */
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.exception.MissingConsultingTypeException;
@@ -27,6 +28,19 @@ class ConsultingTypeManagerTest {
   @Mock
   private ConsultingTypeService consultingTypeService;
 
+  @Mock
+  private ConsultingTypeRegistry consultingTypeRegistry;
+
+  @Test
+  void getConsultantTypeSettings_Should_ReturnRegisteredSettings_When_RegistryContainsConsultingType() {
+    ExtendedConsultingTypeResponseDTO extendedConsultingTypeResponseDTO = new ExtendedConsultingTypeResponseDTO();
+    when(consultingTypeRegistry.get(1)).thenReturn(extendedConsultingTypeResponseDTO);
+
+    assertEquals(extendedConsultingTypeResponseDTO,
+        consultingTypeManager.getConsultingTypeSettings(1));
+    verifyNoInteractions(consultingTypeService);
+  }
+
   @Test
   void getConsultantTypeSettings_Should_Throw_MissingConsultingTypeException_When_RestClientException() {
     when(consultingTypeService.getExtendedConsultingTypeResponseDTO(anyInt()))
@@ -0,0 +1,62 @@
+package de.caritas.cob.userservice.api.manager.consultingtype;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.service.ConsultingTypeService;
+import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestClientException;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultingTypeRegistryTest {
+
+  @InjectMocks
+  private ConsultingTypeRegistry consultingTypeRegistry;
+
+  @Mock
+  private ConsultingTypeService consultingTypeService;
+
+  @Test
+  void get_Should_returnNull_When_registryHasNotBeenRefreshed() {
+    assertThat(consultingTypeRegistry.get(0), nullValue());
+  }
+
+  @Test
+  void get_Should_returnConsultingTypeById_When_registryHasBeenRefreshed() {
+    var first = new ExtendedConsultingTypeResponseDTO().id(0);
+    var second = new ExtendedConsultingTypeResponseDTO().id(5);
+    when(consultingTypeService.getAllExtendedConsultingTypeResponseDTOsWithoutCaching())
+        .thenReturn(List.of(second, first));
+
+    consultingTypeRegistry.refresh();
+
+    assertThat(consultingTypeRegistry.get(0), is(sameInstance(first)));
+    assertThat(consultingTypeRegistry.get(5), is(sameInstance(second)));
+    assertThat(consultingTypeRegistry.get(3), nullValue());
+    assertThat(consultingTypeRegistry.get(6), nullValue());
+    assertThat(consultingTypeRegistry.get(-1), nullValue());
+  }
+
+  @Test
+  void refresh_Should_keepCurrentSnapshot_When_consultingTypeServiceIsNotAvailable() {
+    var consultingType = new ExtendedConsultingTypeResponseDTO().id(1);
+    when(consultingTypeService.getAllExtendedConsultingTypeResponseDTOsWithoutCaching())
+        .thenReturn(List.of(consultingType))
+        .thenThrow(new RestClientException("unavailable"));
+
+    consultingTypeRegistry.refresh();
+    consultingTypeRegistry.refresh();
+
+    assertThat(consultingTypeRegistry.get(1), is(sameInstance(consultingType)));
+  }
+
+}
@@ -5,7 +5,6 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.ConsultingTypeControllerApi;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.BasicConsultingTypeResponseDTO;
 import java.util.List;
@@ -15,7 +14,6 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.junit4.SpringRunner;
 
 @RunWith(SpringRunner.class)
@@ -27,9 +25,6 @@ public class ConsultingTypeServiceTest {
   @Mock
   private ConsultingTypeControllerApi consultingTypeControllerApi;
 
-  @Mock
-  private SecurityHeaderSupplier securityHeaderSupplier;
-
   @Test
   public void ConsultingTypeService_Should_Return_expectedIdList_From_BasicConsultingTypeResponseDTO() {
     int size = 15;
@@ -37,7 +32,6 @@ public class ConsultingTypeServiceTest {
         size);
     when(consultingTypeControllerApi.getBasicConsultingTypeList())
         .thenReturn(randomBasicConsultingTypeResponseDTOList);
-    when(securityHeaderSupplier.getCsrfHttpHeaders()).thenReturn(new HttpHeaders());
 
     List<Integer> consultingTypeIds = consultingTypeService.getAllConsultingTypeIds();
 
@@ -60,7 +54,6 @@ public class ConsultingTypeServiceTest {
 
   @Test
   public void getExtendedConsultingTypeResponseDTO_Should_callConsultingTypeController_When_idExists() {
-    when(securityHeaderSupplier.getCsrfHttpHeaders()).thenReturn(new HttpHeaders());
 
     this.consultingTypeService.getExtendedConsultingTypeResponseDTO(1);
 
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import de.caritas.cob.userservice.api.exception.CustomCryptoException;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -53,6 +54,13 @@ public class DecryptionServiceTest {
     assertEquals("Cannot properly set MasterKey", KEY_MASTER, encryptionService.getMasterKey());
   }
 
+  @Test
+  public void updateMasterKey_Should_IncreaseMasterKeyGeneration() {
+    long generation = encryptionService.getMasterKeyGeneration();
+    encryptionService.updateMasterKey(KEY_MASTER);
+    assertEquals(generation + 1, encryptionService.getMasterKeyGeneration());
+  }
+
   @Test
   public void decrypt_Should_ReturnDecryptedText_WhenProvidedWithValidParameters()
       throws Exception {
@@ -70,4 +78,37 @@ public class DecryptionServiceTest {
     }
   }
 
+  @Test
+  public void decrypt_Should_ReturnDecryptedText_When_KeyOfSecretIsAlreadyCached()
+      throws Exception {
+    encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION);
+    String decryptedMessage = encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION);
+    assertEquals("Did not get the expected decrypted result.", MESSAGE_PLAIN, decryptedMessage);
+  }
+
+  @Test(expected = CustomCryptoException.class)
+  public void decrypt_Should_NotUseCachedKey_When_MasterKeyChanged() throws Exception {
+    encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION);
+    encryptionService.updateMasterKey("OtherMasterKey");
+
+    encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION);
+  }
+
+  @Test
+  public void decryptAll_Should_ReturnDecryptedTextsByGroupId() {
+    Map<String, String> decryptedMessages = encryptionService.decryptAll(
+        Map.of(KEY_SESSION, MESSAGE_ENCRYPTED, KEY_SESSION_WRONG, MESSAGE_PLAIN));
+
+    assertEquals(MESSAGE_PLAIN, decryptedMessages.get(KEY_SESSION));
+    assertEquals(MESSAGE_PLAIN, decryptedMessages.get(KEY_SESSION_WRONG));
+  }
+
+  @Test
+  public void decryptAll_Should_SkipMessage_When_MessageCanNotBeDecrypted() {
+    Map<String, String> decryptedMessages = encryptionService.decryptAll(
+        Map.of(KEY_SESSION, MESSAGE_ENCRYPTED, KEY_SESSION_WRONG, MESSAGE_ENCRYPTED));
+
+    assertEquals(Map.of(KEY_SESSION, MESSAGE_PLAIN), decryptedMessages);
+  }
+
 }
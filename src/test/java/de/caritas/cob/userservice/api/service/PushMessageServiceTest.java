@@ -12,8 +12,12 @@ import static org.powermock.reflect.Whitebox.setInternalState;
 import static org.springframework.test.util.ReflectionTestUtils.getField;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -57,32 +61,50 @@ public class PushMessageServiceTest {
   }
 
   @Test
-  public void pushMessage_Should_pushFirebaseMessage() throws FirebaseMessagingException {
+  public void pushNewMessageEvents_Should_logWarning_When_sendFails()
+      throws FirebaseMessagingException {
     setField(this.pushMessageService, "isEnabled", true);
+    FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+    when(this.firebaseMessaging.sendMulticast(any())).thenThrow(exception);
 
-    this.pushMessageService.pushNewMessageEvent("registrationToken");
+    this.pushMessageService.pushNewMessageEvents(List.of("token"));
 
-    verify(this.firebaseMessaging, times(1)).send(any());
-    verifyNoMoreInteractions(logger);
+    verify(logger, times(1)).warn(anyString());
   }
 
   @Test
-  public void pushMessage_Should_logWarning_When_sendFails() throws FirebaseMessagingException {
+  public void pushNewMessageEvents_Should_sendMulticastMessagesOfAtMostMaxTokens()
+      throws FirebaseMessagingException {
     setField(this.pushMessageService, "isEnabled", true);
-    FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
-    when(this.firebaseMessaging.send(any())).thenThrow(exception);
+    when(this.firebaseMessaging.sendMulticast(any())).thenReturn(mock(BatchResponse.class));
+    List<String> tokens = IntStream.range(0, PushMessageService.MAX_MULTICAST_TOKENS + 1)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.toList());
 
-    this.pushMessageService.pushNewMessageEvent("registrationToken");
+    this.pushMessageService.pushNewMessageEvents(tokens);
 
-    verify(logger, times(1)).warn(anyString());
+    verify(this.firebaseMessaging, times(2)).sendMulticast(any());
+    verifyNoMoreInteractions(logger);
   }
 
   @Test
-  public void pushMessage_Should_notSendNotification_When_firebaseIsDisabled()
+  public void pushNewMessageEvents_Should_logWarning_When_sendToSomeDevicesFails()
       throws FirebaseMessagingException {
+    setField(this.pushMessageService, "isEnabled", true);
+    BatchResponse response = mock(BatchResponse.class);
+    when(response.getFailureCount()).thenReturn(1);
+    when(this.firebaseMessaging.sendMulticast(any())).thenReturn(response);
+
+    this.pushMessageService.pushNewMessageEvents(List.of("token1", "token2"));
+
+    verify(logger, times(1)).warn("Push notification failed for 1 of 2 devices");
+  }
+
+  @Test
+  public void pushNewMessageEvents_Should_notSendNotification_When_firebaseIsDisabled() {
     setField(this.pushMessageService, "isEnabled", false);
 
-    this.pushMessageService.pushNewMessageEvent("registrationToken");
+    this.pushMessageService.pushNewMessageEvents(List.of("token"));
 
     verifyNoMoreInteractions(this.firebaseMessaging);
   }
@@ -140,9 +140,9 @@ public class RocketChatServiceTest {
   private final GroupMemberResponseDTO GROUP_MEMBER_RESPONSE_DTO =
       new GroupMemberResponseDTO(GROUP_MEMBER_DTO, null, null, null, true, null, null);
   private final SubscriptionsGetDTO SUBSCRIPTIONS_GET_DTO =
-      new SubscriptionsGetDTO(new SubscriptionsUpdateDTO[]{}, false, null, null);
+      new SubscriptionsGetDTO(new SubscriptionsUpdateDTO[]{}, false, null, null, null);
   private final RoomsGetDTO ROOMS_GET_DTO =
-      new RoomsGetDTO(new RoomsUpdateDTO[]{}, true, null, null);
+      new RoomsGetDTO(new RoomsUpdateDTO[]{}, true, null, null, null);
   private final ResponseEntity<SubscriptionsGetDTO> SUBSCRIPTIONS_GET_RESPONSE_ENTITY =
       new ResponseEntity<>(SUBSCRIPTIONS_GET_DTO, HttpStatus.OK);
   private final ResponseEntity<RoomsGetDTO> ROOMS_GET_RESPONSE_ENTITY =
@@ -0,0 +1,65 @@
+package de.caritas.cob.userservice.api.service.agency;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.agencyserivce.generated.web.model.AgencyResponseDTO;
+import de.caritas.cob.userservice.api.model.AgencyDTO;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+class AgencyMapperTest {
+
+  @Test
+  void fromAgencyResponseDTO_Should_returnNull_When_agencyIsNull() {
+    assertThat(AgencyMapper.fromAgencyResponseDTO(null), nullValue());
+  }
+
+  @Test
+  void fromAgencyResponseDTO_Should_mapAllFields_When_agencyIsGiven() {
+    AgencyResponseDTO agencyResponseDTO = new AgencyResponseDTO()
+        .id(1L)
+        .name("name")
+        .postcode("12345")
+        .city("city")
+        .description("description")
+        .teamAgency(true)
+        .offline(false)
+        .consultingType(2);
+
+    AgencyDTO result = AgencyMapper.fromAgencyResponseDTO(agencyResponseDTO);
+
+    assertThat(result.getId(), is(1L));
+    assertThat(result.getName(), is("name"));
+    assertThat(result.getPostcode(), is("12345"));
+    assertThat(result.getCity(), is("city"));
+    assertThat(result.getDescription(), is("description"));
+    assertThat(result.getTeamAgency(), is(true));
+    assertThat(result.getOffline(), is(false));
+    assertThat(result.getConsultingType(), is(2));
+  }
+
+  @Test
+  @SneakyThrows
+  void fromAgencyResponseDTO_Should_matchJsonConversion_When_agencyModelsAreIdentical() {
+    AgencyResponseDTO agencyResponseDTO = new AgencyResponseDTO()
+        .id(1L)
+        .name("name")
+        .postcode("12345")
+        .city("city")
+        .description("description")
+        .teamAgency(false)
+        .offline(true)
+        .consultingType(3);
+    ObjectMapper objectMapper = new ObjectMapper();
+    AgencyDTO jsonConverted = objectMapper
+        .readValue(objectMapper.writeValueAsString(agencyResponseDTO), AgencyDTO.class);
+
+    AgencyDTO result = AgencyMapper.fromAgencyResponseDTO(agencyResponseDTO);
+
+    assertThat(result, is(jsonConverted));
+  }
+
+}
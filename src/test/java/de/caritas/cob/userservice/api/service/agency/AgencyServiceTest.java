@@ -1,18 +1,29 @@
 package de.caritas.cob.userservice.api.service.agency;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.agencyserivce.generated.web.AgencyControllerApi;
+import de.caritas.cob.userservice.agencyserivce.generated.web.model.AgencyResponseDTO;
 import de.caritas.cob.userservice.api.model.AgencyDTO;
-import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
+import de.caritas.cob.userservice.config.CacheManagerConfig;
 import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 @ExtendWith(MockitoExtension.class)
 class AgencyServiceTest {
@@ -24,7 +35,7 @@ class AgencyServiceTest {
   AgencyControllerApi agencyControllerApi;
 
   @Mock
-  SecurityHeaderSupplier securityHeaderSupplier;
+  CacheManager cacheManager;
 
   @ParameterizedTest
   @NullAndEmptySource
@@ -34,4 +45,45 @@ class AgencyServiceTest {
     assertThat(result, hasSize(0));
   }
 
+  @Test
+  void getAgencies_Should_requestOnlyAgenciesMissingInCache_When_someAgenciesAreCached() {
+    ConcurrentMapCache agencyCache = new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE);
+    agencyCache.put(1L, new AgencyDTO().id(1L));
+    when(this.cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE)).thenReturn(agencyCache);
+    when(this.agencyControllerApi.getAgenciesByIds(List.of(2L, 3L)))
+        .thenReturn(List.of(new AgencyResponseDTO().id(3L), new AgencyResponseDTO().id(2L)));
+
+    List<AgencyDTO> result = this.agencyService.getAgencies(List.of(3L, 1L, 2L, 3L));
+
+    assertThat(result.stream().map(AgencyDTO::getId).collect(Collectors.toList()),
+        contains(3L, 1L, 2L));
+    assertThat(agencyCache.get(2L, AgencyDTO.class), notNullValue());
+    assertThat(agencyCache.get(3L, AgencyDTO.class), notNullValue());
+  }
+
+  @Test
+  void getAgencies_Should_notCallAgencyService_When_allAgenciesAreCached() {
+    ConcurrentMapCache agencyCache = new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE);
+    agencyCache.put(1L, new AgencyDTO().id(1L));
+    agencyCache.put(2L, new AgencyDTO().id(2L));
+    when(this.cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE)).thenReturn(agencyCache);
+
+    List<AgencyDTO> result = this.agencyService.getAgencies(List.of(1L, 2L));
+
+    assertThat(result, hasSize(2));
+    verify(this.agencyControllerApi, never()).getAgenciesByIds(any());
+  }
+
+  @Test
+  void getAgencies_Should_skipAgencies_When_agencyServiceDoesNotKnowThem() {
+    ConcurrentMapCache agencyCache = new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE);
+    when(this.cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE)).thenReturn(agencyCache);
+    when(this.agencyControllerApi.getAgenciesByIds(List.of(1L, 2L)))
+        .thenReturn(List.of(new AgencyResponseDTO().id(2L)));
+
+    List<AgencyDTO> result = this.agencyService.getAgencies(List.of(1L, 2L));
+
+    assertThat(result.stream().map(AgencyDTO::getId).collect(Collectors.toList()), contains(2L));
+  }
+
 }
@@ -1,12 +1,17 @@
 package de.caritas.cob.userservice.api.service.helper;
 
+import static de.caritas.cob.userservice.config.CacheManagerConfig.AGENCY_CACHE;
 import static de.caritas.cob.userservice.testHelper.TestConstants.AGENCY_DTO_LIST;
 import static de.caritas.cob.userservice.testHelper.TestConstants.AGENCY_ID;
 import static de.caritas.cob.userservice.testHelper.TestConstants.AGENCY_ID_LIST;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,7 +19,6 @@ import de.caritas.cob.userservice.agencyserivce.generated.web.AgencyControllerAp
 import de.caritas.cob.userservice.agencyserivce.generated.web.model.AgencyResponseDTO;
 import de.caritas.cob.userservice.api.model.AgencyDTO;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
-import de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderSupplier;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,16 +30,15 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.HttpHeaders;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AgencySecurityHeaderSupplierTest {
 
   private final String GET_AGENCY_METHOD_NAME = "getAgency";
-  private final String GET_AGENCIES_METHOD_NAME = "getAgencies";
   private final Class<?>[] GET_AGENCY_METHOD_PARAMS = new Class[]{Long.class};
-  private final Class<?>[] GET_AGENCIES_METHOD_PARAMS = new Class[]{List.class};
 
   @InjectMocks
   private AgencyService agencyService;
@@ -44,7 +47,7 @@ public class AgencySecurityHeaderSupplierTest {
   private AgencyControllerApi agencyControllerApi;
 
   @Mock
-  private SecurityHeaderSupplier securityHeaderSupplier;
+  private CacheManager cacheManager;
 
   private List<AgencyResponseDTO> agencyResponseDTOS;
 
@@ -53,7 +56,6 @@ public class AgencySecurityHeaderSupplierTest {
     this.agencyResponseDTOS = AGENCY_DTO_LIST.stream()
         .map(this::toAgencyResponseDTO)
         .collect(Collectors.toList());
-    when(this.securityHeaderSupplier.getCsrfHttpHeaders()).thenReturn(new HttpHeaders());
   }
 
   @SneakyThrows
@@ -71,19 +73,17 @@ public class AgencySecurityHeaderSupplierTest {
     assertThat(agencyService.getAgencies(AGENCY_ID_LIST).get(0), instanceOf(AgencyDTO.class));
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
   @Test
-  public void test_Should_Fail_When_MethodgetAgenciesFromAgencyServiceDoesNotHaveCacheableAnnotation()
-      throws NoSuchMethodException, SecurityException {
+  public void getAgencies_Should_ResolveAgenciesFromAgencyCache_When_AgenciesWereRequestedBefore() {
+    when(cacheManager.getCache(AGENCY_CACHE)).thenReturn(new ConcurrentMapCache(AGENCY_CACHE));
+    when(agencyControllerApi.getAgenciesByIds(List.of(AGENCY_ID)))
+        .thenReturn(this.agencyResponseDTOS);
 
-    AgencyService agencyService = new AgencyService(mock(AgencyControllerApi.class),
-        mock(SecurityHeaderSupplier.class));
-    Class classToTest = agencyService.getClass();
-    Method methodToTest = classToTest
-        .getMethod(GET_AGENCIES_METHOD_NAME, GET_AGENCIES_METHOD_PARAMS);
-    Cacheable annotation = methodToTest.getAnnotation(Cacheable.class);
+    agencyService.getAgencies(List.of(AGENCY_ID));
+    List<AgencyDTO> result = agencyService.getAgencies(List.of(AGENCY_ID));
 
-    assertNotNull(annotation);
+    assertThat(result.get(0).getId(), is(AGENCY_ID));
+    verify(agencyControllerApi, times(1)).getAgenciesByIds(any());
   }
 
   @Test
@@ -100,7 +100,7 @@ public class AgencySecurityHeaderSupplierTest {
       throws NoSuchMethodException, SecurityException {
 
     AgencyService agencyService = new AgencyService(mock(AgencyControllerApi.class),
-        mock(SecurityHeaderSupplier.class));
+        mock(CacheManager.class));
     Class classToTest = agencyService.getClass();
     Method methodToTest = classToTest.getMethod(GET_AGENCY_METHOD_NAME, GET_AGENCY_METHOD_PARAMS);
     Cacheable annotation = methodToTest.getAnnotation(Cacheable.class);
@@ -0,0 +1,53 @@
+package de.caritas.cob.userservice.api.service.helper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KeycloakAdminCallMetricsTest {
+
+  private final KeycloakAdminCallMetrics keycloakAdminCallMetrics = new KeycloakAdminCallMetrics();
+
+  @Mock
+  private ClientRequestContext requestContext;
+
+  @Mock
+  private ClientResponseContext responseContext;
+
+  @Test
+  public void filter_Should_countCallsAndFailures_When_responsesAreReceived() {
+    ArgumentCaptor<Object> startTimeCaptor = ArgumentCaptor.forClass(Object.class);
+    this.keycloakAdminCallMetrics.filter(requestContext);
+    verify(requestContext).setProperty(anyString(), startTimeCaptor.capture());
+    when(requestContext.getProperty(anyString())).thenReturn(startTimeCaptor.getValue());
+    when(requestContext.getUri()).thenReturn(URI.create("http://keycloak/admin/realms/test"));
+    when(responseContext.getStatus()).thenReturn(200, 404);
+
+    this.keycloakAdminCallMetrics.filter(requestContext, responseContext);
+    this.keycloakAdminCallMetrics.filter(requestContext, responseContext);
+
+    assertThat(this.keycloakAdminCallMetrics.getCallCount(), is(2L));
+    assertThat(this.keycloakAdminCallMetrics.getFailedCallCount(), is(1L));
+    assertThat(this.keycloakAdminCallMetrics.getAverageLatencyMillis(),
+        greaterThanOrEqualTo(0.0));
+  }
+
+  @Test
+  public void getAverageLatencyMillis_Should_returnZero_When_noCallHasBeenPerformed() {
+    assertThat(this.keycloakAdminCallMetrics.getAverageLatencyMillis(), is(0.0));
+  }
+
+}
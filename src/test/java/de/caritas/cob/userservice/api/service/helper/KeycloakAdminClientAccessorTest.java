@@ -0,0 +1,55 @@
+package de.caritas.cob.userservice.api.service.helper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.springframework.test.util.ReflectionTestUtils.getField;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KeycloakAdminClientAccessorTest {
+
+  private final KeycloakAdminClientAccessor keycloakAdminClientAccessor =
+      new KeycloakAdminClientAccessor();
+
+  @Before
+  public void setup() {
+    setField(keycloakAdminClientAccessor, "keycloakServerUrl", "http://localhost/auth");
+    setField(keycloakAdminClientAccessor, "keycloakRealm", "realm");
+    setField(keycloakAdminClientAccessor, "keycloakUsername", "username");
+    setField(keycloakAdminClientAccessor, "keycloakPassword", "password");
+    setField(keycloakAdminClientAccessor, "keycloakClientId", "admin-cli");
+    setField(keycloakAdminClientAccessor, "connectionPoolSize", 2);
+  }
+
+  @After
+  public void tearDown() {
+    keycloakAdminClientAccessor.close();
+  }
+
+  @Test
+  public void getRealmResource_Should_reuseKeycloakClient_When_calledMultipleTimes() {
+    keycloakAdminClientAccessor.getRealmResource();
+    Object firstClient = getField(keycloakAdminClientAccessor, "keycloak");
+
+    keycloakAdminClientAccessor.getUsersResource();
+    Object secondClient = getField(keycloakAdminClientAccessor, "keycloak");
+
+    assertThat(firstClient, notNullValue());
+    assertThat(secondClient, sameInstance(firstClient));
+  }
+
+  @Test
+  public void close_Should_releaseKeycloakClient() {
+    keycloakAdminClientAccessor.getRealmResource();
+
+    keycloakAdminClientAccessor.close();
+
+    assertThat(getField(keycloakAdminClientAccessor, "keycloak"), nullValue());
+  }
+
+}
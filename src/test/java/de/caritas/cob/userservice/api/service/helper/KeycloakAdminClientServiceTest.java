@@ -2,17 +2,22 @@ package de.caritas.cob.userservice.api.service.helper;
 
 import static de.caritas.cob.userservice.api.exception.httpresponses.customheader.HttpStatusExceptionReason.EMAIL_NOT_AVAILABLE;
 import static de.caritas.cob.userservice.api.exception.httpresponses.customheader.HttpStatusExceptionReason.USERNAME_NOT_AVAILABLE;
+import static de.caritas.cob.userservice.config.CacheManagerConfig.KEYCLOAK_USER_ROLES_CACHE;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.powermock.reflect.Whitebox.setInternalState;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
@@ -28,6 +33,10 @@ import de.caritas.cob.userservice.api.model.keycloak.KeycloakCreateUserResponseD
 import de.caritas.cob.userservice.api.model.registration.UserDTO;
 import de.caritas.cob.userservice.api.service.LogService;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import javax.ws.rs.core.Response;
 import org.jeasy.random.EasyRandom;
 import org.junit.Before;
@@ -43,17 +52,17 @@ import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.representations.idm.ErrorRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class KeycloakAdminClientServiceTest {
 
-  @InjectMocks
   private KeycloakAdminClientService keycloakAdminClientService;
 
   @Mock
@@ -68,10 +77,15 @@ public class KeycloakAdminClientServiceTest {
   @Mock
   private Logger logger;
 
+  @Mock
+  private CacheManager cacheManager;
+
   EasyRandom easyRandom = new EasyRandom();
 
   @Before
   public void setup() {
+    keycloakAdminClientService = new KeycloakAdminClientService(userHelper,
+        keycloakAdminClientAccessor, cacheManager, Runnable::run);
     setField(keycloakAdminClientService, "usernameTranscoder", usernameTranscoder);
     setInternalState(LogService.class, "LOGGER", logger);
   }
@@ -516,4 +530,159 @@ public class KeycloakAdminClientServiceTest {
     verify(userResource, times(1)).update(any());
   }
 
+  @Test
+  public void userHasAuthority_Should_useCachedRoles_When_rolesOfUserAreCached() {
+    ConcurrentMapCache userRolesCache = new ConcurrentMapCache(KEYCLOAK_USER_ROLES_CACHE);
+    userRolesCache.put("user", Set.of(UserRole.U25_MAIN_CONSULTANT.getValue()));
+    when(this.cacheManager.getCache(KEYCLOAK_USER_ROLES_CACHE)).thenReturn(userRolesCache);
+
+    boolean hasAuthority = this.keycloakAdminClientService
+        .userHasAuthority("user", AuthorityValue.VIEW_ALL_PEER_SESSIONS);
+
+    assertThat(hasAuthority, is(true));
+    verifyNoInteractions(this.keycloakAdminClientAccessor);
+  }
+
+  @Test
+  public void userHasRole_Should_cacheRolesOfUser_When_rolesAreNotCached() {
+    ConcurrentMapCache userRolesCache = new ConcurrentMapCache(KEYCLOAK_USER_ROLES_CACHE);
+    when(this.cacheManager.getCache(KEYCLOAK_USER_ROLES_CACHE)).thenReturn(userRolesCache);
+    RoleRepresentation roleRepresentation = mock(RoleRepresentation.class);
+    when(roleRepresentation.getName()).thenReturn("consultant");
+    RoleScopeResource roleScopeResource = mock(RoleScopeResource.class);
+    when(roleScopeResource.listAll()).thenReturn(singletonList(roleRepresentation));
+    RoleMappingResource roleMappingResource = mock(RoleMappingResource.class);
+    when(roleMappingResource.realmLevel()).thenReturn(roleScopeResource);
+    UserResource userResource = mock(UserResource.class);
+    when(userResource.roles()).thenReturn(roleMappingResource);
+    UsersResource usersResource = mock(UsersResource.class);
+    when(usersResource.get(any())).thenReturn(userResource);
+    when(this.keycloakAdminClientAccessor.getUsersResource()).thenReturn(usersResource);
+
+    this.keycloakAdminClientService.userHasRole("user", "consultant");
+    boolean hasRole = this.keycloakAdminClientService.userHasRole("user", "consultant");
+
+    assertThat(hasRole, is(true));
+    verify(roleScopeResource, times(1)).listAll();
+    assertThat(userRolesCache.get("user"), notNullValue());
+  }
+
+  @Test
+  public void updateRole_Should_evictCachedRolesOfUser() {
+    ConcurrentMapCache userRolesCache = new ConcurrentMapCache(KEYCLOAK_USER_ROLES_CACHE);
+    userRolesCache.put("user", Set.of());
+    when(this.cacheManager.getCache(KEYCLOAK_USER_ROLES_CACHE)).thenReturn(userRolesCache);
+    UserResource userResource = mock(UserResource.class);
+    UsersResource usersResource = mock(UsersResource.class);
+    when(usersResource.get(anyString())).thenReturn(userResource);
+    RoleScopeResource roleScopeResource = mock(RoleScopeResource.class);
+    RoleRepresentation keycloakRoleMock = mock(RoleRepresentation.class);
+    when(keycloakRoleMock.toString()).thenReturn("role");
+    when(roleScopeResource.listAll()).thenReturn(singletonList(keycloakRoleMock));
+    RoleMappingResource roleMappingResource = mock(RoleMappingResource.class);
+    when(roleMappingResource.realmLevel()).thenReturn(roleScopeResource);
+    when(userResource.roles()).thenReturn(roleMappingResource);
+    RoleResource roleResource = mock(RoleResource.class);
+    when(roleResource.toRepresentation())
+        .thenReturn(new EasyRandom().nextObject(RoleRepresentation.class));
+    RolesResource rolesResource = mock(RolesResource.class);
+    when(rolesResource.get(any())).thenReturn(roleResource);
+    RealmResource realmResource = mock(RealmResource.class);
+    when(realmResource.users()).thenReturn(usersResource);
+    when(realmResource.roles()).thenReturn(rolesResource);
+    when(this.keycloakAdminClientAccessor.getRealmResource()).thenReturn(realmResource);
+
+    this.keycloakAdminClientService.updateRole("user", "role");
+
+    assertThat(userRolesCache.get("user"), nullValue());
+  }
+
+  @Test
+  public void warmUpConsultantRoles_Should_cacheRolesOfUncachedConsultantsFromRoleMembers() {
+    ConcurrentMapCache userRolesCache = new ConcurrentMapCache(KEYCLOAK_USER_ROLES_CACHE);
+    userRolesCache.put("cachedConsultant", Set.of(UserRole.CONSULTANT.getValue()));
+    when(this.cacheManager.getCache(KEYCLOAK_USER_ROLES_CACHE)).thenReturn(userRolesCache);
+    RolesResource rolesResource = mockRealmRolesResource();
+    mockRoleMembers(rolesResource, UserRole.CONSULTANT.getValue(), "consultant1", "consultant2",
+        "cachedConsultant", "otherConsultant");
+    mockRoleMembers(rolesResource, UserRole.U25_MAIN_CONSULTANT.getValue(), "consultant1");
+
+    this.keycloakAdminClientService.warmUpConsultantRoles(
+        List.of("consultant1", "consultant2", "consultant1", "cachedConsultant"));
+
+    assertThat(userRolesCache.get("consultant1").get(), is(Set.of(UserRole.CONSULTANT.getValue(),
+        UserRole.U25_MAIN_CONSULTANT.getValue())));
+    assertThat(userRolesCache.get("consultant2").get(),
+        is(Set.of(UserRole.CONSULTANT.getValue())));
+    assertThat(userRolesCache.get("otherConsultant"), nullValue());
+    assertThat(this.keycloakAdminClientService
+        .userHasAuthority("consultant1", AuthorityValue.VIEW_ALL_FEEDBACK_SESSIONS), is(true));
+    assertThat(this.keycloakAdminClientService
+        .userHasAuthority("consultant2", AuthorityValue.VIEW_ALL_FEEDBACK_SESSIONS), is(false));
+    verify(rolesResource, never()).get(UserRole.USER.getValue());
+    verify(rolesResource, never()).get(UserRole.ANONYMOUS.getValue());
+    verify(this.keycloakAdminClientAccessor, never()).getUsersResource();
+  }
+
+  @Test
+  public void warmUpConsultantRoles_Should_pageThroughAllRoleMembers() {
+    ConcurrentMapCache userRolesCache = new ConcurrentMapCache(KEYCLOAK_USER_ROLES_CACHE);
+    when(this.cacheManager.getCache(KEYCLOAK_USER_ROLES_CACHE)).thenReturn(userRolesCache);
+    RolesResource rolesResource = mockRealmRolesResource();
+    RoleResource roleResource = mock(RoleResource.class);
+    when(roleResource.getRoleUserMembers(0, 100)).thenReturn(IntStream.range(0, 100)
+        .mapToObj(index -> userRepresentation("member" + index))
+        .collect(Collectors.toSet()));
+    when(roleResource.getRoleUserMembers(100, 100))
+        .thenReturn(Set.of(userRepresentation("consultant")));
+    when(rolesResource.get(UserRole.CONSULTANT.getValue())).thenReturn(roleResource);
+
+    this.keycloakAdminClientService.warmUpConsultantRoles(List.of("consultant"));
+
+    assertThat(userRolesCache.get("consultant").get(),
+        is(Set.of(UserRole.CONSULTANT.getValue())));
+  }
+
+  @Test
+  public void warmUpConsultantRoles_Should_logErrorAndCacheNothing_When_membersOfOneRoleCanNotBeLoaded() {
+    ConcurrentMapCache userRolesCache = new ConcurrentMapCache(KEYCLOAK_USER_ROLES_CACHE);
+    when(this.cacheManager.getCache(KEYCLOAK_USER_ROLES_CACHE)).thenReturn(userRolesCache);
+    RolesResource rolesResource = mockRealmRolesResource();
+    mockRoleMembers(rolesResource, UserRole.CONSULTANT.getValue(), "consultant1");
+    when(rolesResource.get(UserRole.U25_CONSULTANT.getValue()))
+        .thenThrow(new RuntimeException("unavailable"));
+
+    this.keycloakAdminClientService.warmUpConsultantRoles(List.of("consultant1", "consultant2"));
+
+    assertThat(userRolesCache.get("consultant1"), nullValue());
+    assertThat(userRolesCache.get("consultant2"), nullValue());
+    verify(logger).error(anyString(), anyString(),
+        eq("Could not warm up roles of consultants"));
+  }
+
+  private RolesResource mockRealmRolesResource() {
+    RoleResource roleWithoutMembers = mock(RoleResource.class);
+    when(roleWithoutMembers.getRoleUserMembers(any(), any())).thenReturn(Set.of());
+    RolesResource rolesResource = mock(RolesResource.class);
+    when(rolesResource.get(anyString())).thenReturn(roleWithoutMembers);
+    RealmResource realmResource = mock(RealmResource.class);
+    when(realmResource.roles()).thenReturn(rolesResource);
+    when(this.keycloakAdminClientAccessor.getRealmResource()).thenReturn(realmResource);
+    return rolesResource;
+  }
+
+  private void mockRoleMembers(RolesResource rolesResource, String roleName, String... userIds) {
+    RoleResource roleResource = mock(RoleResource.class);
+    when(roleResource.getRoleUserMembers(0, 100)).thenReturn(Stream.of(userIds)
+        .map(this::userRepresentation)
+        .collect(Collectors.toSet()));
+    when(rolesResource.get(roleName)).thenReturn(roleResource);
+  }
+
+  private UserRepresentation userRepresentation(String userId) {
+    UserRepresentation userRepresentation = new UserRepresentation();
+    userRepresentation.setId(userId);
+    return userRepresentation;
+  }
+
 }
@@ -0,0 +1,117 @@
+package de.caritas.cob.userservice.api.service.liveevents;
+
+import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.DIRECTMESSAGE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.powermock.reflect.Whitebox.setInternalState;
+
+import de.caritas.cob.userservice.api.service.LogService;
+import de.caritas.cob.userservice.api.service.PushMessageService;
+import de.caritas.cob.userservice.api.service.user.UserService;
+import de.caritas.cob.userservice.liveservice.generated.web.LiveControllerApi;
+import de.caritas.cob.userservice.liveservice.generated.web.model.LiveEventMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.springframework.web.client.RestClientException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DirectMessageEventDispatcherTest {
+
+  @InjectMocks
+  private DirectMessageEventDispatcher directMessageEventDispatcher;
+
+  @Mock
+  private LiveControllerApi liveControllerApi;
+
+  @Mock
+  private UserService userService;
+
+  @Mock
+  private PushMessageService pushMessageService;
+
+  @Mock
+  private Logger logger;
+
+  @Before
+  public void setup() {
+    setInternalState(LogService.class, "LOGGER", logger);
+  }
+
+  @Test
+  public void dispatchQueuedEvents_Should_sendOneLiveEventAndPushForEachQueuedUser() {
+    this.directMessageEventDispatcher.enqueue(asList("1", "2"));
+    this.directMessageEventDispatcher.enqueue(asList("2", "3"));
+    when(this.userService.findMobileTokensOfUsers(any())).thenReturn(singletonList("token"));
+
+    this.directMessageEventDispatcher.dispatchQueuedEvents();
+
+    ArgumentCaptor<LiveEventMessage> captor = ArgumentCaptor.forClass(LiveEventMessage.class);
+    verify(this.liveControllerApi, times(1)).sendLiveEvent(captor.capture());
+    assertThat(captor.getValue().getEventType(), is(DIRECTMESSAGE));
+    assertThat(captor.getValue().getUserIds(), containsInAnyOrder("1", "2", "3"));
+    verify(this.pushMessageService, times(1)).pushNewMessageEvents(singletonList("token"));
+    assertThat(this.directMessageEventDispatcher.getQueueDepth(), is(0));
+    assertThat(this.directMessageEventDispatcher.getThenResetStatistics()
+        .getDispatchedRecipientCount(), is(3L));
+  }
+
+  @Test
+  public void getThenResetStatistics_Should_coverOnlyRecipientsDispatchedSinceLastCall() {
+    this.directMessageEventDispatcher.enqueue(asList("1", "2"));
+    this.directMessageEventDispatcher.dispatchQueuedEvents();
+    this.directMessageEventDispatcher.getThenResetStatistics();
+
+    var statistics = this.directMessageEventDispatcher.getThenResetStatistics();
+
+    assertThat(statistics.getDispatchedRecipientCount(), is(0L));
+    assertThat(statistics.getAverageLatencyMillis(), is(0.0));
+    assertThat(statistics.getMaxLatencyMillis(), is(0L));
+  }
+
+  @Test
+  public void dispatchQueuedEvents_Should_doNothing_When_noEventIsQueued() {
+    this.directMessageEventDispatcher.dispatchQueuedEvents();
+
+    verifyNoInteractions(this.liveControllerApi, this.userService, this.pushMessageService);
+  }
+
+  @Test
+  public void dispatchQueuedEvents_Should_logErrorAndSendPush_When_liveEventCanNotBeSent() {
+    this.directMessageEventDispatcher.enqueue(singletonList("1"));
+    doThrow(new RestClientException("")).when(this.liveControllerApi).sendLiveEvent(any());
+
+    this.directMessageEventDispatcher.dispatchQueuedEvents();
+
+    verify(this.logger, times(1)).error(anyString(), anyString(), anyString());
+    verify(this.pushMessageService, times(1)).pushNewMessageEvents(any());
+  }
+
+  @Test
+  public void dispatchQueuedEvents_Should_notThrowException_When_dispatchFails() {
+    this.directMessageEventDispatcher.enqueue(singletonList("1"));
+    when(this.userService.findMobileTokensOfUsers(any()))
+        .thenThrow(new IllegalStateException("failure"));
+
+    this.directMessageEventDispatcher.dispatchQueuedEvents();
+
+    assertThat(this.directMessageEventDispatcher.getQueueDepth(), is(0));
+    verifyNoInteractions(this.pushMessageService);
+  }
+
+}
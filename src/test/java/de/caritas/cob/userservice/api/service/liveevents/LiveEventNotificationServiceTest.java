@@ -3,14 +3,11 @@ package de.caritas.cob.userservice.api.service.liveevents;
 
 import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.ANONYMOUSCONVERSATIONFINISHED;
 import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.ANONYMOUSENQUIRYACCEPTED;
-import static de.caritas.cob.userservice.liveservice.generated.web.model.EventType.DIRECTMESSAGE;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -18,17 +15,13 @@ import static org.mockito.Mockito.when;
 import static org.powermock.reflect.Whitebox.setInternalState;
 
 import de.caritas.cob.userservice.api.helper.AuthenticatedUser;
-import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.service.LogService;
-import de.caritas.cob.userservice.api.service.PushMessageService;
-import de.caritas.cob.userservice.api.service.user.UserService;
 import de.caritas.cob.userservice.liveservice.generated.web.LiveControllerApi;
 import de.caritas.cob.userservice.liveservice.generated.web.model.EventType;
 import de.caritas.cob.userservice.liveservice.generated.web.model.LiveEventMessage;
 import de.caritas.cob.userservice.liveservice.generated.web.model.StatusSource;
 import de.caritas.cob.userservice.liveservice.generated.web.model.StatusSource.FinishConversationPhaseEnum;
 import java.util.List;
-import java.util.Optional;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,13 +30,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
-import org.springframework.web.client.RestClientException;
 
 @RunWith(MockitoJUnitRunner.class)
 public class LiveEventNotificationServiceTest {
 
-  private static final LiveEventMessage MESSAGE = new LiveEventMessage().eventType(DIRECTMESSAGE);
-
   @InjectMocks
   private LiveEventNotificationService liveEventNotificationService;
 
@@ -63,10 +53,7 @@ public class LiveEventNotificationServiceTest {
   private AuthenticatedUser authenticatedUser;
 
   @Mock
-  private UserService userService;
-
-  @Mock
-  private PushMessageService pushMessageService;
+  private DirectMessageEventDispatcher directMessageEventDispatcher;
 
   @Mock
   private Logger logger;
@@ -77,15 +64,15 @@ public class LiveEventNotificationServiceTest {
   }
 
   @Test
-  public void sendLiveDirectMessageEventToUsers_Should_callFactoryAndLiveApi_When_rcGroupIdIsValid() {
+  public void sendLiveDirectMessageEventToUsers_Should_callFactoryAndQueueEvent_When_rcGroupIdIsValid() {
     when(this.bySessionProvider.collectUserIds(any())).thenReturn(asList("1", "2"));
     when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(bySessionProvider);
 
     this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("valid");
 
     verify(userIdsProviderFactory, times(1)).byRocketChatGroup("valid");
-    verify(liveControllerApi, times(1))
-        .sendLiveEvent(MESSAGE.userIds(asList("1", "2")));
+    verify(directMessageEventDispatcher, times(1)).enqueue(asList("1", "2"));
+    verifyNoInteractions(liveControllerApi);
   }
 
   @Test
@@ -93,8 +80,7 @@ public class LiveEventNotificationServiceTest {
     this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("");
 
     verifyNoInteractions(userIdsProviderFactory);
-    verifyNoInteractions(liveControllerApi);
-    verifyNoInteractions(pushMessageService);
+    verifyNoInteractions(directMessageEventDispatcher);
   }
 
   @Test
@@ -102,22 +88,11 @@ public class LiveEventNotificationServiceTest {
     this.liveEventNotificationService.sendLiveDirectMessageEventToUsers(null);
 
     verifyNoInteractions(userIdsProviderFactory);
-    verifyNoInteractions(liveControllerApi);
+    verifyNoInteractions(directMessageEventDispatcher);
   }
 
   @Test
-  public void sendLiveDirectMessageEventToUsers_Should_logError_When_apiCallFails() {
-    when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(bySessionProvider);
-    when(this.bySessionProvider.collectUserIds(any())).thenReturn(singletonList("test"));
-    doThrow(new RestClientException("")).when(this.liveControllerApi).sendLiveEvent(any());
-
-    this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("group id");
-
-    verify(logger, times(1)).error(anyString(), anyString(), anyString());
-  }
-
-  @Test
-  public void sendLiveDirectMessageEventToUsers_Should_sendEventToAllUsersInsteadOfInitiatingUser() {
+  public void sendLiveDirectMessageEventToUsers_Should_queueEventForAllUsersInsteadOfInitiatingUser() {
     List<String> userIds = asList("id1", "id2", "id3", "id4");
     when(this.byChatProvider.collectUserIds(any())).thenReturn(userIds);
     when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(this.byChatProvider);
@@ -125,21 +100,20 @@ public class LiveEventNotificationServiceTest {
 
     this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("group id");
 
-    List<String> expectedIds = asList("id1", "id3", "id4");
-    verify(this.liveControllerApi, times(1)).sendLiveEvent(MESSAGE.userIds(expectedIds));
+    verify(this.directMessageEventDispatcher, times(1)).enqueue(asList("id1", "id3", "id4"));
   }
 
   @Test
-  public void sendLiveDirectMessageEventToUsers_Should_sendNothing_When_noIdsAreProvided() {
+  public void sendLiveDirectMessageEventToUsers_Should_queueNothing_When_noIdsAreProvided() {
     when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(this.byChatProvider);
 
     this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("group id");
 
-    verifyNoInteractions(this.liveControllerApi);
+    verifyNoInteractions(this.directMessageEventDispatcher);
   }
 
   @Test
-  public void sendLiveDirectMessageEventToUsers_Should_sendEventToAllUsers_When_initiatingUserIsAnother() {
+  public void sendLiveDirectMessageEventToUsers_Should_queueEventForAllUsers_When_initiatingUserIsAnother() {
     List<String> userIds = asList("id1", "id2", "id3", "id4");
     when(this.byChatProvider.collectUserIds(any())).thenReturn(userIds);
     when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(this.byChatProvider);
@@ -147,55 +121,7 @@ public class LiveEventNotificationServiceTest {
 
     this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("group id");
 
-    verify(this.liveControllerApi, times(1)).sendLiveEvent(MESSAGE.userIds(userIds));
-  }
-
-  @Test
-  public void sendLiveDirectMessageEventToUsers_Should_sendPushMessage_When_usersHaveMobileToken() {
-    User user = new User();
-    user.setMobileToken("mobileToken");
-    when(this.bySessionProvider.collectUserIds(any())).thenReturn(asList("1", "2"));
-    when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(bySessionProvider);
-    when(this.userService.getUser(anyString())).thenReturn(Optional.of(user));
-
-    this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("valid");
-
-    verify(this.pushMessageService, times(2)).pushNewMessageEvent("mobileToken");
-  }
-
-  @Test
-  public void sendLiveDirectMessageEventToUsers_Should_sendPushMessageOnlyToUsersWithMobileToken() {
-    User user = new User();
-    user.setMobileToken("mobileToken");
-    when(this.bySessionProvider.collectUserIds(any())).thenReturn(asList("1", "2"));
-    when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(bySessionProvider);
-    when(this.userService.getUser("1")).thenReturn(Optional.of(user));
-    when(this.userService.getUser("2")).thenReturn(Optional.of(new User()));
-
-    this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("valid");
-
-    verify(this.pushMessageService, times(1)).pushNewMessageEvent("mobileToken");
-  }
-
-  @Test
-  public void sendLiveDirectMessageEventToUsers_Should_notSendPushMessage_When_noUserHasMobileToken() {
-    when(this.bySessionProvider.collectUserIds(any())).thenReturn(asList("1", "2"));
-    when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(bySessionProvider);
-    when(this.userService.getUser(any())).thenReturn(Optional.of(new User()));
-
-    this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("valid");
-
-    verifyNoInteractions(this.pushMessageService);
-  }
-
-  @Test
-  public void sendLiveDirectMessageEventToUsers_Should_notSendPushMessage_When_userIdsAreEmpty() {
-    when(this.bySessionProvider.collectUserIds(any())).thenReturn(emptyList());
-    when(this.userIdsProviderFactory.byRocketChatGroup(any())).thenReturn(bySessionProvider);
-
-    this.liveEventNotificationService.sendLiveDirectMessageEventToUsers("valid");
-
-    verifyNoInteractions(this.pushMessageService);
+    verify(this.directMessageEventDispatcher, times(1)).enqueue(userIds);
   }
 
   @Test
@@ -5,18 +5,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.exception.rocketchat.RocketChatGetGroupMembersException;
 import de.caritas.cob.userservice.api.model.rocketchat.group.GroupMemberDTO;
-import de.caritas.cob.userservice.api.repository.consultant.Consultant;
-import de.caritas.cob.userservice.api.repository.user.User;
-import de.caritas.cob.userservice.api.service.ConsultantService;
 import de.caritas.cob.userservice.api.service.rocketchat.RocketChatService;
-import de.caritas.cob.userservice.api.service.user.UserService;
+import de.caritas.cob.userservice.api.service.user.AccountIdByRcUserIdResolver;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -33,10 +29,7 @@ public class RelevantUserAccountIdsByChatProviderTest {
   private RocketChatService rocketChatService;
 
   @Mock
-  private UserService userService;
-
-  @Mock
-  private ConsultantService consultantService;
+  private AccountIdByRcUserIdResolver accountIdByRcUserIdResolver;
 
   @Test
   public void collectUserIds_Should_returnEmptyList_When_rocketChatServiceThrowsException()
@@ -55,12 +48,8 @@ public class RelevantUserAccountIdsByChatProviderTest {
     List<GroupMemberDTO> groupMembers = asList(
         memberDTOWithRcId("rc1"), memberDTOWithRcId("rc2"), memberDTOWithRcId("rc3"));
     when(this.rocketChatService.getMembersOfGroup(any())).thenReturn(groupMembers);
-    when(this.consultantService.getConsultantByRcUserId(eq("rc1")))
-        .thenReturn(Optional.of(consultantWithId("consultant1")));
-    when(this.userService.findUserByRcUserId(eq("rc2")))
-        .thenReturn(Optional.of(userWithId("user1")));
-    when(this.userService.findUserByRcUserId(eq("rc3")))
-        .thenReturn(Optional.of(userWithId("user2")));
+    when(this.accountIdByRcUserIdResolver.resolveAccountIds(asList("rc1", "rc2", "rc3")))
+        .thenReturn(Map.of("rc1", "consultant1", "rc2", "user1", "rc3", "user2"));
 
     List<String> collectedUserIds = this.byChatProvider.collectUserIds("groupId");
 
@@ -76,26 +65,14 @@ public class RelevantUserAccountIdsByChatProviderTest {
     return groupMemberDTO;
   }
 
-  private Consultant consultantWithId(String consultantId) {
-    Consultant consultant = new Consultant();
-    consultant.setId(consultantId);
-    return consultant;
-  }
-
-  private User userWithId(String userId) {
-    return new User(userId, null, null, null, false);
-  }
-
   @Test
   public void collectUserIds_Should_returnAllMergedDependingIdsInsteadOfNotAvailableUser_When_rcGroupHasMembers()
       throws RocketChatGetGroupMembersException {
     List<GroupMemberDTO> groupMembers = asList(
         memberDTOWithRcId("rc1"), memberDTOWithRcId("rc2"), memberDTOWithRcId("rc3"));
     when(this.rocketChatService.getMembersOfGroup(any())).thenReturn(groupMembers);
-    when(this.consultantService.getConsultantByRcUserId(eq("rc1")))
-        .thenReturn(Optional.of(consultantWithId("consultant1")));
-    when(this.userService.findUserByRcUserId(eq("rc3")))
-        .thenReturn(Optional.of(userWithId("user2")));
+    when(this.accountIdByRcUserIdResolver.resolveAccountIds(asList("rc1", "rc2", "rc3")))
+        .thenReturn(Map.of("rc1", "consultant1", "rc3", "user2"));
 
     List<String> collectedUserIds = this.byChatProvider.collectUserIds("groupId");
 
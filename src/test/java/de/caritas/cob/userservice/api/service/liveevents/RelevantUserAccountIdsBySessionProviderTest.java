@@ -6,10 +6,8 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
-import de.caritas.cob.userservice.api.repository.consultant.Consultant;
-import de.caritas.cob.userservice.api.repository.session.Session;
-import de.caritas.cob.userservice.api.repository.session.SessionRepository;
-import de.caritas.cob.userservice.api.repository.user.User;
+import de.caritas.cob.userservice.api.repository.session.SessionParticipants;
+import de.caritas.cob.userservice.api.service.session.SessionParticipantsResolver;
 import java.util.List;
 import java.util.Optional;
 import org.junit.Test;
@@ -25,86 +23,21 @@ public class RelevantUserAccountIdsBySessionProviderTest {
   private RelevantUserAccountIdsBySessionProvider bySessionProvider;
 
   @Mock
-  private SessionRepository sessionRepository;
+  private SessionParticipantsResolver sessionParticipantsResolver;
 
   @Test
   public void collectUserIds_Should_returnEmptyList_When_sessionDoesNotExist() {
-    List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
-
-    assertThat(userIds, hasSize(0));
-  }
-
-  @Test
-  public void collectUserIds_Should_returnAllUserIds_When_consultantIsAuthenticatedUser() {
-    when(sessionRepository.findByGroupId(any())).thenReturn(buildSessionWithUserAndConsultant());
-
-    List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
-
-    assertThat(userIds, hasSize(2));
-    assertThat(userIds.get(0), is("user"));
-    assertThat(userIds.get(1), is("consultant"));
-  }
-
-  private Optional<Session> buildSessionWithUserAndConsultant() {
-    Session session = new Session();
-    Consultant consultant = new Consultant();
-    consultant.setId("consultant");
-    session.setConsultant(consultant);
-    User user = new User("user", null, null, null, false);
-    session.setUser(user);
-    return Optional.of(session);
-  }
-
-  @Test
-  public void collectUserIds_Should_returnAllUserIds_When_userIsAuthenticatedUser() {
-    when(sessionRepository.findByGroupId(any())).thenReturn(buildSessionWithUserAndConsultant());
-
-    List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
-
-    assertThat(userIds, hasSize(2));
-    assertThat(userIds.get(0), is("user"));
-    assertThat(userIds.get(1), is("consultant"));
-  }
-
-  @Test
-  public void collectUserIds_Should_returnAllUserIds_When_consultantIsAuthenticatedUserAndRcIdIsFeedbackGroupId() {
-    when(sessionRepository.findByFeedbackGroupId(any()))
-        .thenReturn(buildSessionWithUserAndConsultant());
-
-    List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
-
-    assertThat(userIds, hasSize(2));
-    assertThat(userIds.get(0), is("user"));
-    assertThat(userIds.get(1), is("consultant"));
-  }
-
-  @Test
-  public void collectUserIds_Should_returnAllUserIds_When_userIsAuthenticatedUserAndRcIdIsFeedbackGroupId() {
-    when(sessionRepository.findByFeedbackGroupId(any()))
-        .thenReturn(buildSessionWithUserAndConsultant());
-
-    List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
-
-    assertThat(userIds, hasSize(2));
-    assertThat(userIds.get(0), is("user"));
-    assertThat(userIds.get(1), is("consultant"));
-  }
-
-  @Test
-  public void collectUserIds_Should_returnAllUserIds_When_authenticatedUserIsOther() {
-    when(sessionRepository.findByGroupId(any())).thenReturn(buildSessionWithUserAndConsultant());
+    when(sessionParticipantsResolver.resolveByGroupId(any())).thenReturn(Optional.empty());
 
     List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
 
-    assertThat(userIds, hasSize(2));
-    assertThat(userIds.get(0), is("user"));
-    assertThat(userIds.get(1), is("consultant"));
+    assertThat(userIds, hasSize(0));
   }
 
   @Test
-  public void collectUserIds_Should_returnAllUserIds_When_authenticatedUserIsOtherAndRcIdIsFeedbackGroupId() {
-    when(sessionRepository.findByFeedbackGroupId(any()))
-        .thenReturn(buildSessionWithUserAndConsultant());
+  public void collectUserIds_Should_returnUserIdAndConsultantId_When_sessionHasConsultant() {
+    when(sessionParticipantsResolver.resolveByGroupId(any()))
+        .thenReturn(Optional.of(new SessionParticipants(1L, "user", "consultant", 1)));
 
     List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
 
@@ -115,7 +48,8 @@ public class RelevantUserAccountIdsBySessionProviderTest {
 
   @Test
   public void collectUserIds_Should_returnEmptyList_When_sessionHasNoConsultant() {
-    when(sessionRepository.findByFeedbackGroupId(any())).thenReturn(Optional.of(new Session()));
+    when(sessionParticipantsResolver.resolveByGroupId(any()))
+        .thenReturn(Optional.of(new SessionParticipants(1L, "user", null, 1)));
 
     List<String> userIds = this.bySessionProvider.collectUserIds("rcGroupId");
 
@@ -0,0 +1,212 @@
+package de.caritas.cob.userservice.api.service.notificationoutbox;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.facade.EmailNotificationFacade;
+import de.caritas.cob.userservice.api.helper.EntityManagerSessionRunner;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxEntry;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxStatus;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationType;
+import de.caritas.cob.userservice.api.service.helper.MailService;
+import de.caritas.cob.userservice.mailservice.generated.web.model.MailDTO;
+import de.caritas.cob.userservice.mailservice.generated.web.model.MailsDTO;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NotificationOutboxDrainerTest {
+
+  private static final String SESSION_ID_PREFIX = "session";
+
+  @Mock
+  private NotificationOutboxService notificationOutboxService;
+
+  @Mock
+  private EmailNotificationFacade emailNotificationFacade;
+
+  @Mock
+  private MailService mailService;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  private NotificationOutboxDrainer notificationOutboxDrainer;
+
+  @BeforeEach
+  void setup() throws Exception {
+    when(this.entityManagerFactory.createEntityManager()).thenReturn(mock(EntityManager.class));
+    when(this.notificationOutboxService.readPayload(any())).then(invocation -> {
+      NotificationOutboxEntry entry = invocation.getArgument(0);
+      return NotificationPayload.builder().sessionId(Long.valueOf(entry.getId())).build();
+    });
+    this.notificationOutboxDrainer = new NotificationOutboxDrainer(this.notificationOutboxService,
+        this.emailNotificationFacade, this.mailService,
+        new EntityManagerSessionRunner(this.entityManagerFactory));
+    ReflectionTestUtils.setField(this.notificationOutboxDrainer, "batchSize", 10);
+    ReflectionTestUtils.setField(this.notificationOutboxDrainer, "maxBatchesPerRun", 2);
+    ReflectionTestUtils.setField(this.notificationOutboxDrainer, "maxMailsPerCall", 3);
+  }
+
+  @Test
+  void drainDueEntries_Should_sendMailsOfSeveralNotificationsWithOneCall() {
+    var first = claimedEntry(1L, 1);
+    var second = claimedEntry(2L, 1);
+    givenDueEntries(first, second);
+    givenMails(1L, 1);
+    givenMails(2L, 2);
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    var captor = ArgumentCaptor.forClass(MailsDTO.class);
+    verify(this.mailService).sendEmailNotificationBatch(captor.capture());
+    assertThat(captor.getValue().getMails(), hasSize(3));
+    verify(this.notificationOutboxService).markSent(first);
+    verify(this.notificationOutboxService).markSent(second);
+  }
+
+  @Test
+  void drainDueEntries_Should_splitCalls_When_maxMailsPerCallIsExceeded() {
+    givenDueEntries(claimedEntry(1L, 1), claimedEntry(2L, 1), claimedEntry(3L, 1));
+    givenMails(1L, 2);
+    givenMails(2L, 2);
+    givenMails(3L, 1);
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    var captor = ArgumentCaptor.forClass(MailsDTO.class);
+    verify(this.mailService, times(2)).sendEmailNotificationBatch(captor.capture());
+    assertThat(captor.getAllValues().get(0).getMails(), hasSize(2));
+    assertThat(captor.getAllValues().get(1).getMails(), hasSize(3));
+  }
+
+  @Test
+  void drainDueEntries_Should_sendRetriedNotificationOnItsOwn() {
+    var retried = claimedEntry(1L, 2);
+    givenDueEntries(retried, claimedEntry(2L, 1));
+    givenMails(1L, 1);
+    givenMails(2L, 1);
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    verify(this.mailService, times(2)).sendEmailNotificationBatch(any());
+  }
+
+  @Test
+  void drainDueEntries_Should_scheduleRetryOfAllNotificationsOfCall_When_mailServiceFails() {
+    var first = claimedEntry(1L, 1);
+    var second = claimedEntry(2L, 1);
+    givenDueEntries(first, second);
+    givenMails(1L, 1);
+    givenMails(2L, 1);
+    doThrow(new RestClientException("unavailable")).when(this.mailService)
+        .sendEmailNotificationBatch(any());
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    verify(this.notificationOutboxService).scheduleRetry(first, "unavailable");
+    verify(this.notificationOutboxService).scheduleRetry(second, "unavailable");
+    verify(this.notificationOutboxService, never()).markSent(any());
+  }
+
+  @Test
+  void drainDueEntries_Should_markNotificationSentWithoutCall_When_noMailsAreGenerated() {
+    var entry = claimedEntry(1L, 1);
+    givenDueEntries(entry);
+    givenMails(1L, 0);
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    verify(this.notificationOutboxService).markSent(entry);
+    verify(this.mailService, never()).sendEmailNotificationBatch(any());
+  }
+
+  @Test
+  void drainDueEntries_Should_scheduleRetryOfNotificationAndSendOthers_When_generationFails() {
+    var failing = claimedEntry(1L, 1);
+    var succeeding = claimedEntry(2L, 1);
+    givenDueEntries(failing, succeeding);
+    when(this.emailNotificationFacade.generateNewEnquiryEmailNotifications(1L))
+        .thenThrow(new IllegalStateException("database unavailable"));
+    givenMails(2L, 1);
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    verify(this.notificationOutboxService).scheduleRetry(failing, "database unavailable");
+    verify(this.notificationOutboxService).markSent(succeeding);
+    verify(this.mailService).sendEmailNotificationBatch(any());
+  }
+
+  @Test
+  void drainDueEntries_Should_stopAfterMaxBatchesPerRun() {
+    when(this.notificationOutboxService.claimDueEntries(anyInt()))
+        .then(invocation -> List.of(claimedEntry(1L, 1)));
+    givenMails(1L, 1);
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    verify(this.notificationOutboxService, times(2)).claimDueEntries(10);
+  }
+
+  @Test
+  void drainDueEntries_ShouldNot_sendMails_When_noEntriesAreDue() {
+    when(this.notificationOutboxService.claimDueEntries(anyInt())).thenReturn(emptyList());
+
+    this.notificationOutboxDrainer.drainDueEntries();
+
+    verify(this.notificationOutboxService, times(1)).claimDueEntries(10);
+    verify(this.mailService, never()).sendEmailNotificationBatch(any());
+  }
+
+  private void givenDueEntries(NotificationOutboxEntry... entries) {
+    when(this.notificationOutboxService.claimDueEntries(anyInt()))
+        .thenReturn(List.of(entries))
+        .thenReturn(emptyList());
+  }
+
+  private void givenMails(Long sessionId, int amount) {
+    when(this.emailNotificationFacade.generateNewEnquiryEmailNotifications(eq(sessionId)))
+        .thenReturn(IntStream.range(0, amount)
+            .mapToObj(i -> new MailDTO().email(SESSION_ID_PREFIX + sessionId + "@" + i))
+            .collect(Collectors.toList()));
+  }
+
+  private NotificationOutboxEntry claimedEntry(Long sessionId, int attempts) {
+    return NotificationOutboxEntry.builder()
+        .id(String.valueOf(sessionId))
+        .idempotencyKey(NotificationType.NEW_ENQUIRY + ":" + sessionId)
+        .type(NotificationType.NEW_ENQUIRY)
+        .status(NotificationOutboxStatus.PROCESSING)
+        .attempts(attempts)
+        .createDate(nowInUtc())
+        .nextAttemptDate(nowInUtc())
+        .claimDate(nowInUtc())
+        .build();
+  }
+
+}
@@ -0,0 +1,260 @@
+package de.caritas.cob.userservice.api.service.notificationoutbox;
+
+import static de.caritas.cob.userservice.localdatetime.CustomLocalDateTime.nowInUtc;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxEntry;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxRepository;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationOutboxStatus;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NotificationOutboxServiceTest {
+
+  private static final String IDEMPOTENCY_KEY = "NEW_ENQUIRY:1";
+  private static final String COALESCING_KEY = "NEW_MESSAGE:rcGroupId:consultants";
+
+  @Mock
+  private NotificationOutboxRepository notificationOutboxRepository;
+
+  private NotificationOutboxService notificationOutboxService;
+
+  @BeforeEach
+  void setup() {
+    when(this.notificationOutboxRepository.save(any()))
+        .then(invocation -> invocation.getArgument(0));
+    this.notificationOutboxService =
+        new NotificationOutboxService(this.notificationOutboxRepository, new ObjectMapper());
+    ReflectionTestUtils.setField(this.notificationOutboxService, "retentionHours", 72L);
+    ReflectionTestUtils.setField(this.notificationOutboxService, "staleMinutes", 10L);
+    ReflectionTestUtils.setField(this.notificationOutboxService, "maxAttempts", 3);
+    ReflectionTestUtils.setField(this.notificationOutboxService, "initialBackoffSeconds", 30L);
+    ReflectionTestUtils.setField(this.notificationOutboxService, "maxBackoffSeconds", 90L);
+  }
+
+  @Test
+  void enqueue_Should_persistPendingEntryWhichIsDueImmediately_When_idempotencyKeyIsNew()
+      throws JsonProcessingException {
+    var payload = NotificationPayload.builder().rcGroupId("rcGroupId").roles(Set.of("user"))
+        .userId("userId").build();
+
+    this.notificationOutboxService.enqueue(NotificationType.NEW_MESSAGE, IDEMPOTENCY_KEY,
+        payload);
+
+    var captor = ArgumentCaptor.forClass(NotificationOutboxEntry.class);
+    verify(this.notificationOutboxRepository).save(captor.capture());
+    var entry = captor.getValue();
+    assertThat(entry.getId(), notNullValue());
+    assertThat(entry.getIdempotencyKey(), is(IDEMPOTENCY_KEY));
+    assertThat(entry.getStatus(), is(NotificationOutboxStatus.PENDING));
+    assertThat(entry.getNextAttemptDate(), is(entry.getCreateDate()));
+    assertThat(this.notificationOutboxService.readPayload(entry), is(payload));
+  }
+
+  @Test
+  void enqueue_ShouldNot_persistEntry_When_idempotencyKeyAlreadyExists() {
+    when(this.notificationOutboxRepository.existsByIdempotencyKey(IDEMPOTENCY_KEY))
+        .thenReturn(true);
+
+    this.notificationOutboxService.enqueue(NotificationType.NEW_ENQUIRY, IDEMPOTENCY_KEY,
+        new NotificationPayload());
+
+    verify(this.notificationOutboxRepository, never()).save(any());
+  }
+
+  @Test
+  void enqueue_ShouldNot_throwException_When_idempotencyKeyIsWrittenConcurrently() {
+    when(this.notificationOutboxRepository.save(any()))
+        .thenThrow(new DataIntegrityViolationException("unique_idempotency_key"));
+
+    this.notificationOutboxService.enqueue(NotificationType.NEW_ENQUIRY, IDEMPOTENCY_KEY,
+        new NotificationPayload());
+
+    verify(this.notificationOutboxRepository).save(any());
+  }
+
+  @Test
+  void enqueue_Should_persistEntriesWithDifferentKeys_When_noIdempotencyKeyIsGiven() {
+    this.notificationOutboxService.enqueue(NotificationType.NEW_MESSAGE, new NotificationPayload());
+    this.notificationOutboxService.enqueue(NotificationType.NEW_MESSAGE, new NotificationPayload());
+
+    var captor = ArgumentCaptor.forClass(NotificationOutboxEntry.class);
+    verify(this.notificationOutboxRepository, times(2)).save(captor.capture());
+    assertThat(captor.getAllValues().get(0).getIdempotencyKey(),
+        not(captor.getAllValues().get(1).getIdempotencyKey()));
+  }
+
+  @Test
+  void enqueueDelayed_Should_persistPendingEntryWhichIsDueAfterDelay() {
+    this.notificationOutboxService.enqueueDelayed(NotificationType.NEW_MESSAGE, COALESCING_KEY,
+        Duration.ofMinutes(5), new NotificationPayload());
+
+    var captor = ArgumentCaptor.forClass(NotificationOutboxEntry.class);
+    verify(this.notificationOutboxRepository).save(captor.capture());
+    var entry = captor.getValue();
+    assertThat(entry.getCoalescingKey(), is(COALESCING_KEY));
+    assertThat(entry.getIdempotencyKey(), notNullValue());
+    assertThat(entry.getStatus(), is(NotificationOutboxStatus.PENDING));
+    assertThat(entry.getNextAttemptDate(), is(entry.getCreateDate().plusMinutes(5)));
+  }
+
+  @Test
+  void isPending_Should_checkForPendingEntryWithCoalescingKey() {
+    when(this.notificationOutboxRepository
+        .existsByCoalescingKeyAndStatus(COALESCING_KEY, NotificationOutboxStatus.PENDING))
+        .thenReturn(true);
+
+    assertThat(this.notificationOutboxService.isPending(COALESCING_KEY), is(true));
+    assertThat(this.notificationOutboxService.isPending("other"), is(false));
+  }
+
+  @Test
+  void claimDueEntries_Should_claimEntriesAndSkipEntriesClaimedByAnotherInstance() {
+    var entry = pendingEntry("entry");
+    var concurrentlyClaimedEntry = pendingEntry("concurrentlyClaimedEntry");
+    when(this.notificationOutboxRepository
+        .findByStatusAndNextAttemptDateLessThanEqualOrderByNextAttemptDateAsc(
+            eq(NotificationOutboxStatus.PENDING), any(), any()))
+        .thenReturn(List.of(entry, concurrentlyClaimedEntry));
+    when(this.notificationOutboxRepository.save(concurrentlyClaimedEntry))
+        .thenThrow(new OptimisticLockingFailureException("claimed"));
+
+    List<NotificationOutboxEntry> claimedEntries = this.notificationOutboxService
+        .claimDueEntries(10);
+
+    assertThat(claimedEntries, hasSize(1));
+    assertThat(claimedEntries.get(0).getId(), is("entry"));
+    assertThat(entry.getStatus(), is(NotificationOutboxStatus.PROCESSING));
+    assertThat(entry.getAttempts(), is(1));
+    assertThat(entry.getWorker(), notNullValue());
+    assertThat(entry.getClaimDate(), notNullValue());
+  }
+
+  @Test
+  void scheduleRetry_Should_doubleBackoffPerAttemptUpToMaximum() {
+    var firstAttempt = claimedEntry(1);
+    var secondAttempt = claimedEntry(2);
+
+    this.notificationOutboxService.scheduleRetry(firstAttempt, "error");
+    this.notificationOutboxService.scheduleRetry(secondAttempt, "error");
+
+    assertThat(firstAttempt.getStatus(), is(NotificationOutboxStatus.PENDING));
+    assertThat(firstAttempt.getWorker(), nullValue());
+    assertThat(firstAttempt.getErrorMessage(), is("error"));
+    assertDueInSeconds(firstAttempt, 30);
+    assertDueInSeconds(secondAttempt, 60);
+  }
+
+  @Test
+  void scheduleRetry_Should_limitBackoffToMaximum() {
+    ReflectionTestUtils.setField(this.notificationOutboxService, "maxAttempts", 10);
+    var entry = claimedEntry(5);
+
+    this.notificationOutboxService.scheduleRetry(entry, "error");
+
+    assertDueInSeconds(entry, 90);
+  }
+
+  @Test
+  void scheduleRetry_Should_markEntryFailed_When_maxAttemptsAreReached() {
+    var entry = claimedEntry(3);
+
+    this.notificationOutboxService.scheduleRetry(entry, "error");
+
+    assertThat(entry.getStatus(), is(NotificationOutboxStatus.FAILED));
+    assertThat(entry.getFinishDate(), notNullValue());
+    assertThat(entry.getErrorMessage(), is("error"));
+  }
+
+  @Test
+  void markSent_Should_keepStateOfEntry_When_entryHasBeenChangedByAnotherInstance() {
+    var entry = claimedEntry(1);
+    when(this.notificationOutboxRepository.save(entry))
+        .thenThrow(new OptimisticLockingFailureException("changed"));
+
+    this.notificationOutboxService.markSent(entry);
+
+    verify(this.notificationOutboxRepository).save(entry);
+  }
+
+  @Test
+  void requeueStaleEntries_Should_scheduleRetryOfEntriesClaimedBeforeStaleDate() {
+    var staleEntry = claimedEntry(1);
+    when(this.notificationOutboxRepository.findByStatusAndClaimDateBefore(
+        eq(NotificationOutboxStatus.PROCESSING),
+        argThat(staleDate -> staleDate.isBefore(nowInUtc().minusMinutes(9)))))
+        .thenReturn(List.of(staleEntry));
+
+    this.notificationOutboxService.requeueStaleEntries();
+
+    assertThat(staleEntry.getStatus(), is(NotificationOutboxStatus.PENDING));
+    assertThat(staleEntry.getErrorMessage(), is("Worker worker stopped responding"));
+  }
+
+  @Test
+  void removeExpiredEntries_Should_deleteEntriesFinishedBeforeRetentionTime() {
+    this.notificationOutboxService.removeExpiredEntries();
+
+    verify(this.notificationOutboxRepository).deleteByFinishDateBefore(
+        argThat(expirationDate -> expirationDate.isBefore(nowInUtc().minusHours(71))));
+  }
+
+  private void assertDueInSeconds(NotificationOutboxEntry entry, long seconds) {
+    LocalDateTime now = nowInUtc();
+    assertThat(entry.getNextAttemptDate(), greaterThan(now.plusSeconds(seconds - 5)));
+    assertThat(entry.getNextAttemptDate(), lessThan(now.plusSeconds(seconds + 1)));
+  }
+
+  private NotificationOutboxEntry pendingEntry(String id) {
+    return NotificationOutboxEntry.builder()
+        .id(id)
+        .idempotencyKey(id)
+        .type(NotificationType.NEW_MESSAGE)
+        .status(NotificationOutboxStatus.PENDING)
+        .createDate(nowInUtc())
+        .nextAttemptDate(nowInUtc())
+        .build();
+  }
+
+  private NotificationOutboxEntry claimedEntry(int attempts) {
+    var entry = pendingEntry("entry");
+    entry.setStatus(NotificationOutboxStatus.PROCESSING);
+    entry.setAttempts(attempts);
+    entry.setWorker("worker");
+    entry.setClaimDate(nowInUtc());
+    return entry;
+  }
+
+}
@@ -0,0 +1,197 @@
+package de.caritas.cob.userservice.api.service.rocketchat;
+
+import static de.caritas.cob.userservice.config.CacheManagerConfig.ROCKET_CHAT_ROOM_STATE_CACHE;
+import static de.caritas.cob.userservice.testHelper.TestConstants.RC_CREDENTIALS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.container.RocketChatRoomState;
+import de.caritas.cob.userservice.api.exception.httpresponses.UnauthorizedException;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsGetDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsRemoveDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsUpdateDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsGetDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsRemoveDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.subscriptions.SubscriptionsUpdateDTO;
+import java.util.Date;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RocketChatRoomStateCacheTest {
+
+  private static final Date FIRST_SYNC = new Date(1000L);
+  private static final Date SECOND_SYNC = new Date(2000L);
+
+  private RocketChatRoomStateCache rocketChatRoomStateCache;
+
+  @Mock
+  private RocketChatService rocketChatService;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Before
+  public void setup() {
+    rocketChatRoomStateCache =
+        new RocketChatRoomStateCache(rocketChatService, cacheManager, Runnable::run);
+    when(cacheManager.getCache(ROCKET_CHAT_ROOM_STATE_CACHE))
+        .thenReturn(new ConcurrentMapCache(ROCKET_CHAT_ROOM_STATE_CACHE));
+  }
+
+  @Test
+  public void synchronizeRoomState_Should_loadFullState_When_noStateIsCached() {
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(subscriptions(new SubscriptionsUpdateDTO[]{subscription("s1", "r1",
+            FIRST_SYNC)}, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r1", FIRST_SYNC)}, null));
+
+    RocketChatRoomState state = rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    assertThat(state.getSubscriptionsByRoomId().keySet(), contains("r1"));
+    assertThat(state.getRoomsById().keySet(), contains("r1"));
+    assertThat(state.getSubscriptionsUpdatedAt(), is(FIRST_SYNC));
+    assertThat(state.getRoomsUpdatedAt(), is(FIRST_SYNC));
+  }
+
+  @Test
+  public void synchronizeRoomState_Should_requestAndMergeDelta_When_stateIsCached() {
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(subscriptions(new SubscriptionsUpdateDTO[]{subscription("s1", "r1",
+            FIRST_SYNC), subscription("s2", "r2", FIRST_SYNC)}, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r1", FIRST_SYNC), room("r2", FIRST_SYNC)},
+            null));
+    rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(subscriptions(new SubscriptionsUpdateDTO[]{subscription("s3", "r3",
+            SECOND_SYNC)}, new SubscriptionsRemoveDTO[]{new SubscriptionsRemoveDTO("s2",
+            SECOND_SYNC)}));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r3", SECOND_SYNC)}, null));
+
+    RocketChatRoomState state = rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    assertThat(state.getSubscriptionsByRoomId().keySet(), containsInAnyOrder("r1", "r3"));
+    assertThat(state.getRoomsById().keySet(), containsInAnyOrder("r1", "r3"));
+    assertThat(state.getSubscriptionsUpdatedAt(), is(SECOND_SYNC));
+    assertThat(state.getRoomsUpdatedAt(), is(SECOND_SYNC));
+  }
+
+  @Test
+  public void synchronizeRoomState_Should_removeDeletedRooms_When_deltaContainsRemovedRooms() {
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(subscriptions(new SubscriptionsUpdateDTO[]{subscription("s1", "r1",
+            FIRST_SYNC)}, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r1", FIRST_SYNC), room("r2", FIRST_SYNC)},
+            null));
+    rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(subscriptions(null, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(rooms(null, new RoomsRemoveDTO[]{new RoomsRemoveDTO("r2", SECOND_SYNC)}));
+
+    RocketChatRoomState state = rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    assertThat(state.getRoomsById().keySet(), contains("r1"));
+    assertThat(state.getSubscriptionsUpdatedAt(), is(FIRST_SYNC));
+    assertThat(state.getRoomsUpdatedAt(), is(SECOND_SYNC));
+  }
+
+  @Test
+  public void synchronizeRoomState_Should_reloadAllRooms_When_roomOfNewSubscriptionIsMissing() {
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(subscriptions(new SubscriptionsUpdateDTO[]{subscription("s1", "r1",
+            FIRST_SYNC)}, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r1", FIRST_SYNC)}, null))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r1", FIRST_SYNC), room("r2", FIRST_SYNC)},
+            null));
+    rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(subscriptions(new SubscriptionsUpdateDTO[]{subscription("s2", "r2",
+            SECOND_SYNC)}, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(rooms(null, null));
+
+    RocketChatRoomState state = rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    assertThat(state.getRoomsById().keySet(), containsInAnyOrder("r1", "r2"));
+    verify(rocketChatService, times(2)).getRoomsOfUserUpdatedSince(RC_CREDENTIALS, null);
+  }
+
+  @Test
+  public void markMessageStatesSynchronized_Should_keepSynchronizationDateOnFollowingDeltas() {
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(subscriptions(new SubscriptionsUpdateDTO[]{subscription("s1", "r1",
+            FIRST_SYNC)}, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r1", FIRST_SYNC)}, null));
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(subscriptions(null, null));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, FIRST_SYNC))
+        .thenReturn(rooms(null, null));
+    RocketChatRoomState initialState =
+        rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    rocketChatRoomStateCache.markMessageStatesSynchronized(
+        RC_CREDENTIALS.getRocketChatUserId(), FIRST_SYNC);
+    RocketChatRoomState state = rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+
+    assertThat(initialState.getMessageStatesSynchronizedAt(), is(nullValue()));
+    assertThat(state.getMessageStatesSynchronizedAt(), is(FIRST_SYNC));
+  }
+
+  private SubscriptionsUpdateDTO subscription(String id, String roomId, Date updatedAt) {
+    var subscription = new SubscriptionsUpdateDTO();
+    subscription.set_id(id);
+    subscription.setRoomId(roomId);
+    subscription.setUpdatedAt(updatedAt);
+    return subscription;
+  }
+
+  private RoomsUpdateDTO room(String id, Date updatedAt) {
+    var room = new RoomsUpdateDTO();
+    room.setId(id);
+    room.setUpdatedAt(updatedAt);
+    return room;
+  }
+
+  @Test(expected = UnauthorizedException.class)
+  public void synchronizeRoomState_Should_rethrowOriginalException_When_concurrentRequestFails() {
+    rocketChatRoomStateCache = new RocketChatRoomStateCache(rocketChatService, cacheManager,
+        command -> new Thread(command).start());
+    when(rocketChatService.getSubscriptionsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenThrow(new UnauthorizedException("unauthorized"));
+    when(rocketChatService.getRoomsOfUserUpdatedSince(RC_CREDENTIALS, null))
+        .thenReturn(rooms(new RoomsUpdateDTO[]{room("r1", FIRST_SYNC)}, null));
+
+    rocketChatRoomStateCache.synchronizeRoomState(RC_CREDENTIALS);
+  }
+
+  private SubscriptionsGetDTO subscriptions(SubscriptionsUpdateDTO[] update,
+      SubscriptionsRemoveDTO[] remove) {
+    return new SubscriptionsGetDTO(update, true, null, null, remove);
+  }
+
+  private RoomsGetDTO rooms(RoomsUpdateDTO[] update, RoomsRemoveDTO[] remove) {
+    return new RoomsGetDTO(update, true, null, null, remove);
+  }
+
+}
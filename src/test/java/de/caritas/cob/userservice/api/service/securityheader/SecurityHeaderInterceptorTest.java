@@ -0,0 +1,93 @@
+package de.caritas.cob.userservice.api.service.securityheader;
+
+import static de.caritas.cob.userservice.api.service.securityheader.SecurityHeaderInterceptor.callWithHeaders;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityHeaderInterceptorTest {
+
+  private static final byte[] BODY = new byte[0];
+
+  @Mock
+  private HttpRequest request;
+
+  @Mock
+  private ClientHttpRequestExecution execution;
+
+  private final HttpHeaders requestHeaders = new HttpHeaders();
+
+  private final AtomicInteger supplierCalls = new AtomicInteger();
+
+  private final SecurityHeaderInterceptor interceptor = new SecurityHeaderInterceptor(() -> {
+    var headers = new HttpHeaders();
+    headers.add("X-CSRF-TOKEN", "token-" + supplierCalls.incrementAndGet());
+    return headers;
+  });
+
+  @BeforeEach
+  void setup() {
+    when(this.request.getHeaders()).thenReturn(this.requestHeaders);
+  }
+
+  @Test
+  void intercept_Should_addFreshSecurityHeaders_When_requestIsExecuted() throws IOException {
+    this.interceptor.intercept(this.request, BODY, this.execution);
+
+    assertThat(this.requestHeaders.get("X-CSRF-TOKEN"), contains("token-1"));
+    assertThat(this.supplierCalls.get(), is(1));
+    verify(this.execution, times(1)).execute(this.request, BODY);
+  }
+
+  @Test
+  void intercept_Should_notOverrideHeaders_When_requestAlreadyContainsHeader() throws IOException {
+    this.requestHeaders.add("X-CSRF-TOKEN", "existing");
+
+    this.interceptor.intercept(this.request, BODY, this.execution);
+
+    assertThat(this.requestHeaders.get("X-CSRF-TOKEN"), contains("existing"));
+  }
+
+  @Test
+  void intercept_Should_useOverrideHeaders_When_calledWithHeaders() {
+    var overrideHeaders = new HttpHeaders();
+    overrideHeaders.add("Authorization", "Bearer technical");
+
+    callWithHeaders(overrideHeaders, () -> {
+      try {
+        return this.interceptor.intercept(this.request, BODY, this.execution);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    assertThat(this.requestHeaders.get("Authorization"), contains("Bearer technical"));
+    assertThat(this.requestHeaders.containsKey("X-CSRF-TOKEN"), is(false));
+    assertThat(this.supplierCalls.get(), is(0));
+  }
+
+  @Test
+  void intercept_Should_useSupplierAgain_When_overrideCallHasFinished() throws IOException {
+    callWithHeaders(new HttpHeaders(), () -> null);
+
+    this.interceptor.intercept(this.request, BODY, this.execution);
+
+    assertThat(this.requestHeaders.get("X-CSRF-TOKEN"), contains("token-1"));
+  }
+
+}
@@ -0,0 +1,92 @@
+package de.caritas.cob.userservice.api.service.session;
+
+import static de.caritas.cob.userservice.config.CacheManagerConfig.SESSION_PARTICIPANTS_CACHE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.repository.session.Session;
+import de.caritas.cob.userservice.api.repository.session.SessionParticipants;
+import de.caritas.cob.userservice.api.repository.session.SessionRepository;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SessionParticipantsResolverTest {
+
+  private static final String RC_GROUP_ID = "rcGroupId";
+  private static final String RC_FEEDBACK_GROUP_ID = "rcFeedbackGroupId";
+  private static final SessionParticipants PARTICIPANTS =
+      new SessionParticipants(1L, "user", "consultant", 1);
+
+  private SessionParticipantsResolver sessionParticipantsResolver;
+
+  @Mock
+  private SessionRepository sessionRepository;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Before
+  public void setup() {
+    sessionParticipantsResolver = new SessionParticipantsResolver(sessionRepository, cacheManager);
+    when(cacheManager.getCache(SESSION_PARTICIPANTS_CACHE))
+        .thenReturn(new ConcurrentMapCache(SESSION_PARTICIPANTS_CACHE));
+  }
+
+  @Test
+  public void resolveByGroupId_Should_queryRepositoryOnlyOnce_When_participantsAreCached() {
+    when(sessionRepository.findParticipantsByGroupIdOrFeedbackGroupId(RC_GROUP_ID))
+        .thenReturn(Optional.of(PARTICIPANTS));
+
+    sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID);
+    Optional<SessionParticipants> participants =
+        sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID);
+
+    assertThat(participants, is(Optional.of(PARTICIPANTS)));
+    verify(sessionRepository, times(1)).findParticipantsByGroupIdOrFeedbackGroupId(RC_GROUP_ID);
+  }
+
+  @Test
+  public void resolveByGroupId_Should_queryRepositoryAgain_When_noSessionWasFound() {
+    when(sessionRepository.findParticipantsByGroupIdOrFeedbackGroupId(RC_GROUP_ID))
+        .thenReturn(Optional.empty());
+
+    sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID);
+    Optional<SessionParticipants> participants =
+        sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID);
+
+    assertThat(participants, is(Optional.empty()));
+    verify(sessionRepository, times(2)).findParticipantsByGroupIdOrFeedbackGroupId(RC_GROUP_ID);
+  }
+
+  @Test
+  public void evictParticipants_Should_removeCachedParticipantsOfBothGroupIds() {
+    when(sessionRepository.findParticipantsByGroupIdOrFeedbackGroupId(RC_GROUP_ID))
+        .thenReturn(Optional.of(PARTICIPANTS));
+    when(sessionRepository.findParticipantsByGroupIdOrFeedbackGroupId(RC_FEEDBACK_GROUP_ID))
+        .thenReturn(Optional.of(PARTICIPANTS));
+    sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID);
+    sessionParticipantsResolver.resolveByGroupId(RC_FEEDBACK_GROUP_ID);
+    Session session = new Session();
+    session.setGroupId(RC_GROUP_ID);
+    session.setFeedbackGroupId(RC_FEEDBACK_GROUP_ID);
+
+    sessionParticipantsResolver.evictParticipants(session);
+    sessionParticipantsResolver.resolveByGroupId(RC_GROUP_ID);
+    sessionParticipantsResolver.resolveByGroupId(RC_FEEDBACK_GROUP_ID);
+
+    verify(sessionRepository, times(2)).findParticipantsByGroupIdOrFeedbackGroupId(RC_GROUP_ID);
+    verify(sessionRepository, times(2))
+        .findParticipantsByGroupIdOrFeedbackGroupId(RC_FEEDBACK_GROUP_ID);
+  }
+
+}
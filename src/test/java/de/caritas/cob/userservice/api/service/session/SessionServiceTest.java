@@ -38,6 +38,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.powermock.reflect.Whitebox.setInternalState;
 
@@ -55,6 +56,7 @@ import de.caritas.cob.userservice.api.model.UserSessionResponseDTO;
 import de.caritas.cob.userservice.api.model.registration.UserDTO;
 import de.caritas.cob.userservice.api.repository.consultant.Consultant;
 import de.caritas.cob.userservice.api.repository.consultantagency.ConsultantAgency;
+import de.caritas.cob.userservice.api.repository.notificationoutbox.NotificationType;
 import de.caritas.cob.userservice.api.repository.session.Session;
 import de.caritas.cob.userservice.api.repository.session.SessionRepository;
 import de.caritas.cob.userservice.api.repository.session.SessionStatus;
@@ -62,6 +64,8 @@ import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.service.ConsultantService;
 import de.caritas.cob.userservice.api.service.LogService;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationOutboxService;
+import de.caritas.cob.userservice.api.service.notificationoutbox.NotificationPayload;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -78,6 +82,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.data.domain.PageRequest;
 
 @ExtendWith(MockitoExtension.class)
 class SessionServiceTest {
@@ -126,6 +131,10 @@ class SessionServiceTest {
   private ConsultantService consultantService;
   @Mock
   private ConsultingTypeManager consultingTypeManager;
+  @Mock
+  private SessionParticipantsResolver sessionParticipantsResolver;
+  @Mock
+  private NotificationOutboxService notificationOutboxService;
 
   @BeforeEach
   public void setUp() {
@@ -174,6 +183,25 @@ class SessionServiceTest {
 
   }
 
+  @Test
+  void updateConsultantAndStatusForSession_Should_EvictCachedSessionParticipants() {
+
+    sessionService.updateConsultantAndStatusForSession(SESSION, CONSULTANT, SessionStatus.NEW);
+    verify(sessionParticipantsResolver, times(1)).evictParticipants(SESSION);
+
+  }
+
+  @Test
+  void saveEnquirySession_Should_SaveSessionAndWriteNewEnquiryNotificationToOutbox() {
+
+    sessionService.saveEnquirySession(SESSION);
+    verify(sessionRepository, times(1)).save(SESSION);
+    verify(notificationOutboxService, times(1)).enqueue(NotificationType.NEW_ENQUIRY,
+        "NEW_ENQUIRY:" + SESSION.getId(),
+        NotificationPayload.builder().sessionId(SESSION.getId()).build());
+
+  }
+
   @Test
   void deleteSession_Should_DeleteSession() {
 
@@ -598,4 +626,43 @@ class SessionServiceTest {
     assertThat(activeAndDoneSessionsForConsultant, hasSize(2));
   }
 
+  @Test
+  void getLatestActiveAndDoneSessionsForConsultant_Should_ReturnRequestedAmountOfSessionsOrderedByRepository() {
+    Session session = new EasyRandom().nextObject(Session.class);
+    when(sessionRepository.findByConsultantAndStatusInOrderByLatestMessageDateDesc(CONSULTANT,
+        SessionService.ACTIVE_AND_DONE_STATUSES, PageRequest.of(0, 5)))
+        .thenReturn(List.of(session));
+
+    var sessions = sessionService.getLatestActiveAndDoneSessionsForConsultant(CONSULTANT, 5,
+        false);
+
+    assertThat(sessions, hasSize(1));
+    assertEquals(session.getId(), sessions.get(0).getSession().getId());
+  }
+
+  @Test
+  void getLatestActiveAndDoneSessionsForConsultant_Should_UseFeedbackQuery_When_OnlyUnreadFeedbackIsRequested() {
+    sessionService.getLatestActiveAndDoneSessionsForConsultant(CONSULTANT, 5, true);
+
+    verify(sessionRepository).findByConsultantAndStatusInAndFeedbackUnreadOrderByLatestMessageDateDesc(
+        CONSULTANT, SessionService.ACTIVE_AND_DONE_STATUSES, PageRequest.of(0, 5));
+  }
+
+  @Test
+  void getLatestActiveAndDoneSessionsForConsultant_Should_ReturnEmptyListWithoutQuery_When_LimitIsZero() {
+    var sessions = sessionService.getLatestActiveAndDoneSessionsForConsultant(CONSULTANT, 0,
+        false);
+
+    assertThat(sessions, hasSize(0));
+    verifyNoInteractions(sessionRepository);
+  }
+
+  @Test
+  void countActiveAndDoneSessionsForConsultant_Should_ReturnAmountOfSessionsWithUnreadFeedback_When_OnlyUnreadFeedbackIsRequested() {
+    when(sessionRepository.countByConsultantAndStatusInAndFeedbackUnread(CONSULTANT,
+        SessionService.ACTIVE_AND_DONE_STATUSES)).thenReturn(3L);
+
+    assertEquals(3L, sessionService.countActiveAndDoneSessionsForConsultant(CONSULTANT, true));
+  }
+
 }
@@ -12,6 +12,7 @@ import static de.caritas.cob.userservice.testHelper.TestConstants.RC_TOKEN;
 import static de.caritas.cob.userservice.testHelper.TestConstants.SESSION_STATUS_IN_PROGRESS;
 import static de.caritas.cob.userservice.testHelper.TestConstants.SESSION_STATUS_NEW;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.nonNull;
 import static org.jsoup.helper.Validate.fail;
 import static org.junit.Assert.assertEquals;
@@ -19,17 +20,25 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.caritas.cob.userservice.api.container.ConsultantSessionPage;
+import de.caritas.cob.userservice.api.container.RocketChatRoomInformation;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
+import de.caritas.cob.userservice.api.facade.sessionlist.RocketChatRoomInformationProvider;
 import de.caritas.cob.userservice.api.model.ConsultantSessionResponseDTO;
+import de.caritas.cob.userservice.api.model.SessionDTO;
+import de.caritas.cob.userservice.api.model.chat.UserChatDTO;
 import de.caritas.cob.userservice.api.repository.session.SessionFilter;
 import de.caritas.cob.userservice.api.service.ChatService;
+import de.caritas.cob.userservice.api.service.rocketchat.RocketChatRoomStateCache;
 import de.caritas.cob.userservice.api.service.session.SessionService;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -52,6 +61,12 @@ public class ConsultantSessionListServiceTest {
   private ConsultantSessionEnricher consultantSessionEnricher;
   @Mock
   private ConsultantChatEnricher consultantChatEnricher;
+  @Mock
+  private RocketChatRoomInformationProvider rocketChatRoomInformationProvider;
+  @Mock
+  private SessionMessageStateService sessionMessageStateService;
+  @Mock
+  private RocketChatRoomStateCache rocketChatRoomStateCache;
 
   @Before
   public void setup() {
@@ -59,9 +74,10 @@ public class ConsultantSessionListServiceTest {
         .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
     when(this.consultantSessionEnricher
         .updateRequiredConsultantSessionValues(eq(CONSULTANT_SESSION_RESPONSE_DTO_LIST),
-            any(), any())).thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+            anyString(), any())).thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
     when(this.consultantChatEnricher.updateRequiredConsultantChatValues(
-        eq(List.of(CONSULTANT_SESSION_RESPONSE_DTO_WITH_ENCRYPTED_CHAT_MESSAGE)), any(), any()))
+        eq(List.of(CONSULTANT_SESSION_RESPONSE_DTO_WITH_ENCRYPTED_CHAT_MESSAGE)), anyString(),
+        any()))
         .thenReturn(List.of(CONSULTANT_SESSION_RESPONSE_DTO_WITH_ENCRYPTED_CHAT_MESSAGE));
   }
 
@@ -177,6 +193,111 @@ public class ConsultantSessionListServiceTest {
     assertEquals(0, result.size());
   }
 
+  @Test
+  public void retrieveSessionPageForAuthenticatedConsultant_Should_SynchronizeMessageStatesWithRoomInformation() {
+    var roomInformation = RocketChatRoomInformation.builder().build();
+    var synchronizedAt = new Date(5000);
+    when(rocketChatRoomInformationProvider.retrieveRocketChatInformation(any()))
+        .thenReturn(roomInformation);
+    when(sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT,
+        SessionService.ACTIVE_AND_DONE_STATUSES, roomInformation)).thenReturn(synchronizedAt);
+
+    consultantSessionListService.retrieveSessionPageForAuthenticatedConsultant(CONSULTANT,
+        RC_TOKEN, createStandardSessionListQueryParameterObject(SESSION_STATUS_IN_PROGRESS));
+
+    verify(sessionMessageStateService).synchronizeSessionMessageStates(CONSULTANT,
+        SessionService.ACTIVE_AND_DONE_STATUSES, roomInformation);
+    verify(rocketChatRoomStateCache).markMessageStatesSynchronized(CONSULTANT.getRocketChatId(),
+        synchronizedAt);
+    verify(sessionService).getLatestActiveAndDoneSessionsForConsultant(CONSULTANT,
+        OFFSET_0 + COUNT_10, false);
+  }
+
+  @Test
+  public void retrieveSessionPageForAuthenticatedConsultant_Should_ReturnRequestedPageOfSessionsAndChatsSortedByLatestMessage() {
+    var roomInformation = RocketChatRoomInformation.builder().build();
+    when(rocketChatRoomInformationProvider.retrieveRocketChatInformation(any()))
+        .thenReturn(roomInformation);
+    var newestSession = sessionResponse(1L);
+    var oldestSession = sessionResponse(2L);
+    var chat = new ConsultantSessionResponseDTO().chat(new UserChatDTO())
+        .latestMessage(new Date(2000));
+    when(sessionService.getLatestActiveAndDoneSessionsForConsultant(CONSULTANT, 2, false))
+        .thenReturn(new ArrayList<>(asList(newestSession, oldestSession)));
+    when(sessionService.countActiveAndDoneSessionsForConsultant(CONSULTANT, false))
+        .thenReturn(2L);
+    when(sessionMessageStateService.resolveLatestMessageDate(newestSession.getSession(),
+        roomInformation)).thenReturn(new Date(3000));
+    when(sessionMessageStateService.resolveLatestMessageDate(oldestSession.getSession(),
+        roomInformation)).thenReturn(new Date(1000));
+    when(chatService.getChatsForConsultant(CONSULTANT)).thenReturn(List.of(chat));
+    when(consultantChatEnricher.updateRequiredConsultantChatValues(List.of(chat), roomInformation,
+        CONSULTANT)).thenReturn(List.of(chat));
+
+    ConsultantSessionPage result = consultantSessionListService
+        .retrieveSessionPageForAuthenticatedConsultant(CONSULTANT, RC_TOKEN,
+            createSessionListQueryParameterObject(1, 1, SessionFilter.ALL));
+
+    assertEquals(3L, result.getTotal());
+    assertEquals(List.of(chat), result.getSessions());
+    verify(consultantSessionEnricher).updateRequiredConsultantSessionValues(emptyList(),
+        roomInformation, CONSULTANT);
+  }
+
+  @Test
+  public void retrieveSessionPageForAuthenticatedConsultant_Should_EnrichOnlySessionsOfRequestedPage() {
+    var roomInformation = RocketChatRoomInformation.builder().build();
+    when(rocketChatRoomInformationProvider.retrieveRocketChatInformation(any()))
+        .thenReturn(roomInformation);
+    var newestSession = sessionResponse(1L);
+    var oldestSession = sessionResponse(2L);
+    when(sessionService.getLatestActiveAndDoneSessionsForConsultant(CONSULTANT, 1, false))
+        .thenReturn(new ArrayList<>(asList(newestSession, oldestSession)));
+    when(sessionMessageStateService.resolveLatestMessageDate(newestSession.getSession(),
+        roomInformation)).thenReturn(new Date(3000));
+    when(sessionMessageStateService.resolveLatestMessageDate(oldestSession.getSession(),
+        roomInformation)).thenReturn(new Date(1000));
+
+    ConsultantSessionPage result = consultantSessionListService
+        .retrieveSessionPageForAuthenticatedConsultant(CONSULTANT, RC_TOKEN,
+            createSessionListQueryParameterObject(0, 1, SessionFilter.ALL));
+
+    assertEquals(List.of(newestSession), result.getSessions());
+    verify(consultantSessionEnricher).updateRequiredConsultantSessionValues(
+        List.of(newestSession), roomInformation, CONSULTANT);
+  }
+
+  @Test
+  public void retrieveSessionPageForAuthenticatedConsultant_Should_ReturnOnlySessionsWithUnreadFeedback_When_FeedbackFilterIsSet() {
+    when(rocketChatRoomInformationProvider.retrieveRocketChatInformation(any()))
+        .thenReturn(RocketChatRoomInformation.builder().build());
+    when(sessionService.countActiveAndDoneSessionsForConsultant(CONSULTANT, true))
+        .thenReturn(5L);
+
+    ConsultantSessionPage result = consultantSessionListService
+        .retrieveSessionPageForAuthenticatedConsultant(CONSULTANT, RC_TOKEN,
+            createSessionListQueryParameterObject(OFFSET_0, COUNT_10, SessionFilter.FEEDBACK));
+
+    assertEquals(5L, result.getTotal());
+    verify(sessionService).getLatestActiveAndDoneSessionsForConsultant(CONSULTANT, COUNT_10,
+        true);
+    verify(chatService, never()).getChatsForConsultant(any());
+  }
+
+  private ConsultantSessionResponseDTO sessionResponse(Long sessionId) {
+    return new ConsultantSessionResponseDTO().session(new SessionDTO().id(sessionId));
+  }
+
+  private SessionListQueryParameter createSessionListQueryParameterObject(int offset, int count,
+      SessionFilter sessionFilter) {
+    return SessionListQueryParameter.builder()
+        .sessionStatus(SESSION_STATUS_IN_PROGRESS)
+        .offset(offset)
+        .count(count)
+        .sessionFilter(sessionFilter)
+        .build();
+  }
+
   private SessionListQueryParameter createStandardSessionListQueryParameterObject(
       int sessionStatus) {
     return SessionListQueryParameter.builder()
@@ -0,0 +1,234 @@
+package de.caritas.cob.userservice.api.service.sessionlist;
+
+import static de.caritas.cob.userservice.testHelper.TestConstants.CONSULTANT;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import de.caritas.cob.userservice.api.container.RocketChatRoomInformation;
+import de.caritas.cob.userservice.api.helper.Helper;
+import de.caritas.cob.userservice.api.model.SessionDTO;
+import de.caritas.cob.userservice.api.model.rocketchat.room.RoomsLastMessageDTO;
+import de.caritas.cob.userservice.api.repository.session.RegistrationType;
+import de.caritas.cob.userservice.api.repository.session.SessionRepository;
+import de.caritas.cob.userservice.api.repository.session.SessionRoomReference;
+import de.caritas.cob.userservice.api.repository.session.SessionStatus;
+import de.caritas.cob.userservice.api.repository.sessionmessagestate.SessionMessageState;
+import de.caritas.cob.userservice.api.repository.sessionmessagestate.SessionMessageStateRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SessionMessageStateServiceTest {
+
+  private static final List<SessionStatus> STATUSES = List.of(SessionStatus.IN_PROGRESS);
+  private static final String GROUP_ID = "groupId";
+  private static final String FEEDBACK_GROUP_ID = "feedbackGroupId";
+  private static final Date MESSAGE_DATE = new Date(1000000);
+  private static final LocalDateTime MESSAGE_LOCAL_DATE_TIME =
+      LocalDateTime.ofInstant(MESSAGE_DATE.toInstant(), ZoneOffset.UTC);
+  private static final Date SYNCHRONIZED_DATE = new Date(500000);
+
+  @InjectMocks
+  private SessionMessageStateService sessionMessageStateService;
+  @Mock
+  private SessionRepository sessionRepository;
+  @Mock
+  private SessionMessageStateRepository sessionMessageStateRepository;
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_SaveNewStateWithLatestMessageDate_When_NoStateIsPersisted() {
+    when(sessionRepository.findRoomReferencesByConsultantAndStatusIn(CONSULTANT, STATUSES))
+        .thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+
+    sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT, STATUSES,
+        roomInformation(Map.of(GROUP_ID, lastMessage()), Map.of()));
+
+    verify(sessionMessageStateRepository).upsert(1L, MESSAGE_LOCAL_DATE_TIME, true);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_ShouldNot_SaveState_When_PersistedStateIsUnchanged() {
+    when(sessionRepository.findRoomReferencesByConsultantAndStatusIn(CONSULTANT, STATUSES))
+        .thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+    when(sessionMessageStateRepository.findAllById(List.of(1L)))
+        .thenReturn(List.of(new SessionMessageState(1L, MESSAGE_LOCAL_DATE_TIME, true)));
+
+    sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT, STATUSES,
+        roomInformation(Map.of(GROUP_ID, lastMessage()), Map.of()));
+
+    verify(sessionMessageStateRepository, never()).upsert(any(), any(), anyBoolean());
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_SaveUnreadFeedback_When_FeedbackRoomHasUnreadMessages() {
+    when(sessionRepository.findRoomReferencesByConsultantAndStatusIn(CONSULTANT, STATUSES))
+        .thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+    when(sessionMessageStateRepository.findAllById(List.of(1L)))
+        .thenReturn(List.of(new SessionMessageState(1L, MESSAGE_LOCAL_DATE_TIME, true)));
+
+    sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT, STATUSES,
+        roomInformation(Map.of(GROUP_ID, lastMessage(), FEEDBACK_GROUP_ID, lastMessage()),
+            Map.of(FEEDBACK_GROUP_ID, false)));
+
+    verify(sessionMessageStateRepository).upsert(1L, MESSAGE_LOCAL_DATE_TIME, false);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_UseCreateDate_When_AnonymousSessionHasNoMessage() {
+    SessionRoomReference roomReference = roomReference(RegistrationType.ANONYMOUS);
+    when(roomReference.getCreateDate()).thenReturn(MESSAGE_LOCAL_DATE_TIME);
+    when(sessionRepository.findRoomReferencesByConsultantAndStatusIn(CONSULTANT, STATUSES))
+        .thenReturn(List.of(roomReference));
+
+    sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT, STATUSES,
+        roomInformation(Map.of(), Map.of()));
+
+    verify(sessionMessageStateRepository).upsert(1L, MESSAGE_LOCAL_DATE_TIME, true);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_SaveStateWithoutDate_When_RegisteredSessionHasNoMessage() {
+    when(sessionRepository.findRoomReferencesByConsultantAndStatusIn(CONSULTANT, STATUSES))
+        .thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+
+    sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT, STATUSES,
+        roomInformation(Map.of(), Map.of()));
+
+    verify(sessionMessageStateRepository).upsert(1L, null, true);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_SynchronizeOnlySessionsOfChangedRooms_When_MessageStatesHaveBeenSynchronizedBefore() {
+    when(sessionRepository.findRoomReferencesByConsultantAndStatusInAndGroupIdIn(CONSULTANT,
+        STATUSES, Set.of(GROUP_ID)))
+        .thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+    var roomInformation = roomInformation(Map.of(GROUP_ID, lastMessage()), Map.of(),
+        Map.of(GROUP_ID, MESSAGE_DATE, FEEDBACK_GROUP_ID, SYNCHRONIZED_DATE), SYNCHRONIZED_DATE);
+
+    Date result = sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT,
+        STATUSES, roomInformation);
+
+    assertEquals(MESSAGE_DATE, result);
+    verify(sessionRepository, never()).findRoomReferencesByConsultantAndStatusIn(any(), any());
+    verify(sessionMessageStateRepository).upsert(1L, MESSAGE_LOCAL_DATE_TIME, true);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_ShouldNot_QuerySessionsOfRooms_When_NoRoomHasChangedSinceLastSynchronization() {
+    var roomInformation = roomInformation(Map.of(GROUP_ID, lastMessage()), Map.of(),
+        Map.of(GROUP_ID, SYNCHRONIZED_DATE), SYNCHRONIZED_DATE);
+
+    Date result = sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT,
+        STATUSES, roomInformation);
+
+    assertEquals(SYNCHRONIZED_DATE, result);
+    verify(sessionRepository, never())
+        .findRoomReferencesByConsultantAndStatusInAndGroupIdIn(any(), any(), any());
+    verifyNoInteractions(sessionMessageStateRepository);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_SaveStateOfSessionWithoutState_When_ItsRoomHasNotChangedSinceLastSynchronization() {
+    when(sessionRepository.findRoomReferencesWithoutMessageStateByConsultantAndStatusIn(CONSULTANT,
+        STATUSES)).thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+    var roomInformation = roomInformation(Map.of(GROUP_ID, lastMessage()), Map.of(),
+        Map.of(GROUP_ID, SYNCHRONIZED_DATE), SYNCHRONIZED_DATE);
+
+    sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT, STATUSES,
+        roomInformation);
+
+    verify(sessionMessageStateRepository).upsert(1L, MESSAGE_LOCAL_DATE_TIME, true);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_SaveStateOnce_When_SessionWithoutStateHasChangedRoom() {
+    when(sessionRepository.findRoomReferencesWithoutMessageStateByConsultantAndStatusIn(CONSULTANT,
+        STATUSES)).thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+    when(sessionRepository.findRoomReferencesByConsultantAndStatusInAndGroupIdIn(CONSULTANT,
+        STATUSES, Set.of(GROUP_ID)))
+        .thenReturn(List.of(roomReference(RegistrationType.REGISTERED)));
+    var roomInformation = roomInformation(Map.of(GROUP_ID, lastMessage()), Map.of(),
+        Map.of(GROUP_ID, MESSAGE_DATE), SYNCHRONIZED_DATE);
+
+    sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT, STATUSES,
+        roomInformation);
+
+    verify(sessionMessageStateRepository).findAllById(List.of(1L));
+    verify(sessionMessageStateRepository).upsert(1L, MESSAGE_LOCAL_DATE_TIME, true);
+  }
+
+  @Test
+  public void synchronizeSessionMessageStates_Should_ReturnUnixtime0_When_ConsultantHasNoRooms() {
+    Date result = sessionMessageStateService.synchronizeSessionMessageStates(CONSULTANT,
+        STATUSES, roomInformation(Map.of(), Map.of()));
+
+    assertEquals(Helper.UNIXTIME_0, result);
+  }
+
+  @Test
+  public void resolveLatestMessageDate_Should_ReturnTimestampOfLastMessage() {
+    Date result = sessionMessageStateService.resolveLatestMessageDate(
+        new SessionDTO().groupId(GROUP_ID),
+        roomInformation(Map.of(GROUP_ID, lastMessage()), Map.of()));
+
+    assertEquals(MESSAGE_DATE, result);
+  }
+
+  @Test
+  public void resolveLatestMessageDate_Should_ReturnUnixtime0_When_RegisteredSessionHasNoMessage() {
+    Date result = sessionMessageStateService.resolveLatestMessageDate(
+        new SessionDTO().groupId(GROUP_ID).registrationType(RegistrationType.REGISTERED.name()),
+        roomInformation(Map.of(), Map.of()));
+
+    assertEquals(Helper.UNIXTIME_0, result);
+  }
+
+  private SessionRoomReference roomReference(RegistrationType registrationType) {
+    SessionRoomReference roomReference = mock(SessionRoomReference.class,
+        withSettings().lenient());
+    when(roomReference.getId()).thenReturn(1L);
+    when(roomReference.getGroupId()).thenReturn(GROUP_ID);
+    when(roomReference.getFeedbackGroupId()).thenReturn(FEEDBACK_GROUP_ID);
+    when(roomReference.getRegistrationType()).thenReturn(registrationType);
+    return roomReference;
+  }
+
+  private RoomsLastMessageDTO lastMessage() {
+    RoomsLastMessageDTO lastMessage = new RoomsLastMessageDTO();
+    lastMessage.setTimestamp(MESSAGE_DATE);
+    return lastMessage;
+  }
+
+  private RocketChatRoomInformation roomInformation(
+      Map<String, RoomsLastMessageDTO> lastMessagesRoom, Map<String, Boolean> readMessages) {
+    return roomInformation(lastMessagesRoom, readMessages, Map.of(), null);
+  }
+
+  private RocketChatRoomInformation roomInformation(
+      Map<String, RoomsLastMessageDTO> lastMessagesRoom, Map<String, Boolean> readMessages,
+      Map<String, Date> roomChangeDates, Date messageStatesSynchronizedAt) {
+    return RocketChatRoomInformation.builder()
+        .lastMessagesRoom(lastMessagesRoom)
+        .readMessages(readMessages)
+        .roomChangeDates(roomChangeDates)
+        .messageStatesSynchronizedAt(messageStatesSynchronizedAt)
+        .build();
+  }
+
+}
@@ -0,0 +1,108 @@
+package de.caritas.cob.userservice.api.service.user;
+
+import static de.caritas.cob.userservice.config.CacheManagerConfig.ACCOUNT_ID_BY_RC_USER_ID_CACHE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.repository.consultant.ConsultantRepository;
+import de.caritas.cob.userservice.api.repository.consultant.ConsultantRocketChatReference;
+import de.caritas.cob.userservice.api.repository.user.UserRepository;
+import de.caritas.cob.userservice.api.repository.user.UserRocketChatReference;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AccountIdByRcUserIdResolverTest {
+
+  private AccountIdByRcUserIdResolver accountIdByRcUserIdResolver;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private ConsultantRepository consultantRepository;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Before
+  public void setup() {
+    accountIdByRcUserIdResolver =
+        new AccountIdByRcUserIdResolver(userRepository, consultantRepository, cacheManager);
+    when(cacheManager.getCache(ACCOUNT_ID_BY_RC_USER_ID_CACHE))
+        .thenReturn(new ConcurrentMapCache(ACCOUNT_ID_BY_RC_USER_ID_CACHE));
+  }
+
+  @Test
+  public void resolveAccountIds_Should_resolveUsersAndRemainingConsultantsByOneQueryEach() {
+    when(userRepository.findRocketChatReferencesByRcUserIdInAndDeleteDateIsNull(
+        Set.of("rc1", "rc2", "rc3"))).thenReturn(singletonList(userReference("rc1", "user1")));
+    when(consultantRepository.findRocketChatReferencesByRocketChatIdInAndDeleteDateIsNull(
+        Set.of("rc2", "rc3"))).thenReturn(singletonList(consultantReference("rc2", "consultant1")));
+
+    Map<String, String> accountIds =
+        accountIdByRcUserIdResolver.resolveAccountIds(asList("rc1", "rc2", "rc3", "rc1"));
+
+    assertThat(accountIds, is(Map.of("rc1", "user1", "rc2", "consultant1")));
+  }
+
+  @Test
+  public void resolveAccountIds_Should_notQueryRepositories_When_allAccountIdsAreCached() {
+    when(userRepository.findRocketChatReferencesByRcUserIdInAndDeleteDateIsNull(any()))
+        .thenReturn(asList(userReference("rc1", "user1"), userReference("rc2", "user2")));
+    accountIdByRcUserIdResolver.resolveAccountIds(asList("rc1", "rc2"));
+
+    Map<String, String> accountIds =
+        accountIdByRcUserIdResolver.resolveAccountIds(asList("rc2", "rc1"));
+
+    assertThat(accountIds, is(Map.of("rc1", "user1", "rc2", "user2")));
+    verify(userRepository, times(1)).findRocketChatReferencesByRcUserIdInAndDeleteDateIsNull(any());
+    verifyNoInteractions(consultantRepository);
+  }
+
+  @Test
+  public void resolveAccountIds_Should_queryUnknownRcUserIdsAgain_When_noAccountWasFound() {
+    when(userRepository.findRocketChatReferencesByRcUserIdInAndDeleteDateIsNull(any()))
+        .thenReturn(emptyList());
+    when(consultantRepository.findRocketChatReferencesByRocketChatIdInAndDeleteDateIsNull(any()))
+        .thenReturn(emptyList());
+
+    accountIdByRcUserIdResolver.resolveAccountIds(singletonList("rc1"));
+    Map<String, String> accountIds =
+        accountIdByRcUserIdResolver.resolveAccountIds(singletonList("rc1"));
+
+    assertThat(accountIds, is(Map.of()));
+    verify(userRepository, times(2)).findRocketChatReferencesByRcUserIdInAndDeleteDateIsNull(any());
+  }
+
+  private UserRocketChatReference userReference(String rcUserId, String userId) {
+    UserRocketChatReference reference = mock(UserRocketChatReference.class);
+    when(reference.getRcUserId()).thenReturn(rcUserId);
+    when(reference.getUserId()).thenReturn(userId);
+    return reference;
+  }
+
+  private ConsultantRocketChatReference consultantReference(String rcUserId, String consultantId) {
+    ConsultantRocketChatReference reference = mock(ConsultantRocketChatReference.class);
+    when(reference.getRocketChatId()).thenReturn(rcUserId);
+    when(reference.getId()).thenReturn(consultantId);
+    return reference;
+  }
+
+}
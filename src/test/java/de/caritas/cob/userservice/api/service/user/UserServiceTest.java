@@ -23,7 +23,10 @@ import static org.springframework.test.util.ReflectionTestUtils.setField;
 import de.caritas.cob.userservice.api.helper.UsernameTranscoder;
 import de.caritas.cob.userservice.api.repository.user.User;
 import de.caritas.cob.userservice.api.repository.user.UserRepository;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
@@ -145,4 +148,27 @@ public class UserServiceTest {
     verify(usernameTranscoder, times(1)).encodeUsername(USERNAME);
     verify(usernameTranscoder, times(1)).decodeUsername(USERNAME);
   }
+
+  @Test
+  public void findMobileTokensOfUsers_Should_QueryUsersInChunks() {
+    List<String> userIds = IntStream.range(0, UserService.MAX_MOBILE_TOKEN_QUERY_USER_IDS + 1)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.toList());
+    when(userRepository.findMobileTokensByUserIdIn(any())).thenReturn(List.of("token"));
+
+    List<String> result = userService.findMobileTokensOfUsers(userIds);
+
+    assertThat(result, is(List.of("token", "token")));
+    verify(userRepository).findMobileTokensByUserIdIn(
+        userIds.subList(0, UserService.MAX_MOBILE_TOKEN_QUERY_USER_IDS));
+    verify(userRepository).findMobileTokensByUserIdIn(
+        userIds.subList(UserService.MAX_MOBILE_TOKEN_QUERY_USER_IDS, userIds.size()));
+  }
+
+  @Test
+  public void findMobileTokensOfUsers_ShouldNot_QueryUsers_When_NoUserIdIsGiven() {
+    assertThat(userService.findMobileTokensOfUsers(List.of()), is(List.of()));
+
+    verifyNoInteractions(userRepository);
+  }
 }
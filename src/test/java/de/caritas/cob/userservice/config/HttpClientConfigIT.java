@@ -0,0 +1,51 @@
+package de.caritas.cob.userservice.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import de.caritas.cob.userservice.UserServiceApplication;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.RestTemplate;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = UserServiceApplication.class)
+@TestPropertySource(properties = "spring.profiles.active=testing")
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+public class HttpClientConfigIT {
+
+  @Autowired
+  private RestTemplate restTemplate;
+
+  @Autowired
+  private PoolingHttpClientConnectionManager httpClientConnectionManager;
+
+  @Value("${http.client.pool.maxTotal}")
+  private int maxTotal;
+
+  @Value("${http.client.pool.maxPerRoute}")
+  private int maxPerRoute;
+
+  @Test
+  public void restTemplate_Should_usePooledHttpClient() {
+    assertThat(this.restTemplate.getRequestFactory(),
+        instanceOf(HttpComponentsClientHttpRequestFactory.class));
+  }
+
+  @Test
+  public void httpClientConnectionManager_Should_haveConfiguredPoolLimits() {
+    assertThat(this.httpClientConnectionManager.getMaxTotal(), is(this.maxTotal));
+    assertThat(this.httpClientConnectionManager.getDefaultMaxPerRoute(), is(this.maxPerRoute));
+  }
+
+}
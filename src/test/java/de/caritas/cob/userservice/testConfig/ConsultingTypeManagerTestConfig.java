@@ -2,6 +2,7 @@ package de.caritas.cob.userservice.testConfig;
 
 import de.caritas.cob.userservice.api.exception.MissingConsultingTypeException;
 import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeManager;
+import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeRegistry;
 import de.caritas.cob.userservice.api.service.ConsultingTypeService;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
 import org.jeasy.random.EasyRandom;
@@ -12,8 +13,9 @@ import org.springframework.context.annotation.Bean;
 public class ConsultingTypeManagerTestConfig {
 
   @Bean
-  public ConsultingTypeManager consultingTypeManager(ConsultingTypeService consultingTypeService) {
-    return new ConsultingTypeManager(consultingTypeService) {
+  public ConsultingTypeManager consultingTypeManager(ConsultingTypeService consultingTypeService,
+      ConsultingTypeRegistry consultingTypeRegistry) {
+    return new ConsultingTypeManager(consultingTypeService, consultingTypeRegistry) {
       @Override
       public ExtendedConsultingTypeResponseDTO getConsultingTypeSettings(String consultingTypeId) {
         return createDummy(Integer.parseInt(consultingTypeId));
@@ -11,6 +11,7 @@ import de.caritas.cob.userservice.api.service.KeycloakService;
 import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientAccessor;
 import de.caritas.cob.userservice.api.service.helper.KeycloakAdminClientService;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.RestTemplate;
@@ -20,8 +21,9 @@ public class KeycloakTestConfig {
 
   @Bean
   public KeycloakAdminClientService keycloakAdminClientService(UserHelper userHelper,
-      KeycloakAdminClientAccessor keycloakAdminClientAccessor) {
-    return new KeycloakAdminClientService(userHelper, keycloakAdminClientAccessor) {
+      KeycloakAdminClientAccessor keycloakAdminClientAccessor, CacheManager cacheManager) {
+    return new KeycloakAdminClientService(userHelper, keycloakAdminClientAccessor, cacheManager,
+        Runnable::run) {
       @Override
       public KeycloakCreateUserResponseDTO createKeycloakUser(UserDTO user) {
         KeycloakCreateUserResponseDTO keycloakUserDTO = new KeycloakCreateUserResponseDTO();
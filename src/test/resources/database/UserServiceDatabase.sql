@@ -87,6 +87,60 @@ CREATE TABLE SESSION
 CREATE SEQUENCE SEQUENCE_SESSION
     START WITH 100000
     INCREMENT BY 1;
+CREATE TABLE SESSION_MESSAGE_STATE
+(
+    SESSION_ID          bigint(21) NOT NULL,
+    LATEST_MESSAGE_DATE datetime DEFAULT NULL,
+    IS_FEEDBACK_READ    tinyint(4) NOT NULL DEFAULT '1',
+    PRIMARY KEY (SESSION_ID),
+    FOREIGN KEY (SESSION_ID) REFERENCES SESSION (ID) ON DELETE CASCADE
+);
+CREATE TABLE ADMIN_JOB
+(
+    ID              varchar(36) NOT NULL,
+    TYPE            varchar(40) NOT NULL,
+    STATUS          varchar(20) NOT NULL,
+    PAYLOAD         longtext DEFAULT NULL,
+    RESULT          longtext DEFAULT NULL,
+    TOTAL_ITEMS     int(11)     NOT NULL DEFAULT '0',
+    PROCESSED_ITEMS int(11)     NOT NULL DEFAULT '0',
+    FAILED_ITEMS    int(11)     NOT NULL DEFAULT '0',
+    ATTEMPTS        int(11)     NOT NULL DEFAULT '0',
+    ERROR_MESSAGE   varchar(1024) DEFAULT NULL,
+    WORKER          varchar(255) DEFAULT NULL,
+    CREATE_DATE     datetime    NOT NULL,
+    START_DATE      datetime DEFAULT NULL,
+    FINISH_DATE     datetime DEFAULT NULL,
+    HEARTBEAT_DATE  datetime DEFAULT NULL,
+    VERSION         bigint(21)  NOT NULL DEFAULT '0',
+    PRIMARY KEY (ID)
+);
+CREATE TABLE NOTIFICATION_OUTBOX
+(
+    ID                varchar(36)  NOT NULL,
+    IDEMPOTENCY_KEY   varchar(255) NOT NULL,
+    COALESCING_KEY    varchar(255) DEFAULT NULL,
+    TYPE              varchar(40)  NOT NULL,
+    STATUS            varchar(20)  NOT NULL,
+    PAYLOAD           longtext DEFAULT NULL,
+    ATTEMPTS          int(11)      NOT NULL DEFAULT '0',
+    ERROR_MESSAGE     varchar(1024) DEFAULT NULL,
+    WORKER            varchar(255) DEFAULT NULL,
+    CREATE_DATE       datetime     NOT NULL,
+    NEXT_ATTEMPT_DATE datetime     NOT NULL,
+    CLAIM_DATE        datetime DEFAULT NULL,
+    FINISH_DATE       datetime DEFAULT NULL,
+    VERSION           bigint(21)   NOT NULL DEFAULT '0',
+    PRIMARY KEY (ID),
+    UNIQUE (IDEMPOTENCY_KEY)
+);
+CREATE TABLE DELETION_WORKFLOW_CHECKPOINT
+(
+    WORKFLOW    varchar(40) NOT NULL,
+    LAST_KEY    varchar(36) NOT NULL,
+    UPDATE_DATE datetime    NOT NULL,
+    PRIMARY KEY (WORKFLOW)
+);
 CREATE TABLE SESSION_DATA
 (
     ID          bigint(21) NOT NULL,